@@ -0,0 +1,23 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.model;
+
+import org.eclipse.rdf4j.model.impl.CompactModel;
+import org.eclipse.rdf4j.testsuite.model.AbstractModelPerformanceTest;
+
+public class CompactModelPerformanceTest extends AbstractModelPerformanceTest {
+
+	@Override
+	protected Model getNewModel() {
+		return new CompactModel();
+	}
+
+}
@@ -14,20 +14,27 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * File wrapper that protects against concurrent file closing events due to e.g. {@link Thread#interrupt() thread
  * interrupts}. In case the file channel that is used by this class is closed due to such an event, it will try to
  * reopen the channel. The thread that causes the {@link ClosedByInterruptException} is not protected, assuming the
  * interrupt is intended to end the thread's operation.
+ * <p>
+ * Reads can optionally be served from memory mapped regions of the file, which saves a system call per read. Writes
+ * always go through the file channel. The mapped regions are extended when the file has grown sufficiently, reads of
+ * the part of the file that is not mapped yet go through the file channel.
  *
  * @author Arjohn Kampman
  */
@@ -40,6 +47,19 @@ public final class NioFile implements Closeable {
 			StandardOpenOption.CREATE, StandardOpenOption.SYNC);
 	public static final EnumSet<StandardOpenOption> RWD = EnumSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE,
 			StandardOpenOption.CREATE, StandardOpenOption.DSYNC);
+	/**
+	 * The size of the regions in which the file is mapped when memory mapped reads are enabled.
+	 */
+	private static final long MAPPED_REGION_SIZE = 1L << 30;
+
+	/**
+	 * The maximum number of bytes that the file needs to grow beyond the mapped regions before they are extended.
+	 * Smaller mappings are already extended once the file has grown by an eighth of their size.
+	 */
+	private static final long REMAP_THRESHOLD = 1L << 20;
+
+	private static final MappedRegions NO_MAPPED_REGIONS = new MappedRegions(new MappedByteBuffer[0], 0);
+
 	private final File file;
 	private final Set<StandardOpenOption> openOptions;
 
@@ -47,6 +67,16 @@ public final class NioFile implements Closeable {
 
 	private volatile boolean explictlyClosed;
 
+	private final boolean memoryMappedReads;
+
+	private volatile MappedRegions mappedRegions = NO_MAPPED_REGIONS;
+
+	/**
+	 * The size of the file as far as known from the writes through this object, only maintained when memory mapped
+	 * reads are enabled.
+	 */
+	private final AtomicLong knownSize = new AtomicLong();
+
 	/**
 	 * Constructor Opens a file in read/write mode, creating a new one if the file doesn't exist.
 	 *
@@ -69,16 +99,44 @@ public final class NioFile implements Closeable {
 	}
 
 	public NioFile(File file, Set<StandardOpenOption> openOptions) throws IOException {
+		this(file, openOptions, false);
+	}
+
+	/**
+	 * Constructor Opens a file with the specified options, optionally serving reads from memory mapped regions of the
+	 * file.
+	 *
+	 * @param file              file
+	 * @param openOptions       the options used to open the file
+	 * @param memoryMappedReads whether reads should be served from memory mapped regions of the file
+	 * @throws IOException
+	 */
+	public NioFile(File file, Set<StandardOpenOption> openOptions, boolean memoryMappedReads) throws IOException {
 		this.openOptions = openOptions;
 		explictlyClosed = false;
 		this.file = file;
+		this.memoryMappedReads = memoryMappedReads;
 		open();
+		if (memoryMappedReads) {
+			knownSize.set(fc.size());
+		}
 	}
 
 	public NioFile(Path path, Set<StandardOpenOption> openOptions) throws IOException {
 		this(path.toFile(), openOptions);
 	}
 
+	/**
+	 * Constructor Opens a file in read/write mode, creating a new one if the file doesn't exist.
+	 *
+	 * @param file              file
+	 * @param memoryMappedReads whether reads should be served from memory mapped regions of the file
+	 * @throws IOException
+	 */
+	public NioFile(File file, boolean memoryMappedReads) throws IOException {
+		this(file, RW, memoryMappedReads);
+	}
+
 	private static Set<StandardOpenOption> toOpenOptions(String mode) {
 		switch (mode) {
 		case "r":
@@ -124,9 +182,18 @@ public final class NioFile implements Closeable {
 	@Override
 	public synchronized void close() throws IOException {
 		explictlyClosed = true;
+		// the mapped regions are released once they are garbage collected
+		mappedRegions = NO_MAPPED_REGIONS;
 		fc.close();
 	}
 
+	/**
+	 * Checks whether reads are served from memory mapped regions of the file.
+	 */
+	public boolean isMemoryMappedReads() {
+		return memoryMappedReads;
+	}
+
 	/**
 	 * Check if a file was closed explicitly.
 	 *
@@ -178,6 +245,19 @@ public final class NioFile implements Closeable {
 	 * @throws IOException
 	 */
 	public void truncate(long size) throws IOException {
+		if (memoryMappedReads) {
+			synchronized (this) {
+				// accessing a mapped region beyond the end of the file fails, so drop all of them
+				mappedRegions = NO_MAPPED_REGIONS;
+				truncateChannel(size);
+				knownSize.set(size());
+			}
+		} else {
+			truncateChannel(size);
+		}
+	}
+
+	private void truncateChannel(long size) throws IOException {
 		while (true) {
 			try {
 				fc.truncate(size);
@@ -240,7 +320,11 @@ public final class NioFile implements Closeable {
 	public int write(ByteBuffer buf, long offset) throws IOException {
 		while (true) {
 			try {
-				return fc.write(buf, offset);
+				int written = fc.write(buf, offset);
+				if (memoryMappedReads) {
+					knownSize.accumulateAndGet(offset + written, Math::max);
+				}
+				return written;
 			} catch (ClosedByInterruptException e) {
 				throw e;
 			} catch (ClosedChannelException e) {
@@ -258,6 +342,18 @@ public final class NioFile implements Closeable {
 	 * @throws IOException
 	 */
 	public int read(ByteBuffer buf, long offset) throws IOException {
+		if (memoryMappedReads) {
+			ByteBuffer region = getMappedRegion(offset, buf.remaining());
+			if (region != null) {
+				int length = region.remaining();
+				buf.put(region);
+				return length;
+			}
+		}
+		return readChannel(buf, offset);
+	}
+
+	private int readChannel(ByteBuffer buf, long offset) throws IOException {
 		while (true) {
 			try {
 				return fc.read(buf, offset);
@@ -289,6 +385,14 @@ public final class NioFile implements Closeable {
 	 * @throws IOException
 	 */
 	public byte[] readBytes(long offset, int length) throws IOException {
+		if (memoryMappedReads) {
+			ByteBuffer region = getMappedRegion(offset, length);
+			if (region != null && region.remaining() == length) {
+				byte[] bytes = new byte[length];
+				region.get(bytes);
+				return bytes;
+			}
+		}
 		ByteBuffer buf = ByteBuffer.allocate(length);
 		read(buf, offset);
 		return buf.array();
@@ -337,6 +441,12 @@ public final class NioFile implements Closeable {
 	 * @throws IOException
 	 */
 	public long readLong(long offset) throws IOException {
+		if (memoryMappedReads) {
+			ByteBuffer region = getMappedRegion(offset, 8);
+			if (region != null && region.remaining() == 8) {
+				return region.getLong();
+			}
+		}
 		ByteBuffer buf = ByteBuffer.allocate(8);
 		read(buf, offset);
 		return buf.getLong(0);
@@ -363,8 +473,100 @@ public final class NioFile implements Closeable {
 	 * @throws IOException
 	 */
 	public int readInt(long offset) throws IOException {
+		if (memoryMappedReads) {
+			ByteBuffer region = getMappedRegion(offset, 4);
+			if (region != null && region.remaining() == 4) {
+				return region.getInt();
+			}
+		}
 		ByteBuffer buf = ByteBuffer.allocate(4);
 		read(buf, offset);
 		return buf.getInt(0);
 	}
+
+	/**
+	 * Gets a view of the mapped part of the file that starts at the specified offset and holds at most
+	 * <var>length</var> bytes. Less bytes are only returned if the end of the file is reached. The mapped regions are
+	 * extended first if the requested range is not mapped and the file has grown sufficiently since they were mapped.
+	 *
+	 * @return a buffer positioned at the requested offset, or <var>null</var> if the read should go through the file
+	 *         channel.
+	 */
+	private ByteBuffer getMappedRegion(long offset, int length) throws IOException {
+		MappedRegions regions = mappedRegions;
+		long end = offset + length;
+		if (end > regions.size) {
+			long size = knownSize.get();
+			long unmapped = size - regions.size;
+			// extend the mapping once the unmapped part is large enough, relative to what was mapped before
+			if (unmapped > 0 && unmapped >= Math.min(REMAP_THRESHOLD, regions.size >> 3)) {
+				regions = remap();
+			}
+			if (end > regions.size) {
+				if (offset >= regions.size || regions.size < size) {
+					// not mapped (yet), or a part of the requested range has not been mapped yet
+					return null;
+				}
+				// the requested range extends beyond the end of the file
+				end = regions.size;
+			}
+		}
+
+		int index = (int) (offset / MAPPED_REGION_SIZE);
+		int position = (int) (offset % MAPPED_REGION_SIZE);
+		if (position + (end - offset) > MAPPED_REGION_SIZE) {
+			// the range crosses the boundary between two regions
+			return null;
+		}
+		ByteBuffer region = regions.buffers[index].duplicate();
+		region.position(position);
+		region.limit(position + (int) (end - offset));
+		return region;
+	}
+
+	/**
+	 * Maps the whole file, reusing the regions that were mapped completely before.
+	 */
+	private synchronized MappedRegions remap() throws IOException {
+		MappedRegions regions = mappedRegions;
+		long size = size();
+		if (size <= regions.size || explictlyClosed) {
+			return regions;
+		}
+
+		int count = (int) ((size + MAPPED_REGION_SIZE - 1) / MAPPED_REGION_SIZE);
+		MappedByteBuffer[] buffers = Arrays.copyOf(regions.buffers, count);
+		for (int i = (int) (regions.size / MAPPED_REGION_SIZE); i < count; i++) {
+			long position = i * MAPPED_REGION_SIZE;
+			while (true) {
+				try {
+					buffers[i] = fc.map(FileChannel.MapMode.READ_ONLY, position,
+							Math.min(MAPPED_REGION_SIZE, size - position));
+					break;
+				} catch (ClosedByInterruptException e) {
+					throw e;
+				} catch (ClosedChannelException e) {
+					reopen(e);
+				}
+			}
+		}
+
+		mappedRegions = new MappedRegions(buffers, size);
+		return mappedRegions;
+	}
+
+	private static class MappedRegions {
+
+		private final MappedByteBuffer[] buffers;
+
+		/**
+		 * The number of bytes of the file that are covered by the buffers.
+		 */
+		private final long size;
+
+		private MappedRegions(MappedByteBuffer[] buffers, long size) {
+			this.buffers = buffers;
+			this.size = size;
+		}
+	}
 }
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.common.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class NioFileTest {
+
+	@Rule
+	public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+	@Test
+	public void testMemoryMappedReads() throws Exception {
+		File file = tmpDir.newFile();
+		try (NioFile nioFile = new NioFile(file, true)) {
+			// grow the file in small steps, so that reads are served partly from the mapping, partly from the channel
+			for (int i = 0; i < 100_000; i++) {
+				nioFile.writeInt(i, i * 4L);
+				if (i % 1000 == 0) {
+					for (int j = 0; j <= i; j += 97) {
+						assertEquals(j, nioFile.readInt(j * 4L));
+					}
+				}
+			}
+
+			for (int i = 0; i < 100_000; i++) {
+				assertEquals(i, nioFile.readInt(i * 4L));
+			}
+
+			// overwritten data is visible through the mapping
+			nioFile.writeLong(-1L, 400);
+			assertEquals(-1L, nioFile.readLong(400));
+			assertArrayEquals(new byte[] { -1, -1, -1, -1 }, nioFile.readBytes(404, 4));
+		}
+	}
+
+	@Test
+	public void testMemoryMappedReadBeyondEnd() throws Exception {
+		File file = tmpDir.newFile();
+		try (NioFile nioFile = new NioFile(file, true)) {
+			nioFile.writeBytes(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }, 0);
+			nioFile.readInt(0);
+
+			ByteBuffer buf = ByteBuffer.allocate(16);
+			assertEquals(8, nioFile.read(buf, 0));
+			assertEquals(3, nioFile.read(ByteBuffer.allocate(16), 5));
+			assertEquals(-1, nioFile.read(ByteBuffer.allocate(16), 8));
+		}
+	}
+
+	@Test
+	public void testMemoryMappedReadsAfterTruncate() throws Exception {
+		File file = tmpDir.newFile();
+		try (NioFile nioFile = new NioFile(file, true)) {
+			for (int i = 0; i < 1000; i++) {
+				nioFile.writeInt(i, i * 4L);
+			}
+			assertEquals(999, nioFile.readInt(999 * 4L));
+
+			nioFile.truncate(400);
+			assertEquals(400, nioFile.size());
+			assertEquals(99, nioFile.readInt(99 * 4L));
+			assertEquals(-1, nioFile.read(ByteBuffer.allocate(4), 400));
+
+			nioFile.writeInt(4711, 400);
+			assertEquals(4711, nioFile.readInt(400));
+		}
+	}
+}
@@ -0,0 +1,844 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.model.impl;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Namespace;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+
+/**
+ * A compact, array based implementation of the <var>{@link Model}</var> interface.
+ * <p>
+ * Each distinct {@link Value} is stored once and assigned an integer identifier. Statements are stored as four
+ * identifiers in a primitive array, in insertion order. A hash index over the four identifiers is used to find
+ * statements by all of their terms, and for each term position statements that share a value are chained together, so
+ * that a filter using a single term visits only the statements with that term. When multiple terms are provided in a
+ * filter, the shortest chain is used and the remaining terms are compared by identifier.
+ * <p>
+ * This implementation uses considerably less memory per statement than {@link LinkedHashModel} and is therefore suited
+ * for models that hold many statements. Iteration creates a new {@link Statement} object for each statement.
+ * <p>
+ * <b>Note that this implementation is not synchronized.</b> If multiple threads access a model concurrently, and at
+ * least one of the threads modifies the model, it must be synchronized externally. This is typically accomplished by
+ * synchronizing on some object that naturally encapsulates the model. If no such object exists, the set should be
+ * "wrapped" using the Models.synchronizedModel method.
+ * </p>
+ */
+public class CompactModel extends AbstractModel {
+
+	private static final long serialVersionUID = 4571302736125384297L;
+
+	private static final int SUBJ = 0;
+
+	private static final int PRED = 1;
+
+	private static final int OBJ = 2;
+
+	private static final int CTX = 3;
+
+	/**
+	 * Identifier of the default (null) context. Identifiers of values start at 1.
+	 */
+	private static final int NULL_CONTEXT = 0;
+
+	/**
+	 * Identifier used for an unbound term in a pattern.
+	 */
+	private static final int ANY = 0;
+
+	/**
+	 * Marks the absence of a value identifier or a statement slot.
+	 */
+	private static final int NONE = -1;
+
+	private static final int DEFAULT_CAPACITY = 128;
+
+	final Set<Namespace> namespaces = new LinkedHashSet<>();
+
+	/**
+	 * The values by identifier.
+	 */
+	private transient Value[] values;
+
+	private transient int[] valueHashes;
+
+	/**
+	 * Open addressing hash table of value identifiers, 0 marks an empty bucket.
+	 */
+	private transient int[] valueTable;
+
+	private transient int valueCount;
+
+	private transient int nextValueId;
+
+	private transient int[] freeValueIds;
+
+	private transient int freeValueIdCount;
+
+	/**
+	 * First and last statement slot and number of statements for each value identifier and term position.
+	 */
+	private transient int[] heads;
+
+	private transient int[] tails;
+
+	private transient int[] counts;
+
+	/**
+	 * Subject, predicate, object and context identifiers of each statement slot. A subject identifier of 0 marks a
+	 * removed statement.
+	 */
+	private transient int[] quads;
+
+	/**
+	 * The next statement slot with the same value, for each statement slot and term position.
+	 */
+	private transient int[] next;
+
+	private transient int slotCount;
+
+	private transient int size;
+
+	/**
+	 * Open addressing hash table of statement slots (plus one), 0 marks an empty bucket.
+	 */
+	private transient int[] statementTable;
+
+	private transient int modCount;
+
+	public CompactModel() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public CompactModel(Model model) {
+		this(model.getNamespaces(), model.size());
+		addAll(model);
+	}
+
+	public CompactModel(Collection<? extends Statement> c) {
+		this(c.size());
+		addAll(c);
+	}
+
+	public CompactModel(int size) {
+		super();
+		init(size);
+	}
+
+	public CompactModel(Set<Namespace> namespaces, Collection<? extends Statement> c) {
+		this(c);
+		this.namespaces.addAll(namespaces);
+	}
+
+	public CompactModel(Set<Namespace> namespaces) {
+		this();
+		this.namespaces.addAll(namespaces);
+	}
+
+	public CompactModel(Set<Namespace> namespaces, int size) {
+		this(size);
+		this.namespaces.addAll(namespaces);
+	}
+
+	@Override
+	public Optional<Namespace> getNamespace(String prefix) {
+		for (Namespace nextNamespace : namespaces) {
+			if (prefix.equals(nextNamespace.getPrefix())) {
+				return Optional.of(nextNamespace);
+			}
+		}
+		return Optional.empty();
+	}
+
+	@Override
+	public Set<Namespace> getNamespaces() {
+		return namespaces;
+	}
+
+	@Override
+	public Namespace setNamespace(String prefix, String name) {
+		removeNamespace(prefix);
+		Namespace result = new SimpleNamespace(prefix, name);
+		namespaces.add(result);
+		return result;
+	}
+
+	@Override
+	public void setNamespace(Namespace namespace) {
+		removeNamespace(namespace.getPrefix());
+		namespaces.add(namespace);
+	}
+
+	@Override
+	public Optional<Namespace> removeNamespace(String prefix) {
+		Optional<Namespace> result = getNamespace(prefix);
+		result.ifPresent(namespace -> namespaces.remove(namespace));
+		return result;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean add(Resource subj, IRI pred, Value obj, Resource... contexts) {
+		if (subj == null || pred == null || obj == null) {
+			throw new UnsupportedOperationException("Incomplete statement");
+		}
+		if (contexts == null || contexts.length == 0) {
+			return addStatement(subj, pred, obj, null);
+		}
+		boolean changed = false;
+		for (Resource ctx : contexts) {
+			changed |= addStatement(subj, pred, obj, ctx);
+		}
+		return changed;
+	}
+
+	private boolean addStatement(Resource subj, IRI pred, Value obj, Resource ctx) {
+		int s = lookup(subj);
+		int p = lookup(pred);
+		int o = lookup(obj);
+		int c = lookup(ctx);
+		if (s != NONE && p != NONE && o != NONE && c != NONE && findSlot(s, p, o, c) != NONE) {
+			return false;
+		}
+		appendSlot(intern(subj, s), intern(pred, p), intern(obj, o), intern(ctx, c));
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		init(DEFAULT_CAPACITY);
+		modCount++;
+	}
+
+	@Override
+	public Iterator<Statement> iterator() {
+		return matchPattern(null, null, null);
+	}
+
+	@Override
+	public boolean contains(Resource subj, IRI pred, Value obj, Resource... contexts) {
+		if (subj != null && pred != null && obj != null && (contexts == null || contexts.length == 1)) {
+			int s = lookup(subj);
+			int p = lookup(pred);
+			int o = lookup(obj);
+			int c = lookup(contexts == null ? null : contexts[0]);
+			return s != NONE && p != NONE && o != NONE && c != NONE && findSlot(s, p, o, c) != NONE;
+		}
+		return matchPattern(subj, pred, obj, contexts).hasNext();
+	}
+
+	@Override
+	public boolean remove(Resource subj, IRI pred, Value obj, Resource... contexts) {
+		if (isEmpty()) {
+			return false;
+		}
+
+		if (subj != null && pred != null && obj != null && (contexts == null || contexts.length == 1)) {
+			int s = lookup(subj);
+			int p = lookup(pred);
+			int o = lookup(obj);
+			int c = lookup(contexts == null ? null : contexts[0]);
+			int slot = s != NONE && p != NONE && o != NONE && c != NONE ? findSlot(s, p, o, c) : NONE;
+			if (slot == NONE) {
+				return false;
+			}
+			removeSlot(slot);
+			return true;
+		}
+
+		Iterator<Statement> iter = matchPattern(subj, pred, obj, contexts);
+		if (!iter.hasNext()) {
+			return false;
+		}
+		while (iter.hasNext()) {
+			iter.next();
+			iter.remove();
+		}
+		return true;
+	}
+
+	@Override
+	public Model filter(final Resource subj, final IRI pred, final Value obj, final Resource... contexts) {
+		return new FilteredModel(this, subj, pred, obj, contexts) {
+
+			private static final long serialVersionUID = -2736473412590853284L;
+
+			@Override
+			public Iterator<Statement> iterator() {
+				return matchPattern(subj, pred, obj, contexts);
+			}
+
+			@Override
+			protected void removeFilteredTermIteration(Iterator<Statement> iter, Resource subj, IRI pred, Value obj,
+					Resource... contexts) {
+				CompactModel.this.removeTermIteration(iter, subj, pred, obj, contexts);
+			}
+		};
+	}
+
+	@Override
+	public void removeTermIteration(Iterator<Statement> iterator, Resource subj, IRI pred, Value obj,
+			Resource... contexts) {
+		Iterator<Statement> iter = matchPattern(subj, pred, obj, contexts);
+		while (iter.hasNext()) {
+			iter.next();
+			iter.remove();
+		}
+		// removed statements are skipped, so the supplied iterator can continue
+		if (iterator instanceof StatementIterator) {
+			((StatementIterator) iterator).expectedModCount = modCount;
+		}
+	}
+
+	private void init(int capacity) {
+		capacity = Math.max(capacity, 16);
+
+		values = new Value[capacity + 1];
+		valueHashes = new int[capacity + 1];
+		valueTable = new int[tableSize(capacity)];
+		valueCount = 0;
+		nextValueId = NULL_CONTEXT + 1;
+		freeValueIds = new int[16];
+		freeValueIdCount = 0;
+		heads = new int[(capacity + 1) * 4];
+		tails = new int[(capacity + 1) * 4];
+		counts = new int[(capacity + 1) * 4];
+		Arrays.fill(heads, NONE);
+		Arrays.fill(tails, NONE);
+
+		quads = new int[capacity * 4];
+		next = new int[capacity * 4];
+		slotCount = 0;
+		size = 0;
+		statementTable = new int[tableSize(capacity)];
+	}
+
+	/**
+	 * Returns a power of two that keeps the load factor of a hash table with the supplied number of entries at or below
+	 * 0.5.
+	 */
+	private static int tableSize(int entries) {
+		return Integer.highestOneBit(Math.max(entries, 8) * 2 - 1) << 1;
+	}
+
+	private static int mix(int hash) {
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+		return hash;
+	}
+
+	private static int hash(int s, int p, int o, int c) {
+		return mix(((s * 31 + p) * 31 + o) * 31 + c);
+	}
+
+	/**
+	 * Returns the identifier of the supplied value, {@link #NULL_CONTEXT} for null or {@link #NONE} if the value is not
+	 * used in this model.
+	 */
+	private int lookup(Value value) {
+		if (value == null) {
+			return NULL_CONTEXT;
+		}
+		int hash = value.hashCode();
+		int mask = valueTable.length - 1;
+		for (int i = mix(hash) & mask;; i = (i + 1) & mask) {
+			int id = valueTable[i];
+			if (id == 0) {
+				return NONE;
+			}
+			if (valueHashes[id] == hash && values[id].equals(value)) {
+				return id;
+			}
+		}
+	}
+
+	/**
+	 * Returns the identifier of the supplied value, assigning a new one if the value is not used in this model yet.
+	 */
+	private int intern(Value value, int id) {
+		if (id != NONE) {
+			return id;
+		}
+		// the value may have been added for another term of the same statement
+		id = lookup(value);
+		if (id != NONE) {
+			return id;
+		}
+
+		if (freeValueIdCount > 0) {
+			id = freeValueIds[--freeValueIdCount];
+		} else {
+			if (nextValueId == values.length) {
+				growValues();
+			}
+			id = nextValueId++;
+		}
+
+		int hash = value.hashCode();
+		values[id] = value;
+		valueHashes[id] = hash;
+		int mask = valueTable.length - 1;
+		int i = mix(hash) & mask;
+		while (valueTable[i] != 0) {
+			i = (i + 1) & mask;
+		}
+		valueTable[i] = id;
+
+		if (++valueCount * 2 > valueTable.length) {
+			rehashValues(valueTable.length * 2);
+		}
+		return id;
+	}
+
+	private void growValues() {
+		int capacity = values.length + (values.length >> 1);
+		values = Arrays.copyOf(values, capacity);
+		valueHashes = Arrays.copyOf(valueHashes, capacity);
+		int oldLength = heads.length;
+		heads = Arrays.copyOf(heads, capacity * 4);
+		tails = Arrays.copyOf(tails, capacity * 4);
+		counts = Arrays.copyOf(counts, capacity * 4);
+		Arrays.fill(heads, oldLength, heads.length, NONE);
+		Arrays.fill(tails, oldLength, tails.length, NONE);
+	}
+
+	private void rehashValues(int length) {
+		valueTable = new int[length];
+		int mask = length - 1;
+		for (int id = NULL_CONTEXT + 1; id < nextValueId; id++) {
+			if (values[id] != null) {
+				int i = mix(valueHashes[id]) & mask;
+				while (valueTable[i] != 0) {
+					i = (i + 1) & mask;
+				}
+				valueTable[i] = id;
+			}
+		}
+	}
+
+	/**
+	 * Releases the identifier of a value that is no longer used by any statement.
+	 */
+	private void releaseValue(int id) {
+		int mask = valueTable.length - 1;
+		int i = mix(valueHashes[id]) & mask;
+		while (valueTable[i] != id) {
+			i = (i + 1) & mask;
+		}
+		// backward shift deletion keeps the probe sequences of the remaining entries intact
+		for (int j = (i + 1) & mask; valueTable[j] != 0; j = (j + 1) & mask) {
+			int home = mix(valueHashes[valueTable[j]]) & mask;
+			if (i <= j ? i < home && home <= j : i < home || home <= j) {
+				continue;
+			}
+			valueTable[i] = valueTable[j];
+			i = j;
+		}
+		valueTable[i] = 0;
+		valueCount--;
+
+		values[id] = null;
+		for (int pos = SUBJ; pos <= CTX; pos++) {
+			heads[id * 4 + pos] = NONE;
+			tails[id * 4 + pos] = NONE;
+		}
+		if (freeValueIdCount == freeValueIds.length) {
+			freeValueIds = Arrays.copyOf(freeValueIds, freeValueIds.length * 2);
+		}
+		freeValueIds[freeValueIdCount++] = id;
+	}
+
+	private boolean isUnused(int id) {
+		int base = id * 4;
+		return counts[base + SUBJ] == 0 && counts[base + PRED] == 0 && counts[base + OBJ] == 0
+				&& counts[base + CTX] == 0;
+	}
+
+	/**
+	 * Returns the slot of the statement with the supplied identifiers, or {@link #NONE} if there is no such statement.
+	 */
+	private int findSlot(int s, int p, int o, int c) {
+		int mask = statementTable.length - 1;
+		for (int i = hash(s, p, o, c) & mask;; i = (i + 1) & mask) {
+			int entry = statementTable[i];
+			if (entry == 0) {
+				return NONE;
+			}
+			int base = (entry - 1) * 4;
+			if (quads[base + SUBJ] == s && quads[base + PRED] == p && quads[base + OBJ] == o
+					&& quads[base + CTX] == c) {
+				return entry - 1;
+			}
+		}
+	}
+
+	private void appendSlot(int s, int p, int o, int c) {
+		if (slotCount * 4 == quads.length) {
+			ensureSlotCapacity();
+		}
+
+		int slot = slotCount++;
+		int base = slot * 4;
+		quads[base + SUBJ] = s;
+		quads[base + PRED] = p;
+		quads[base + OBJ] = o;
+		quads[base + CTX] = c;
+		link(slot, SUBJ, s);
+		link(slot, PRED, p);
+		link(slot, OBJ, o);
+		link(slot, CTX, c);
+		insertSlot(slot);
+
+		if (++size * 2 > statementTable.length) {
+			rehashStatements(statementTable.length * 2);
+		}
+		modCount++;
+	}
+
+	private void link(int slot, int pos, int id) {
+		int index = id * 4 + pos;
+		next[slot * 4 + pos] = NONE;
+		if (tails[index] == NONE) {
+			heads[index] = slot;
+		} else {
+			next[tails[index] * 4 + pos] = slot;
+		}
+		tails[index] = slot;
+		counts[index]++;
+	}
+
+	private void insertSlot(int slot) {
+		int base = slot * 4;
+		int mask = statementTable.length - 1;
+		int i = hash(quads[base + SUBJ], quads[base + PRED], quads[base + OBJ], quads[base + CTX]) & mask;
+		while (statementTable[i] != 0) {
+			i = (i + 1) & mask;
+		}
+		statementTable[i] = slot + 1;
+	}
+
+	private void rehashStatements(int length) {
+		statementTable = new int[length];
+		for (int slot = 0; slot < slotCount; slot++) {
+			if (quads[slot * 4 + SUBJ] != 0) {
+				insertSlot(slot);
+			}
+		}
+	}
+
+	/**
+	 * Makes room for another statement, either by reclaiming the slots of removed statements or by growing the arrays.
+	 */
+	private void ensureSlotCapacity() {
+		if (slotCount - size >= slotCount / 4 && slotCount > size) {
+			compact();
+		} else {
+			int capacity = slotCount + (slotCount >> 1) + 1;
+			quads = Arrays.copyOf(quads, capacity * 4);
+			next = Arrays.copyOf(next, capacity * 4);
+		}
+	}
+
+	/**
+	 * Moves the remaining statements to the front of the arrays, keeping their order, and rebuilds the indexes.
+	 */
+	private void compact() {
+		int target = 0;
+		for (int slot = 0; slot < slotCount; slot++) {
+			if (quads[slot * 4 + SUBJ] != 0) {
+				if (target != slot) {
+					System.arraycopy(quads, slot * 4, quads, target * 4, 4);
+				}
+				target++;
+			}
+		}
+		Arrays.fill(quads, target * 4, slotCount * 4, 0);
+		slotCount = target;
+
+		Arrays.fill(heads, NONE);
+		Arrays.fill(tails, NONE);
+		Arrays.fill(counts, 0);
+		Arrays.fill(statementTable, 0);
+		for (int slot = 0; slot < slotCount; slot++) {
+			int base = slot * 4;
+			for (int pos = SUBJ; pos <= CTX; pos++) {
+				link(slot, pos, quads[base + pos]);
+			}
+			insertSlot(slot);
+		}
+	}
+
+	/**
+	 * Removes the statement in the supplied slot. The slot itself is only reclaimed by a later {@link #compact()}, so
+	 * that iterators can continue to follow the chains through it.
+	 */
+	private void removeSlot(int slot) {
+		int base = slot * 4;
+		int mask = statementTable.length - 1;
+		int i = hash(quads[base + SUBJ], quads[base + PRED], quads[base + OBJ], quads[base + CTX]) & mask;
+		while (statementTable[i] != slot + 1) {
+			i = (i + 1) & mask;
+		}
+		for (int j = (i + 1) & mask; statementTable[j] != 0; j = (j + 1) & mask) {
+			int other = (statementTable[j] - 1) * 4;
+			int home = hash(quads[other + SUBJ], quads[other + PRED], quads[other + OBJ], quads[other + CTX]) & mask;
+			if (i <= j ? i < home && home <= j : i < home || home <= j) {
+				continue;
+			}
+			statementTable[i] = statementTable[j];
+			i = j;
+		}
+		statementTable[i] = 0;
+
+		for (int pos = SUBJ; pos <= CTX; pos++) {
+			counts[quads[base + pos] * 4 + pos]--;
+		}
+		for (int pos = SUBJ; pos <= CTX; pos++) {
+			int id = quads[base + pos];
+			if (id != NULL_CONTEXT && values[id] != null && isUnused(id)) {
+				releaseValue(id);
+			}
+		}
+		quads[base + SUBJ] = 0;
+
+		size--;
+		modCount++;
+	}
+
+	private Iterator<Statement> matchPattern(Resource subj, IRI pred, Value obj, Resource... contexts) {
+		if (contexts == null) {
+			contexts = new Resource[] { null };
+		}
+
+		int s = subj == null ? ANY : lookup(subj);
+		int p = pred == null ? ANY : lookup(pred);
+		int o = obj == null ? ANY : lookup(obj);
+		if (s == NONE || p == NONE || o == NONE) {
+			return Collections.emptyIterator();
+		}
+
+		int[] ctxs = null;
+		if (contexts.length > 0) {
+			ctxs = new int[contexts.length];
+			int n = 0;
+			for (Resource context : contexts) {
+				int c = lookup(context);
+				if (c != NONE) {
+					ctxs[n++] = c;
+				}
+			}
+			if (n == 0) {
+				return Collections.emptyIterator();
+			}
+			ctxs = Arrays.copyOf(ctxs, n);
+		}
+
+		// follow the shortest chain of a bound term, or scan all statements
+		int pos = NONE;
+		int id = NONE;
+		int minCount = Integer.MAX_VALUE;
+		int[] terms = { s, p, o };
+		for (int i = SUBJ; i <= OBJ; i++) {
+			if (terms[i] != ANY && counts[terms[i] * 4 + i] < minCount) {
+				pos = i;
+				id = terms[i];
+				minCount = counts[id * 4 + i];
+			}
+		}
+		if (ctxs != null && ctxs.length == 1 && counts[ctxs[0] * 4 + CTX] < minCount) {
+			pos = CTX;
+			id = ctxs[0];
+		}
+
+		return new StatementIterator(s, p, o, ctxs, pos, id);
+	}
+
+	private Statement statement(int slot) {
+		int base = slot * 4;
+		return new CompactStatement((Resource) values[quads[base + SUBJ]], (IRI) values[quads[base + PRED]],
+				values[quads[base + OBJ]], (Resource) values[quads[base + CTX]]);
+	}
+
+	private class StatementIterator implements Iterator<Statement> {
+
+		private final int subj;
+
+		private final int pred;
+
+		private final int obj;
+
+		private final int[] contexts;
+
+		/**
+		 * The term position of the followed chain, or {@link #NONE} to scan all slots.
+		 */
+		private final int pos;
+
+		private final int limit;
+
+		private int cursor;
+
+		private int nextSlot = NONE;
+
+		private int lastSlot = NONE;
+
+		int expectedModCount = modCount;
+
+		StatementIterator(int subj, int pred, int obj, int[] contexts, int pos, int id) {
+			this.subj = subj;
+			this.pred = pred;
+			this.obj = obj;
+			this.contexts = contexts;
+			this.pos = pos;
+			this.limit = slotCount;
+			if (pos == NONE) {
+				cursor = limit > 0 ? 0 : NONE;
+			} else {
+				cursor = heads[id * 4 + pos];
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (modCount != expectedModCount) {
+				// let next() report the concurrent modification
+				return nextSlot != NONE || cursor != NONE;
+			}
+			if (nextSlot != NONE) {
+				if (quads[nextSlot * 4 + SUBJ] != 0) {
+					return true;
+				}
+				// removed through another term iteration
+				nextSlot = NONE;
+			}
+			while (cursor != NONE) {
+				int slot = cursor;
+				if (pos == NONE) {
+					cursor = slot + 1 < limit ? slot + 1 : NONE;
+				} else {
+					cursor = next[slot * 4 + pos];
+				}
+				if (matches(slot)) {
+					nextSlot = slot;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean matches(int slot) {
+			int base = slot * 4;
+			if (quads[base + SUBJ] == 0) {
+				return false;
+			}
+			if (subj != ANY && quads[base + SUBJ] != subj || pred != ANY && quads[base + PRED] != pred
+					|| obj != ANY && quads[base + OBJ] != obj) {
+				return false;
+			}
+			if (contexts == null) {
+				return true;
+			}
+			for (int context : contexts) {
+				if (quads[base + CTX] == context) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public Statement next() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			lastSlot = nextSlot;
+			nextSlot = NONE;
+			return statement(lastSlot);
+		}
+
+		@Override
+		public void remove() {
+			if (lastSlot == NONE) {
+				throw new IllegalStateException();
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if (quads[lastSlot * 4 + SUBJ] != 0) {
+				removeSlot(lastSlot);
+			}
+			lastSlot = NONE;
+			expectedModCount = modCount;
+		}
+	}
+
+	private static class CompactStatement extends GenericStatement<Resource, IRI, Value> {
+
+		private static final long serialVersionUID = -5329482763640182717L;
+
+		CompactStatement(Resource subject, IRI predicate, Value object, Resource context) {
+			super(subject, predicate, object, context);
+		}
+	}
+
+	private void writeObject(ObjectOutputStream s) throws IOException {
+		// Write out any hidden serialization magic
+		s.defaultWriteObject();
+		// Write in size
+		s.writeInt(size);
+		// Write in all elements
+		for (Statement st : this) {
+			s.writeObject(st);
+		}
+	}
+
+	private void readObject(ObjectInputStream s) throws IOException, ClassNotFoundException {
+		// Read in any hidden serialization magic
+		s.defaultReadObject();
+		// Read in size
+		int size = s.readInt();
+		init(size);
+		// Read in all elements
+		for (int i = 0; i < size; i++) {
+			Statement st = (Statement) s.readObject();
+			add(st);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.model.impl;
+
+import java.io.Serializable;
+
+import org.eclipse.rdf4j.model.ModelFactory;
+
+/**
+ * Creates {@link CompactModel}.
+ */
+public class CompactModelFactory implements ModelFactory, Serializable {
+
+	private static final long serialVersionUID = 6620194475133129837L;
+
+	@Override
+	public CompactModel createEmptyModel() {
+		return new CompactModel();
+	}
+
+}
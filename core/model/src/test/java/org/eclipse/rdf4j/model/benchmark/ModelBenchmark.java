@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.model.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.CompactModel;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.impl.TreeModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares loading, matching and iterating statements in the in-memory {@link Model} implementations. The retained heap
+ * per statement of each implementation is printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = { "-Xms4G", "-Xmx4G" })
+public class ModelBenchmark {
+
+	private static final int STATEMENTS = 500_000;
+
+	@Param({ "LinkedHashModel", "TreeModel", "CompactModel" })
+	public String model;
+
+	private List<Statement> statements;
+
+	private List<Statement> lookups;
+
+	private Model loaded;
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ModelBenchmark.class.getSimpleName())
+				.build()
+		).run();
+	}
+
+	@Setup
+	public void setUp() {
+		ValueFactory vf = SimpleValueFactory.getInstance();
+		IRI[] predicates = new IRI[20];
+		for (int i = 0; i < predicates.length; i++) {
+			predicates[i] = vf.createIRI("http://example.org/property/" + i);
+		}
+
+		statements = new ArrayList<>(STATEMENTS);
+		for (int i = 0; i < STATEMENTS; i++) {
+			IRI subject = vf.createIRI("http://example.org/resource/" + (i / 10));
+			IRI predicate = predicates[i % predicates.length];
+			if (i % 3 == 0) {
+				statements.add(vf.createStatement(subject, predicate,
+						vf.createIRI("http://example.org/resource/" + (i * 7 % (STATEMENTS / 10)))));
+			} else {
+				statements.add(vf.createStatement(subject, predicate, vf.createLiteral(i % 1000)));
+			}
+		}
+
+		lookups = new ArrayList<>(1000);
+		for (int i = 0; i < 1000; i++) {
+			lookups.add(statements.get(i * (STATEMENTS / 1000)));
+		}
+
+		long before = usedMemory();
+		loaded = load();
+		long after = usedMemory();
+		System.out.println("\n" + model + ": " + (after - before) / STATEMENTS + " bytes retained per statement");
+	}
+
+	@Benchmark
+	public Model add() {
+		return load();
+	}
+
+	@Benchmark
+	public int filterBySubject() {
+		int count = 0;
+		for (Statement st : lookups) {
+			count += loaded.filter(st.getSubject(), null, null).size();
+		}
+		return count;
+	}
+
+	@Benchmark
+	public int filterByObject() {
+		int count = 0;
+		for (Statement st : lookups) {
+			for (Statement match : loaded.filter(null, null, st.getObject())) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public int contains() {
+		int count = 0;
+		for (Statement st : lookups) {
+			if (loaded.contains(st)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public void iterate(Blackhole blackhole) {
+		for (Statement st : loaded) {
+			blackhole.consume(st);
+		}
+	}
+
+	private Model load() {
+		Model result;
+		switch (model) {
+		case "LinkedHashModel":
+			result = new LinkedHashModel();
+			break;
+		case "TreeModel":
+			result = new TreeModel();
+			break;
+		default:
+			result = new CompactModel();
+		}
+		result.addAll(statements);
+		return result;
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.model.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.junit.Test;
+
+/**
+ * Checks the indexes of {@link CompactModel} against {@link LinkedHashModel}, including after statements and values
+ * have been removed and their storage reused.
+ */
+public class CompactModelIndexTest {
+
+	private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private final Random random = new Random(42);
+
+	private final List<Resource> resources = new ArrayList<>();
+
+	private final List<IRI> predicates = new ArrayList<>();
+
+	private final List<Value> objects = new ArrayList<>();
+
+	private final List<Resource> contexts = new ArrayList<>();
+
+	public CompactModelIndexTest() {
+		for (int i = 0; i < 40; i++) {
+			resources.add(i % 4 == 0 ? vf.createBNode("b" + i) : vf.createIRI("urn:r" + i));
+		}
+		for (int i = 0; i < 5; i++) {
+			predicates.add(vf.createIRI("urn:p" + i));
+		}
+		objects.addAll(resources);
+		for (int i = 0; i < 20; i++) {
+			objects.add(vf.createLiteral(i));
+			objects.add(vf.createLiteral("label " + i, "en"));
+		}
+		contexts.add(null);
+		contexts.add(vf.createIRI("urn:g1"));
+		contexts.add(vf.createIRI("urn:g2"));
+	}
+
+	@Test
+	public void testRandomOperations() {
+		CompactModel model = new CompactModel(16);
+		Model expected = new LinkedHashModel();
+
+		for (int round = 0; round < 20; round++) {
+			for (int i = 0; i < 500; i++) {
+				Statement st = randomStatement();
+				assertEquals(expected.add(st), model.add(st));
+			}
+			for (int i = 0; i < 300; i++) {
+				Statement st = randomStatement();
+				assertEquals(expected.remove(st), model.remove(st));
+			}
+			// remove all statements with a single value, which releases values
+			Resource subject = pick(resources);
+			assertEquals(expected.remove(subject, null, null), model.remove(subject, null, null));
+			Resource context = pick(contexts);
+			assertEquals(expected.remove(null, null, null, context), model.remove(null, null, null, context));
+
+			assertEquals(expected.size(), model.size());
+			assertEquals(expected, model);
+			assertEquals(new ArrayList<>(expected), new ArrayList<>(model));
+			for (int i = 0; i < 50; i++) {
+				assertSameFilter(expected, model);
+			}
+		}
+	}
+
+	@Test
+	public void testFilterMultipleContexts() {
+		CompactModel model = new CompactModel();
+		Model expected = new LinkedHashModel();
+		for (int i = 0; i < 1000; i++) {
+			Statement st = randomStatement();
+			model.add(st);
+			expected.add(st);
+		}
+
+		Resource[] ctxs = { contexts.get(0), contexts.get(2), vf.createIRI("urn:unknown") };
+		assertEquals(toSet(expected.filter(null, null, null, ctxs)), toSet(model.filter(null, null, null, ctxs)));
+		IRI pred = predicates.get(1);
+		assertEquals(toSet(expected.filter(null, pred, null, ctxs)), toSet(model.filter(null, pred, null, ctxs)));
+		assertTrue(model.filter(null, null, null, vf.createIRI("urn:unknown")).isEmpty());
+		assertTrue(model.filter(vf.createIRI("urn:unknown"), null, null).isEmpty());
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		CompactModel model = new CompactModel();
+		Model expected = new LinkedHashModel();
+		for (int i = 0; i < 1000; i++) {
+			Statement st = randomStatement();
+			model.add(st);
+			expected.add(st);
+		}
+
+		IRI pred = predicates.get(0);
+		Iterator<Statement> iter = model.filter(null, pred, null).iterator();
+		while (iter.hasNext()) {
+			if (iter.next().getObject().isLiteral()) {
+				iter.remove();
+			}
+		}
+		expected.removeIf(st -> st.getPredicate().equals(pred) && st.getObject().isLiteral());
+		assertEquals(expected, model);
+	}
+
+	@Test
+	public void testValueSetIteratorRemove() {
+		CompactModel model = new CompactModel();
+		Model expected = new LinkedHashModel();
+		for (int i = 0; i < 1000; i++) {
+			Statement st = randomStatement();
+			model.add(st);
+			expected.add(st);
+		}
+
+		// removing a subject removes all of its statements while the subjects are being iterated
+		Set<Resource> removed = new HashSet<>();
+		Set<Resource> seen = new HashSet<>();
+		Iterator<Resource> iter = model.subjects().iterator();
+		while (iter.hasNext()) {
+			Resource subject = iter.next();
+			assertTrue(seen.add(subject));
+			if (random.nextBoolean()) {
+				iter.remove();
+				removed.add(subject);
+			}
+		}
+		assertEquals(expected.subjects(), seen);
+		expected.removeIf(st -> removed.contains(st.getSubject()));
+		assertEquals(expected, model);
+		for (Resource subject : removed) {
+			assertFalse(model.contains(subject, null, null));
+		}
+	}
+
+	@Test
+	public void testSerialization() throws Exception {
+		CompactModel model = new CompactModel();
+		for (int i = 0; i < 1000; i++) {
+			model.add(randomStatement());
+		}
+		model.remove(pick(resources), null, null);
+		model.setNamespace("ex", "urn:");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+			oos.writeObject(model);
+		}
+		Model copy;
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			copy = (Model) ois.readObject();
+		}
+
+		assertEquals(model, copy);
+		assertEquals(new ArrayList<>(model), new ArrayList<>(copy));
+		assertEquals(model.getNamespaces(), copy.getNamespaces());
+	}
+
+	private void assertSameFilter(Model expected, Model model) {
+		Resource subj = random.nextInt(3) == 0 ? pick(resources) : null;
+		IRI pred = random.nextInt(3) == 0 ? pick(predicates) : null;
+		Value obj = random.nextInt(3) == 0 ? pick(objects) : null;
+		Resource[] ctxs = random.nextInt(3) == 0 ? new Resource[] { pick(contexts) } : new Resource[0];
+
+		Model actual = model.filter(subj, pred, obj, ctxs);
+		assertEquals(toSet(expected.filter(subj, pred, obj, ctxs)), toSet(actual));
+		assertEquals(expected.contains(subj, pred, obj, ctxs), model.contains(subj, pred, obj, ctxs));
+		assertEquals(expected.filter(subj, pred, obj, ctxs).size(), actual.size());
+	}
+
+	private Statement randomStatement() {
+		Resource context = pick(contexts);
+		if (context == null) {
+			return vf.createStatement(pick(resources), pick(predicates), pick(objects));
+		}
+		return vf.createStatement(pick(resources), pick(predicates), pick(objects), context);
+	}
+
+	private <T> T pick(List<T> list) {
+		return list.get(random.nextInt(list.size()));
+	}
+
+	private Set<Statement> toSet(Model model) {
+		return new HashSet<>(model);
+	}
+}
@@ -13,6 +13,7 @@ package org.eclipse.rdf4j.query.algebra.evaluation;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.EmptyIteration;
 import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Triple;
@@ -45,6 +46,63 @@ public interface TripleSource {
 	CloseableIteration<? extends Statement, QueryEvaluationException> getStatements(Resource subj, IRI pred,
 			Value obj, Resource... contexts) throws QueryEvaluationException;
 
+	/**
+	 * Gets the statements that have a specific subject, predicate and/or contexts and whose object may be a literal
+	 * within the given bounds. The bounds are numeric or <code>xsd:dateTime</code> literals and are inclusive, a bound
+	 * that is <var>null</var> leaves the range open on that side.
+	 * <p>
+	 * The result may contain statements whose object is not within the bounds, callers are responsible for applying the
+	 * actual comparison to the results. Triple sources that {@link #supportsObjectRanges() support object ranges} use
+	 * this to skip statements that can not be within the bounds, the default implementation returns all statements with
+	 * any object.
+	 *
+	 * @param subj       A Resource specifying the subject, or <var>null</var> for a wildcard.
+	 * @param pred       A URI specifying the predicate, or <var>null</var> for a wildcard.
+	 * @param lowerBound The lower bound of the object, or <var>null</var> if there is no lower bound.
+	 * @param upperBound The upper bound of the object, or <var>null</var> if there is no upper bound.
+	 * @param contexts   The context(s) to get the statements from. Note that this parameter is a vararg and as such is
+	 *                   optional. If no contexts are supplied the method operates on the entire repository.
+	 * @return An iterator over the relevant statements.
+	 * @throws QueryEvaluationException If the triple source failed to get the statements.
+	 */
+	default CloseableIteration<? extends Statement, QueryEvaluationException> getStatementsInRange(Resource subj,
+			IRI pred, Literal lowerBound, Literal upperBound, Resource... contexts) throws QueryEvaluationException {
+		return getStatements(subj, pred, null, contexts);
+	}
+
+	/**
+	 * Indicates whether {@link #getStatementsInRange(Resource, IRI, Literal, Literal, Resource...)} is able to skip
+	 * statements whose object is outside of the given bounds.
+	 *
+	 * @return <code>true</code> if range scans on objects are supported, <code>false</code> otherwise.
+	 */
+	default boolean supportsObjectRanges() {
+		return false;
+	}
+
+	/**
+	 * Gets the identifier that the underlying store uses internally for the given value. Identifiers are non-negative
+	 * and a given identifier always denotes the same value for the lifetime of this triple source, which allows callers
+	 * to keep large sets of values in primitive collections.
+	 *
+	 * @param value A value.
+	 * @return The identifier of the value, or <code>-1</code> if the value has no identifier in the store or the triple
+	 *         source does not {@link #supportsInternalIds() support internal identifiers}.
+	 * @throws QueryEvaluationException If the triple source failed to look up the identifier.
+	 */
+	default long getInternalId(Value value) throws QueryEvaluationException {
+		return -1;
+	}
+
+	/**
+	 * Indicates whether {@link #getInternalId(Value)} returns the internal identifiers of the values.
+	 *
+	 * @return <code>true</code> if internal identifiers are supported, <code>false</code> otherwise.
+	 */
+	default boolean supportsInternalIds() {
+		return false;
+	}
+
 	/**
 	 * Gets a ValueFactory object that can be used to create URI-, blank node- and literal objects.
 	 *
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.impl;
+
+import java.util.Objects;
+
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
+import org.eclipse.rdf4j.query.algebra.evaluation.optimizer.RangeScanOptimizer;
+
+/**
+ * A {@link StatementPattern} whose object is known to be restricted to a range of literal values by the filters above
+ * it. The bounds are only a hint for the {@link TripleSource}, the filters that define them are still evaluated.
+ *
+ * @see RangeScanOptimizer
+ * @see TripleSource#getStatementsInRange
+ */
+public class RangeStatementPattern extends StatementPattern {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Literal lowerBound;
+
+	private final Literal upperBound;
+
+	/**
+	 * Creates a pattern with the variables of the given pattern and the given bounds.
+	 *
+	 * @param pattern    the pattern whose variables are used
+	 * @param lowerBound the inclusive lower bound of the object, or <var>null</var>
+	 * @param upperBound the inclusive upper bound of the object, or <var>null</var>
+	 */
+	public RangeStatementPattern(StatementPattern pattern, Literal lowerBound, Literal upperBound) {
+		super(pattern.getScope(), pattern.getSubjectVar().clone(), pattern.getPredicateVar().clone(),
+				pattern.getObjectVar().clone(),
+				pattern.getContextVar() != null ? pattern.getContextVar().clone() : null);
+		this.lowerBound = lowerBound;
+		this.upperBound = upperBound;
+		setResultSizeEstimate(pattern.getResultSizeEstimate());
+		setCostEstimate(pattern.getCostEstimate());
+	}
+
+	/**
+	 * @return the inclusive lower bound of the object, or <var>null</var> if there is no lower bound
+	 */
+	public Literal getLowerBound() {
+		return lowerBound;
+	}
+
+	/**
+	 * @return the inclusive upper bound of the object, or <var>null</var> if there is no upper bound
+	 */
+	public Literal getUpperBound() {
+		return upperBound;
+	}
+
+	@Override
+	public String getSignature() {
+		StringBuilder sb = new StringBuilder(super.getSignature());
+		sb.append(" [");
+		sb.append(lowerBound != null ? lowerBound.toString() : "*");
+		sb.append(" .. ");
+		sb.append(upperBound != null ? upperBound.toString() : "*");
+		sb.append(']');
+		return sb.toString();
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (other instanceof RangeStatementPattern && super.equals(other)) {
+			RangeStatementPattern o = (RangeStatementPattern) other;
+			return Objects.equals(lowerBound, o.lowerBound) && Objects.equals(upperBound, o.upperBound);
+		}
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * super.hashCode() + Objects.hash(lowerBound, upperBound);
+	}
+
+	@Override
+	public RangeStatementPattern clone() {
+		return (RangeStatementPattern) super.clone();
+	}
+}
@@ -13,6 +13,7 @@ package org.eclipse.rdf4j.query.algebra.evaluation.impl;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -139,6 +140,7 @@ import org.eclipse.rdf4j.query.algebra.evaluation.iterator.FilterIterator;
 import org.eclipse.rdf4j.query.algebra.evaluation.iterator.GroupIterator;
 import org.eclipse.rdf4j.query.algebra.evaluation.iterator.MultiProjectionIterator;
 import org.eclipse.rdf4j.query.algebra.evaluation.iterator.PathIteration;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.TransitivePathIteration;
 import org.eclipse.rdf4j.query.algebra.evaluation.optimizer.StandardQueryOptimizerPipeline;
 import org.eclipse.rdf4j.query.algebra.evaluation.util.MathUtil;
 import org.eclipse.rdf4j.query.algebra.evaluation.util.OrderComparator;
@@ -394,6 +396,16 @@ public class StrictEvaluationStrategy implements EvaluationStrategy, FederatedSe
 		final Var objVar = alp.getObjectVar();
 		final Var contextVar = alp.getContextVar();
 		final long minLength = alp.getMinLength();
+		if (tripleSource != null && TransitivePathIteration.isApplicable(alp, context.getDataset())) {
+			// paths over a single predicate are evaluated set-at-a-time against the triple source
+			return bindings -> {
+				if (TransitivePathIteration.isApplicable(alp, bindings)) {
+					return new TransitivePathIteration(tripleSource, alp, bindings);
+				}
+				return new PathIteration(StrictEvaluationStrategy.this, scope, subjectVar, pathExpression, objVar,
+						contextVar, minLength, bindings);
+			};
+		}
 		return bindings -> new PathIteration(StrictEvaluationStrategy.this, scope, subjectVar, pathExpression, objVar,
 				contextVar, minLength, bindings);
 	}
@@ -446,8 +458,10 @@ public class StrictEvaluationStrategy implements EvaluationStrategy, FederatedSe
 	}
 
 	protected QueryEvaluationStep prepare(Group node, QueryEvaluationContext context) throws QueryEvaluationException {
+		ForkJoinPool pool = GroupIterator.useParallelAggregation(node) ? ForkJoinPool.commonPool() : null;
+		long maxMemory = GroupIterator.groupMaxMemory();
 		return bindings -> new GroupIterator(StrictEvaluationStrategy.this, node, bindings, iterationCacheSyncThreshold,
-				context);
+				context, pool, maxMemory);
 	}
 
 	protected QueryEvaluationStep prepare(Intersection node, QueryEvaluationContext context)
@@ -550,7 +564,7 @@ public class StrictEvaluationStrategy implements EvaluationStrategy, FederatedSe
 		boolean reduced = isReducedOrDistinct(node);
 		long limit = getLimit(node);
 		QueryEvaluationStep preparedArg = precompile(node.getArg(), context);
-		return new OrderQueryEvaluationStep(cmp, limit, reduced, preparedArg, iterationCacheSyncThreshold);
+		return new OrderQueryEvaluationStep(cmp, limit, reduced, preparedArg);
 	}
 
 	protected QueryEvaluationStep prepare(BindingSetAssignment node, QueryEvaluationContext context)
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
@@ -26,6 +28,20 @@ import org.eclipse.rdf4j.query.algebra.helpers.TupleExprs;
 
 public class JoinQueryEvaluationStep implements QueryEvaluationStep {
 
+	/**
+	 * System property for the estimated result size that both join arguments need to reach before a hash join is
+	 * evaluated in partitioned parallel mode. A value of zero or less disables parallel hash joins.
+	 */
+	public static final String PARALLEL_HASH_JOIN_THRESHOLD_PROPERTY = "org.eclipse.rdf4j.query.algebra.evaluation.parallelHashJoinThreshold";
+
+	private static final long DEFAULT_PARALLEL_HASH_JOIN_THRESHOLD = 100_000;
+
+	/**
+	 * System property for the estimated number of bytes of input that a hash join may cache before it spills its inputs
+	 * to temporary files. Defaults to a quarter of the maximum heap size, a value of zero or less disables spilling.
+	 */
+	public static final String HASH_JOIN_MAX_MEMORY_PROPERTY = "org.eclipse.rdf4j.query.algebra.evaluation.hashJoinMaxMemory";
+
 	private final java.util.function.Function<BindingSet, CloseableIteration<BindingSet, QueryEvaluationException>> eval;
 
 	public JoinQueryEvaluationStep(EvaluationStrategy strategy, Join join, QueryEvaluationContext context) {
@@ -40,9 +56,17 @@ public class JoinQueryEvaluationStep implements QueryEvaluationStep {
 			join.setAlgorithm(ServiceJoinIterator.class.getSimpleName());
 		} else if (isOutOfScopeForLeftArgBindings(join.getRightArg())) {
 			String[] joinAttributes = HashJoinIteration.hashJoinAttributeNames(join);
-			eval = (bindings) -> new HashJoinIteration(leftPrepared, rightPrepared, bindings, false,
-					joinAttributes, context);
-			join.setAlgorithm(HashJoinIteration.class.getSimpleName());
+			long maxMemory = hashJoinMaxMemory();
+			if (useParallelHashJoin(join.getLeftArg(), join.getRightArg(), joinAttributes)) {
+				ForkJoinPool pool = ForkJoinPool.commonPool();
+				eval = (bindings) -> new HashJoinIteration(leftPrepared, rightPrepared, bindings, false,
+						joinAttributes, context, pool, maxMemory, join);
+				join.setAlgorithm(HashJoinIteration.PARALLEL_ALGORITHM_NAME);
+			} else {
+				eval = (bindings) -> new HashJoinIteration(leftPrepared, rightPrepared, bindings, false,
+						joinAttributes, context, null, maxMemory, join);
+				join.setAlgorithm(HashJoinIteration.class.getSimpleName());
+			}
 		} else {
 			eval = (bindings) -> new JoinIterator(strategy, leftPrepared, rightPrepared, join, bindings);
 			join.setAlgorithm(JoinIterator.class.getSimpleName());
@@ -54,6 +78,23 @@ public class JoinQueryEvaluationStep implements QueryEvaluationStep {
 		return eval.apply(bindings);
 	}
 
+	/**
+	 * A hash join is only worth parallelizing when there is something to partition on and the
+	 * {@link org.eclipse.rdf4j.query.algebra.evaluation.impl.EvaluationStatistics} based estimates that the optimizer
+	 * recorded for both arguments exceed the configured threshold.
+	 */
+	static boolean useParallelHashJoin(TupleExpr left, TupleExpr right, String[] joinAttributes) {
+		long threshold = Long.getLong(PARALLEL_HASH_JOIN_THRESHOLD_PROPERTY, DEFAULT_PARALLEL_HASH_JOIN_THRESHOLD);
+		if (threshold <= 0 || joinAttributes.length == 0 || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+			return false;
+		}
+		return left.getResultSizeEstimate() >= threshold && right.getResultSizeEstimate() >= threshold;
+	}
+
+	static long hashJoinMaxMemory() {
+		return Math.max(0, Long.getLong(HASH_JOIN_MAX_MEMORY_PROPERTY, Runtime.getRuntime().maxMemory() / 4));
+	}
+
 	private static boolean isOutOfScopeForLeftArgBindings(TupleExpr expr) {
 		return (TupleExprs.isVariableScopeChange(expr) || TupleExprs.containsSubquery(expr));
 	}
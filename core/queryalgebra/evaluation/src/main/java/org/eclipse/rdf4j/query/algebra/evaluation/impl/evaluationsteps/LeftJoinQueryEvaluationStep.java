@@ -13,6 +13,7 @@ package org.eclipse.rdf4j.query.algebra.evaluation.impl.evaluationsteps;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.query.BindingSet;
@@ -45,7 +46,11 @@ public final class LeftJoinQueryEvaluationStep implements QueryEvaluationStep {
 			String[] joinAttributes = leftBindingNames.stream()
 					.filter(rightBindingNames::contains)
 					.toArray(String[]::new);
-			return bs -> new HashJoinIteration(left, right, bs, true, joinAttributes, context);
+			ForkJoinPool pool = JoinQueryEvaluationStep.useParallelHashJoin(leftJoin.getLeftArg(),
+					leftJoin.getRightArg(), joinAttributes) ? ForkJoinPool.commonPool() : null;
+			long maxMemory = JoinQueryEvaluationStep.hashJoinMaxMemory();
+			return bs -> new HashJoinIteration(left, right, bs, true, joinAttributes, context, pool, maxMemory,
+					leftJoin);
 		}
 
 		// Check whether optional join is "well designed" as defined in section
@@ -16,28 +16,47 @@ import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
 import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
-import org.eclipse.rdf4j.query.algebra.evaluation.iterator.OrderIterator;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.ExternalOrderIterator;
 
 public class OrderQueryEvaluationStep implements QueryEvaluationStep {
 
-	private final long iterationCacheSyncThreshold;
+	/**
+	 * System property for the estimated number of bytes of binding sets that an ORDER BY keeps in memory before it
+	 * writes a sorted run to disk. Defaults to a quarter of the maximum heap size, a value of zero or less keeps
+	 * everything in memory.
+	 */
+	public static final String ORDER_MAX_MEMORY_PROPERTY = "org.eclipse.rdf4j.query.algebra.evaluation.orderMaxMemory";
+
+	private final long maxMemory;
 	private final Comparator<BindingSet> cmp;
 	private final long limit;
 	private final boolean reduced;
 	private final QueryEvaluationStep preparedArg;
 
+	/**
+	 * @deprecated the memory budget of the sort is no longer expressed in number of binding sets, use
+	 *             {@link #OrderQueryEvaluationStep(Comparator, long, boolean, QueryEvaluationStep)} and
+	 *             {@link #ORDER_MAX_MEMORY_PROPERTY} instead.
+	 */
+	@Deprecated(since = "4.2.1")
 	public OrderQueryEvaluationStep(Comparator<BindingSet> cmp, long limit, boolean reduced,
 			QueryEvaluationStep preparedArg, long iterationCacheSyncThreshold) {
+		this(cmp, limit, reduced, preparedArg);
+	}
+
+	public OrderQueryEvaluationStep(Comparator<BindingSet> cmp, long limit, boolean reduced,
+			QueryEvaluationStep preparedArg) {
 		super();
 		this.cmp = cmp;
 		this.limit = limit;
 		this.reduced = reduced;
 		this.preparedArg = preparedArg;
-		this.iterationCacheSyncThreshold = iterationCacheSyncThreshold;
+		this.maxMemory = Math.max(0,
+				Long.getLong(ORDER_MAX_MEMORY_PROPERTY, Runtime.getRuntime().maxMemory() / 4));
 	}
 
 	@Override
 	public CloseableIteration<BindingSet, QueryEvaluationException> evaluate(BindingSet bs) {
-		return new OrderIterator(preparedArg.evaluate(bs), cmp, limit, reduced, iterationCacheSyncThreshold);
+		return new ExternalOrderIterator(preparedArg.evaluate(bs), cmp, limit, reduced, maxMemory);
 	}
 }
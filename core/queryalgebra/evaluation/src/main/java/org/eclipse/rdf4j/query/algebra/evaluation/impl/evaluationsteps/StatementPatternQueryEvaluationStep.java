@@ -20,6 +20,7 @@ import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.EmptyIteration;
 import org.eclipse.rdf4j.common.iteration.FilterIteration;
 import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
@@ -35,6 +36,7 @@ import org.eclipse.rdf4j.query.algebra.Var;
 import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.QueryEvaluationContext;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.RangeStatementPattern;
 
 /**
  * Evaluate the StatementPattern - taking care of graph/datasets - avoiding redoing work every call of evaluate if
@@ -60,6 +62,9 @@ public class StatementPatternQueryEvaluationStep implements QueryEvaluationStep
 	private final Function<BindingSet, Value> getPredicateVar;
 	private final Function<BindingSet, Value> getObjectVar;
 
+	private final Literal lowerBound;
+	private final Literal upperBound;
+
 	// We try to do as much work as possible in the constructor.
 	// With the aim of making the evaluate method as cheap as possible.
 	public StatementPatternQueryEvaluationStep(StatementPattern statementPattern, QueryEvaluationContext context,
@@ -125,6 +130,13 @@ public class StatementPatternQueryEvaluationStep implements QueryEvaluationStep
 		getPredicateVar = makeGetVarValue(predVar, context);
 		getObjectVar = makeGetVarValue(objVar, context);
 
+		if (statementPattern instanceof RangeStatementPattern && tripleSource.supportsObjectRanges()) {
+			lowerBound = ((RangeStatementPattern) statementPattern).getLowerBound();
+			upperBound = ((RangeStatementPattern) statementPattern).getUpperBound();
+		} else {
+			lowerBound = null;
+			upperBound = null;
+		}
 	}
 
 	private static Predicate<BindingSet> getUnboundTest(QueryEvaluationContext context, Var s, Var p,
@@ -240,7 +252,7 @@ public class StatementPatternQueryEvaluationStep implements QueryEvaluationStep
 
 		CloseableIteration<? extends Statement, QueryEvaluationException> iteration = null;
 		try {
-			iteration = tripleSource.getStatements((Resource) subject, (IRI) predicate, object, contexts);
+			iteration = getStatements((Resource) subject, (IRI) predicate, object, contexts);
 			if (iteration instanceof EmptyIteration) {
 				return null;
 			}
@@ -278,7 +290,7 @@ public class StatementPatternQueryEvaluationStep implements QueryEvaluationStep
 
 		CloseableIteration<? extends Statement, QueryEvaluationException> iteration = null;
 		try {
-			iteration = tripleSource.getStatements((Resource) subject, (IRI) predicate, object, contexts);
+			iteration = getStatements((Resource) subject, (IRI) predicate, object, contexts);
 			if (iteration instanceof EmptyIteration) {
 				return null;
 			}
@@ -297,6 +309,15 @@ public class StatementPatternQueryEvaluationStep implements QueryEvaluationStep
 		}
 	}
 
+	private CloseableIteration<? extends Statement, QueryEvaluationException> getStatements(Resource subject,
+			IRI predicate, Value object, Resource[] contexts) {
+		if (object == null && (lowerBound != null || upperBound != null)) {
+			// the filters on the object are still evaluated on the results of the range scan
+			return tripleSource.getStatementsInRange(subject, predicate, lowerBound, upperBound, contexts);
+		}
+		return tripleSource.getStatements(subject, predicate, object, contexts);
+	}
+
 	private CloseableIteration<? extends Statement, QueryEvaluationException> handleFilter(Resource[] contexts,
 			Resource subject, IRI predicate, Value object,
 			CloseableIteration<? extends Statement, QueryEvaluationException> iteration) {
@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Triple;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.query.Binding;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryBindingSet;
+
+/**
+ * A temporary file holding a run of binding sets in a compact binary format. Binding names, IRI namespaces, datatypes
+ * and language tags are written to an inline dictionary the first time they occur and referenced by number after that,
+ * all numbers are written as variable length integers.
+ */
+final class BindingSetRunFile implements Closeable {
+
+	private static final int IRI_VALUE = 0;
+
+	private static final int BNODE_VALUE = 1;
+
+	private static final int STRING_LITERAL = 2;
+
+	private static final int LANG_LITERAL = 3;
+
+	private static final int TYPED_LITERAL = 4;
+
+	private static final int TRIPLE_VALUE = 5;
+
+	private final File file;
+
+	private final Map<String, Integer> dictionary = new HashMap<>();
+
+	private DataOutputStream output;
+
+	private Reader reader;
+
+	private long size;
+
+	public BindingSetRunFile(String prefix) throws IOException {
+		file = File.createTempFile(prefix, "");
+		output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+	}
+
+	/**
+	 * Estimates the number of bytes that the given binding set occupies on the heap.
+	 */
+	static long estimateSize(BindingSet bindingSet) {
+		long size = 32;
+		for (Binding binding : bindingSet) {
+			size += 64 + 2L * binding.getValue().stringValue().length();
+		}
+		return size;
+	}
+
+	public long size() {
+		return size;
+	}
+
+	public void add(BindingSet bindingSet) throws IOException {
+		int bindings = 0;
+		for (Binding binding : bindingSet) {
+			if (binding.getValue() != null) {
+				bindings++;
+			}
+		}
+		writeVarInt(bindings);
+		for (Binding binding : bindingSet) {
+			if (binding.getValue() != null) {
+				writeDictionary(binding.getName());
+				writeValue(binding.getValue());
+			}
+		}
+		size++;
+	}
+
+	/**
+	 * Finishes writing and returns an iterator over the binding sets in the order they were added.
+	 */
+	public Iterator<BindingSet> iterator() throws IOException {
+		output.close();
+		output = null;
+		reader = new Reader(new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16)), size);
+		return reader;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			if (output != null) {
+				output.close();
+				output = null;
+			}
+			if (reader != null) {
+				reader.input.close();
+				reader = null;
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	private void writeValue(Value value) throws IOException {
+		if (value.isIRI()) {
+			IRI iri = (IRI) value;
+			output.writeByte(IRI_VALUE);
+			writeDictionary(iri.getNamespace());
+			writeString(iri.getLocalName());
+		} else if (value.isBNode()) {
+			output.writeByte(BNODE_VALUE);
+			writeString(((BNode) value).getID());
+		} else if (value.isLiteral()) {
+			Literal literal = (Literal) value;
+			if (literal.getLanguage().isPresent()) {
+				output.writeByte(LANG_LITERAL);
+				writeString(literal.getLabel());
+				writeDictionary(literal.getLanguage().get());
+			} else if (XSD.STRING.equals(literal.getDatatype())) {
+				output.writeByte(STRING_LITERAL);
+				writeString(literal.getLabel());
+			} else {
+				output.writeByte(TYPED_LITERAL);
+				writeString(literal.getLabel());
+				writeDictionary(literal.getDatatype().stringValue());
+			}
+		} else if (value.isTriple()) {
+			Triple triple = (Triple) value;
+			output.writeByte(TRIPLE_VALUE);
+			writeValue(triple.getSubject());
+			writeValue(triple.getPredicate());
+			writeValue(triple.getObject());
+		} else {
+			throw new IOException("Unsupported value type: " + value.getClass());
+		}
+	}
+
+	private void writeDictionary(String string) throws IOException {
+		Integer id = dictionary.get(string);
+		if (id == null) {
+			id = dictionary.size();
+			dictionary.put(string, id);
+			writeVarInt(id);
+			writeString(string);
+		} else {
+			writeVarInt(id);
+		}
+	}
+
+	private void writeString(String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private void writeVarInt(int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			output.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		output.writeByte(value);
+	}
+
+	private static class Reader implements Iterator<BindingSet> {
+
+		private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+		private final List<String> dictionary = new ArrayList<>();
+
+		private final DataInputStream input;
+
+		private long remaining;
+
+		public Reader(DataInputStream input, long size) {
+			this.input = input;
+			this.remaining = size;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return remaining > 0;
+		}
+
+		@Override
+		public BindingSet next() {
+			if (remaining <= 0) {
+				throw new NoSuchElementException();
+			}
+			try {
+				int bindings = readVarInt();
+				QueryBindingSet bindingSet = new QueryBindingSet(bindings);
+				for (int i = 0; i < bindings; i++) {
+					String name = readDictionary();
+					bindingSet.addBinding(name, readValue());
+				}
+				if (--remaining == 0) {
+					input.close();
+				}
+				return bindingSet;
+			} catch (IOException e) {
+				throw new QueryEvaluationException(e);
+			}
+		}
+
+		private Value readValue() throws IOException {
+			int type = input.readByte();
+			switch (type) {
+			case IRI_VALUE:
+				String namespace = readDictionary();
+				return vf.createIRI(namespace + readString());
+			case BNODE_VALUE:
+				return vf.createBNode(readString());
+			case STRING_LITERAL:
+				return vf.createLiteral(readString());
+			case LANG_LITERAL:
+				String label = readString();
+				return vf.createLiteral(label, readDictionary());
+			case TYPED_LITERAL:
+				String typedLabel = readString();
+				return vf.createLiteral(typedLabel, vf.createIRI(readDictionary()));
+			case TRIPLE_VALUE:
+				Resource subject = (Resource) readValue();
+				IRI predicate = (IRI) readValue();
+				return vf.createTriple(subject, predicate, readValue());
+			default:
+				throw new IOException("Unknown value type: " + type);
+			}
+		}
+
+		private String readDictionary() throws IOException {
+			int id = readVarInt();
+			if (id == dictionary.size()) {
+				dictionary.add(readString());
+			}
+			return dictionary.get(id);
+		}
+
+		private String readString() throws IOException {
+			byte[] bytes = new byte[readVarInt()];
+			input.readFully(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		private int readVarInt() throws IOException {
+			int value = 0;
+			for (int shift = 0; shift < 35; shift += 7) {
+				int b = input.readByte();
+				value |= (b & 0x7F) << shift;
+				if ((b & 0x80) == 0) {
+					return value;
+				}
+			}
+			throw new EOFException("Malformed variable length integer");
+		}
+	}
+}
@@ -0,0 +1,228 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
+import org.eclipse.rdf4j.common.iteration.DelayedIteration;
+import org.eclipse.rdf4j.common.iteration.Iteration;
+import org.eclipse.rdf4j.common.iteration.LimitIteration;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+
+/**
+ * Sorts the input and optionally applies limit and distinct, using an external merge sort once the input exceeds a
+ * memory budget.
+ * <p>
+ * The input is collected until its estimated size exceeds the budget, at which point the collected binding sets are
+ * sorted and written to a temporary file as a sorted run in a compact binary format. Once the input is exhausted the
+ * runs and the remaining in-memory binding sets are merged using a {@link LoserTree}. Values that are read back from a
+ * run are created by the {@link org.eclipse.rdf4j.model.impl.SimpleValueFactory}.
+ */
+public class ExternalOrderIterator extends DelayedIteration<BindingSet, QueryEvaluationException> {
+
+	/*-----------*
+	 * Variables *
+	 *-----------*/
+
+	private final CloseableIteration<BindingSet, QueryEvaluationException> iter;
+
+	private final Comparator<BindingSet> comparator;
+
+	private final long limit;
+
+	private final boolean distinct;
+
+	/**
+	 * The estimated number of bytes of binding sets that are kept in memory before a sorted run is written to disk. If
+	 * set to 0, all binding sets are kept in memory.
+	 */
+	private final long maxMemory;
+
+	private final List<BindingSetRunFile> runs = new ArrayList<>();
+
+	/*--------------*
+	 * Constructors *
+	 *--------------*/
+
+	public ExternalOrderIterator(CloseableIteration<BindingSet, QueryEvaluationException> iter,
+			Comparator<BindingSet> comparator, long limit, boolean distinct, long maxMemory) {
+		this.iter = iter;
+		this.comparator = comparator;
+		this.limit = limit;
+		this.distinct = distinct;
+		this.maxMemory = maxMemory > 0 ? maxMemory : Long.MAX_VALUE;
+	}
+
+	/*---------*
+	 * Methods *
+	 *---------*/
+
+	/**
+	 * @return the number of sorted runs that were written to disk.
+	 */
+	public int getRunCount() {
+		return runs.size();
+	}
+
+	@Override
+	protected Iteration<BindingSet, QueryEvaluationException> createIteration() throws QueryEvaluationException {
+		BindingSet threshold = null;
+		List<BindingSet> list = new ArrayList<>();
+		long listBytes = 0;
+		long limit2 = limit >= Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : limit * 2;
+		try {
+			while (iter.hasNext()) {
+				BindingSet next = iter.next();
+				if (threshold != null && comparator.compare(next, threshold) >= 0) {
+					continue;
+				}
+				list.add(next);
+				listBytes += BindingSetRunFile.estimateSize(next);
+
+				if (list.size() >= limit2) {
+					// only the first limit elements can ever be returned, so there is no point in keeping the rest
+					list = sort(list);
+					listBytes = list.stream().mapToLong(BindingSetRunFile::estimateSize).sum();
+					if (list.size() >= limit) {
+						threshold = list.get(list.size() - 1);
+					}
+				} else if (listBytes > maxMemory) {
+					BindingSetRunFile run = new BindingSetRunFile("orderiter");
+					runs.add(run);
+					for (BindingSet bindingSet : sort(list)) {
+						run.add(bindingSet);
+					}
+					list = new ArrayList<>(list.size());
+					listBytes = 0;
+				}
+			}
+		} catch (IOException e) {
+			throw new QueryEvaluationException(e);
+		} finally {
+			iter.close();
+		}
+
+		Iterator<BindingSet> iterator;
+		if (runs.isEmpty()) {
+			iterator = sort(list).iterator();
+		} else {
+			List<Iterator<BindingSet>> iterators = new ArrayList<>(runs.size() + 1);
+			try {
+				for (BindingSetRunFile run : runs) {
+					iterators.add(run.iterator());
+				}
+			} catch (IOException e) {
+				throw new QueryEvaluationException(e);
+			}
+			iterators.add(sort(list).iterator());
+
+			iterator = new LoserTree<>(iterators, comparator);
+			if (distinct) {
+				iterator = new AdjacentDistinctIterator(iterator);
+			}
+		}
+
+		return new LimitIteration<>(new CloseableIteratorIteration<>(iterator), limit);
+	}
+
+	private List<BindingSet> sort(List<BindingSet> list) {
+		BindingSet[] array = list.toArray(new BindingSet[list.size()]);
+		Arrays.parallelSort(array, comparator);
+		Stream<BindingSet> stream = Stream.of(array);
+		if (distinct) {
+			stream = stream.distinct();
+		}
+		if (limit < Integer.MAX_VALUE) {
+			stream = stream.limit(limit);
+		}
+		return stream.collect(Collectors.toList());
+	}
+
+	@Override
+	public void remove() throws QueryEvaluationException {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	protected void handleClose() throws QueryEvaluationException {
+		try {
+			super.handleClose();
+		} finally {
+			try {
+				iter.close();
+			} finally {
+				IOException exception = null;
+				for (BindingSetRunFile run : runs) {
+					try {
+						run.close();
+					} catch (IOException e) {
+						if (exception == null) {
+							exception = e;
+						}
+					}
+				}
+				runs.clear();
+				if (exception != null) {
+					throw new QueryEvaluationException(exception);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Skips elements that are equal to the element returned before them, which removes the duplicates that were sorted
+	 * into different runs.
+	 */
+	private static class AdjacentDistinctIterator implements Iterator<BindingSet> {
+
+		private final Iterator<BindingSet> iterator;
+
+		private BindingSet previous;
+
+		private BindingSet next;
+
+		public AdjacentDistinctIterator(Iterator<BindingSet> iterator) {
+			this.iterator = iterator;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (next == null && iterator.hasNext()) {
+				BindingSet candidate = iterator.next();
+				if (!candidate.equals(previous)) {
+					next = candidate;
+				}
+			}
+			return next != null;
+		}
+
+		@Override
+		public BindingSet next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			previous = next;
+			next = null;
+			return previous;
+		}
+	}
+}
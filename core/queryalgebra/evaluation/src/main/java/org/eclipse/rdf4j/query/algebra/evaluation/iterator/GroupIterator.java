@@ -14,22 +14,31 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.AbstractSet;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.LongFunction;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
 import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Value;
@@ -53,6 +62,7 @@ import org.eclipse.rdf4j.query.algebra.Sample;
 import org.eclipse.rdf4j.query.algebra.Sum;
 import org.eclipse.rdf4j.query.algebra.ValueExpr;
 import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategy;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryBindingSet;
 import org.eclipse.rdf4j.query.algebra.evaluation.QueryValueEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.ValueExprEvaluationException;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.ExtendedEvaluationStrategy;
@@ -67,6 +77,17 @@ import org.mapdb.DB;
 import org.mapdb.DBMaker;
 
 /**
+ * Evaluates a {@link Group} by collecting the solutions of its argument into groups and computing the aggregates of
+ * every group.
+ * <p>
+ * When constructed with a memory budget, and all aggregates are built-in aggregates without DISTINCT, the partial
+ * aggregates of the groups are written to temporary files whenever their estimated size exceeds the budget, partitioned
+ * by the hash of their group key. The partitions are merged one by one once all solutions have been aggregated,
+ * partitioning them again if they still exceed the budget. When constructed with a {@link ForkJoinPool}, and no custom
+ * {@link AggregateFunction}s are used, the solutions are scattered over one partition per worker by the hash of their
+ * group key and the partitions are aggregated in parallel, each with its own evaluation steps. As every group ends up
+ * in exactly one partition, the results of the partitions only need to be concatenated.
+ *
  * @author David Huynh
  * @author Arjohn Kampman
  * @author Jeen Broekstra
@@ -80,6 +101,39 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 	 * Constants *
 	 *-----------*/
 
+	/**
+	 * System property for the estimated number of solutions of the argument of a GROUP BY from which on the groups are
+	 * aggregated in parallel on the common pool. Not set by default, a value of zero or less disables parallel
+	 * aggregation.
+	 */
+	public static final String PARALLEL_GROUP_THRESHOLD_PROPERTY = "org.eclipse.rdf4j.query.algebra.evaluation.parallelGroupThreshold";
+
+	/**
+	 * The number of solutions that are read before they are handed to the workers of a parallel aggregation.
+	 */
+	private static final int PARALLEL_BATCH_SIZE = 4096;
+
+	/**
+	 * System property for the estimated number of bytes of groups that a GROUP BY keeps in memory before it writes
+	 * their partial aggregates to disk. Not set by default, a value of zero or less keeps everything in memory.
+	 */
+	public static final String GROUP_MAX_MEMORY_PROPERTY = "org.eclipse.rdf4j.query.algebra.evaluation.groupMaxMemory";
+
+	private static final int SPILL_PARTITIONS = 32;
+
+	private static final int SPILL_PARTITION_BITS = Integer.numberOfTrailingZeros(SPILL_PARTITIONS);
+
+	private static final int MAX_SPILL_DEPTH = 6;
+
+	/**
+	 * The estimated number of bytes used by a group and by each of its collectors, on top of its first solution.
+	 */
+	private static final int ENTRY_OVERHEAD = 64;
+
+	private static final String COUNT_SUFFIX = ".count";
+
+	private static final String TYPE_ERROR_SUFFIX = ".error";
+
 	private final SimpleValueFactory vf = SimpleValueFactory.getInstance();
 
 	private final EvaluationStrategy strategy;
@@ -97,6 +151,20 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 
 	private final QueryEvaluationContext context;
 
+	private final ForkJoinPool pool;
+
+	/**
+	 * The estimated number of bytes of groups that are kept in memory before their partial aggregates are written to
+	 * disk. If set to 0, all groups are kept in memory.
+	 */
+	private final long maxMemory;
+
+	private final AtomicLong setId = new AtomicLong();
+
+	private final AtomicInteger spillCount = new AtomicInteger();
+
+	private final Set<BindingSetRunFile> spillFiles = Collections.synchronizedSet(new HashSet<>());
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
@@ -109,11 +177,29 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 
 	public GroupIterator(EvaluationStrategy strategy, Group group, BindingSet parentBindings,
 			long iterationCacheSyncThreshold, QueryEvaluationContext context) throws QueryEvaluationException {
+		this(strategy, group, parentBindings, iterationCacheSyncThreshold, context, null, 0);
+	}
+
+	/**
+	 * @param pool      the pool on which the groups are aggregated in parallel, or <var>null</var> to aggregate them on
+	 *                  the calling thread. Only used if <var>iterationCacheSyncThreshold</var> is 0 and the group uses
+	 *                  no custom aggregate functions.
+	 * @param maxMemory the estimated number of bytes of groups that are kept in memory before their partial aggregates
+	 *                  are written to disk, or 0 to keep all groups in memory. Only used if the group uses built-in
+	 *                  aggregates without DISTINCT.
+	 */
+	public GroupIterator(EvaluationStrategy strategy, Group group, BindingSet parentBindings,
+			long iterationCacheSyncThreshold, QueryEvaluationContext context, ForkJoinPool pool, long maxMemory)
+			throws QueryEvaluationException {
 		this.strategy = strategy;
 		this.group = group;
 		this.parentBindings = parentBindings;
 		this.iterationCacheSyncThreshold = iterationCacheSyncThreshold;
 		this.context = context;
+		// the disk based sets are not meant to be shared between threads, nor are custom aggregate functions
+		this.pool = iterationCacheSyncThreshold > 0 || pool == null || pool.getParallelism() <= 1
+				|| !hasBuiltInAggregates(group) ? null : pool;
+		this.maxMemory = hasMergeableAggregates(group) ? Math.max(0, maxMemory) : 0;
 
 		if (this.iterationCacheSyncThreshold > 0) {
 			try {
@@ -134,6 +220,34 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 	 * Methods *
 	 *---------*/
 
+	/**
+	 * Determines if the given group is expected to receive enough solutions to be worth aggregating in parallel, see
+	 * {@link #PARALLEL_GROUP_THRESHOLD_PROPERTY}.
+	 */
+	public static boolean useParallelAggregation(Group group) {
+		long threshold = Long.getLong(PARALLEL_GROUP_THRESHOLD_PROPERTY, 0);
+		if (threshold <= 0 || group.getGroupBindingNames().isEmpty()
+				|| ForkJoinPool.getCommonPoolParallelism() <= 1 || !hasBuiltInAggregates(group)) {
+			return false;
+		}
+		return group.getArg().getResultSizeEstimate() >= threshold;
+	}
+
+	/**
+	 * @return the memory budget configured by {@link #GROUP_MAX_MEMORY_PROPERTY}.
+	 */
+	public static long groupMaxMemory() {
+		return Math.max(0, Long.getLong(GROUP_MAX_MEMORY_PROPERTY, 0));
+	}
+
+	/**
+	 * @return the number of times partial aggregates were written to temporary files because the memory budget was
+	 *         exceeded.
+	 */
+	public int getSpillCount() {
+		return spillCount.get();
+	}
+
 	@Override
 	public boolean hasNext() throws QueryEvaluationException {
 		if (!super.hasIterator()) {
@@ -155,9 +269,32 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 		try {
 			super.handleClose();
 		} finally {
-			if (db != null) {
-				db.close();
+			try {
+				if (db != null) {
+					db.close();
+				}
+			} finally {
+				closeSpillFiles();
+			}
+		}
+	}
+
+	private void closeSpillFiles() throws QueryEvaluationException {
+		IOException exception = null;
+		synchronized (spillFiles) {
+			for (BindingSetRunFile file : spillFiles) {
+				try {
+					file.close();
+				} catch (IOException e) {
+					if (exception == null) {
+						exception = e;
+					}
+				}
 			}
+			spillFiles.clear();
+		}
+		if (exception != null) {
+			throw new QueryEvaluationException(exception);
 		}
 	}
 
@@ -261,9 +398,21 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 
 	private Iterator<BindingSet> createIterator() throws QueryEvaluationException {
 		List<AggregatePredicateCollectorSupplier<?, ?>> aggregates = makeAggregates();
+		Function<Entry, BindingSet> makeSolution = makeSolution(aggregates);
+		if (pool != null || maxMemory > 0) {
+			return createPartitionedIterator(aggregates, makeSolution);
+		}
+
 		Collection<Entry> entries = buildEntries(aggregates);
 		Set<BindingSet> bindingSets = createSet("bindingsets");
+		for (Entry entry : entries) {
+			bindingSets.add(makeSolution.apply(entry));
+		}
 
+		return bindingSets.iterator();
+	}
+
+	private Function<Entry, BindingSet> makeSolution(List<AggregatePredicateCollectorSupplier<?, ?>> aggregates) {
 		Supplier<MutableBindingSet> makeNewBindingSet;
 		if (parentBindings.isEmpty()) {
 			makeNewBindingSet = context::createBindingSet;
@@ -283,7 +432,7 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 			}
 		}
 
-		for (Entry entry : entries) {
+		return entry -> {
 			MutableBindingSet sol = makeNewBindingSet.get();
 
 			BindingSet prototype = entry.getPrototype();
@@ -299,10 +448,8 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 			}
 
 			bindSolution.accept(entry, sol);
-			bindingSets.add(sol);
-		}
-
-		return bindingSets.iterator();
+			return sol;
+		};
 	}
 
 	private BiConsumer<Entry, MutableBindingSet> makeBindSolution(
@@ -355,7 +502,6 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 
 		try (var iter = strategy.precompile(group.getArg(), context).evaluate(parentBindings)) {
 
-			long setId = 0;
 			Function<BindingSet, Integer> hashMaker = hashMaker(context, group);
 			Map<Key, Entry> entries = new LinkedHashMap<>();
 
@@ -367,13 +513,7 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 					Key key = new Key(sol, hashMaker.apply(sol));
 					Entry entry = entries.get(key);
 					if (entry == null) {
-						List<AggregateCollector> collectors = makeCollectors(aggregates);
-						List<Predicate<?>> predicates = new ArrayList<>(aggregates.size());
-						for (AggregatePredicateCollectorSupplier<?, ?> a : aggregates) {
-							predicates.add(a.predicate.apply(setId++));
-						}
-
-						entry = new Entry(sol, collectors, predicates);
+						entry = createEntry(sol, aggregates);
 						entries.put(key, entry);
 					}
 
@@ -385,6 +525,401 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 
 	}
 
+	private Entry createEntry(BindingSet prototype, List<AggregatePredicateCollectorSupplier<?, ?>> aggregates) {
+		List<AggregateCollector> collectors = makeCollectors(aggregates);
+		List<Predicate<?>> predicates = new ArrayList<>(aggregates.size());
+		for (AggregatePredicateCollectorSupplier<?, ?> a : aggregates) {
+			predicates.add(a.predicate.apply(setId.getAndIncrement()));
+		}
+		return new Entry(prototype, collectors, predicates);
+	}
+
+	private Iterator<BindingSet> createPartitionedIterator(List<AggregatePredicateCollectorSupplier<?, ?>> aggregates,
+			Function<Entry, BindingSet> makeSolution) throws QueryEvaluationException {
+
+		try (var iter = strategy.precompile(group.getArg(), context).evaluate(parentBindings)) {
+			if (!iter.hasNext()) {
+				Map<Key, Entry> entries = new LinkedHashMap<>();
+				emptySolutionSpecialCase(aggregates, entries);
+				List<BindingSet> bindingSets = new ArrayList<>(entries.size());
+				for (Entry entry : entries.values()) {
+					bindingSets.add(makeSolution.apply(entry));
+				}
+				return bindingSets.iterator();
+			}
+
+			Function<BindingSet, Integer> hashMaker = hashMaker(context, group);
+			if (pool != null) {
+				return aggregateInParallel(iter, aggregates, hashMaker, makeSolution);
+			}
+
+			HashAggregation aggregation = new HashAggregation(aggregates, hashMaker, makeSolution, 0,
+					maxMemory > 0 ? maxMemory : Long.MAX_VALUE);
+			while (iter.hasNext()) {
+				aggregation.add(iter.next());
+			}
+			return aggregation.iterator();
+		}
+	}
+
+	/**
+	 * Scatters the solutions over one partition per worker by the hash of their group key. The solutions are handed to
+	 * the workers in batches, so that the next batch is read while the previous one is aggregated. Every partition has
+	 * its own aggregates, and with that its own evaluation steps, and is only updated by one task at a time. The
+	 * partitions share no groups, so their results only need to be concatenated.
+	 */
+	private Iterator<BindingSet> aggregateInParallel(CloseableIteration<BindingSet, QueryEvaluationException> iter,
+			List<AggregatePredicateCollectorSupplier<?, ?>> aggregates, Function<BindingSet, Integer> hashMaker,
+			Function<Entry, BindingSet> makeSolution) throws QueryEvaluationException {
+		int partitions = partitionCount(pool.getParallelism());
+		long budget = maxMemory > 0 ? maxMemory / partitions : Long.MAX_VALUE;
+
+		List<HashAggregation> aggregations = new ArrayList<>(partitions);
+		for (int i = 0; i < partitions; i++) {
+			// the evaluation steps of the aggregates are not meant to be shared between threads
+			List<AggregatePredicateCollectorSupplier<?, ?>> partitionAggregates = i == 0 ? aggregates
+					: makeAggregates();
+			aggregations.add(new HashAggregation(partitionAggregates, hashMaker, makeSolution, 0, budget));
+		}
+
+		List<ForkJoinTask<?>> running = Collections.emptyList();
+		try {
+			List<List<BindingSet>> batch = newBatch(partitions);
+			int batched = 0;
+			while (iter.hasNext()) {
+				BindingSet sol = iter.next();
+				batch.get(partition(hashMaker.apply(sol), partitions)).add(sol);
+				if (++batched == PARALLEL_BATCH_SIZE) {
+					running = submitBatch(aggregations, batch, running);
+					batch = newBatch(partitions);
+					batched = 0;
+				}
+			}
+			running = submitBatch(aggregations, batch, running);
+			joinAll(running);
+		} catch (RuntimeException e) {
+			// the workers have to be done with their partitions before the spill files are closed
+			for (ForkJoinTask<?> task : running) {
+				task.quietlyJoin();
+			}
+			throw e;
+		}
+
+		Deque<HashAggregation> remaining = new ArrayDeque<>(aggregations);
+		return new Iterator<>() {
+
+			private Iterator<BindingSet> current = Collections.emptyIterator();
+
+			@Override
+			public boolean hasNext() {
+				while (!current.hasNext()) {
+					if (remaining.isEmpty()) {
+						return false;
+					}
+					current = remaining.poll().iterator();
+				}
+				return true;
+			}
+
+			@Override
+			public BindingSet next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return current.next();
+			}
+		};
+	}
+
+	private static List<List<BindingSet>> newBatch(int partitions) {
+		List<List<BindingSet>> batch = new ArrayList<>(partitions);
+		for (int i = 0; i < partitions; i++) {
+			batch.add(new ArrayList<>());
+		}
+		return batch;
+	}
+
+	/**
+	 * Waits for the running tasks, so that a partition is only ever updated by one task, and submits a task for every
+	 * partition of the batch.
+	 */
+	private List<ForkJoinTask<?>> submitBatch(List<HashAggregation> aggregations, List<List<BindingSet>> batch,
+			List<ForkJoinTask<?>> running) throws QueryEvaluationException {
+		joinAll(running);
+		List<ForkJoinTask<?>> tasks = new ArrayList<>(aggregations.size());
+		for (int i = 0; i < aggregations.size(); i++) {
+			HashAggregation aggregation = aggregations.get(i);
+			List<BindingSet> solutions = batch.get(i);
+			if (!solutions.isEmpty()) {
+				tasks.add(pool.submit(() -> {
+					for (BindingSet sol : solutions) {
+						aggregation.add(sol);
+					}
+				}));
+			}
+		}
+		return tasks;
+	}
+
+	private static void joinAll(List<ForkJoinTask<?>> tasks) {
+		for (ForkJoinTask<?> task : tasks) {
+			task.quietlyJoin();
+		}
+		for (ForkJoinTask<?> task : tasks) {
+			// rethrows the exception of the first task that failed
+			task.join();
+		}
+	}
+
+	private BindingSetRunFile createSpillFile() throws IOException {
+		BindingSetRunFile file = new BindingSetRunFile("group-eval");
+		spillFiles.add(file);
+		return file;
+	}
+
+	private static int partitionCount(int parallelism) {
+		// a power of two so that the partition can be taken from the low bits of the hash
+		return parallelism <= 1 ? 1 : Integer.highestOneBit(parallelism - 1) << 1;
+	}
+
+	private static int partition(int hash, int partitions) {
+		return (hash ^ (hash >>> 16)) & (partitions - 1);
+	}
+
+	private static int spillPartition(int hash, int depth) {
+		hash ^= (hash >>> 16);
+		return Integer.rotateRight(hash, depth * SPILL_PARTITION_BITS) & (SPILL_PARTITIONS - 1);
+	}
+
+	/**
+	 * @return the name under which the partial aggregate of the aggregate at the given index is written to disk.
+	 *         Variable names cannot start with a '#', so it cannot clash with the bindings of the group key.
+	 */
+	private static String stateName(int aggregate) {
+		return "#" + aggregate;
+	}
+
+	private void writeTypeError(ValueExprEvaluationException typeError, String name, QueryBindingSet state) {
+		state.addBinding(name + TYPE_ERROR_SUFFIX, vf.createLiteral(String.valueOf(typeError.getMessage())));
+	}
+
+	private static ValueExprEvaluationException readTypeError(BindingSet state, String name) {
+		Value message = state.getValue(name + TYPE_ERROR_SUFFIX);
+		return message != null ? new ValueExprEvaluationException(message.stringValue()) : null;
+	}
+
+	/**
+	 * @return true if the group does not use any custom {@link AggregateFunction}, which are not known to be
+	 *         thread-safe.
+	 */
+	private static boolean hasBuiltInAggregates(Group group) {
+		for (GroupElem ge : group.getGroupElements()) {
+			if (ge.getOperator() instanceof AggregateFunctionCall) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return true if the partial aggregates of a group can be written to disk and merged again, which is the case for
+	 *         the built-in aggregates that are not DISTINCT.
+	 */
+	private static boolean hasMergeableAggregates(Group group) {
+		for (GroupElem ge : group.getGroupElements()) {
+			AggregateOperator operator = ge.getOperator();
+			if (operator.isDistinct() || !(operator instanceof Count || operator instanceof Min
+					|| operator instanceof Max || operator instanceof Sum || operator instanceof Avg
+					|| operator instanceof Sample || operator instanceof GroupConcat)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return true if the memory used by a group grows with the number of its solutions, instead of only with the
+	 *         number of groups.
+	 */
+	private boolean hasGrowingAggregates() {
+		for (GroupElem ge : group.getGroupElements()) {
+			AggregateOperator operator = ge.getOperator();
+			if (operator.isDistinct() || operator instanceof GroupConcat
+					|| operator instanceof AggregateFunctionCall) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Aggregates solutions into groups until the estimated size of the groups exceeds the memory budget. The partial
+	 * aggregates of the groups in memory are then written to temporary files, partitioned by the hash of their group
+	 * key, and the aggregation continues without any groups in memory. Once all solutions have been added, the partial
+	 * aggregates of every partition are merged, partitioning them again if they still exceed the budget.
+	 */
+	private class HashAggregation {
+
+		private final List<AggregatePredicateCollectorSupplier<?, ?>> aggregates;
+
+		private final Function<BindingSet, Integer> hashMaker;
+
+		private final Function<Entry, BindingSet> makeSolution;
+
+		private final int depth;
+
+		private final long budget;
+
+		private final boolean growingAggregates = hasGrowingAggregates();
+
+		private final Map<Key, Entry> entries = new LinkedHashMap<>();
+
+		private long bytes;
+
+		private BindingSetRunFile[] partitions;
+
+		public HashAggregation(List<AggregatePredicateCollectorSupplier<?, ?>> aggregates,
+				Function<BindingSet, Integer> hashMaker, Function<Entry, BindingSet> makeSolution, int depth,
+				long budget) {
+			this.aggregates = aggregates;
+			this.hashMaker = hashMaker;
+			this.makeSolution = makeSolution;
+			this.depth = depth;
+			this.budget = budget;
+		}
+
+		public void add(BindingSet sol) throws QueryEvaluationException {
+			Entry entry = getEntry(sol);
+			entry.addSolution(sol, aggregates);
+			spillIfFull();
+		}
+
+		private void merge(BindingSet state) throws QueryEvaluationException {
+			Entry entry = getEntry(state);
+			for (int i = 0; i < aggregates.size(); i++) {
+				aggregates.get(i).mergeState(state, stateName(i), entry.collectors.get(i));
+			}
+			spillIfFull();
+		}
+
+		private Entry getEntry(BindingSet bindingSet) {
+			Key key = new Key(bindingSet, hashMaker.apply(bindingSet));
+			Entry entry = entries.get(key);
+			if (entry == null) {
+				entry = createEntry(bindingSet, aggregates);
+				entries.put(key, entry);
+				bytes += BindingSetRunFile.estimateSize(bindingSet) + ENTRY_OVERHEAD * (1L + aggregates.size());
+			} else if (growingAggregates) {
+				bytes += BindingSetRunFile.estimateSize(bindingSet);
+			}
+			return entry;
+		}
+
+		private void spillIfFull() throws QueryEvaluationException {
+			if (bytes > budget && depth < MAX_SPILL_DEPTH) {
+				spillCount.incrementAndGet();
+				spill();
+			}
+		}
+
+		private void spill() throws QueryEvaluationException {
+			if (partitions == null) {
+				partitions = new BindingSetRunFile[SPILL_PARTITIONS];
+			}
+			try {
+				for (Map.Entry<Key, Entry> e : entries.entrySet()) {
+					int partition = spillPartition(e.getKey().hashCode(), depth);
+					if (partitions[partition] == null) {
+						partitions[partition] = createSpillFile();
+					}
+					partitions[partition].add(toState(e.getValue()));
+				}
+			} catch (IOException e) {
+				throw new QueryEvaluationException(e);
+			}
+			entries.clear();
+			bytes = 0;
+		}
+
+		/**
+		 * @return the bindings of the group key of the entry, together with the partial aggregates of its collectors.
+		 */
+		private BindingSet toState(Entry entry) {
+			QueryBindingSet state = new QueryBindingSet();
+			for (String name : group.getGroupBindingNames()) {
+				Value value = entry.getPrototype().getValue(name);
+				if (value != null) {
+					state.addBinding(name, value);
+				}
+			}
+			for (int i = 0; i < aggregates.size(); i++) {
+				aggregates.get(i).writeState(entry.collectors.get(i), stateName(i), state);
+			}
+			return state;
+		}
+
+		private void mergeAll(BindingSetRunFile file) throws IOException {
+			try {
+				Iterator<BindingSet> states = file.iterator();
+				while (states.hasNext()) {
+					merge(states.next());
+				}
+			} finally {
+				spillFiles.remove(file);
+				file.close();
+			}
+		}
+
+		/**
+		 * @return the solutions of the groups in memory, or those of the partitions if anything was written to disk.
+		 */
+		public Iterator<BindingSet> iterator() throws QueryEvaluationException {
+			if (partitions == null) {
+				return entries.values().stream().map(makeSolution).iterator();
+			}
+			// the partial aggregates in memory are the most recent ones of their groups, which keeps the order of
+			// GROUP_CONCAT when they are merged after those that were written before
+			spill();
+
+			return new Iterator<>() {
+
+				private Iterator<BindingSet> partitioned = Collections.emptyIterator();
+
+				private int partition;
+
+				@Override
+				public boolean hasNext() {
+					while (!partitioned.hasNext()) {
+						if (partition >= partitions.length) {
+							return false;
+						}
+						BindingSetRunFile file = partitions[partition];
+						partitions[partition++] = null;
+						if (file != null) {
+							HashAggregation aggregation = new HashAggregation(aggregates, hashMaker, makeSolution,
+									depth + 1, budget);
+							try {
+								aggregation.mergeAll(file);
+							} catch (IOException e) {
+								throw new QueryEvaluationException(e);
+							}
+							partitioned = aggregation.iterator();
+						}
+					}
+					return true;
+				}
+
+				@Override
+				public BindingSet next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					return partitioned.next();
+				}
+			};
+		}
+	}
+
 	private void emptySolutionSpecialCase(List<AggregatePredicateCollectorSupplier<?, ?>> aggregates,
 			Map<Key, Entry> entries) {
 		// no solutions, but if we are not explicitly grouping and aggregates are present,
@@ -556,6 +1091,25 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 		private void operate(BindingSet bs, Predicate<?> predicate, Object t) {
 			agg.processAggregate(bs, (Predicate<D>) predicate, (T) t);
 		}
+
+		private void writeState(Object t, String name, QueryBindingSet state) {
+			((MergeableAggregate<T>) agg).writeState((T) t, name, state);
+		}
+
+		private void mergeState(BindingSet state, String name, Object t) {
+			((MergeableAggregate<T>) agg).mergeState(state, name, (T) t);
+		}
+	}
+
+	/**
+	 * An aggregate function of which the collectors can be written to a binding set and merged again, so that the
+	 * partial aggregates of a group can be written to disk.
+	 */
+	private interface MergeableAggregate<T extends AggregateCollector> {
+
+		void writeState(T collector, String name, QueryBindingSet state);
+
+		void mergeState(BindingSet state, String name, T collector);
 	}
 
 	private static final Predicate<BindingSet> ALWAYS_TRUE_BINDING_SET = (t) -> true;
@@ -775,7 +1329,8 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 		}
 	}
 
-	private class CountAggregate extends AggregateFunction<CountCollector, Value> {
+	private class CountAggregate extends AggregateFunction<CountCollector, Value>
+			implements MergeableAggregate<CountCollector> {
 
 		public CountAggregate(Count operator) {
 			super(new QueryStepEvaluator(strategy.precompile(operator.getArg(), context)));
@@ -789,9 +1344,20 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 				agv.value++;
 			}
 		}
+
+		@Override
+		public void writeState(CountCollector collector, String name, QueryBindingSet state) {
+			state.addBinding(name, vf.createLiteral(collector.value));
+		}
+
+		@Override
+		public void mergeState(BindingSet state, String name, CountCollector collector) {
+			collector.value += ((Literal) state.getValue(name)).longValue();
+		}
 	}
 
-	private class WildCardCountAggregate extends AggregateFunction<CountCollector, BindingSet> {
+	private class WildCardCountAggregate extends AggregateFunction<CountCollector, BindingSet>
+			implements MergeableAggregate<CountCollector> {
 
 		public WildCardCountAggregate() {
 			super(null);
@@ -805,9 +1371,20 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 				agv.value++;
 			}
 		}
+
+		@Override
+		public void writeState(CountCollector collector, String name, QueryBindingSet state) {
+			state.addBinding(name, vf.createLiteral(collector.value));
+		}
+
+		@Override
+		public void mergeState(BindingSet state, String name, CountCollector collector) {
+			collector.value += ((Literal) state.getValue(name)).longValue();
+		}
 	}
 
-	private class MinAggregate extends AggregateFunction<ValueCollector, Value> {
+	private class MinAggregate extends AggregateFunction<ValueCollector, Value>
+			implements MergeableAggregate<ValueCollector> {
 
 		private final ValueComparator comparator = new ValueComparator();
 
@@ -831,9 +1408,25 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 				}
 			}
 		}
+
+		@Override
+		public void writeState(ValueCollector min, String name, QueryBindingSet state) {
+			if (min.value != null) {
+				state.addBinding(name, min.value);
+			}
+		}
+
+		@Override
+		public void mergeState(BindingSet state, String name, ValueCollector min) {
+			Value v = state.getValue(name);
+			if (v != null && (min.value == null || comparator.compare(v, min.value) < 0)) {
+				min.value = v;
+			}
+		}
 	}
 
-	private class MaxAggregate extends AggregateFunction<ValueCollector, Value> {
+	private class MaxAggregate extends AggregateFunction<ValueCollector, Value>
+			implements MergeableAggregate<ValueCollector> {
 
 		private final ValueComparator comparator = new ValueComparator();
 
@@ -856,9 +1449,25 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 				}
 			}
 		}
+
+		@Override
+		public void writeState(ValueCollector max, String name, QueryBindingSet state) {
+			if (max.value != null) {
+				state.addBinding(name, max.value);
+			}
+		}
+
+		@Override
+		public void mergeState(BindingSet state, String name, ValueCollector max) {
+			Value v = state.getValue(name);
+			if (v != null && (max.value == null || comparator.compare(v, max.value) > 0)) {
+				max.value = v;
+			}
+		}
 	}
 
-	private class SumAggregate extends AggregateFunction<IntegerCollector, Value> {
+	private class SumAggregate extends AggregateFunction<IntegerCollector, Value>
+			implements MergeableAggregate<IntegerCollector> {
 		public SumAggregate(Sum operator) {
 			super(new QueryStepEvaluator(strategy.precompile(operator.getArg(), context)));
 		}
@@ -888,9 +1497,32 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 				}
 			}
 		}
+
+		@Override
+		public void writeState(IntegerCollector sum, String name, QueryBindingSet state) {
+			if (sum.hasError()) {
+				writeTypeError(sum.typeError, name, state);
+			} else {
+				state.addBinding(name, sum.value);
+			}
+		}
+
+		@Override
+		public void mergeState(BindingSet state, String name, IntegerCollector sum) {
+			if (sum.hasError()) {
+				return;
+			}
+			ValueExprEvaluationException typeError = readTypeError(state, name);
+			if (typeError != null) {
+				sum.setTypeError(typeError);
+			} else {
+				sum.value = MathUtil.compute(sum.value, (Literal) state.getValue(name), MathOp.PLUS);
+			}
+		}
 	}
 
-	private class AvgAggregate extends AggregateFunction<AvgCollector, Value> {
+	private class AvgAggregate extends AggregateFunction<AvgCollector, Value>
+			implements MergeableAggregate<AvgCollector> {
 
 		public AvgAggregate(Avg operator) {
 			super(new QueryStepEvaluator(strategy.precompile(operator.getArg(), context)));
@@ -925,6 +1557,30 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 				}
 			}
 		}
+
+		@Override
+		public void writeState(AvgCollector avg, String name, QueryBindingSet state) {
+			if (avg.hasError()) {
+				writeTypeError(avg.typeError, name, state);
+			} else {
+				state.addBinding(name, avg.sum);
+				state.addBinding(name + COUNT_SUFFIX, vf.createLiteral(avg.count));
+			}
+		}
+
+		@Override
+		public void mergeState(BindingSet state, String name, AvgCollector avg) {
+			if (avg.hasError()) {
+				return;
+			}
+			ValueExprEvaluationException typeError = readTypeError(state, name);
+			if (typeError != null) {
+				avg.setTypeError(typeError);
+			} else {
+				avg.sum = MathUtil.compute(avg.sum, (Literal) state.getValue(name), MathOp.PLUS);
+				avg.count += ((Literal) state.getValue(name + COUNT_SUFFIX)).longValue();
+			}
+		}
 	}
 
 	private static class SampleCollector implements AggregateCollector {
@@ -939,7 +1595,8 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 		}
 	}
 
-	private class SampleAggregate extends AggregateFunction<SampleCollector, Value> {
+	private class SampleAggregate extends AggregateFunction<SampleCollector, Value>
+			implements MergeableAggregate<SampleCollector> {
 
 		private final Random random;
 
@@ -960,6 +1617,20 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 				}
 			}
 		}
+
+		@Override
+		public void writeState(SampleCollector sample, String name, QueryBindingSet state) {
+			if (sample.sample != null) {
+				state.addBinding(name, sample.sample);
+			}
+		}
+
+		@Override
+		public void mergeState(BindingSet state, String name, SampleCollector sample) {
+			if (sample.sample == null) {
+				sample.sample = state.getValue(name);
+			}
+		}
 	}
 
 	private class StringBuilderCollector implements AggregateCollector {
@@ -974,7 +1645,8 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 		}
 	}
 
-	private class ConcatAggregate extends AggregateFunction<StringBuilderCollector, Value> {
+	private class ConcatAggregate extends AggregateFunction<StringBuilderCollector, Value>
+			implements MergeableAggregate<StringBuilderCollector> {
 
 		private String separator = " ";
 
@@ -1001,6 +1673,26 @@ public class GroupIterator extends CloseableIteratorIteration<BindingSet, QueryE
 				collector.concatenated.append(v.stringValue());
 			}
 		}
+
+		@Override
+		public void writeState(StringBuilderCollector collector, String name, QueryBindingSet state) {
+			if (collector.concatenated != null) {
+				state.addBinding(name, vf.createLiteral(collector.concatenated.toString()));
+			}
+		}
+
+		@Override
+		public void mergeState(BindingSet state, String name, StringBuilderCollector collector) {
+			Value v = state.getValue(name);
+			if (v != null) {
+				if (collector.concatenated == null) {
+					collector.concatenated = new StringBuilder();
+				} else {
+					collector.concatenated.append(separator);
+				}
+				collector.concatenated.append(v.stringValue());
+			}
+		}
 	}
 
 	private static class QueryStepEvaluator implements Function<BindingSet, Value> {
@@ -10,16 +10,30 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
+import java.util.function.IntConsumer;
 import java.util.function.IntFunction;
 
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
@@ -30,6 +44,7 @@ import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.MutableBindingSet;
 import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.BinaryTupleOperator;
 import org.eclipse.rdf4j.query.algebra.Join;
 import org.eclipse.rdf4j.query.algebra.LeftJoin;
 import org.eclipse.rdf4j.query.algebra.TupleExpr;
@@ -41,11 +56,48 @@ import org.eclipse.rdf4j.query.impl.EmptyBindingSet;
 
 /**
  * Generic hash join implementation suitable for use by Sail implementations.
+ * <p>
+ * When constructed with a {@link ForkJoinPool} the join runs in a partitioned parallel mode: the build side is
+ * partitioned by the hash of the join key and each partition's hash table is built in its own task, after which the
+ * probe side is consumed in batches that are probed in parallel. Results are returned in the same order as in the
+ * serial mode.
+ * <p>
+ * When constructed with a memory budget the join switches to a grace hash join once the cached input exceeds that
+ * budget: both inputs are partitioned by the hash of the join key into temporary files, after which the join is
+ * computed partition by partition. Partitions that still exceed the budget are partitioned again. The number of
+ * partitioning passes is available from {@link #getSpillCount()} and is reported in the algorithm name of the join.
  *
  * @author MJAHale
  */
 public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvaluationException> {
 
+	/*-----------*
+	 * Constants *
+	 *-----------*/
+
+	/**
+	 * The algorithm name reported for joins that are evaluated in partitioned parallel mode.
+	 */
+	public static final String PARALLEL_ALGORITHM_NAME = HashJoinIteration.class.getSimpleName() + " (parallel)";
+
+	/**
+	 * The number of probe elements handed to each partition task per batch.
+	 */
+	private static final int PROBE_BATCH_SIZE_PER_TASK = 512;
+
+	/**
+	 * The number of partitions that each grace hash join partitioning pass creates. Must be a power of two.
+	 */
+	private static final int SPILL_PARTITIONS = 32;
+
+	/**
+	 * The maximum number of partitioning passes, each pass uses the next {@link #SPILL_PARTITION_BITS} bits of the join
+	 * key hash.
+	 */
+	private static final int MAX_SPILL_DEPTH = 6;
+
+	private static final int SPILL_PARTITION_BITS = Integer.numberOfTrailingZeros(SPILL_PARTITIONS);
+
 	/*-----------*
 	 * Variables *
 	 *-----------*/
@@ -65,6 +117,15 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 	private final IntFunction<List<BindingSet>> mapValueMaker;
 	private final Function<BindingSet, MutableBindingSet> bsMaker;
 
+	private final ForkJoinPool pool;
+	private Map<BindingSetHashKey, List<BindingSet>>[] partitionedHashTables;
+	private Iterator<BindingSet> partitionedResults;
+
+	private final long maxMemory;
+	private final BinaryTupleOperator joinNode;
+	private GraceHashJoin graceHashJoin;
+	private int spillCount;
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
@@ -93,6 +154,34 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 			BindingSet bindings,
 			boolean leftJoin, String[] joinAttributes, QueryEvaluationContext context)
 			throws QueryEvaluationException {
+		this(left, right, bindings, leftJoin, joinAttributes, context, null);
+	}
+
+	/**
+	 * Creates a hash join that optionally runs in partitioned parallel mode.
+	 *
+	 * @param pool the pool used to build and probe the hash table partitions, or <var>null</var> to join serially.
+	 */
+	public HashJoinIteration(QueryEvaluationStep left, QueryEvaluationStep right,
+			BindingSet bindings,
+			boolean leftJoin, String[] joinAttributes, QueryEvaluationContext context, ForkJoinPool pool)
+			throws QueryEvaluationException {
+		this(left, right, bindings, leftJoin, joinAttributes, context, pool, 0, null);
+	}
+
+	/**
+	 * Creates a hash join that optionally runs in partitioned parallel mode and optionally spills to disk.
+	 *
+	 * @param pool      the pool used to build and probe the hash table partitions, or <var>null</var> to join serially.
+	 * @param maxMemory the estimated number of bytes of cached input after which the join spills both inputs to
+	 *                  temporary files, or zero to always join in memory.
+	 * @param joinNode  the join whose algorithm name is updated when the join spills, may be <var>null</var>.
+	 */
+	public HashJoinIteration(QueryEvaluationStep left, QueryEvaluationStep right,
+			BindingSet bindings,
+			boolean leftJoin, String[] joinAttributes, QueryEvaluationContext context, ForkJoinPool pool,
+			long maxMemory, BinaryTupleOperator joinNode)
+			throws QueryEvaluationException {
 		this.leftIter = left.evaluate(bindings);
 		this.rightIter = right.evaluate(bindings);
 		this.joinAttributes = joinAttributes;
@@ -100,6 +189,9 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 		this.mapMaker = this::makeHashTable;
 		this.mapValueMaker = this::makeHashValue;
 		this.bsMaker = context::createBindingSet;
+		this.pool = pool;
+		this.maxMemory = maxMemory;
+		this.joinNode = joinNode;
 	}
 
 	public HashJoinIteration(
@@ -116,6 +208,9 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 		this.leftJoin = leftJoin;
 		this.mapValueMaker = this::makeHashValue;
 		this.bsMaker = QueryBindingSet::new;
+		this.pool = null;
+		this.maxMemory = 0;
+		this.joinNode = null;
 	}
 
 	@Deprecated(forRemoval = true)
@@ -134,6 +229,9 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 		this.leftJoin = leftJoin;
 		this.mapValueMaker = mapValueMaker;
 		this.bsMaker = QueryBindingSet::new;
+		this.pool = null;
+		this.maxMemory = 0;
+		this.joinNode = null;
 	}
 
 	/*---------*
@@ -142,9 +240,20 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 
 	@Override
 	protected BindingSet getNextElement() throws QueryEvaluationException {
+		if (graceHashJoin != null) {
+			return graceHashJoin.next();
+		}
+		if (pool != null) {
+			return getNextPartitionedElement();
+		}
+
 		Map<BindingSetHashKey, List<BindingSet>> nextHashTable = hashTable;
 		if (nextHashTable == null) {
 			nextHashTable = hashTable = setupHashTable();
+			if (nextHashTable == null) {
+				// the inputs have been spilled to disk
+				return graceHashJoin.next();
+			}
 		}
 
 		Iterator<BindingSet> nextHashTableValues = hashTableValues;
@@ -195,16 +304,7 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 		if (nextHashTableValues != null) {
 			BindingSet nextHashTableValue = nextHashTableValues.next();
 
-			MutableBindingSet result = bsMaker.apply(currentScanElem);
-
-			for (String name : nextHashTableValue.getBindingNames()) {
-				if (!result.hasBinding(name)) {
-					Value v = nextHashTableValue.getValue(name);
-					if (v != null) {
-						result.addBinding(name, v);
-					}
-				}
-			}
+			MutableBindingSet result = join(currentScanElem, nextHashTableValue);
 
 			if (!nextHashTableValues.hasNext()) {
 				// we've exhausted the current scanlist entry
@@ -218,6 +318,112 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 		return EmptyBindingSet.getInstance();
 	}
 
+	private MutableBindingSet join(BindingSet scanElem, BindingSet hashTableValue) {
+		MutableBindingSet result = bsMaker.apply(scanElem);
+
+		for (String name : hashTableValue.getBindingNames()) {
+			if (!result.hasBinding(name)) {
+				Value v = hashTableValue.getValue(name);
+				if (v != null) {
+					result.addBinding(name, v);
+				}
+			}
+		}
+		return result;
+	}
+
+	private BindingSet getNextPartitionedElement() throws QueryEvaluationException {
+		if (partitionedHashTables == null) {
+			partitionedHashTables = setupPartitionedHashTables();
+			if (partitionedHashTables == null) {
+				// the inputs have been spilled to disk
+				return graceHashJoin.next();
+			}
+		}
+
+		while (partitionedResults == null || !partitionedResults.hasNext()) {
+			List<BindingSet> batch = nextProbeBatch();
+			if (batch.isEmpty()) {
+				// no more elements available
+				return null;
+			}
+			partitionedResults = probePartitions(batch).iterator();
+		}
+
+		return partitionedResults.next();
+	}
+
+	private List<BindingSet> nextProbeBatch() throws QueryEvaluationException {
+		int batchSize = partitionedHashTables.length * PROBE_BATCH_SIZE_PER_TASK;
+		List<BindingSet> batch = new ArrayList<>(batchSize);
+		while (batch.size() < batchSize) {
+			if (scanList.hasNext()) {
+				batch.add(nextFromCache(scanList));
+			} else {
+				disposeCache(scanList); // exhausted so can free
+
+				if (restIter.hasNext()) {
+					batch.add(restIter.next());
+				} else {
+					break;
+				}
+			}
+		}
+		return batch;
+	}
+
+	private List<BindingSet> probePartitions(List<BindingSet> batch) throws QueryEvaluationException {
+		int tasks = Math.min(partitionedHashTables.length,
+				(batch.size() + PROBE_BATCH_SIZE_PER_TASK - 1) / PROBE_BATCH_SIZE_PER_TASK);
+		int chunkSize = (batch.size() + tasks - 1) / tasks;
+
+		@SuppressWarnings("unchecked")
+		List<BindingSet>[] taskResults = new List[tasks];
+		runInParallel(tasks, task -> {
+			List<BindingSet> results = new ArrayList<>();
+			int end = Math.min(batch.size(), (task + 1) * chunkSize);
+			for (int i = task * chunkSize; i < end; i++) {
+				probe(batch.get(i), results);
+			}
+			taskResults[task] = results;
+		});
+
+		if (tasks == 1) {
+			return taskResults[0];
+		}
+		List<BindingSet> results = new ArrayList<>();
+		for (List<BindingSet> taskResult : taskResults) {
+			results.addAll(taskResult);
+		}
+		return results;
+	}
+
+	private void probe(BindingSet scanElem, List<BindingSet> results) {
+		if (scanElem instanceof EmptyBindingSet) {
+			// the empty bindingset should be merged with all bindingset in the
+			// hash tables
+			for (Map<BindingSetHashKey, List<BindingSet>> partition : partitionedHashTables) {
+				for (List<BindingSet> hashValue : partition.values()) {
+					if (hashValue != null) {
+						for (BindingSet b : hashValue) {
+							results.add(join(scanElem, b));
+						}
+					}
+				}
+			}
+		} else {
+			BindingSetHashKey key = BindingSetHashKey.create(joinAttributes, scanElem);
+			List<BindingSet> hashValue = partitionedHashTables[partition(key, partitionedHashTables.length)].get(key);
+			if (hashValue != null && !hashValue.isEmpty()) {
+				for (BindingSet b : hashValue) {
+					results.add(join(scanElem, b));
+				}
+			} else if (leftJoin) {
+				results.add(join(scanElem, EmptyBindingSet.getInstance()));
+			}
+		}
+	}
+
 	@Override
 	protected void handleClose() throws QueryEvaluationException {
 		try {
@@ -252,6 +458,19 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 							if (toCloseHashTable != null) {
 								disposeHashTable(toCloseHashTable);
 							}
+							Map<BindingSetHashKey, List<BindingSet>>[] toClosePartitions = partitionedHashTables;
+							partitionedHashTables = null;
+							partitionedResults = null;
+							if (toClosePartitions != null) {
+								for (Map<BindingSetHashKey, List<BindingSet>> partition : toClosePartitions) {
+									disposeHashTable(partition);
+								}
+							}
+							GraceHashJoin toCloseGraceHashJoin = graceHashJoin;
+							graceHashJoin = null;
+							if (toCloseGraceHashJoin != null) {
+								toCloseGraceHashJoin.close();
+							}
 						}
 					}
 				}
@@ -260,21 +479,156 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 	}
 
 	private Map<BindingSetHashKey, List<BindingSet>> setupHashTable() throws QueryEvaluationException {
+		Collection<BindingSet> smallestResult = setupBuildSide();
+		if (smallestResult == null) {
+			return null;
+		}
+
+		// create the hash table for our join
+		// hash table will never be any bigger than smallestResult.size()
+		Map<BindingSetHashKey, List<BindingSet>> resultHashTable = mapMaker.apply(smallestResult.size());
+		int maxListSize = 1;
+		for (BindingSet b : smallestResult) {
+			BindingSetHashKey hashKey = BindingSetHashKey.create(joinAttributes, b);
+			maxListSize = addToHashTable(resultHashTable, hashKey, b, maxListSize);
+		}
+		return resultHashTable;
+	}
+
+	private Map<BindingSetHashKey, List<BindingSet>>[] setupPartitionedHashTables() throws QueryEvaluationException {
+		Collection<BindingSet> smallestResult = setupBuildSide();
+		if (smallestResult == null) {
+			return null;
+		}
+		List<BindingSet> buildSide = smallestResult instanceof List ? (List<BindingSet>) smallestResult
+				: new ArrayList<>(smallestResult);
+
+		// without join attributes every element has the same key, so partitioning would not help
+		int partitions = joinAttributes.length > 0 ? partitionCount(pool.getParallelism()) : 1;
+		int chunkSize = (buildSide.size() + partitions - 1) / partitions;
+
+		// first pass: every task hashes a contiguous chunk of the build side and scatters it over the partitions
+		@SuppressWarnings("unchecked")
+		List<BindingSetHashKey>[][] chunkKeys = new List[partitions][partitions];
+		@SuppressWarnings("unchecked")
+		List<BindingSet>[][] chunkValues = new List[partitions][partitions];
+		runInParallel(partitions, chunk -> {
+			List<BindingSetHashKey>[] keys = chunkKeys[chunk];
+			List<BindingSet>[] values = chunkValues[chunk];
+			for (int p = 0; p < partitions; p++) {
+				keys[p] = new ArrayList<>();
+				values[p] = new ArrayList<>();
+			}
+			int end = Math.min(buildSide.size(), (chunk + 1) * chunkSize);
+			for (int i = chunk * chunkSize; i < end; i++) {
+				BindingSet b = buildSide.get(i);
+				BindingSetHashKey hashKey = BindingSetHashKey.create(joinAttributes, b);
+				int p = partition(hashKey, partitions);
+				keys[p].add(hashKey);
+				values[p].add(b);
+			}
+		});
+
+		// second pass: every task builds the hash table of one partition, preserving the build side order
+		@SuppressWarnings("unchecked")
+		Map<BindingSetHashKey, List<BindingSet>>[] resultHashTables = new Map[partitions];
+		runInParallel(partitions, p -> {
+			int size = 0;
+			for (int chunk = 0; chunk < partitions; chunk++) {
+				size += chunkKeys[chunk][p].size();
+			}
+			Map<BindingSetHashKey, List<BindingSet>> resultHashTable = mapMaker.apply(size);
+			int maxListSize = 1;
+			for (int chunk = 0; chunk < partitions; chunk++) {
+				List<BindingSetHashKey> keys = chunkKeys[chunk][p];
+				List<BindingSet> values = chunkValues[chunk][p];
+				for (int i = 0; i < keys.size(); i++) {
+					maxListSize = addToHashTable(resultHashTable, keys.get(i), values.get(i), maxListSize);
+				}
+			}
+			resultHashTables[p] = resultHashTable;
+		});
+		return resultHashTables;
+	}
+
+	private int addToHashTable(Map<BindingSetHashKey, List<BindingSet>> resultHashTable, BindingSetHashKey hashKey,
+			BindingSet b, int maxListSize) throws QueryEvaluationException {
+		List<BindingSet> hashValue = resultHashTable.get(hashKey);
+		boolean newEntry = (hashValue == null);
+		if (newEntry) {
+			hashValue = mapValueMaker.apply(maxListSize);
+		}
+		add(hashValue, b);
+		// always do a put() in case the map implementation is not memory-based
+		// e.g. it serializes the values
+		putHashTableEntry(resultHashTable, hashKey, hashValue, newEntry);
+
+		return Math.max(maxListSize, hashValue.size());
+	}
+
+	private void runInParallel(int tasks, IntConsumer task) {
+		if (tasks == 1) {
+			task.accept(0);
+			return;
+		}
+		List<ForkJoinTask<?>> forkJoinTasks = new ArrayList<>(tasks);
+		for (int i = 0; i < tasks; i++) {
+			int taskIndex = i;
+			forkJoinTasks.add(ForkJoinTask.adapt(() -> task.accept(taskIndex)));
+		}
+		pool.invoke(ForkJoinTask.adapt(() -> {
+			ForkJoinTask.invokeAll(forkJoinTasks);
+		}));
+	}
+
+	private static int partitionCount(int parallelism) {
+		// a power of two so that the partition can be taken from the low bits of the hash
+		return parallelism <= 1 ? 1 : Integer.highestOneBit(parallelism - 1) << 1;
+	}
+
+	private static int partition(BindingSetHashKey key, int partitions) {
+		int h = key.hashCode();
+		return (h ^ (h >>> 16)) & (partitions - 1);
+	}
+
+	/**
+	 * Consumes the inputs until the smaller one is known, sets up the scan side and returns the build side. Returns
+	 * <var>null</var> if the cached input exceeded the memory budget and the inputs have been spilled to disk instead.
+	 */
+	private Collection<BindingSet> setupBuildSide() throws QueryEvaluationException {
 
 		Collection<BindingSet> leftArgResults;
 		Collection<BindingSet> rightArgResults = makeIterationCache(rightIter);
+		long cachedBytes = 0;
 		if (!leftJoin) {
 			leftArgResults = makeIterationCache(leftIter);
 
 			while (leftIter.hasNext() && rightIter.hasNext()) {
-				add(leftArgResults, leftIter.next());
-				add(rightArgResults, rightIter.next());
+				BindingSet left = leftIter.next();
+				BindingSet right = rightIter.next();
+				add(leftArgResults, left);
+				add(rightArgResults, right);
+				if (maxMemory > 0) {
+					cachedBytes += estimateSize(left) + estimateSize(right);
+					if (cachedBytes > maxMemory) {
+						graceHashJoin = new GraceHashJoin(leftArgResults, rightArgResults);
+						return null;
+					}
+				}
 			}
 		} else {
 			leftArgResults = Collections.emptyList();
 
 			while (rightIter.hasNext()) {
-				add(rightArgResults, rightIter.next());
+				BindingSet right = rightIter.next();
+				add(rightArgResults, right);
+				if (maxMemory > 0) {
+					cachedBytes += estimateSize(right);
+					if (cachedBytes > maxMemory) {
+						graceHashJoin = new GraceHashJoin(leftArgResults, rightArgResults);
+						return null;
+					}
+				}
 			}
 		}
 
@@ -290,30 +644,345 @@ public class HashJoinIteration extends LookAheadIteration<BindingSet, QueryEvalu
 			restIter = rightIter;
 		}
 
-		// help free memory before allocating the hash table
-		leftArgResults = null;
-		rightArgResults = null;
+		return smallestResult;
+	}
 
-		// create the hash table for our join
-		// hash table will never be any bigger than smallestResult.size()
-		Map<BindingSetHashKey, List<BindingSet>> resultHashTable = mapMaker.apply(smallestResult.size());
-		int maxListSize = 1;
-		for (BindingSet b : smallestResult) {
-			BindingSetHashKey hashKey = BindingSetHashKey.create(joinAttributes, b);
+	/**
+	 * Estimates the number of bytes that the given binding set occupies on the heap, used to decide when the join needs
+	 * to spill its input to disk.
+	 */
+	protected long estimateSize(BindingSet bindingSet) {
+		return BindingSetRunFile.estimateSize(bindingSet);
+	}
+
+	/**
+	 * @return the number of times the join partitioned its input to temporary files because the memory budget was
+	 *         exceeded.
+	 */
+	public int getSpillCount() {
+		return spillCount;
+	}
+
+	private void spilled() {
+		spillCount++;
+		if (joinNode != null) {
+			joinNode.setAlgorithm(
+					HashJoinIteration.class.getSimpleName() + " (grace, " + spillCount + " spills)");
+		}
+	}
+
+	private static int spillPartition(BindingSetHashKey key, int depth) {
+		int h = key.hashCode();
+		h ^= (h >>> 16);
+		return Integer.rotateRight(h, depth * SPILL_PARTITION_BITS) & (SPILL_PARTITIONS - 1);
+	}
+
+	/**
+	 * A temporary file of serialized binding sets.
+	 */
+	private static class SpillFile {
+
+		private final File file;
+
+		private ObjectOutputStream output;
 
-			List<BindingSet> hashValue = resultHashTable.get(hashKey);
-			boolean newEntry = (hashValue == null);
-			if (newEntry) {
-				hashValue = mapValueMaker.apply(maxListSize);
+		private long size;
+
+		private long bytes;
+
+		public SpillFile() throws IOException {
+			file = File.createTempFile("hashjoin", "");
+			output = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		}
+
+		public void add(BindingSet bindingSet, long estimatedSize) throws IOException {
+			output.writeObject(bindingSet);
+			size++;
+			bytes += estimatedSize;
+			if (size % 1024 == 0) {
+				// stop the stream from holding on to all the written objects
+				output.reset();
 			}
-			add(hashValue, b);
-			// always do a put() in case the map implementation is not memory-based
-			// e.g. it serializes the values
-			putHashTableEntry(resultHashTable, hashKey, hashValue, newEntry);
+		}
 
-			maxListSize = Math.max(maxListSize, hashValue.size());
+		public long size() {
+			return size;
+		}
+
+		public long estimatedBytes() {
+			return bytes;
+		}
+
+		public ObjectInputStream openInput() throws IOException {
+			output.close();
+			output = null;
+			return new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)));
+		}
+
+		public void delete() throws IOException {
+			try {
+				if (output != null) {
+					output.close();
+					output = null;
+				}
+			} finally {
+				file.delete();
+			}
+		}
+	}
+
+	/**
+	 * A pair of spilled partitions, one for each input, of which all binding sets share the same join key hash bits up
+	 * to the given depth.
+	 */
+	private static class SpilledPartition {
+
+		private final SpillFile left;
+
+		private final SpillFile right;
+
+		private final int depth;
+
+		public SpilledPartition(SpillFile left, SpillFile right, int depth) {
+			this.left = left;
+			this.right = right;
+			this.depth = depth;
+		}
+
+		public void delete() throws IOException {
+			try {
+				left.delete();
+			} finally {
+				right.delete();
+			}
+		}
+	}
+
+	/**
+	 * Joins the inputs partition by partition after they have been spilled to disk.
+	 */
+	private class GraceHashJoin {
+
+		private final Deque<SpilledPartition> pending = new ArrayDeque<>();
+
+		private final boolean buildRight;
+
+		private final long probeEmptyCount;
+
+		private SpilledPartition current;
+
+		private Map<BindingSetHashKey, List<BindingSet>> partitionHashTable;
+
+		private ObjectInputStream probeInput;
+
+		private long probeRemaining;
+
+		private long emptyProbesRemaining;
+
+		private BindingSet probeElem;
+
+		private Iterator<BindingSet> matches;
+
+		public GraceHashJoin(Collection<BindingSet> leftArgResults, Collection<BindingSet> rightArgResults)
+				throws QueryEvaluationException {
+			SpillFile[] leftPartitions = new SpillFile[SPILL_PARTITIONS];
+			SpillFile[] rightPartitions = new SpillFile[SPILL_PARTITIONS];
+			try {
+				for (int i = 0; i < SPILL_PARTITIONS; i++) {
+					leftPartitions[i] = new SpillFile();
+					rightPartitions[i] = new SpillFile();
+					pending.add(new SpilledPartition(leftPartitions[i], rightPartitions[i], 0));
+				}
+				long leftEmptyCount = spill(leftArgResults.iterator(), leftIter, leftPartitions);
+				long rightEmptyCount = spill(rightArgResults.iterator(), rightIter, rightPartitions);
+				spilled();
+
+				long leftSize = 0;
+				long rightSize = 0;
+				for (int i = 0; i < SPILL_PARTITIONS; i++) {
+					leftSize += leftPartitions[i].size();
+					rightSize += rightPartitions[i].size();
+				}
+				// left joins must scan the left argument, otherwise we build on the smaller input
+				buildRight = leftJoin || rightSize <= leftSize;
+				probeEmptyCount = buildRight ? leftEmptyCount : rightEmptyCount;
+			} catch (IOException e) {
+				close();
+				throw new QueryEvaluationException(e);
+			}
+		}
+
+		/**
+		 * Writes the cached and the remaining binding sets of one input to the partitions and returns the number of
+		 * {@link EmptyBindingSet}s among them.
+		 */
+		private long spill(Iterator<BindingSet> cached, CloseableIteration<BindingSet, QueryEvaluationException> rest,
+				SpillFile[] partitions) throws IOException {
+			long emptyCount = 0;
+			while (cached.hasNext()) {
+				emptyCount += spill(cached.next(), partitions);
+			}
+			disposeCache(cached);
+			while (rest.hasNext()) {
+				emptyCount += spill(rest.next(), partitions);
+			}
+			return emptyCount;
+		}
+
+		private int spill(BindingSet bindingSet, SpillFile[] partitions) throws IOException {
+			BindingSetHashKey key = BindingSetHashKey.create(joinAttributes, bindingSet);
+			partitions[spillPartition(key, 0)].add(bindingSet, estimateSize(bindingSet));
+			return bindingSet instanceof EmptyBindingSet ? 1 : 0;
+		}
+
+		public BindingSet next() throws QueryEvaluationException {
+			try {
+				while (true) {
+					if (matches != null && matches.hasNext()) {
+						return join(probeElem, matches.next());
+					}
+					matches = null;
+					if (emptyProbesRemaining > 0) {
+						// the empty bindingset should be merged with all bindingset in the
+						// hash table
+						emptyProbesRemaining--;
+						probeElem = EmptyBindingSet.getInstance();
+						matches = allHashTableValues();
+					} else if (probeRemaining > 0) {
+						probeRemaining--;
+						probeElem = (BindingSet) probeInput.readObject();
+						if (probeElem instanceof EmptyBindingSet) {
+							// already accounted for by emptyProbesRemaining
+							continue;
+						}
+						BindingSetHashKey key = BindingSetHashKey.create(joinAttributes, probeElem);
+						List<BindingSet> hashValue = partitionHashTable.get(key);
+						if (hashValue != null && !hashValue.isEmpty()) {
+							matches = hashValue.iterator();
+						} else if (leftJoin) {
+							matches = Collections.singletonList(EmptyBindingSet.getInstance()).iterator();
+						}
+					} else if (!nextPartition()) {
+						return null;
+					}
+				}
+			} catch (IOException | ClassNotFoundException e) {
+				throw new QueryEvaluationException(e);
+			}
+		}
+
+		private Iterator<BindingSet> allHashTableValues() {
+			List<List<BindingSet>> values = new ArrayList<>(partitionHashTable.values());
+			values.removeIf(Objects::isNull);
+			return new UnionIterator<>(values);
+		}
+
+		private boolean nextPartition() throws IOException, ClassNotFoundException {
+			closeCurrent();
+			while (!pending.isEmpty()) {
+				SpilledPartition next = pending.removeFirst();
+				SpillFile build = buildRight ? next.right : next.left;
+				SpillFile probe = buildRight ? next.left : next.right;
+				if (build.estimatedBytes() > maxMemory && next.depth + 1 < MAX_SPILL_DEPTH) {
+					repartition(next);
+					continue;
+				}
+				if (probe.size() == 0 && probeEmptyCount == 0 || build.size() == 0 && !leftJoin) {
+					// nothing in this partition can be joined
+					next.delete();
+					continue;
+				}
+
+				current = next;
+				partitionHashTable = mapMaker.apply((int) Math.min(build.size(), Integer.MAX_VALUE));
+				try (ObjectInputStream buildInput = build.openInput()) {
+					int maxListSize = 1;
+					for (long i = build.size(); i > 0; i--) {
+						BindingSet b = (BindingSet) buildInput.readObject();
+						BindingSetHashKey hashKey = BindingSetHashKey.create(joinAttributes, b);
+						maxListSize = addToHashTable(partitionHashTable, hashKey, b, maxListSize);
+					}
+				}
+				probeInput = probe.openInput();
+				probeRemaining = probe.size();
+				emptyProbesRemaining = probeEmptyCount;
+				return true;
+			}
+			return false;
+		}
+
+		private void repartition(SpilledPartition partition) throws IOException, ClassNotFoundException {
+			int depth = partition.depth + 1;
+			SpillFile[] leftPartitions = new SpillFile[SPILL_PARTITIONS];
+			SpillFile[] rightPartitions = new SpillFile[SPILL_PARTITIONS];
+			try {
+				for (int i = 0; i < SPILL_PARTITIONS; i++) {
+					leftPartitions[i] = new SpillFile();
+					rightPartitions[i] = new SpillFile();
+					pending.addFirst(new SpilledPartition(leftPartitions[i], rightPartitions[i], depth));
+				}
+				repartition(partition.left, leftPartitions, depth);
+				repartition(partition.right, rightPartitions, depth);
+			} finally {
+				partition.delete();
+			}
+			spilled();
+		}
+
+		private void repartition(SpillFile source, SpillFile[] partitions, int depth)
+				throws IOException, ClassNotFoundException {
+			try (ObjectInputStream input = source.openInput()) {
+				for (long i = source.size(); i > 0; i--) {
+					BindingSet b = (BindingSet) input.readObject();
+					BindingSetHashKey key = BindingSetHashKey.create(joinAttributes, b);
+					partitions[spillPartition(key, depth)].add(b, estimateSize(b));
+				}
+			}
+		}
+
+		private void closeCurrent() throws IOException {
+			matches = null;
+			probeElem = null;
+			probeRemaining = 0;
+			emptyProbesRemaining = 0;
+			Map<BindingSetHashKey, List<BindingSet>> toDispose = partitionHashTable;
+			partitionHashTable = null;
+			if (toDispose != null) {
+				disposeHashTable(toDispose);
+			}
+			try {
+				if (probeInput != null) {
+					probeInput.close();
+					probeInput = null;
+				}
+			} finally {
+				if (current != null) {
+					current.delete();
+					current = null;
+				}
+			}
+		}
+
+		public void close() throws QueryEvaluationException {
+			IOException exception = null;
+			try {
+				closeCurrent();
+			} catch (IOException e) {
+				exception = e;
+			}
+			while (!pending.isEmpty()) {
+				try {
+					pending.removeFirst().delete();
+				} catch (IOException e) {
+					if (exception == null) {
+						exception = e;
+					}
+				}
+			}
+			if (exception != null) {
+				throw new QueryEvaluationException(exception);
+			}
 		}
-		return resultHashTable;
 	}
 
 	protected void putHashTableEntry(Map<BindingSetHashKey, List<BindingSet>> nextHashTable, BindingSetHashKey hashKey,
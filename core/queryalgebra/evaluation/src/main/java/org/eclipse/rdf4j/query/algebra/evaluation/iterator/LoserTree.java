@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Merges sorted iterators using a tournament tree of losers, which needs a single comparison per level of the tree to
+ * produce the next element. Elements that compare equal are returned in the order of the iterators they come from.
+ */
+class LoserTree<E> implements Iterator<E> {
+
+	private final List<? extends Iterator<E>> sources;
+
+	private final Comparator<? super E> comparator;
+
+	/**
+	 * The current element of every source, <var>null</var> once a source is exhausted.
+	 */
+	private final Object[] heads;
+
+	/**
+	 * The index of the overall winner at position 0, the loser of the match played at every inner node after that.
+	 */
+	private final int[] tree;
+
+	private final int k;
+
+	public LoserTree(List<? extends Iterator<E>> sources, Comparator<? super E> comparator) {
+		this.sources = sources;
+		this.comparator = comparator;
+		this.k = sources.size();
+		this.heads = new Object[k];
+		this.tree = new int[Math.max(1, k)];
+
+		for (int i = 0; i < k; i++) {
+			heads[i] = advance(i);
+		}
+		// index k is a virtual source that beats all others, it is pushed out of the tree while it is being filled
+		for (int i = 0; i < tree.length; i++) {
+			tree[i] = k;
+		}
+		for (int i = k - 1; i >= 0; i--) {
+			replay(i);
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		return k > 0 && heads[tree[0]] != null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public E next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		int winner = tree[0];
+		E result = (E) heads[winner];
+		heads[winner] = advance(winner);
+		replay(winner);
+		return result;
+	}
+
+	private E advance(int source) {
+		Iterator<E> iterator = sources.get(source);
+		return iterator.hasNext() ? iterator.next() : null;
+	}
+
+	/**
+	 * Plays the matches on the path from the leaf of the given source to the root.
+	 */
+	private void replay(int source) {
+		int winner = source;
+		for (int node = (source + k) >>> 1; node > 0; node >>>= 1) {
+			if (beats(tree[node], winner)) {
+				int loser = winner;
+				winner = tree[node];
+				tree[node] = loser;
+			}
+		}
+		tree[0] = winner;
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean beats(int a, int b) {
+		if (a == k) {
+			return true;
+		} else if (b == k) {
+			return false;
+		}
+		Object headA = heads[a];
+		Object headB = heads[b];
+		if (headA == null) {
+			return false;
+		} else if (headB == null) {
+			return true;
+		}
+		int cmp = comparator.compare((E) headA, (E) headB);
+		return cmp < 0 || cmp == 0 && a < b;
+	}
+}
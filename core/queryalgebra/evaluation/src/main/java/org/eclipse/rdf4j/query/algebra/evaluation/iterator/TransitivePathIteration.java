@@ -0,0 +1,357 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.LookAheadIteration;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.Dataset;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.ArbitraryLengthPath;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.Var;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryBindingSet;
+import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
+
+/**
+ * Evaluates an {@link ArbitraryLengthPath} over a single predicate, e.g. <code>?x rdfs:subClassOf* ?y</code> or
+ * <code>?x ^skos:broader+ ?y</code>, directly against the {@link TripleSource}.
+ * <p>
+ * In contrast to the {@link PathIteration}, which evaluates a sub query for every intermediate value, the graph is
+ * traversed breadth first and each level is expanded as a whole with plain statement lookups for all values of the
+ * frontier. If both ends of the path are bound, the search runs from both sides (always expanding the smaller frontier)
+ * until the frontiers meet. The visited values are kept in {@link VisitedValues}, i.e. by their internal identifiers if
+ * the triple source {@link TripleSource#supportsInternalIds() supports} them.
+ * </p>
+ * <p>
+ * Like the {@link PathIteration}, each pair of start and end value is reported only once.
+ * </p>
+ *
+ * @see #isApplicable(ArbitraryLengthPath, Dataset)
+ */
+public class TransitivePathIteration extends LookAheadIteration<BindingSet, QueryEvaluationException> {
+
+	private final TripleSource tripleSource;
+
+	private final IRI predicate;
+
+	/**
+	 * <code>true</code> if the path follows the statements from the object to the subject, i.e. the start variable is
+	 * the object of the statement pattern.
+	 */
+	private final boolean inverse;
+
+	private final boolean includeZeroLength;
+
+	private final BindingSet bindings;
+
+	private final String startName;
+
+	private final String endName;
+
+	private final Value startValue;
+
+	private final Value endValue;
+
+	private boolean started;
+
+	/**
+	 * The start values that remain to be traversed if neither end of the path is bound.
+	 */
+	private Iterator<Value> origins;
+
+	private Value origin;
+
+	private Traversal traversal;
+
+	private Iterator<Value> reached = Collections.emptyIterator();
+
+	public TransitivePathIteration(TripleSource tripleSource, ArbitraryLengthPath path, BindingSet bindings)
+			throws QueryEvaluationException {
+		StatementPattern pattern = (StatementPattern) path.getPathExpression();
+		this.tripleSource = tripleSource;
+		this.predicate = (IRI) pattern.getPredicateVar().getValue();
+		this.inverse = !pattern.getSubjectVar().getName().equals(path.getSubjectVar().getName());
+		this.includeZeroLength = path.getMinLength() == 0;
+		this.bindings = bindings;
+		this.startName = path.getSubjectVar().getName();
+		this.endName = path.getObjectVar().getName();
+		this.startValue = getValue(path.getSubjectVar(), bindings);
+		this.endValue = getValue(path.getObjectVar(), bindings);
+	}
+
+	/**
+	 * Checks whether the given path can be evaluated with a {@link TransitivePathIteration}, i.e. it is a path of
+	 * minimum length 0 or 1 over a single statement pattern with a constant predicate that connects the two ends of the
+	 * path, and it is evaluated on all graphs of the store.
+	 *
+	 * @param path    the path
+	 * @param dataset the dataset of the query, may be <code>null</code>
+	 * @return <code>true</code> if the path can be evaluated by this iteration
+	 */
+	public static boolean isApplicable(ArbitraryLengthPath path, Dataset dataset) {
+		if (path.getMinLength() > 1 || path.getContextVar() != null) {
+			return false;
+		}
+		if (dataset != null && (!dataset.getDefaultGraphs().isEmpty() || !dataset.getNamedGraphs().isEmpty())) {
+			return false;
+		}
+		// subclasses of statement pattern may be evaluated differently, e.g. in a federation
+		if (path.getPathExpression().getClass() != StatementPattern.class) {
+			return false;
+		}
+		StatementPattern pattern = (StatementPattern) path.getPathExpression();
+		if (pattern.getContextVar() != null || !(pattern.getPredicateVar().getValue() instanceof IRI)) {
+			return false;
+		}
+
+		String start = path.getSubjectVar().getName();
+		String end = path.getObjectVar().getName();
+		String subject = pattern.getSubjectVar().getName();
+		String object = pattern.getObjectVar().getName();
+		return !start.equals(end)
+				&& (subject.equals(start) && object.equals(end) || subject.equals(end) && object.equals(start));
+	}
+
+	/**
+	 * Checks whether the path can be evaluated for the given bindings. A path of minimum length 0 with both ends
+	 * unbound matches all values of the graph, which is left to the {@link PathIteration}.
+	 *
+	 * @param path     the path
+	 * @param bindings the bindings
+	 * @return <code>true</code> if the path can be evaluated by this iteration
+	 */
+	public static boolean isApplicable(ArbitraryLengthPath path, BindingSet bindings) {
+		return path.getMinLength() > 0 || getValue(path.getSubjectVar(), bindings) != null
+				|| getValue(path.getObjectVar(), bindings) != null;
+	}
+
+	@Override
+	protected BindingSet getNextElement() throws QueryEvaluationException {
+		if (!started) {
+			started = true;
+			if (isUnbound(startName) || isUnbound(endName)) {
+				// the variable must remain unbound for this solution see
+				// https://www.w3.org/TR/sparql11-query/#assignment
+				return null;
+			}
+			if (startValue != null && endValue != null) {
+				return isConnected(startValue, endValue) ? createResult(startValue, endValue) : null;
+			} else if (startValue != null) {
+				origin = startValue;
+				traversal = new Traversal(startValue, true);
+			} else if (endValue != null) {
+				origin = endValue;
+				traversal = new Traversal(endValue, false);
+			} else {
+				origins = getOrigins().iterator();
+			}
+		} else if (startValue != null && endValue != null) {
+			return null;
+		}
+
+		while (true) {
+			if (reached.hasNext()) {
+				Value value = reached.next();
+				if (startValue == null && endValue != null) {
+					return createResult(value, origin);
+				}
+				return createResult(origin, value);
+			}
+			if (traversal != null && traversal.hasNext()) {
+				reached = traversal.next().iterator();
+			} else if (origins != null && origins.hasNext()) {
+				origin = origins.next();
+				traversal = new Traversal(origin, true);
+			} else {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Searches a path from the start to the end value from both sides.
+	 */
+	private boolean isConnected(Value start, Value end) throws QueryEvaluationException {
+		if (includeZeroLength && start.equals(end)) {
+			return true;
+		}
+
+		// values reachable from the start with at least one step
+		VisitedValues forward = new VisitedValues(tripleSource);
+		// values from which the end is reachable with zero or more steps
+		VisitedValues backward = new VisitedValues(tripleSource);
+		backward.add(end);
+
+		List<Value> forwardFrontier = new ArrayList<>();
+		for (Value next : step(start, true)) {
+			if (backward.contains(next)) {
+				return true;
+			}
+			if (forward.add(next)) {
+				forwardFrontier.add(next);
+			}
+		}
+		List<Value> backwardFrontier = Collections.singletonList(end);
+
+		while (!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+			boolean expandForward = forwardFrontier.size() <= backwardFrontier.size();
+			VisitedValues visited = expandForward ? forward : backward;
+			VisitedValues other = expandForward ? backward : forward;
+
+			List<Value> nextFrontier = new ArrayList<>();
+			for (Value value : expandForward ? forwardFrontier : backwardFrontier) {
+				for (Value next : step(value, expandForward)) {
+					if (other.contains(next)) {
+						return true;
+					}
+					if (visited.add(next)) {
+						nextFrontier.add(next);
+					}
+				}
+			}
+
+			if (expandForward) {
+				forwardFrontier = nextFrontier;
+			} else {
+				backwardFrontier = nextFrontier;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the distinct values at the start side of the statements of the predicate
+	 */
+	private List<Value> getOrigins() throws QueryEvaluationException {
+		VisitedValues visited = new VisitedValues(tripleSource);
+		List<Value> res = new ArrayList<>();
+		try (CloseableIteration<? extends Statement, QueryEvaluationException> statements = tripleSource
+				.getStatements(null, predicate, null)) {
+			while (statements.hasNext()) {
+				Statement statement = statements.next();
+				Value value = inverse ? statement.getObject() : statement.getSubject();
+				if (visited.add(value)) {
+					res.add(value);
+				}
+			}
+		}
+		return res;
+	}
+
+	/**
+	 * Looks up the values that are one step away from the given value.
+	 *
+	 * @param value     the value
+	 * @param towardEnd <code>true</code> to follow the path from the start to the end, <code>false</code> to follow it
+	 *                  backwards
+	 */
+	private List<Value> step(Value value, boolean towardEnd) throws QueryEvaluationException {
+		boolean subjectToObject = towardEnd != inverse;
+		if (subjectToObject && !value.isResource()) {
+			return Collections.emptyList();
+		}
+
+		List<Value> res = new ArrayList<>();
+		try (CloseableIteration<? extends Statement, QueryEvaluationException> statements = subjectToObject
+				? tripleSource.getStatements((Resource) value, predicate, null)
+				: tripleSource.getStatements(null, predicate, value)) {
+			while (statements.hasNext()) {
+				Statement statement = statements.next();
+				res.add(subjectToObject ? statement.getObject() : statement.getSubject());
+			}
+		}
+		return res;
+	}
+
+	private BindingSet createResult(Value start, Value end) {
+		QueryBindingSet result = new QueryBindingSet(bindings);
+		if (!result.hasBinding(startName)) {
+			result.addBinding(startName, start);
+		}
+		if (!result.hasBinding(endName)) {
+			result.addBinding(endName, end);
+		}
+		return result;
+	}
+
+	private boolean isUnbound(String name) {
+		return bindings.hasBinding(name) && bindings.getValue(name) == null;
+	}
+
+	private static Value getValue(Var var, BindingSet bindings) {
+		return var.hasValue() ? var.getValue() : bindings.getValue(var.getName());
+	}
+
+	/**
+	 * A breadth first traversal from a single value that reports the newly reached values level by level.
+	 */
+	private class Traversal {
+
+		private final Value origin;
+
+		private final boolean towardEnd;
+
+		private final VisitedValues visited = new VisitedValues(tripleSource);
+
+		private List<Value> frontier;
+
+		private boolean first = true;
+
+		Traversal(Value origin, boolean towardEnd) {
+			this.origin = origin;
+			this.towardEnd = towardEnd;
+			this.frontier = Collections.singletonList(origin);
+		}
+
+		boolean hasNext() {
+			return first && includeZeroLength || !frontier.isEmpty();
+		}
+
+		/**
+		 * @return the values that are reached with one more step than the values of the previous level
+		 */
+		List<Value> next() throws QueryEvaluationException {
+			if (first) {
+				first = false;
+				if (includeZeroLength) {
+					visited.add(origin);
+					return Collections.singletonList(origin);
+				}
+			}
+
+			List<Value> nextFrontier = new ArrayList<>();
+			List<Value> res = new ArrayList<>();
+			for (Value value : frontier) {
+				for (Value next : step(value, towardEnd)) {
+					if (visited.add(next)) {
+						res.add(next);
+						// the origin has already been expanded if it is reached through a cycle
+						if (!next.equals(origin)) {
+							nextFrontier.add(next);
+						}
+					}
+				}
+			}
+			frontier = nextFrontier;
+			return res;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
+
+/**
+ * A set of the values that have been visited while traversing a graph. If the {@link TripleSource} supports internal
+ * identifiers, values are kept by their identifier in an open addressing hash set of primitive longs, only values
+ * without an identifier are kept as objects.
+ */
+class VisitedValues {
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final TripleSource tripleSource;
+
+	private final Set<Value> values = new HashSet<>();
+
+	/**
+	 * The identifiers incremented by one, such that 0 marks an empty slot.
+	 */
+	private long[] ids;
+
+	private int idCount;
+
+	VisitedValues(TripleSource tripleSource) {
+		this.tripleSource = tripleSource.supportsInternalIds() ? tripleSource : null;
+		this.ids = this.tripleSource != null ? new long[INITIAL_CAPACITY] : null;
+	}
+
+	/**
+	 * @return <code>true</code> if the value has not been visited before
+	 */
+	boolean add(Value value) throws QueryEvaluationException {
+		long id = tripleSource != null ? tripleSource.getInternalId(value) : -1;
+		if (id < 0) {
+			return values.add(value);
+		}
+		int slot = findSlot(ids, id + 1);
+		if (ids[slot] != 0) {
+			return false;
+		}
+		ids[slot] = id + 1;
+		if (++idCount > ids.length / 2) {
+			grow();
+		}
+		return true;
+	}
+
+	boolean contains(Value value) throws QueryEvaluationException {
+		long id = tripleSource != null ? tripleSource.getInternalId(value) : -1;
+		if (id < 0) {
+			return values.contains(value);
+		}
+		return ids[findSlot(ids, id + 1)] != 0;
+	}
+
+	int size() {
+		return idCount + values.size();
+	}
+
+	private void grow() {
+		long[] grown = new long[ids.length * 2];
+		for (long key : ids) {
+			if (key != 0) {
+				grown[findSlot(grown, key)] = key;
+			}
+		}
+		ids = grown;
+	}
+
+	private static int findSlot(long[] table, long key) {
+		int mask = table.length - 1;
+		int slot = mix(key) & mask;
+		while (table[slot] != 0 && table[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private static int mix(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.optimizer;
+
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.base.CoreDatatype;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.Dataset;
+import org.eclipse.rdf4j.query.algebra.And;
+import org.eclipse.rdf4j.query.algebra.Compare;
+import org.eclipse.rdf4j.query.algebra.Compare.CompareOp;
+import org.eclipse.rdf4j.query.algebra.Filter;
+import org.eclipse.rdf4j.query.algebra.QueryModelNode;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.ValueConstant;
+import org.eclipse.rdf4j.query.algebra.ValueExpr;
+import org.eclipse.rdf4j.query.algebra.Var;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryOptimizer;
+import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
+import org.eclipse.rdf4j.query.algebra.evaluation.ValueExprEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.RangeStatementPattern;
+import org.eclipse.rdf4j.query.algebra.evaluation.util.QueryEvaluationUtil;
+import org.eclipse.rdf4j.query.algebra.helpers.AbstractSimpleQueryModelVisitor;
+
+/**
+ * A query optimizer that replaces {@link StatementPattern}s whose object is compared with a numeric or
+ * <code>xsd:dateTime</code> constant in the filters directly above them by {@link RangeStatementPattern}s. This lets
+ * triple sources that {@link TripleSource#supportsObjectRanges() support object ranges} evaluate the filters as range
+ * scans on their indexes. The filters themselves are left in place.
+ * <p>
+ * This optimizer should run after the {@link FilterOptimizer}, which moves the filters down to the statement patterns.
+ */
+public class RangeScanOptimizer implements QueryOptimizer {
+
+	private final TripleSource tripleSource;
+
+	public RangeScanOptimizer(TripleSource tripleSource) {
+		this.tripleSource = tripleSource;
+	}
+
+	@Override
+	public void optimize(TupleExpr tupleExpr, Dataset dataset, BindingSet bindings) {
+		if (tripleSource.supportsObjectRanges()) {
+			tupleExpr.visit(new RangeScanVisitor());
+		}
+	}
+
+	private static class RangeScanVisitor extends AbstractSimpleQueryModelVisitor<RuntimeException> {
+
+		private Literal lowerBound;
+
+		private Literal upperBound;
+
+		protected RangeScanVisitor() {
+			super(false);
+		}
+
+		@Override
+		public void meet(StatementPattern node) {
+			Var objVar = node.getObjectVar();
+			if (node instanceof RangeStatementPattern || objVar.hasValue() || isSameVar(objVar, node.getSubjectVar())
+					|| isSameVar(objVar, node.getPredicateVar()) || isSameVar(objVar, node.getContextVar())) {
+				return;
+			}
+
+			lowerBound = null;
+			upperBound = null;
+			QueryModelNode parent = node.getParentNode();
+			while (parent instanceof Filter) {
+				addBounds(((Filter) parent).getCondition(), objVar.getName());
+				parent = parent.getParentNode();
+			}
+
+			if (lowerBound != null || upperBound != null) {
+				node.replaceWith(new RangeStatementPattern(node, lowerBound, upperBound));
+			}
+		}
+
+		private boolean isSameVar(Var objVar, Var other) {
+			return other != null && !other.hasValue() && other.getName().equals(objVar.getName());
+		}
+
+		private void addBounds(ValueExpr condition, String varName) {
+			if (condition instanceof And) {
+				addBounds(((And) condition).getLeftArg(), varName);
+				addBounds(((And) condition).getRightArg(), varName);
+			} else if (condition instanceof Compare) {
+				Compare compare = (Compare) condition;
+				CompareOp op = compare.getOperator();
+				if (isVar(compare.getLeftArg(), varName)) {
+					addBound(op, getRangeValue(compare.getRightArg()));
+				} else if (isVar(compare.getRightArg(), varName)) {
+					addBound(reverse(op), getRangeValue(compare.getLeftArg()));
+				}
+			}
+		}
+
+		private void addBound(CompareOp op, Literal value) {
+			if (value == null) {
+				return;
+			}
+			switch (op) {
+			case GT:
+			case GE:
+				if (lowerBound == null || isGreater(value, lowerBound)) {
+					lowerBound = value;
+				}
+				break;
+			case LT:
+			case LE:
+				if (upperBound == null || isGreater(upperBound, value)) {
+					upperBound = value;
+				}
+				break;
+			default:
+				break;
+			}
+		}
+
+		private boolean isGreater(Literal a, Literal b) {
+			try {
+				return QueryEvaluationUtil.compareLiterals(a, b, CompareOp.GT);
+			} catch (ValueExprEvaluationException e) {
+				// incomparable bounds, keep the existing one
+				return false;
+			}
+		}
+
+		private CompareOp reverse(CompareOp op) {
+			switch (op) {
+			case LT:
+				return CompareOp.GT;
+			case LE:
+				return CompareOp.GE;
+			case GT:
+				return CompareOp.LT;
+			case GE:
+				return CompareOp.LE;
+			default:
+				return op;
+			}
+		}
+
+		private boolean isVar(ValueExpr expr, String varName) {
+			return expr instanceof Var && !((Var) expr).hasValue() && ((Var) expr).getName().equals(varName);
+		}
+
+		/**
+		 * Returns the value of a constant if it can be used as bound of a range.
+		 */
+		private Literal getRangeValue(ValueExpr expr) {
+			Value value = null;
+			if (expr instanceof ValueConstant) {
+				value = ((ValueConstant) expr).getValue();
+			} else if (expr instanceof Var) {
+				value = ((Var) expr).getValue();
+			}
+			if (value instanceof Literal) {
+				Literal literal = (Literal) value;
+				CoreDatatype datatype = literal.getCoreDatatype();
+				if (datatype.isXSDDatatype() && (((CoreDatatype.XSD) datatype).isNumericDatatype()
+						|| datatype == CoreDatatype.XSD.DATETIME)) {
+					return literal;
+				}
+			}
+			return null;
+		}
+	}
+}
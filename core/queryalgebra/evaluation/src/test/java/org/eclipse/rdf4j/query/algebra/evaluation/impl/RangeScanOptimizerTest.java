@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryOptimizerTest;
+import org.eclipse.rdf4j.query.algebra.evaluation.optimizer.RangeScanOptimizer;
+import org.eclipse.rdf4j.query.algebra.helpers.AbstractQueryModelVisitor;
+import org.eclipse.rdf4j.query.impl.EmptyBindingSet;
+import org.eclipse.rdf4j.query.parser.QueryParserUtil;
+import org.junit.jupiter.api.Test;
+
+public class RangeScanOptimizerTest extends QueryOptimizerTest {
+
+	private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	@Override
+	public RangeScanOptimizer getOptimizer() {
+		return new RangeScanOptimizer(new EmptyTripleSource() {
+			@Override
+			public boolean supportsObjectRanges() {
+				return true;
+			}
+		});
+	}
+
+	@Test
+	public void testBounds() {
+		RangeStatementPattern pattern = (RangeStatementPattern) optimize(
+				"SELECT * WHERE { ?s <urn:p> ?o FILTER(?o > 2 && ?o <= 10.5) }");
+		assertThat(pattern.getLowerBound()).isEqualTo(vf.createLiteral("2", XSD.INTEGER));
+		assertThat(pattern.getUpperBound()).isEqualTo(vf.createLiteral("10.5", XSD.DECIMAL));
+	}
+
+	@Test
+	public void testTightestBound() {
+		RangeStatementPattern pattern = (RangeStatementPattern) optimize(
+				"SELECT * WHERE { ?s <urn:p> ?o FILTER(?o > 2 && 5 <= ?o) FILTER(?o > 3) }");
+		assertThat(pattern.getLowerBound()).isEqualTo(vf.createLiteral("5", XSD.INTEGER));
+		assertThat(pattern.getUpperBound()).isNull();
+	}
+
+	@Test
+	public void testDateTime() {
+		RangeStatementPattern pattern = (RangeStatementPattern) optimize(
+				"SELECT * WHERE { ?s <urn:p> ?o FILTER(?o < \"2024-01-01T00:00:00Z\"^^xsd:dateTime) }");
+		assertThat(pattern.getLowerBound()).isNull();
+		assertThat(pattern.getUpperBound()).isEqualTo(vf.createLiteral("2024-01-01T00:00:00Z", XSD.DATETIME));
+	}
+
+	@Test
+	public void testNoRange() {
+		assertThat(optimize("SELECT * WHERE { ?s <urn:p> ?o FILTER(?o = 2) }"))
+				.isNotInstanceOf(RangeStatementPattern.class);
+		assertThat(optimize("SELECT * WHERE { ?s <urn:p> ?o FILTER(?o > \"a\") }"))
+				.isNotInstanceOf(RangeStatementPattern.class);
+		assertThat(optimize("SELECT * WHERE { ?s <urn:p> ?o FILTER(?o > 2 || ?o < 0) }"))
+				.isNotInstanceOf(RangeStatementPattern.class);
+		assertThat(optimize("SELECT * WHERE { ?o <urn:p> ?o FILTER(?o > 2) }"))
+				.isNotInstanceOf(RangeStatementPattern.class);
+	}
+
+	@Test
+	public void testUnsupportedTripleSource() {
+		TupleExpr expr = QueryParserUtil.parseTupleQuery(QueryLanguage.SPARQL,
+				"SELECT * WHERE { ?s <urn:p> ?o FILTER(?o > 2) }", null).getTupleExpr();
+		new RangeScanOptimizer(new EmptyTripleSource()).optimize(expr, null, EmptyBindingSet.getInstance());
+		assertThat(getStatementPatterns(expr).get(0)).isNotInstanceOf(RangeStatementPattern.class);
+	}
+
+	private StatementPattern optimize(String query) {
+		TupleExpr expr = QueryParserUtil.parseTupleQuery(QueryLanguage.SPARQL, query, null).getTupleExpr();
+		getOptimizer().optimize(expr, null, EmptyBindingSet.getInstance());
+		List<StatementPattern> patterns = getStatementPatterns(expr);
+		assertThat(patterns).hasSize(1);
+		return patterns.get(0);
+	}
+
+	private List<StatementPattern> getStatementPatterns(TupleExpr expr) {
+		List<StatementPattern> patterns = new ArrayList<>();
+		expr.visit(new AbstractQueryModelVisitor<RuntimeException>() {
+			@Override
+			public void meet(StatementPattern node) {
+				patterns.add(node);
+			}
+		});
+		return patterns;
+	}
+}
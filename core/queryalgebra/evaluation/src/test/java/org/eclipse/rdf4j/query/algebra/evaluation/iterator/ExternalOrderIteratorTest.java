@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryBindingSet;
+import org.junit.Test;
+
+public class ExternalOrderIteratorTest {
+
+	private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private final Comparator<BindingSet> comparator = Comparator
+			.comparing((BindingSet bs) -> bs.getValue("x").toString())
+			.thenComparing(bs -> bs.hasBinding("y") ? bs.getValue("y").toString() : "");
+
+	@Test
+	public void testSortInMemory() {
+		List<BindingSet> input = createBindingSets(1000);
+		try (ExternalOrderIterator order = new ExternalOrderIterator(iteration(input), comparator, Long.MAX_VALUE,
+				false, 0)) {
+			assertThat(toList(order)).isEqualTo(sorted(input));
+			assertThat(order.getRunCount()).isEqualTo(0);
+		}
+	}
+
+	@Test
+	public void testExternalSort() {
+		List<BindingSet> input = createBindingSets(10000);
+		try (ExternalOrderIterator order = new ExternalOrderIterator(iteration(input), comparator, Long.MAX_VALUE,
+				false, 100_000)) {
+			assertThat(toList(order)).isEqualTo(sorted(input));
+			assertThat(order.getRunCount()).isGreaterThan(1);
+		}
+	}
+
+	@Test
+	public void testExternalSortDistinct() {
+		List<BindingSet> input = createBindingSets(5000);
+		input.addAll(createBindingSets(5000));
+		try (ExternalOrderIterator order = new ExternalOrderIterator(iteration(input), comparator, Long.MAX_VALUE,
+				true, 100_000)) {
+			List<BindingSet> actual = toList(order);
+			assertThat(actual).isEqualTo(sorted(input).stream().distinct().collect(Collectors.toList()));
+			assertThat(order.getRunCount()).isGreaterThan(1);
+		}
+	}
+
+	@Test
+	public void testExternalSortLimit() {
+		List<BindingSet> input = createBindingSets(10000);
+		try (ExternalOrderIterator order = new ExternalOrderIterator(iteration(input), comparator, 3000, false,
+				100_000)) {
+			assertThat(toList(order)).isEqualTo(sorted(input).subList(0, 3000));
+		}
+	}
+
+	@Test
+	public void testLoserTreeMerge() {
+		Random random = new Random(42);
+		for (int k = 0; k < 20; k++) {
+			List<List<Integer>> sources = new ArrayList<>();
+			List<Integer> expected = new ArrayList<>();
+			for (int i = 0; i < k; i++) {
+				List<Integer> source = new ArrayList<>();
+				int size = random.nextInt(50);
+				for (int j = 0; j < size; j++) {
+					source.add(random.nextInt(100));
+				}
+				source.sort(null);
+				sources.add(source);
+				expected.addAll(source);
+			}
+			expected.sort(null);
+
+			List<Integer> actual = new ArrayList<>();
+			new LoserTree<>(sources.stream().map(List::iterator).collect(Collectors.toList()),
+					Comparator.<Integer>naturalOrder())
+							.forEachRemaining(actual::add);
+			assertThat(actual).isEqualTo(expected);
+		}
+	}
+
+	private List<BindingSet> createBindingSets(int size) {
+		Random random = new Random(size);
+		List<BindingSet> bindingSets = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			QueryBindingSet bs = new QueryBindingSet();
+			bs.addBinding("x", randomValue(random));
+			if (random.nextBoolean()) {
+				bs.addBinding("y", randomValue(random));
+			}
+			bindingSets.add(bs);
+		}
+		return bindingSets;
+	}
+
+	private Value randomValue(Random random) {
+		int n = random.nextInt(500);
+		switch (random.nextInt(6)) {
+		case 0:
+			return vf.createIRI("http://example.org/ns#", "local" + n);
+		case 1:
+			return vf.createBNode("b" + n);
+		case 2:
+			return vf.createLiteral("label " + n);
+		case 3:
+			return vf.createLiteral("label " + n, "en");
+		case 4:
+			return vf.createLiteral(String.valueOf(n), XSD.INT);
+		default:
+			return vf.createTriple(vf.createIRI("http://example.org/s" + n), XSD.INT, vf.createLiteral(n));
+		}
+	}
+
+	private List<BindingSet> sorted(List<BindingSet> input) {
+		List<BindingSet> sorted = new ArrayList<>(input);
+		sorted.sort(comparator);
+		return sorted;
+	}
+
+	private static CloseableIteratorIteration<BindingSet, QueryEvaluationException> iteration(
+			List<BindingSet> input) {
+		return new CloseableIteratorIteration<>(input.iterator());
+	}
+
+	private static List<BindingSet> toList(ExternalOrderIterator order) {
+		List<BindingSet> result = new ArrayList<>();
+		while (order.hasNext()) {
+			result.add(order.next());
+		}
+		return result;
+	}
+}
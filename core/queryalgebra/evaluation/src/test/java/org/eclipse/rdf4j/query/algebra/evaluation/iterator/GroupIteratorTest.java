@@ -17,6 +17,11 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
@@ -68,6 +73,7 @@ public class GroupIteratorTest {
 	private static BindingSetAssignment EMPTY_ASSIGNMENT;
 	private static BindingSetAssignment NONEMPTY_ASSIGNMENT;
 	private static AggregateFunctionFactory aggregateFunctionFactory;
+	private static final Set<Thread> customAggregateThreads = ConcurrentHashMap.newKeySet();
 
 	@BeforeClass
 	public static void init() {
@@ -96,6 +102,7 @@ public class GroupIteratorTest {
 					@Override
 					public void processAggregate(BindingSet s, Predicate<Value> distinctValue, SumCollector sum)
 							throws QueryEvaluationException {
+						customAggregateThreads.add(Thread.currentThread());
 						if (typeError != null) {
 							// halt further processing if a type error has been raised
 							return;
@@ -260,6 +267,138 @@ public class GroupIteratorTest {
 		}
 	}
 
+	@Test
+	public void testSpillingAggregation() throws QueryEvaluationException {
+		Group group = createLargeGroup();
+		List<BindingSet> expected = evaluate(group, null, 0);
+
+		try (GroupIterator gi = new GroupIterator(evaluator, group, EmptyBindingSet.getInstance(), 0, context, null,
+				20_000)) {
+			List<BindingSet> actual = toList(gi);
+			assertThat(gi.getSpillCount()).isGreaterThan(1);
+			assertThat(actual).hasSameSizeAs(expected);
+			// merging the partial aggregates keeps the order of GROUP_CONCAT
+			assertThat(new HashSet<>(actual)).isEqualTo(new HashSet<>(expected));
+		}
+	}
+
+	@Test
+	public void testNoSpillingOfDistinctAndCustomAggregates() throws QueryEvaluationException {
+		Group distinct = createLargeGroup();
+		distinct.addGroupElement(new GroupElem("countDistinct", new Count(new Var("a"), true)));
+		Group custom = createLargeGroup();
+		custom.addGroupElement(new GroupElem("stdev",
+				new AggregateFunctionCall(new Var("a"), "http://rdf4j.org/aggregate#stdev", false)));
+
+		for (Group group : List.of(distinct, custom)) {
+			List<BindingSet> expected = evaluate(group, null, 0);
+			try (GroupIterator gi = new GroupIterator(evaluator, group, EmptyBindingSet.getInstance(), 0, context,
+					null, 20_000)) {
+				List<BindingSet> actual = toList(gi);
+				assertThat(gi.getSpillCount()).isZero();
+				assertThat(new HashSet<>(actual)).isEqualTo(new HashSet<>(expected));
+			}
+		}
+	}
+
+	@Test
+	public void testParallelAggregation() throws QueryEvaluationException {
+		Group group = createLargeGroup();
+		List<BindingSet> expected = evaluate(group, null, 0);
+		Group distinct = createLargeGroup();
+		distinct.addGroupElement(new GroupElem("countDistinct", new Count(new Var("a"), true)));
+		List<BindingSet> expectedDistinct = evaluate(distinct, null, 0);
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<BindingSet> actual = evaluate(group, pool, 0);
+			assertThat(actual).hasSameSizeAs(expected);
+			assertThat(new HashSet<>(actual)).isEqualTo(new HashSet<>(expected));
+
+			List<BindingSet> spilled = evaluate(group, pool, 20_000);
+			assertThat(spilled).hasSameSizeAs(expected);
+			assertThat(new HashSet<>(spilled)).isEqualTo(new HashSet<>(expected));
+
+			assertThat(new HashSet<>(evaluate(distinct, pool, 20_000))).isEqualTo(new HashSet<>(expectedDistinct));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testCustomAggregateIsNotEvaluatedInParallel() throws QueryEvaluationException {
+		Group group = createLargeGroup();
+		group.addGroupElement(
+				new GroupElem("customSum", new AggregateFunctionCall(new Var("a"), aggregateFunctionFactory.getIri(),
+						false)));
+		List<BindingSet> expected = evaluate(group, null, 0);
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			customAggregateThreads.clear();
+			List<BindingSet> actual = evaluate(group, pool, 0);
+			assertThat(customAggregateThreads).containsExactly(Thread.currentThread());
+			assertThat(new HashSet<>(actual)).isEqualTo(new HashSet<>(expected));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelAggregationEmptySet() throws QueryEvaluationException {
+		Group group = new Group(EMPTY_ASSIGNMENT);
+		group.addGroupElement(new GroupElem("count", new Count(new Var("a"))));
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try (GroupIterator gi = new GroupIterator(evaluator, group, EmptyBindingSet.getInstance(), 0, context, pool,
+				20_000)) {
+			assertThat(gi.next().getBinding("count").getValue()).isEqualTo(vf.createLiteral("0", XSD.INTEGER));
+			assertThat(gi.hasNext()).isFalse();
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Creates a group of 10000 solutions in 2000 groups that uses all built-in aggregates that are not random and can
+	 * be merged.
+	 */
+	private static Group createLargeGroup() {
+		List<BindingSet> bindingSets = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			QueryBindingSet bindings = new QueryBindingSet();
+			bindings.addBinding("g", vf.createIRI("http://example.org/group" + (i * 7919 % 2000)));
+			bindings.addBinding("a", vf.createLiteral(i % 13));
+			bindingSets.add(bindings);
+		}
+		BindingSetAssignment assignment = new BindingSetAssignment();
+		assignment.setBindingSets(bindingSets);
+
+		Group group = new Group(assignment, Set.of("g"));
+		group.addGroupElement(new GroupElem("count", new Count(new Var("a"))));
+		group.addGroupElement(new GroupElem("countAll", new Count(null)));
+		group.addGroupElement(new GroupElem("sum", new Sum(new Var("a"))));
+		group.addGroupElement(new GroupElem("avg", new Avg(new Var("a"))));
+		group.addGroupElement(new GroupElem("min", new Min(new Var("a"))));
+		group.addGroupElement(new GroupElem("max", new Max(new Var("a"))));
+		group.addGroupElement(new GroupElem("concat", new GroupConcat(new Var("a"))));
+		return group;
+	}
+
+	private static List<BindingSet> evaluate(Group group, ForkJoinPool pool, long maxMemory) {
+		try (GroupIterator gi = new GroupIterator(evaluator, group, EmptyBindingSet.getInstance(), 0, context, pool,
+				maxMemory)) {
+			return toList(gi);
+		}
+	}
+
+	private static List<BindingSet> toList(GroupIterator gi) {
+		List<BindingSet> result = new ArrayList<>();
+		while (gi.hasNext()) {
+			result.add(gi.next());
+		}
+		return result;
+	}
+
 	/**
 	 * Dummy collector to verify custom aggregate functions
 	 */
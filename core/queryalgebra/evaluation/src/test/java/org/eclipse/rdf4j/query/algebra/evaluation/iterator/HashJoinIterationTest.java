@@ -12,8 +12,12 @@ package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.model.IRI;
@@ -27,7 +31,9 @@ import org.eclipse.rdf4j.query.QueryEvaluationException;
 import org.eclipse.rdf4j.query.algebra.BindingSetAssignment;
 import org.eclipse.rdf4j.query.algebra.evaluation.EvaluationStrategy;
 import org.eclipse.rdf4j.query.algebra.evaluation.QueryBindingSet;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.QueryEvaluationContext;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.StrictEvaluationStrategy;
 import org.eclipse.rdf4j.query.impl.EmptyBindingSet;
 import org.junit.Test;
@@ -128,4 +134,105 @@ public class HashJoinIterationTest {
 		assertEquals("x", actual.getValue("i").stringValue());
 		assertFalse(actual.hasBinding("b"));
 	}
+
+	@Test
+	public void testParallelInnerJoin() throws QueryEvaluationException {
+		assertParallelJoinMatchesSerial(false);
+	}
+
+	@Test
+	public void testParallelLeftJoin() throws QueryEvaluationException {
+		assertParallelJoinMatchesSerial(true);
+	}
+
+	@Test
+	public void testSpillingInnerJoin() throws QueryEvaluationException {
+		assertSpillingJoinMatchesInMemory(false);
+	}
+
+	@Test
+	public void testSpillingLeftJoin() throws QueryEvaluationException {
+		assertSpillingJoinMatchesInMemory(true);
+	}
+
+	private void assertSpillingJoinMatchesInMemory(boolean leftJoin) {
+		QueryEvaluationStep left = bs -> new CollectionIteration<>(createLeftBindings());
+		QueryEvaluationStep right = bs -> new CollectionIteration<>(createRightBindings());
+		QueryEvaluationContext context = new QueryEvaluationContext.Minimal(null);
+		String[] joinAttributes = { "i" };
+
+		List<BindingSet> expected = new ArrayList<>();
+		try (HashJoinIteration iter = new HashJoinIteration(left, right, EmptyBindingSet.getInstance(), leftJoin,
+				joinAttributes, context)) {
+			while (iter.hasNext()) {
+				expected.add(iter.next());
+			}
+		}
+
+		List<BindingSet> actual = new ArrayList<>();
+		// a budget this small forces the partitions to be split again
+		try (HashJoinIteration iter = new HashJoinIteration(left, right, EmptyBindingSet.getInstance(), leftJoin,
+				joinAttributes, context, null, 4000, null)) {
+			while (iter.hasNext()) {
+				actual.add(iter.next());
+			}
+			assertTrue(iter.getSpillCount() > 1);
+		}
+		assertEquals(expected.size(), actual.size());
+		assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+	}
+
+	private List<BindingSet> createLeftBindings() {
+		List<BindingSet> leftBindings = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			QueryBindingSet leftb = new QueryBindingSet();
+			leftb.addBinding("a", vf.createLiteral(i));
+			leftb.addBinding("i", vf.createLiteral("x" + (i % 700)));
+			leftBindings.add(leftb);
+		}
+		return leftBindings;
+	}
+
+	private List<BindingSet> createRightBindings() {
+		List<BindingSet> rightBindings = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			QueryBindingSet rightb = new QueryBindingSet();
+			rightb.addBinding("b", vf.createLiteral(i));
+			rightb.addBinding("i", vf.createLiteral("x" + (i % 900)));
+			rightBindings.add(rightb);
+		}
+		return rightBindings;
+	}
+
+	private void assertParallelJoinMatchesSerial(boolean leftJoin) {
+		List<BindingSet> leftBindings = createLeftBindings();
+		List<BindingSet> rightBindings = createRightBindings();
+
+		QueryEvaluationStep left = bs -> new CollectionIteration<>(leftBindings);
+		QueryEvaluationStep right = bs -> new CollectionIteration<>(rightBindings);
+		QueryEvaluationContext context = new QueryEvaluationContext.Minimal(null);
+		String[] joinAttributes = { "i" };
+
+		List<BindingSet> expected = new ArrayList<>();
+		try (HashJoinIteration iter = new HashJoinIteration(left, right, EmptyBindingSet.getInstance(), leftJoin,
+				joinAttributes, context)) {
+			while (iter.hasNext()) {
+				expected.add(iter.next());
+			}
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<BindingSet> actual = new ArrayList<>();
+			try (HashJoinIteration iter = new HashJoinIteration(left, right, EmptyBindingSet.getInstance(),
+					leftJoin, joinAttributes, context, pool)) {
+				while (iter.hasNext()) {
+					actual.add(iter.next());
+				}
+			}
+			assertEquals(expected, actual);
+		} finally {
+			pool.shutdown();
+		}
+	}
 }
@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.Dataset;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.ArbitraryLengthPath;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.Var;
+import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
+import org.eclipse.rdf4j.query.impl.EmptyBindingSet;
+import org.eclipse.rdf4j.query.impl.MapBindingSet;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TransitivePathIterationTest {
+
+	private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private final IRI a = vf.createIRI("urn:a");
+
+	private final IRI b = vf.createIRI("urn:b");
+
+	private final IRI c = vf.createIRI("urn:c");
+
+	private final IRI d = vf.createIRI("urn:d");
+
+	private final IRI e = vf.createIRI("urn:e");
+
+	private final List<Value> ids = new ArrayList<>();
+
+	private int lookups;
+
+	private TripleSource tripleSource;
+
+	private TripleSource idTripleSource;
+
+	@Before
+	public void setUp() {
+		// a -> b -> c -> a (cycle), c -> d, e is isolated
+		Model m = new LinkedHashModel();
+		m.add(a, RDFS.SUBCLASSOF, b);
+		m.add(b, RDFS.SUBCLASSOF, c);
+		m.add(c, RDFS.SUBCLASSOF, a);
+		m.add(c, RDFS.SUBCLASSOF, d);
+		m.add(e, RDFS.LABEL, vf.createLiteral("e"));
+
+		tripleSource = new TripleSource() {
+
+			@Override
+			public CloseableIteration<? extends Statement, QueryEvaluationException> getStatements(Resource subj,
+					IRI pred, Value obj, Resource... contexts) throws QueryEvaluationException {
+				lookups++;
+				return new CloseableIteratorIteration<>(m.getStatements(subj, pred, obj, contexts).iterator());
+			}
+
+			@Override
+			public ValueFactory getValueFactory() {
+				return vf;
+			}
+		};
+
+		idTripleSource = new TripleSource() {
+
+			@Override
+			public CloseableIteration<? extends Statement, QueryEvaluationException> getStatements(Resource subj,
+					IRI pred, Value obj, Resource... contexts) throws QueryEvaluationException {
+				return tripleSource.getStatements(subj, pred, obj, contexts);
+			}
+
+			@Override
+			public long getInternalId(Value value) throws QueryEvaluationException {
+				// values outside of the taxonomy have no identifier
+				if (value.equals(e)) {
+					return -1;
+				}
+				if (!ids.contains(value)) {
+					ids.add(value);
+				}
+				return ids.indexOf(value);
+			}
+
+			@Override
+			public boolean supportsInternalIds() {
+				return true;
+			}
+
+			@Override
+			public ValueFactory getValueFactory() {
+				return vf;
+			}
+		};
+	}
+
+	@Test
+	public void testBoundStart() {
+		assertEquals(Set.of(b, c, a, d), evaluateEnds(tripleSource, path("x", "y", false, 1), binding("x", a)));
+		assertEquals(Set.of(b, c, a, d), evaluateEnds(idTripleSource, path("x", "y", false, 1), binding("x", a)));
+		assertEquals(Set.of(d), evaluateEnds(tripleSource, path("x", "y", false, 0), binding("x", d)));
+		assertEquals(Set.of(), evaluateEnds(tripleSource, path("x", "y", false, 1), binding("x", d)));
+	}
+
+	@Test
+	public void testBoundEnd() {
+		assertEquals(Set.of(a, b, c), evaluateStarts(tripleSource, path("x", "y", false, 1), binding("y", d)));
+		assertEquals(Set.of(e), evaluateStarts(idTripleSource, path("x", "y", false, 0), binding("y", e)));
+	}
+
+	@Test
+	public void testInversePath() {
+		// ?x ^rdfs:subClassOf+ ?y
+		assertEquals(Set.of(a, b, c), evaluateEnds(tripleSource, path("x", "y", true, 1), binding("x", d)));
+	}
+
+	@Test
+	public void testBothEndsBound() {
+		MapBindingSet bindings = binding("x", a);
+		bindings.addBinding("y", d);
+		assertEquals(1, evaluate(tripleSource, path("x", "y", false, 1), bindings).size());
+		assertEquals(1, evaluate(idTripleSource, path("x", "y", false, 1), bindings).size());
+
+		bindings = binding("x", d);
+		bindings.addBinding("y", a);
+		assertEquals(0, evaluate(tripleSource, path("x", "y", false, 1), bindings).size());
+
+		bindings = binding("x", e);
+		bindings.addBinding("y", e);
+		assertEquals(0, evaluate(tripleSource, path("x", "y", false, 1), bindings).size());
+		assertEquals(1, evaluate(idTripleSource, path("x", "y", false, 0), bindings).size());
+	}
+
+	@Test
+	public void testBothEndsUnbound() {
+		List<BindingSet> results = evaluate(tripleSource, path("x", "y", false, 1), EmptyBindingSet.getInstance());
+		// a, b and c reach all of a, b, c and d
+		assertEquals(12, results.size());
+		assertEquals(12, new HashSet<>(results).size());
+	}
+
+	@Test
+	public void testOneLookupPerValue() {
+		lookups = 0;
+		evaluate(tripleSource, path("x", "y", false, 1), binding("x", a));
+		// a, b, c and d are each expanded once
+		assertEquals(4, lookups);
+	}
+
+	@Test
+	public void testIsApplicable() {
+		assertTrue(TransitivePathIteration.isApplicable(path("x", "y", false, 0), (Dataset) null));
+		assertFalse(TransitivePathIteration.isApplicable(path("x", "y", false, 0), EmptyBindingSet.getInstance()));
+		assertTrue(TransitivePathIteration.isApplicable(path("x", "y", false, 0), binding("y", a)));
+
+		StatementPattern unrelated = new StatementPattern(new Var("x"), new Var("p", RDFS.SUBCLASSOF), new Var("z"));
+		assertFalse(TransitivePathIteration.isApplicable(
+				new ArbitraryLengthPath(new Var("x"), unrelated, new Var("y"), 1),
+				(Dataset) null));
+	}
+
+	@Test
+	public void testVisitedValues() {
+		VisitedValues visited = new VisitedValues(idTripleSource);
+		for (int i = 0; i < 1000; i++) {
+			assertTrue(visited.add(vf.createLiteral(i)));
+		}
+		assertTrue(visited.add(e));
+		assertFalse(visited.add(e));
+		assertFalse(visited.add(vf.createLiteral(500)));
+		assertTrue(visited.contains(vf.createLiteral(999)));
+		assertFalse(visited.contains(a));
+		assertEquals(1001, visited.size());
+	}
+
+	private ArbitraryLengthPath path(String start, String end, boolean inverse, long minLength) {
+		Var predicate = new Var("p", RDFS.SUBCLASSOF);
+		StatementPattern pattern = inverse ? new StatementPattern(new Var(end), predicate, new Var(start))
+				: new StatementPattern(new Var(start), predicate, new Var(end));
+		return new ArbitraryLengthPath(new Var(start), pattern, new Var(end), minLength);
+	}
+
+	private MapBindingSet binding(String name, Value value) {
+		MapBindingSet bindings = new MapBindingSet();
+		bindings.addBinding(name, value);
+		return bindings;
+	}
+
+	private List<BindingSet> evaluate(TripleSource source, ArbitraryLengthPath path, BindingSet bindings) {
+		List<BindingSet> results = new ArrayList<>();
+		try (TransitivePathIteration iter = new TransitivePathIteration(source, path, bindings)) {
+			while (iter.hasNext()) {
+				results.add(iter.next());
+			}
+		}
+		return results;
+	}
+
+	private Set<Value> evaluateEnds(TripleSource source, ArbitraryLengthPath path, BindingSet bindings) {
+		return collect(evaluate(source, path, bindings), "y");
+	}
+
+	private Set<Value> evaluateStarts(TripleSource source, ArbitraryLengthPath path, BindingSet bindings) {
+		return collect(evaluate(source, path, bindings), "x");
+	}
+
+	private Set<Value> collect(List<BindingSet> results, String name) {
+		Set<Value> values = new HashSet<>();
+		for (BindingSet result : results) {
+			assertTrue("duplicate result " + result, values.add(result.getValue(name)));
+		}
+		return values;
+	}
+}
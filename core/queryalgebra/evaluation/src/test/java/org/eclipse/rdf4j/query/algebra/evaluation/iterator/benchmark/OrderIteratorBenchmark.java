@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.algebra.evaluation.iterator.benchmark;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.eclipse.rdf4j.query.algebra.evaluation.QueryBindingSet;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.ExternalOrderIterator;
+import org.eclipse.rdf4j.query.algebra.evaluation.iterator.OrderIterator;
+import org.eclipse.rdf4j.query.algebra.evaluation.util.ValueComparator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the serialized queue based {@link OrderIterator} with the {@link ExternalOrderIterator}, both configured to
+ * spill about a tenth of their input to disk at a time.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@BenchmarkMode({ Mode.AverageTime })
+@Fork(value = 1, jvmArgs = { "-Xms2G", "-Xmx2G", "-XX:+UseG1GC" })
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderIteratorBenchmark {
+
+	@Param({ "100000", "1000000" })
+	public int size;
+
+	private List<BindingSet> bindingSets;
+
+	private final Comparator<BindingSet> comparator = new Comparator<>() {
+
+		private final ValueComparator valueComparator = new ValueComparator();
+
+		@Override
+		public int compare(BindingSet o1, BindingSet o2) {
+			int cmp = valueComparator.compare(o1.getValue("a"), o2.getValue("a"));
+			if (cmp != 0) {
+				return cmp;
+			}
+			return valueComparator.compare(o1.getValue("b"), o2.getValue("b"));
+		}
+	};
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include("OrderIteratorBenchmark") // adapt to control which benchmark tests to run
+				.forks(1)
+				.build();
+
+		new Runner(opt).run();
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		ValueFactory vf = SimpleValueFactory.getInstance();
+		Random random = new Random(4711);
+		bindingSets = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			QueryBindingSet bs = new QueryBindingSet();
+			bs.addBinding("a", vf.createIRI("http://example.org/resource/", "r" + random.nextInt(size)));
+			bs.addBinding("b", vf.createLiteral(random.nextInt()));
+			bs.addBinding("c", vf.createLiteral("some label " + random.nextInt(1000), "en"));
+			bindingSets.add(bs);
+		}
+	}
+
+	@Benchmark
+	public long orderIterator() {
+		return consume(new OrderIterator(input(), comparator, Long.MAX_VALUE, false, size / 10));
+	}
+
+	@Benchmark
+	public long externalOrderIterator() {
+		// about 340 bytes are estimated for each binding set
+		return consume(new ExternalOrderIterator(input(), comparator, Long.MAX_VALUE, false, size * 30L));
+	}
+
+	@Benchmark
+	public long externalOrderIteratorInMemory() {
+		return consume(new ExternalOrderIterator(input(), comparator, Long.MAX_VALUE, false, 0));
+	}
+
+	private CloseableIteration<BindingSet, QueryEvaluationException> input() {
+		return new CloseableIteratorIteration<>(bindingSets.iterator());
+	}
+
+	private static long consume(CloseableIteration<BindingSet, QueryEvaluationException> iteration) {
+		long count = 0;
+		try (iteration) {
+			while (iteration.hasNext()) {
+				iteration.next();
+				count++;
+			}
+		}
+		return count;
+	}
+}
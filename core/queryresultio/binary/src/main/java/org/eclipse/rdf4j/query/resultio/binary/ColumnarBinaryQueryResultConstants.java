@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio.binary;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+
+/**
+ * Interface defining constants for the column-oriented binary table result format. Unlike the format described in
+ * {@link BinaryQueryResultConstants}, which writes the results table value by value, this format groups rows in batches
+ * and writes each batch column by column, referring to the values through a dictionary that is local to the batch.
+ * <p>
+ * Fixed-size fields are encoded as specified in the interfaces {@link DataInput} and {@link DataOutput}. Inside a batch
+ * payload, non-negative integers are encoded as unsigned variable-length integers: 7 bits per byte, least significant
+ * group first, with the high bit set on all bytes but the last. Strings in the payload are encoded in UTF-8 and are
+ * preceded by their length in bytes as a variable-length integer.
+ * <p>
+ * The file header consists of:
+ * <ul>
+ * <li>Bytes 1-4 contain the ASCII codes for the string "BRTC", which stands for Binary RDF Table Columnar.
+ * <li>Bytes 5-8 specify the format version (an integer).
+ * <li>Byte 9 specifies some flags, specifically whether batch payloads are compressed ({@link #COMPRESSED_FLAG}).
+ * <li>Bytes 10-13 specify the number of columns of the query result that will follow (an integer).
+ * </ul>
+ * Following this are the column headers, which are encoded as UTF-8 strings preceded by a 32-bit integer specifying
+ * their length in bytes.
+ * <p>
+ * Zero or more blocks follow after the column headers. Each block starts with a block type marker (a single byte). The
+ * following blocks are defined in the current format:
+ * <ul>
+ * <li><var>BATCH</var> (byte value: 1):<br>
+ * A batch of rows. The marker is followed by an integer for the number of rows in the batch and an integer for the
+ * length in bytes of the payload. If the payload is compressed, another integer follows for the length of the
+ * uncompressed payload, and the payload itself is compressed with the Deflate algorithm. The (uncompressed) payload
+ * consists of the dictionary size, the dictionary entries, and then for each column, from left to right, one dictionary
+ * reference per row: <var>0</var> for an unbound value, <var>i + 1</var> for dictionary entry <var>i</var>.
+ * <li><var>ERROR</var> (byte value: 126):<br>
+ * This block indicates a error. The type of error is indicated by the byte directly following the block type marker:
+ * <var>1</var> for a malformed query error, <var>2</var> for a query evaluation error. The error type byte is followed
+ * by an UTF-8 string for the error message, preceded by a 32-bit integer specifying its length in bytes.
+ * <li><var>TABLE_END</var> (byte value: 127):<br>
+ * This indicates the end of the results table. Any data following this marker should be ignored.
+ * </ul>
+ * Each dictionary entry starts with a value type marker (a single byte). Entries can refer to entries that precede them
+ * in the same dictionary:
+ * <ul>
+ * <li><var>IRI</var> (byte value: 1): followed by a string for the IRI.
+ * <li><var>BNODE</var> (byte value: 2): followed by a string for the bnode ID.
+ * <li><var>PLAIN_LITERAL</var> (byte value: 3): followed by a string for the literal's label.
+ * <li><var>LANG_LITERAL</var> (byte value: 4): followed by strings for the literal's label and language tag.
+ * <li><var>DATATYPE_LITERAL</var> (byte value: 5): followed by a string for the literal's label and the dictionary
+ * index of the literal's datatype.
+ * <li><var>INTEGER_LITERAL</var> (byte value: 6): a literal with a canonical integer label that fits in 64 bits.
+ * Followed by the dictionary index of the literal's datatype and the zigzag-encoded value as a variable-length integer.
+ * <li><var>TRIPLE</var> (byte value: 7): an RDF-star triple value, followed by the dictionary indices of its subject,
+ * predicate and object.
+ * </ul>
+ */
+public interface ColumnarBinaryQueryResultConstants {
+
+	/**
+	 * Magic number for columnar Binary RDF Table Result files.
+	 */
+	byte[] MAGIC_NUMBER = new byte[] { 'B', 'R', 'T', 'C' };
+
+	/**
+	 * The version number of the current format.
+	 */
+	int FORMAT_VERSION = 1;
+
+	/* FLAGS */
+	int COMPRESSED_FLAG = 0x01;
+
+	/* BLOCK TYPES */
+	int BATCH_MARKER = 1;
+
+	int ERROR_MARKER = 126;
+
+	int TABLE_END_MARKER = 127;
+
+	/* DICTIONARY ENTRY TYPES */
+	int IRI_ENTRY = 1;
+
+	int BNODE_ENTRY = 2;
+
+	int PLAIN_LITERAL_ENTRY = 3;
+
+	int LANG_LITERAL_ENTRY = 4;
+
+	int DATATYPE_LITERAL_ENTRY = 5;
+
+	int INTEGER_LITERAL_ENTRY = 6;
+
+	int TRIPLE_ENTRY = 7;
+
+	/* ERROR TYPES */
+	int MALFORMED_QUERY_ERROR = 1;
+
+	int QUERY_EVALUATION_ERROR = 2;
+}
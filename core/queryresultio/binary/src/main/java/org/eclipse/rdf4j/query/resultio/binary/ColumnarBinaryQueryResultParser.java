@@ -0,0 +1,374 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio.binary;
+
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.BATCH_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.BNODE_ENTRY;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.COMPRESSED_FLAG;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.DATATYPE_LITERAL_ENTRY;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.ERROR_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.FORMAT_VERSION;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.INTEGER_LITERAL_ENTRY;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.IRI_ENTRY;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.LANG_LITERAL_ENTRY;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.MAGIC_NUMBER;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.MALFORMED_QUERY_ERROR;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.PLAIN_LITERAL_ENTRY;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.QUERY_EVALUATION_ERROR;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.TABLE_END_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.TRIPLE_ENTRY;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.eclipse.rdf4j.common.io.IOUtil;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.TupleQueryResultHandlerException;
+import org.eclipse.rdf4j.query.impl.ListBindingSet;
+import org.eclipse.rdf4j.query.resultio.AbstractTupleQueryResultParser;
+import org.eclipse.rdf4j.query.resultio.QueryResultParseException;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
+
+/**
+ * Reader for the column-oriented binary tuple result format. The format is explained in
+ * {@link ColumnarBinaryQueryResultConstants}.
+ */
+public class ColumnarBinaryQueryResultParser extends AbstractTupleQueryResultParser {
+
+	/*-----------*
+	 * Variables *
+	 *-----------*/
+
+	private DataInputStream in;
+
+	/**
+	 * The (uncompressed) payload of the current batch.
+	 */
+	private byte[] payload = new byte[4096];
+
+	private int payloadLength;
+
+	private int position;
+
+	private byte[] compressed;
+
+	/*--------------*
+	 * Constructors *
+	 *--------------*/
+
+	/**
+	 * Creates a new parser for the columnar binary query result format that will use an instance of
+	 * {@link SimpleValueFactory} to create Value objects.
+	 */
+	public ColumnarBinaryQueryResultParser() {
+		super();
+	}
+
+	/**
+	 * Creates a new parser for the columnar binary query result format that will use the supplied ValueFactory to
+	 * create Value objects.
+	 */
+	public ColumnarBinaryQueryResultParser(ValueFactory valueFactory) {
+		super(valueFactory);
+	}
+
+	/*---------*
+	 * Methods *
+	 *---------*/
+
+	@Override
+	public final TupleQueryResultFormat getTupleQueryResultFormat() {
+		return TupleQueryResultFormat.BINARY_COLUMNAR;
+	}
+
+	@Override
+	public synchronized void parse(InputStream in)
+			throws IOException, QueryResultParseException, TupleQueryResultHandlerException {
+		if (in == null) {
+			throw new IllegalArgumentException("Input stream can not be 'null'");
+		}
+
+		this.in = new DataInputStream(in);
+
+		// Check magic number
+		byte[] magicNumber = IOUtil.readBytes(in, MAGIC_NUMBER.length);
+		if (!Arrays.equals(magicNumber, MAGIC_NUMBER)) {
+			throw new QueryResultParseException("File does not contain a columnar binary RDF table result");
+		}
+
+		int formatVersion = this.in.readInt();
+		if (formatVersion > FORMAT_VERSION || formatVersion < 1) {
+			throw new QueryResultParseException("Incompatible format version: " + formatVersion);
+		}
+
+		boolean compressed = (this.in.readByte() & COMPRESSED_FLAG) != 0;
+
+		// Read column headers
+		int columnCount = this.in.readInt();
+		if (columnCount < 0) {
+			throw new QueryResultParseException("Illegal column count specified: " + columnCount);
+		}
+
+		List<String> columnHeaders = new ArrayList<>(columnCount);
+		for (int i = 0; i < columnCount; i++) {
+			columnHeaders.add(readString());
+		}
+		columnHeaders = Collections.unmodifiableList(columnHeaders);
+
+		if (handler != null) {
+			handler.startQueryResult(columnHeaders);
+		}
+
+		Inflater inflater = compressed ? new Inflater() : null;
+		try {
+			int blockTypeMarker = this.in.readByte();
+
+			while (blockTypeMarker != TABLE_END_MARKER) {
+				if (blockTypeMarker == BATCH_MARKER) {
+					processBatch(columnHeaders, inflater);
+				} else if (blockTypeMarker == ERROR_MARKER) {
+					processError();
+				} else {
+					throw new QueryResultParseException("Unknown block type: " + blockTypeMarker);
+				}
+
+				blockTypeMarker = this.in.readByte();
+			}
+		} finally {
+			if (inflater != null) {
+				inflater.end();
+			}
+		}
+
+		if (handler != null) {
+			handler.endQueryResult();
+		}
+	}
+
+	private void processBatch(List<String> columnHeaders, Inflater inflater)
+			throws IOException, QueryResultParseException {
+		int rowCount = in.readInt();
+		int length = in.readInt();
+		if (rowCount < 0 || length < 0) {
+			throw new QueryResultParseException("Illegal batch header: " + rowCount + " rows, " + length + " bytes");
+		}
+
+		if (inflater == null) {
+			payloadLength = length;
+			ensurePayloadCapacity(length);
+			in.readFully(payload, 0, length);
+		} else {
+			payloadLength = in.readInt();
+			if (payloadLength < 0) {
+				throw new QueryResultParseException("Illegal uncompressed batch length: " + payloadLength);
+			}
+			ensurePayloadCapacity(payloadLength);
+			if (compressed == null || compressed.length < length) {
+				compressed = new byte[length];
+			}
+			in.readFully(compressed, 0, length);
+			inflate(inflater, length);
+		}
+		position = 0;
+
+		Value[] dictionary = new Value[readVarInt()];
+		for (int i = 0; i < dictionary.length; i++) {
+			dictionary[i] = readEntry(dictionary, i);
+		}
+
+		int columnCount = columnHeaders.size();
+		Value[][] rows = new Value[rowCount][columnCount];
+		for (int column = 0; column < columnCount; column++) {
+			for (int row = 0; row < rowCount; row++) {
+				int reference = readVarInt();
+				if (reference != 0) {
+					rows[row][column] = lookup(dictionary, reference - 1, dictionary.length);
+				}
+			}
+		}
+
+		if (position != payloadLength) {
+			throw new QueryResultParseException("Unexpected data at the end of a batch");
+		}
+
+		if (handler != null) {
+			for (Value[] row : rows) {
+				handler.handleSolution(new ListBindingSet(columnHeaders, row));
+			}
+		}
+	}
+
+	private void inflate(Inflater inflater, int length) throws QueryResultParseException {
+		inflater.reset();
+		inflater.setInput(compressed, 0, length);
+		try {
+			int inflated = 0;
+			while (inflated < payloadLength && !inflater.finished()) {
+				int count = inflater.inflate(payload, inflated, payloadLength - inflated);
+				if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				inflated += count;
+			}
+			if (inflated != payloadLength) {
+				throw new QueryResultParseException("Truncated compressed batch");
+			}
+		} catch (DataFormatException e) {
+			throw new QueryResultParseException(e);
+		}
+	}
+
+	private void ensurePayloadCapacity(int length) {
+		if (payload.length < length) {
+			payload = new byte[Math.max(length, payload.length * 2)];
+		}
+	}
+
+	private Value readEntry(Value[] dictionary, int index) throws IOException {
+		int entryTypeMarker = readByte();
+
+		switch (entryTypeMarker) {
+		case IRI_ENTRY:
+			return valueFactory.createIRI(readPayloadString());
+		case BNODE_ENTRY:
+			return valueFactory.createBNode(readPayloadString());
+		case PLAIN_LITERAL_ENTRY:
+			return valueFactory.createLiteral(readPayloadString());
+		case LANG_LITERAL_ENTRY:
+			String label = readPayloadString();
+			return valueFactory.createLiteral(label, readPayloadString());
+		case DATATYPE_LITERAL_ENTRY:
+			label = readPayloadString();
+			return valueFactory.createLiteral(label, readDatatype(dictionary, index));
+		case INTEGER_LITERAL_ENTRY:
+			IRI datatype = readDatatype(dictionary, index);
+			long zigzag = readVarLong();
+			return valueFactory.createLiteral(Long.toString((zigzag >>> 1) ^ -(zigzag & 1)), datatype);
+		case TRIPLE_ENTRY:
+			Value subject = lookup(dictionary, readVarInt(), index);
+			if (!(subject instanceof Resource)) {
+				throw new IOException("Unexpected value type: " + subject);
+			}
+			Value predicate = lookup(dictionary, readVarInt(), index);
+			if (!(predicate instanceof IRI)) {
+				throw new IOException("Unexpected value type: " + predicate);
+			}
+			Value object = lookup(dictionary, readVarInt(), index);
+			return valueFactory.createTriple((Resource) subject, (IRI) predicate, object);
+		default:
+			throw new IOException("Unknown dictionary entry type: " + entryTypeMarker);
+		}
+	}
+
+	private IRI readDatatype(Value[] dictionary, int index) throws IOException {
+		Value datatype = lookup(dictionary, readVarInt(), index);
+		if (!(datatype instanceof IRI)) {
+			throw new IOException("Unexpected datatype: " + datatype);
+		}
+		return (IRI) datatype;
+	}
+
+	/**
+	 * Returns the dictionary entry with the supplied index, which must be below the supplied limit.
+	 */
+	private Value lookup(Value[] dictionary, int index, int limit) throws IOException {
+		if (index < 0 || index >= limit) {
+			throw new IOException("Illegal dictionary reference: " + index);
+		}
+		return dictionary[index];
+	}
+
+	private void processError() throws IOException, QueryResultParseException {
+		byte errTypeFlag = in.readByte();
+
+		QueryErrorType errType;
+		if (errTypeFlag == MALFORMED_QUERY_ERROR) {
+			errType = QueryErrorType.MALFORMED_QUERY_ERROR;
+		} else if (errTypeFlag == QUERY_EVALUATION_ERROR) {
+			errType = QueryErrorType.QUERY_EVALUATION_ERROR;
+		} else {
+			throw new QueryResultParseException("Unkown error type: " + errTypeFlag);
+		}
+
+		String msg = readString();
+
+		throw new QueryResultParseException(errType + ": " + msg);
+	}
+
+	/**
+	 * Reads a string from the stream. Strings are encoded as UTF-8 and are preceeded by a 32-bit integer (high byte
+	 * first) specifying the length of the encoded string.
+	 */
+	private String readString() throws IOException {
+		int stringLength = in.readInt();
+		if (stringLength < 0) {
+			throw new IOException("Illegal string length: " + stringLength);
+		}
+		byte[] encodedString = IOUtil.readBytes(in, stringLength);
+
+		if (encodedString.length != stringLength) {
+			throw new EOFException("Attempted to read " + stringLength + " bytes but no more than "
+					+ encodedString.length + " were available");
+		}
+
+		return new String(encodedString, StandardCharsets.UTF_8);
+	}
+
+	private int readByte() throws EOFException {
+		if (position >= payloadLength) {
+			throw new EOFException("Unexpected end of batch");
+		}
+		return payload[position++] & 0xFF;
+	}
+
+	private int readVarInt() throws IOException {
+		long value = readVarLong();
+		if (value > Integer.MAX_VALUE) {
+			throw new IOException("Variable-length integer out of range: " + value);
+		}
+		return (int) value;
+	}
+
+	private long readVarLong() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed variable-length integer");
+	}
+
+	private String readPayloadString() throws IOException {
+		int length = readVarInt();
+		if (length > payloadLength - position) {
+			throw new EOFException("Unexpected end of batch");
+		}
+		String s = new String(payload, position, length, StandardCharsets.UTF_8);
+		position += length;
+		return s;
+	}
+}
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio.binary;
+
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultParser;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultParserFactory;
+
+/**
+ * A {@link TupleQueryResultParserFactory} for column-oriented binary tuple query result parsers.
+ */
+public class ColumnarBinaryQueryResultParserFactory implements TupleQueryResultParserFactory {
+
+	/**
+	 * Returns {@link TupleQueryResultFormat#BINARY_COLUMNAR}.
+	 */
+	@Override
+	public TupleQueryResultFormat getTupleQueryResultFormat() {
+		return TupleQueryResultFormat.BINARY_COLUMNAR;
+	}
+
+	/**
+	 * Returns a new instance of ColumnarBinaryQueryResultParser.
+	 */
+	@Override
+	public TupleQueryResultParser getParser() {
+		return new ColumnarBinaryQueryResultParser();
+	}
+}
@@ -0,0 +1,481 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio.binary;
+
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.BATCH_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.BNODE_ENTRY;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.COMPRESSED_FLAG;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.DATATYPE_LITERAL_ENTRY;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.ERROR_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.FORMAT_VERSION;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.INTEGER_LITERAL_ENTRY;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.IRI_ENTRY;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.LANG_LITERAL_ENTRY;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.MAGIC_NUMBER;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.MALFORMED_QUERY_ERROR;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.PLAIN_LITERAL_ENTRY;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.QUERY_EVALUATION_ERROR;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.TABLE_END_MARKER;
+import static org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultConstants.TRIPLE_ENTRY;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import org.eclipse.rdf4j.common.io.ByteSink;
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Triple;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.datatypes.XMLDatatypeUtil;
+import org.eclipse.rdf4j.model.util.Literals;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryResultHandlerException;
+import org.eclipse.rdf4j.query.TupleQueryResultHandlerException;
+import org.eclipse.rdf4j.query.resultio.AbstractQueryResultWriter;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultWriter;
+import org.eclipse.rdf4j.rio.RioSetting;
+
+/**
+ * Writer for the column-oriented binary tuple result format. The format is explained in
+ * {@link ColumnarBinaryQueryResultConstants}.
+ *
+ * @see ColumnarBinaryQueryResultWriterSettings
+ */
+public class ColumnarBinaryQueryResultWriter extends AbstractQueryResultWriter
+		implements TupleQueryResultWriter, ByteSink {
+
+	/*-----------*
+	 * Variables *
+	 *-----------*/
+
+	/**
+	 * The output stream to write the results table to.
+	 */
+	private final DataOutputStream out;
+
+	/**
+	 * Maps the values of the current batch to their index in the batch dictionary.
+	 */
+	private final Map<Value, Integer> dictionary = new HashMap<>();
+
+	private final BatchOutput dictionaryOutput = new BatchOutput();
+
+	private final BatchOutput columnOutput = new BatchOutput();
+
+	private final BatchOutput payloadOutput = new BatchOutput();
+
+	private List<String> bindingNames;
+
+	/**
+	 * The values of the current batch, indexed by column and then by row.
+	 */
+	private Value[][] columns;
+
+	private int batchSize;
+
+	private int rowCount;
+
+	private boolean compress;
+
+	private Deflater deflater;
+
+	private byte[] compressed;
+
+	private boolean documentStarted = false;
+
+	protected boolean tupleVariablesFound = false;
+
+	public ColumnarBinaryQueryResultWriter(OutputStream out) {
+		this.out = new DataOutputStream(out);
+	}
+
+	@Override
+	public OutputStream getOutputStream() {
+		return out;
+	}
+
+	@Override
+	public final TupleQueryResultFormat getTupleQueryResultFormat() {
+		return TupleQueryResultFormat.BINARY_COLUMNAR;
+	}
+
+	@Override
+	public final TupleQueryResultFormat getQueryResultFormat() {
+		return getTupleQueryResultFormat();
+	}
+
+	@Override
+	public Collection<RioSetting<?>> getSupportedSettings() {
+		return Arrays.asList(ColumnarBinaryQueryResultWriterSettings.BATCH_SIZE,
+				ColumnarBinaryQueryResultWriterSettings.COMPRESS);
+	}
+
+	@Override
+	public void startDocument() throws TupleQueryResultHandlerException {
+		documentStarted = true;
+		try {
+			out.write(MAGIC_NUMBER);
+			out.writeInt(FORMAT_VERSION);
+		} catch (IOException e) {
+			throw new TupleQueryResultHandlerException(e);
+		}
+	}
+
+	@Override
+	public void startQueryResult(List<String> bindingNames) throws TupleQueryResultHandlerException {
+		super.startQueryResult(bindingNames);
+
+		tupleVariablesFound = true;
+
+		if (!documentStarted) {
+			startDocument();
+		}
+
+		this.bindingNames = Collections.unmodifiableList(new ArrayList<>(bindingNames));
+
+		long configuredBatchSize = getWriterConfig().get(ColumnarBinaryQueryResultWriterSettings.BATCH_SIZE);
+		if (configuredBatchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be positive: " + configuredBatchSize);
+		}
+		batchSize = (int) Math.min(configuredBatchSize, Integer.MAX_VALUE - 8);
+		columns = new Value[this.bindingNames.size()][Math.min(batchSize, 1024)];
+		rowCount = 0;
+
+		compress = getWriterConfig().get(ColumnarBinaryQueryResultWriterSettings.COMPRESS);
+		if (compress && deflater == null) {
+			deflater = new Deflater(Deflater.BEST_SPEED);
+		}
+
+		try {
+			out.writeByte(compress ? COMPRESSED_FLAG : 0);
+			out.writeInt(this.bindingNames.size());
+
+			for (String bindingName : this.bindingNames) {
+				writeString(bindingName);
+			}
+		} catch (IOException e) {
+			throw new TupleQueryResultHandlerException(e);
+		}
+	}
+
+	@Override
+	public void endQueryResult() throws TupleQueryResultHandlerException {
+		if (!tupleVariablesFound) {
+			throw new IllegalStateException("Could not end query result as startQueryResult was not called first.");
+		}
+
+		try {
+			writeBatch();
+			out.writeByte(TABLE_END_MARKER);
+			endDocument();
+		} catch (IOException e) {
+			throw new TupleQueryResultHandlerException(e);
+		}
+	}
+
+	@Override
+	protected void handleSolutionImpl(BindingSet bindingSet) throws TupleQueryResultHandlerException {
+		if (!tupleVariablesFound) {
+			throw new IllegalStateException("Must call startQueryResult before handleSolution");
+		}
+
+		if (columns.length > 0 && rowCount == columns[0].length) {
+			growBatch();
+		}
+
+		for (int i = 0; i < columns.length; i++) {
+			columns[i][rowCount] = bindingSet.getValue(bindingNames.get(i));
+		}
+		rowCount++;
+
+		if (rowCount == batchSize) {
+			try {
+				writeBatch();
+			} catch (IOException e) {
+				throw new TupleQueryResultHandlerException(e);
+			}
+		}
+	}
+
+	private void growBatch() {
+		int capacity = (int) Math.min((long) columns[0].length * 2, batchSize);
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = Arrays.copyOf(columns[i], capacity);
+		}
+	}
+
+	/**
+	 * Writes the buffered rows as a single batch: first the dictionary of the distinct values in the batch, then the
+	 * dictionary references of each column.
+	 */
+	private void writeBatch() throws IOException {
+		if (rowCount == 0) {
+			return;
+		}
+
+		dictionary.clear();
+		dictionaryOutput.reset();
+		columnOutput.reset();
+
+		for (Value[] column : columns) {
+			for (int row = 0; row < rowCount; row++) {
+				Value value = column[row];
+				columnOutput.writeVarInt(value == null ? 0 : encode(value) + 1);
+				column[row] = null;
+			}
+		}
+
+		payloadOutput.reset();
+		payloadOutput.writeVarInt(dictionary.size());
+		dictionaryOutput.writeTo(payloadOutput);
+		columnOutput.writeTo(payloadOutput);
+
+		out.writeByte(BATCH_MARKER);
+		out.writeInt(rowCount);
+
+		if (compress) {
+			int length = deflate(payloadOutput);
+			out.writeInt(length);
+			out.writeInt(payloadOutput.size());
+			out.write(compressed, 0, length);
+		} else {
+			out.writeInt(payloadOutput.size());
+			payloadOutput.writeTo(out);
+		}
+
+		rowCount = 0;
+	}
+
+	private int deflate(BatchOutput payload) {
+		deflater.reset();
+		deflater.setInput(payload.buffer(), 0, payload.size());
+		deflater.finish();
+
+		if (compressed == null || compressed.length < payload.size() + 64) {
+			compressed = new byte[payload.size() + 64];
+		}
+
+		int length = 0;
+		while (!deflater.finished()) {
+			if (length == compressed.length) {
+				compressed = Arrays.copyOf(compressed, compressed.length * 2);
+			}
+			length += deflater.deflate(compressed, length, compressed.length - length);
+		}
+		return length;
+	}
+
+	/**
+	 * Returns the index of the supplied value in the dictionary of the current batch, adding the value (and any values
+	 * it refers to) if it is not in the dictionary yet.
+	 */
+	private int encode(Value value) {
+		Integer index = dictionary.get(value);
+		if (index != null) {
+			return index;
+		}
+
+		if (value instanceof IRI) {
+			dictionaryOutput.write(IRI_ENTRY);
+			dictionaryOutput.writeString(value.stringValue());
+		} else if (value instanceof BNode) {
+			dictionaryOutput.write(BNODE_ENTRY);
+			dictionaryOutput.writeString(((BNode) value).getID());
+		} else if (value instanceof Literal) {
+			encodeLiteral((Literal) value);
+		} else if (value instanceof Triple) {
+			Triple triple = (Triple) value;
+			int subject = encode(triple.getSubject());
+			int predicate = encode(triple.getPredicate());
+			int object = encode(triple.getObject());
+			dictionaryOutput.write(TRIPLE_ENTRY);
+			dictionaryOutput.writeVarInt(subject);
+			dictionaryOutput.writeVarInt(predicate);
+			dictionaryOutput.writeVarInt(object);
+		} else {
+			throw new TupleQueryResultHandlerException("Unknown Value object type: " + value.getClass());
+		}
+
+		index = dictionary.size();
+		dictionary.put(value, index);
+		return index;
+	}
+
+	private void encodeLiteral(Literal literal) {
+		String label = literal.getLabel();
+		IRI datatype = literal.getDatatype();
+
+		if (Literals.isLanguageLiteral(literal)) {
+			dictionaryOutput.write(LANG_LITERAL_ENTRY);
+			dictionaryOutput.writeString(label);
+			dictionaryOutput.writeString(literal.getLanguage().get());
+		} else if (XSD.STRING.equals(datatype)) {
+			dictionaryOutput.write(PLAIN_LITERAL_ENTRY);
+			dictionaryOutput.writeString(label);
+		} else {
+			int datatypeIndex = encode(datatype);
+			if (XMLDatatypeUtil.isIntegerDatatype(datatype) && isCanonicalLong(label)) {
+				dictionaryOutput.write(INTEGER_LITERAL_ENTRY);
+				dictionaryOutput.writeVarInt(datatypeIndex);
+				long number = Long.parseLong(label);
+				dictionaryOutput.writeVarLong((number << 1) ^ (number >> 63));
+			} else {
+				dictionaryOutput.write(DATATYPE_LITERAL_ENTRY);
+				dictionaryOutput.writeString(label);
+				dictionaryOutput.writeVarInt(datatypeIndex);
+			}
+		}
+	}
+
+	/**
+	 * Checks that the supplied label is the canonical representation of a 64-bit integer, so that it survives the round
+	 * trip through its numeric value.
+	 */
+	private static boolean isCanonicalLong(String label) {
+		int length = label.length();
+		int start = length > 0 && label.charAt(0) == '-' ? 1 : 0;
+		if (length == start || length - start > 19) {
+			return false;
+		}
+		if (label.charAt(start) == '0') {
+			// only "0" itself is canonical, "-0" and leading zeros are not
+			return length == 1;
+		}
+		for (int i = start; i < length; i++) {
+			char c = label.charAt(i);
+			if (c < '0' || c > '9') {
+				return false;
+			}
+		}
+		if (length - start == 19) {
+			try {
+				Long.parseLong(label);
+			} catch (NumberFormatException e) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void handleNamespace(String prefix, String uri) throws QueryResultHandlerException {
+		// Binary format does not support explicit setting of namespace prefixes.
+	}
+
+	/**
+	 * Writes an error msg to the stream. Rows that have been handled before are written first.
+	 *
+	 * @param errType The error type.
+	 * @param msg     The error message.
+	 * @throws IOException When the error could not be written to the stream.
+	 */
+	public void error(QueryErrorType errType, String msg) throws IOException {
+		if (tupleVariablesFound) {
+			writeBatch();
+		}
+
+		out.writeByte(ERROR_MARKER);
+
+		if (errType == QueryErrorType.MALFORMED_QUERY_ERROR) {
+			out.writeByte(MALFORMED_QUERY_ERROR);
+		} else {
+			out.writeByte(QUERY_EVALUATION_ERROR);
+		}
+
+		writeString(msg);
+	}
+
+	private void writeString(String s) throws IOException {
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	@Override
+	public void handleStylesheet(String stylesheetUrl) throws QueryResultHandlerException {
+		// Ignored by Binary Query Results format
+	}
+
+	@Override
+	public void startHeader() throws QueryResultHandlerException {
+		// Ignored by Binary Query Results format
+	}
+
+	@Override
+	public void handleLinks(List<String> linkUrls) throws QueryResultHandlerException {
+		// Ignored by Binary Query Results format
+	}
+
+	@Override
+	public void endHeader() throws QueryResultHandlerException {
+		// Ignored by Binary Query Results format
+	}
+
+	private void endDocument() throws IOException {
+		out.flush();
+		documentStarted = false;
+		if (deflater != null) {
+			deflater.end();
+			deflater = null;
+		}
+	}
+
+	@Override
+	public void handleBoolean(boolean value) throws QueryResultHandlerException {
+		throw new UnsupportedOperationException("Cannot handle boolean results");
+	}
+
+	/**
+	 * A byte array output stream that writes variable-length integers and strings as used inside batch payloads.
+	 */
+	private static class BatchOutput extends ByteArrayOutputStream {
+
+		BatchOutput() {
+			super(4096);
+		}
+
+		byte[] buffer() {
+			return buf;
+		}
+
+		void writeVarInt(int value) {
+			writeVarLong(value & 0xFFFFFFFFL);
+		}
+
+		void writeVarLong(long value) {
+			while ((value & ~0x7FL) != 0) {
+				write((int) (value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			write((int) value);
+		}
+
+		void writeString(String s) {
+			byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+			writeVarInt(bytes.length);
+			write(bytes, 0, bytes.length);
+		}
+	}
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio.binary;
+
+import org.eclipse.rdf4j.rio.RioSetting;
+import org.eclipse.rdf4j.rio.helpers.BooleanRioSetting;
+import org.eclipse.rdf4j.rio.helpers.LongRioSetting;
+
+/**
+ * WriterSettings for the {@link ColumnarBinaryQueryResultWriter}.
+ */
+public class ColumnarBinaryQueryResultWriterSettings {
+
+	/**
+	 * Setting for the maximum number of rows in a batch. Values that occur more than once within a batch are written
+	 * only once.
+	 * <p>
+	 * Defaults to {@code 1024}.
+	 * <p>
+	 * Can be overridden by setting system property {@code org.eclipse.rdf4j.query.resultio.binary.columnar.batch_size}
+	 */
+	public static final RioSetting<Long> BATCH_SIZE = new LongRioSetting(
+			"org.eclipse.rdf4j.query.resultio.binary.columnar.batch_size", "Batch size", 1024L);
+
+	/**
+	 * Setting for whether to compress each batch with the Deflate algorithm. Compression trades CPU time for a smaller
+	 * result size, which pays off on slow networks.
+	 * <p>
+	 * Defaults to {@code false}.
+	 * <p>
+	 * Can be overridden by setting system property {@code org.eclipse.rdf4j.query.resultio.binary.columnar.compress}
+	 */
+	public static final RioSetting<Boolean> COMPRESS = new BooleanRioSetting(
+			"org.eclipse.rdf4j.query.resultio.binary.columnar.compress", "Compress batches", false);
+
+	/**
+	 * Private constructor
+	 */
+	private ColumnarBinaryQueryResultWriterSettings() {
+	}
+
+}
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio.binary;
+
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultParserFactory;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultWriterFactory;
+import org.eclipse.rdf4j.rio.RioSetting;
+import org.eclipse.rdf4j.testsuite.query.resultio.AbstractTupleQueryResultWriterTest;
+
+public class ColumnarBinaryTupleQueryResultWriterTest extends AbstractTupleQueryResultWriterTest {
+
+	@Override
+	protected TupleQueryResultParserFactory getParserFactory() {
+		return new ColumnarBinaryQueryResultParserFactory();
+	}
+
+	@Override
+	protected TupleQueryResultWriterFactory getWriterFactory() {
+		return new ColumnarBinaryQueryResultWriterFactory();
+	}
+
+	@Override
+	protected RioSetting<?>[] getExpectedSupportedSettings() {
+		return new RioSetting<?>[] { ColumnarBinaryQueryResultWriterSettings.BATCH_SIZE,
+				ColumnarBinaryQueryResultWriterSettings.COMPRESS };
+	}
+
+}
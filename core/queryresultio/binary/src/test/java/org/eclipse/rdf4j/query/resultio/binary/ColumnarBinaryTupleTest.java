@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio.binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.query.AbstractTupleQueryResultHandler;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.impl.MapBindingSet;
+import org.eclipse.rdf4j.query.resultio.BooleanQueryResultFormat;
+import org.eclipse.rdf4j.query.resultio.QueryResultParseException;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
+import org.eclipse.rdf4j.query.resultio.helpers.QueryResultCollector;
+import org.eclipse.rdf4j.rio.WriterConfig;
+import org.eclipse.rdf4j.testsuite.query.resultio.AbstractQueryResultIOTupleTest;
+import org.junit.Test;
+
+public class ColumnarBinaryTupleTest extends AbstractQueryResultIOTupleTest {
+
+	private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	@Override
+	protected String getFileName() {
+		return "test.brc";
+	}
+
+	@Override
+	protected TupleQueryResultFormat getTupleFormat() {
+		return TupleQueryResultFormat.BINARY_COLUMNAR;
+	}
+
+	@Override
+	protected BooleanQueryResultFormat getMatchingBooleanFormatOrNull() {
+		return null;
+	}
+
+	@Test
+	public void testRoundTripMultipleBatches() throws Exception {
+		List<BindingSet> input = createSolutions(1000);
+
+		assertEquals(input, roundTrip(input, 64, false));
+		assertEquals(input, roundTrip(input, 1, false));
+	}
+
+	@Test
+	public void testRoundTripCompressed() throws Exception {
+		List<BindingSet> input = createSolutions(1000);
+
+		assertEquals(input, roundTrip(input, 64, true));
+		assertEquals(input, roundTrip(input, 5000, true));
+	}
+
+	@Test
+	public void testDictionaryReducesSize() throws Exception {
+		List<BindingSet> input = createSolutions(1000);
+
+		int columnar = write(input, 1024, false).length;
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BinaryQueryResultWriter writer = new BinaryQueryResultWriter(out);
+		writer.startQueryResult(Arrays.asList("s", "n", "o"));
+		for (BindingSet bindings : input) {
+			writer.handleSolution(bindings);
+		}
+		writer.endQueryResult();
+
+		assertTrue(columnar + " >= " + out.size(), columnar < out.size());
+		assertTrue(write(input, 1024, true).length < columnar);
+	}
+
+	@Test
+	public void testNonCanonicalIntegers() throws Exception {
+		List<BindingSet> input = new ArrayList<>();
+		for (String label : Arrays.asList("0", "-0", "007", "+1", "-9223372036854775808", "9223372036854775807",
+				"9223372036854775808", "12345678901234567890", "1.0", "")) {
+			MapBindingSet bindings = new MapBindingSet();
+			bindings.addBinding("s", vf.createIRI("urn:s"));
+			bindings.addBinding("n", vf.createLiteral(label, XSD.INTEGER));
+			bindings.addBinding("o", vf.createLiteral(label, XSD.INT));
+			input.add(bindings);
+		}
+
+		assertEquals(input, roundTrip(input, 3, false));
+	}
+
+	@Test
+	public void testError() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ColumnarBinaryQueryResultWriter writer = new ColumnarBinaryQueryResultWriter(out);
+		writer.startQueryResult(Arrays.asList("s", "n", "o"));
+		for (BindingSet bindings : createSolutions(10)) {
+			writer.handleSolution(bindings);
+		}
+		writer.error(QueryErrorType.QUERY_EVALUATION_ERROR, "failure");
+
+		List<BindingSet> solutions = new ArrayList<>();
+		ColumnarBinaryQueryResultParser parser = new ColumnarBinaryQueryResultParser();
+		parser.setQueryResultHandler(new AbstractTupleQueryResultHandler() {
+
+			@Override
+			public void handleSolution(BindingSet bindingSet) {
+				solutions.add(bindingSet);
+			}
+		});
+		try {
+			parser.parseQueryResult(new ByteArrayInputStream(out.toByteArray()));
+			fail("error should have been reported");
+		} catch (QueryResultParseException e) {
+			assertTrue(e.getMessage().contains("failure"));
+		}
+		// rows that precede the error are still reported
+		assertEquals(10, solutions.size());
+	}
+
+	private List<BindingSet> createSolutions(int count) {
+		IRI type = vf.createIRI("http://example.org/Type");
+		List<BindingSet> solutions = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			MapBindingSet bindings = new MapBindingSet();
+			bindings.addBinding("s", vf.createIRI("http://example.org/resource/" + (i / 3)));
+			bindings.addBinding("n", vf.createLiteral(i % 7 == 0 ? -i : i));
+			switch (i % 5) {
+			case 0:
+				bindings.addBinding("o", type);
+				break;
+			case 1:
+				bindings.addBinding("o", vf.createLiteral("label " + (i % 10), "en"));
+				break;
+			case 2:
+				bindings.addBinding("o", vf.createBNode("b" + (i % 4)));
+				break;
+			case 3:
+				bindings.addBinding("o", vf.createTriple(vf.createIRI("urn:a"), RDF.TYPE, type));
+				break;
+			default:
+				// leave unbound
+			}
+			solutions.add(bindings);
+		}
+		return solutions;
+	}
+
+	private byte[] write(List<BindingSet> input, long batchSize, boolean compress) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ColumnarBinaryQueryResultWriter writer = new ColumnarBinaryQueryResultWriter(out);
+		WriterConfig config = new WriterConfig();
+		config.set(ColumnarBinaryQueryResultWriterSettings.BATCH_SIZE, batchSize);
+		config.set(ColumnarBinaryQueryResultWriterSettings.COMPRESS, compress);
+		writer.setWriterConfig(config);
+
+		writer.startQueryResult(Arrays.asList("s", "n", "o"));
+		for (BindingSet bindings : input) {
+			writer.handleSolution(bindings);
+		}
+		writer.endQueryResult();
+		return out.toByteArray();
+	}
+
+	private List<BindingSet> roundTrip(List<BindingSet> input, long batchSize, boolean compress) throws Exception {
+		QueryResultCollector collector = new QueryResultCollector();
+		ColumnarBinaryQueryResultParser parser = new ColumnarBinaryQueryResultParser();
+		parser.setQueryResultHandler(collector);
+		parser.parseQueryResult(new ByteArrayInputStream(write(input, batchSize, compress)));
+
+		assertEquals(Arrays.asList("s", "n", "o"), collector.getBindingNames());
+		return collector.getBindingSets();
+	}
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.query.resultio.binary.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.query.AbstractTupleQueryResultHandler;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.impl.MapBindingSet;
+import org.eclipse.rdf4j.query.resultio.QueryResultIO;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultFormat;
+import org.eclipse.rdf4j.query.resultio.TupleQueryResultWriter;
+import org.eclipse.rdf4j.query.resultio.binary.ColumnarBinaryQueryResultWriterSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares writing and parsing a large SELECT result in the binary formats and the SPARQL/JSON and SPARQL/XML formats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = { "-Xms2G", "-Xmx2G" })
+public class TupleQueryResultFormatBenchmark {
+
+	private static final int ROWS = 100_000;
+
+	private static final List<String> BINDING_NAMES = Arrays.asList("person", "type", "name", "age", "friend");
+
+	@Param({ "BINARY", "BINARY-COLUMNAR", "BINARY-COLUMNAR-DEFLATE", "SPARQL/JSON", "SPARQL/XML" })
+	public String format;
+
+	private TupleQueryResultFormat resultFormat;
+
+	private boolean compress;
+
+	private List<BindingSet> solutions;
+
+	private byte[] serialized;
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(TupleQueryResultFormatBenchmark.class.getSimpleName())
+				.build()
+		).run();
+	}
+
+	@Setup
+	public void setUp() {
+		compress = format.endsWith("-DEFLATE");
+		switch (format) {
+		case "BINARY":
+			resultFormat = TupleQueryResultFormat.BINARY;
+			break;
+		case "SPARQL/JSON":
+			resultFormat = TupleQueryResultFormat.JSON;
+			break;
+		case "SPARQL/XML":
+			resultFormat = TupleQueryResultFormat.SPARQL;
+			break;
+		default:
+			resultFormat = TupleQueryResultFormat.BINARY_COLUMNAR;
+		}
+
+		ValueFactory vf = SimpleValueFactory.getInstance();
+		IRI[] types = { vf.createIRI("http://xmlns.com/foaf/0.1/Person"),
+				vf.createIRI("http://xmlns.com/foaf/0.1/Agent"), vf.createIRI("http://schema.org/Person") };
+
+		solutions = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			MapBindingSet bindings = new MapBindingSet();
+			bindings.addBinding("person", vf.createIRI("http://example.org/person/" + (i / 4)));
+			bindings.addBinding("type", types[i % types.length]);
+			bindings.addBinding("name", vf.createLiteral("Person " + (i / 4), "en"));
+			bindings.addBinding("age", vf.createLiteral(18 + i % 60));
+			if (i % 3 != 0) {
+				bindings.addBinding("friend", vf.createIRI("http://example.org/person/" + (i % 1000)));
+			}
+			solutions.add(bindings);
+		}
+
+		serialized = serialize().toByteArray();
+		System.out.println("\n" + format + ": " + serialized.length + " bytes");
+	}
+
+	@Benchmark
+	public int write() {
+		return serialize().size();
+	}
+
+	@Benchmark
+	public void parse(Blackhole blackhole) throws IOException {
+		QueryResultIO.parseTuple(new ByteArrayInputStream(serialized), resultFormat,
+				new AbstractTupleQueryResultHandler() {
+
+					@Override
+					public void handleSolution(BindingSet bindingSet) {
+						blackhole.consume(bindingSet);
+					}
+				}, SimpleValueFactory.getInstance());
+	}
+
+	private ByteArrayOutputStream serialize() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(serialized == null ? 1 << 20 : serialized.length);
+		TupleQueryResultWriter writer = QueryResultIO.createTupleWriter(resultFormat, out);
+		writer.getWriterConfig().set(ColumnarBinaryQueryResultWriterSettings.COMPRESS, compress);
+
+		writer.startQueryResult(BINDING_NAMES);
+		for (BindingSet bindings : solutions) {
+			writer.handleSolution(bindings);
+		}
+		writer.endQueryResult();
+		return out;
+	}
+}
@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.repository.sail;
+
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.eclipse.rdf4j.query.MalformedQueryException;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.parser.ParsedBooleanQuery;
+import org.eclipse.rdf4j.query.parser.ParsedDescribeQuery;
+import org.eclipse.rdf4j.query.parser.ParsedGraphQuery;
+import org.eclipse.rdf4j.query.parser.ParsedQuery;
+import org.eclipse.rdf4j.query.parser.ParsedTupleQuery;
+import org.eclipse.rdf4j.query.parser.QueryParserUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded cache of parsed queries that is shared by all connections of a {@link SailRepository}, so that queries that
+ * are prepared over and over again are only parsed once.
+ * <p>
+ * Queries are keyed by their query language, query string and base URI. Each lookup returns a new copy of the parsed
+ * query, which can be modified without affecting the cached query.
+ */
+public class ParsedQueryCache implements ParsedQueryCacheMXBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(ParsedQueryCache.class);
+
+	/**
+	 * The default maximum number of cached queries.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+	private static final AtomicLong MBEAN_COUNTER = new AtomicLong();
+
+	// access ordered, guarded by itself
+	private final LinkedHashMap<QueryKey, ParsedQuery> queries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private volatile int maximumSize;
+
+	private volatile ObjectName mBeanName;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+	private final LongAdder parseTime = new LongAdder();
+
+	public ParsedQueryCache() {
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * @param maximumSize the maximum number of cached queries, 0 disables the cache.
+	 */
+	public ParsedQueryCache(int maximumSize) {
+		this.maximumSize = Math.max(0, maximumSize);
+	}
+
+	/**
+	 * Gets a parsed copy of the query.
+	 *
+	 * @see QueryParserUtil#parseQuery(QueryLanguage, String, String)
+	 */
+	public ParsedQuery parseQuery(QueryLanguage ql, String query, String baseURI) throws MalformedQueryException {
+		if (maximumSize <= 0) {
+			return QueryParserUtil.parseQuery(ql, query, baseURI);
+		}
+
+		QueryKey key = new QueryKey(ql, query, baseURI);
+		ParsedQuery parsedQuery;
+		synchronized (queries) {
+			parsedQuery = queries.get(key);
+		}
+
+		if (parsedQuery != null) {
+			hitCount.increment();
+		} else {
+			missCount.increment();
+			long start = System.nanoTime();
+			parsedQuery = QueryParserUtil.parseQuery(ql, query, baseURI);
+			parseTime.add(System.nanoTime() - start);
+
+			if (copy(parsedQuery) == null) {
+				// not a query type that can be copied
+				return parsedQuery;
+			}
+			synchronized (queries) {
+				queries.put(key, parsedQuery);
+				evict();
+			}
+		}
+		return copy(parsedQuery);
+	}
+
+	/**
+	 * Gets a parsed copy of the tuple query.
+	 *
+	 * @see QueryParserUtil#parseTupleQuery(QueryLanguage, String, String)
+	 */
+	public ParsedTupleQuery parseTupleQuery(QueryLanguage ql, String query, String baseURI)
+			throws MalformedQueryException {
+		ParsedQuery q = parseQuery(ql, query, baseURI);
+		if (q instanceof ParsedTupleQuery) {
+			return (ParsedTupleQuery) q;
+		}
+		throw new IllegalArgumentException("query is not a tuple query: " + query);
+	}
+
+	/**
+	 * Gets a parsed copy of the graph query.
+	 *
+	 * @see QueryParserUtil#parseGraphQuery(QueryLanguage, String, String)
+	 */
+	public ParsedGraphQuery parseGraphQuery(QueryLanguage ql, String query, String baseURI)
+			throws MalformedQueryException {
+		ParsedQuery q = parseQuery(ql, query, baseURI);
+		if (q instanceof ParsedGraphQuery) {
+			return (ParsedGraphQuery) q;
+		}
+		throw new IllegalArgumentException("query is not a graph query: " + query);
+	}
+
+	/**
+	 * Gets a parsed copy of the boolean query.
+	 *
+	 * @see QueryParserUtil#parseBooleanQuery(QueryLanguage, String, String)
+	 */
+	public ParsedBooleanQuery parseBooleanQuery(QueryLanguage ql, String query, String baseURI)
+			throws MalformedQueryException {
+		ParsedQuery q = parseQuery(ql, query, baseURI);
+		if (q instanceof ParsedBooleanQuery) {
+			return (ParsedBooleanQuery) q;
+		}
+		throw new IllegalArgumentException("query is not a boolean query: " + query);
+	}
+
+	private static ParsedQuery copy(ParsedQuery query) {
+		TupleExpr tupleExpr = query.getTupleExpr().clone();
+		ParsedQuery copy;
+		if (query instanceof ParsedTupleQuery) {
+			copy = new ParsedTupleQuery(query.getSourceString(), tupleExpr);
+		} else if (query instanceof ParsedBooleanQuery) {
+			copy = new ParsedBooleanQuery(query.getSourceString(), tupleExpr);
+		} else if (query instanceof ParsedDescribeQuery) {
+			copy = new ParsedDescribeQuery(query.getSourceString(), tupleExpr,
+					((ParsedDescribeQuery) query).getQueryNamespaces());
+		} else if (query instanceof ParsedGraphQuery) {
+			copy = new ParsedGraphQuery(query.getSourceString(), tupleExpr,
+					((ParsedGraphQuery) query).getQueryNamespaces());
+		} else {
+			return null;
+		}
+		copy.setDataset(query.getDataset());
+		return copy;
+	}
+
+	private void evict() {
+		Iterator<ParsedQuery> iterator = queries.values().iterator();
+		while (queries.size() > maximumSize && iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+			evictionCount.increment();
+		}
+	}
+
+	/**
+	 * Registers this cache with the platform MBean server.
+	 */
+	public void registerMBean() {
+		try {
+			ObjectName name = new ObjectName(
+					"org.eclipse.rdf4j.repository.sail:type=ParsedQueryCache,id=" + MBEAN_COUNTER.incrementAndGet());
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+			mBeanName = name;
+		} catch (JMException | SecurityException e) {
+			logger.debug("Could not register parsed query cache MBean", e);
+		}
+	}
+
+	/**
+	 * Removes all cached queries and unregisters this cache from the platform MBean server.
+	 */
+	public void close() {
+		clear();
+		ObjectName name = mBeanName;
+		mBeanName = null;
+		if (name != null) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+			} catch (JMException | SecurityException e) {
+				logger.debug("Could not unregister parsed query cache MBean", e);
+			}
+		}
+	}
+
+	@Override
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	@Override
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	@Override
+	public double getHitRate() {
+		long hits = hitCount.sum();
+		long total = hits + missCount.sum();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	@Override
+	public double getTotalParseTime() {
+		return parseTime.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	@Override
+	public int getSize() {
+		synchronized (queries) {
+			return queries.size();
+		}
+	}
+
+	@Override
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	@Override
+	public void setMaximumSize(int maximumSize) {
+		this.maximumSize = Math.max(0, maximumSize);
+		synchronized (queries) {
+			evict();
+		}
+	}
+
+	@Override
+	public void clear() {
+		synchronized (queries) {
+			queries.clear();
+		}
+	}
+
+	private static final class QueryKey {
+
+		private final QueryLanguage ql;
+
+		private final String query;
+
+		private final String baseURI;
+
+		private final int hashCode;
+
+		QueryKey(QueryLanguage ql, String query, String baseURI) {
+			this.ql = ql;
+			this.query = query;
+			this.baseURI = baseURI;
+			this.hashCode = Objects.hash(ql, query, baseURI);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof QueryKey)) {
+				return false;
+			}
+			QueryKey other = (QueryKey) o;
+			return hashCode == other.hashCode && ql.equals(other.ql) && query.equals(other.query)
+					&& Objects.equals(baseURI, other.baseURI);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
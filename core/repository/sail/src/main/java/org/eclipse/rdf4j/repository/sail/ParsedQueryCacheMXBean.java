@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.repository.sail;
+
+/**
+ * Management interface of a {@link ParsedQueryCache}.
+ */
+public interface ParsedQueryCacheMXBean {
+
+	/**
+	 * @return the number of times a cached query was used.
+	 */
+	long getHitCount();
+
+	/**
+	 * @return the number of times a query had to be parsed because it was not in the cache.
+	 */
+	long getMissCount();
+
+	/**
+	 * @return the ratio of hits to the total number of hits and misses, or 0 if the cache has not been used yet.
+	 */
+	double getHitRate();
+
+	/**
+	 * @return the number of cached queries that were evicted to stay within the maximum size.
+	 */
+	long getEvictionCount();
+
+	/**
+	 * @return the total time spent parsing queries, in milliseconds.
+	 */
+	double getTotalParseTime();
+
+	/**
+	 * @return the number of cached queries.
+	 */
+	int getSize();
+
+	/**
+	 * @return the maximum number of cached queries.
+	 */
+	int getMaximumSize();
+
+	/**
+	 * @param maximumSize the maximum number of cached queries, 0 disables the cache.
+	 */
+	void setMaximumSize(int maximumSize);
+
+	/**
+	 * Removes all cached queries.
+	 */
+	void clear();
+}
@@ -64,6 +64,8 @@ public class SailRepository extends AbstractRepository implements FederatedServi
 
 	private final Sail sail;
 
+	private final ParsedQueryCache parsedQueryCache = new ParsedQueryCache();
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
@@ -155,6 +157,8 @@ public class SailRepository extends AbstractRepository implements FederatedServi
 		} catch (SailException e) {
 			throw new RepositoryException(e.getMessage(), e);
 		}
+
+		parsedQueryCache.registerMBean();
 	}
 
 	@Override
@@ -163,6 +167,8 @@ public class SailRepository extends AbstractRepository implements FederatedServi
 			sail.shutDown();
 		} catch (SailException e) {
 			throw new RepositoryException("Unable to shutdown Sail", e);
+		} finally {
+			parsedQueryCache.close();
 		}
 	}
 
@@ -175,6 +181,15 @@ public class SailRepository extends AbstractRepository implements FederatedServi
 		return sail;
 	}
 
+	/**
+	 * Gets the cache of parsed queries that is shared by the connections of this repository.
+	 *
+	 * @return A ParsedQueryCache object.
+	 */
+	public ParsedQueryCache getParsedQueryCache() {
+		return parsedQueryCache;
+	}
+
 	@Override
 	public boolean isWritable() throws RepositoryException {
 		try {
@@ -71,6 +71,11 @@ public class SailRepositoryConnection extends AbstractRepositoryConnection imple
 	 */
 	private final SailConnection sailConnection;
 
+	/**
+	 * The cache of parsed queries shared by all connections of the repository.
+	 */
+	private final ParsedQueryCache parsedQueryCache;
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
@@ -82,6 +87,9 @@ public class SailRepositoryConnection extends AbstractRepositoryConnection imple
 	protected SailRepositoryConnection(SailRepository repository, SailConnection sailConnection) {
 		super(repository);
 		this.sailConnection = sailConnection;
+		ParsedQueryCache cache = repository.getParsedQueryCache();
+		// a disabled cache parses every query
+		this.parsedQueryCache = cache != null ? cache : new ParsedQueryCache(0);
 	}
 
 	/*---------*
@@ -252,7 +260,7 @@ public class SailRepositoryConnection extends AbstractRepositoryConnection imple
 
 	@Override
 	public SailQuery prepareQuery(QueryLanguage ql, String queryString, String baseURI) throws MalformedQueryException {
-		ParsedQuery parsedQuery = QueryParserUtil.parseQuery(ql, queryString, baseURI);
+		ParsedQuery parsedQuery = parsedQueryCache.parseQuery(ql, queryString, baseURI);
 
 		if (parsedQuery instanceof ParsedTupleQuery) {
 			Optional<TupleExpr> sailTupleExpr = sailConnection.prepareQuery(ql, Query.QueryType.TUPLE, queryString,
@@ -288,7 +296,7 @@ public class SailRepositoryConnection extends AbstractRepositoryConnection imple
 
 		ParsedTupleQuery parsedQuery = sailTupleExpr
 				.map(expr -> new ParsedTupleQuery(queryString, expr))
-				.orElse(QueryParserUtil.parseTupleQuery(ql, queryString, baseURI));
+				.orElseGet(() -> parsedQueryCache.parseTupleQuery(ql, queryString, baseURI));
 		return new SailTupleQuery(parsedQuery, this);
 	}
 
@@ -299,7 +307,7 @@ public class SailRepositoryConnection extends AbstractRepositoryConnection imple
 				baseURI);
 		ParsedGraphQuery parsedQuery = sailTupleExpr
 				.map(expr -> new ParsedGraphQuery(queryString, expr))
-				.orElse(QueryParserUtil.parseGraphQuery(ql, queryString, baseURI));
+				.orElseGet(() -> parsedQueryCache.parseGraphQuery(ql, queryString, baseURI));
 		return new SailGraphQuery(parsedQuery, this);
 	}
 
@@ -310,7 +318,7 @@ public class SailRepositoryConnection extends AbstractRepositoryConnection imple
 				baseURI);
 		ParsedBooleanQuery parsedQuery = sailTupleExpr
 				.map(expr -> new ParsedBooleanQuery(queryString, expr))
-				.orElse(QueryParserUtil.parseBooleanQuery(ql, queryString, baseURI));
+				.orElseGet(() -> parsedQueryCache.parseBooleanQuery(ql, queryString, baseURI));
 		return new SailBooleanQuery(parsedQuery, this);
 	}
 
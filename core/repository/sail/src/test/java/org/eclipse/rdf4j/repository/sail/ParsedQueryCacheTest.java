@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.repository.sail;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.parser.ParsedDescribeQuery;
+import org.eclipse.rdf4j.query.parser.ParsedGraphQuery;
+import org.eclipse.rdf4j.query.parser.ParsedQuery;
+import org.eclipse.rdf4j.query.parser.ParsedTupleQuery;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ParsedQueryCache}
+ */
+public class ParsedQueryCacheTest {
+
+	private static final String QUERY = "SELECT * FROM <urn:g> WHERE { ?s ?p ?o }";
+
+	@Test
+	public void testCopiesAreReturned() {
+		ParsedQueryCache cache = new ParsedQueryCache();
+
+		ParsedTupleQuery first = cache.parseTupleQuery(QueryLanguage.SPARQL, QUERY, null);
+		ParsedTupleQuery second = cache.parseTupleQuery(QueryLanguage.SPARQL, QUERY, null);
+
+		assertNotSame(first.getTupleExpr(), second.getTupleExpr());
+		assertEquals(first.getTupleExpr(), second.getTupleExpr());
+		assertEquals(first.getDataset(), second.getDataset());
+		assertEquals(QUERY, second.getSourceString());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getSize());
+	}
+
+	@Test
+	public void testQueryTypeIsPreserved() {
+		ParsedQueryCache cache = new ParsedQueryCache();
+		String describe = "PREFIX ex: <urn:ex:> DESCRIBE ex:a";
+
+		cache.parseQuery(QueryLanguage.SPARQL, describe, null);
+		ParsedQuery query = cache.parseQuery(QueryLanguage.SPARQL, describe, null);
+
+		assertTrue(query instanceof ParsedDescribeQuery);
+		assertEquals("urn:ex:", ((ParsedGraphQuery) query).getQueryNamespaces().get("ex"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWrongQueryType() {
+		new ParsedQueryCache().parseBooleanQuery(QueryLanguage.SPARQL, QUERY, null);
+	}
+
+	@Test
+	public void testEviction() {
+		ParsedQueryCache cache = new ParsedQueryCache(1);
+		cache.parseQuery(QueryLanguage.SPARQL, QUERY, null);
+		cache.parseQuery(QueryLanguage.SPARQL, QUERY, "urn:base");
+
+		assertEquals(1, cache.getSize());
+		assertEquals(1, cache.getEvictionCount());
+
+		cache.setMaximumSize(0);
+		cache.parseQuery(QueryLanguage.SPARQL, QUERY, null);
+		assertEquals(0, cache.getSize());
+	}
+}
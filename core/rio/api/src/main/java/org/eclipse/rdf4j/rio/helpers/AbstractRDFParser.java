@@ -300,6 +300,17 @@ public abstract class AbstractRDFParser implements RDFParser {
 		initializeNamespaceTableFromConfiguration();
 	}
 
+	/**
+	 * Makes this parser create the same blank nodes for the same blank node identifiers as the supplied parser, until
+	 * either parser is cleared. This allows parsers that split a document between several parser instances to keep a
+	 * single blank node scope for the document.
+	 *
+	 * @param parser the parser whose blank node scope is shared.
+	 */
+	protected void shareBNodeScope(AbstractRDFParser parser) {
+		nextBNodePrefix = parser.nextBNodePrefix;
+	}
+
 	protected void initializeNamespaceTableFromConfiguration() {
 		for (Namespace aNS : getParserConfig().get(BasicParserSettings.NAMESPACES)) {
 			namespaceTable.put(aNS.getPrefix(), aNS.getName());
@@ -32,6 +32,32 @@ public class NTriplesParserSettings {
 	public static final RioSetting<Boolean> FAIL_ON_INVALID_LINES = new BooleanRioSetting(
 			"org.eclipse.rdf4j.rio.ntriples.fail_on_invalid_lines", "Fail on N-Triples invalid lines", Boolean.TRUE);
 
+	/**
+	 * Setting for the number of threads the N-Triples and N-Quads parsers use to parse a document. If larger than 1,
+	 * the document is split into chunks of lines that are parsed concurrently, while statements are still reported to
+	 * the {@link org.eclipse.rdf4j.rio.RDFHandler} by the thread that called the parser.
+	 * <p>
+	 * Defaults to 1.
+	 * <p>
+	 * Can be overridden by setting system property {@code org.eclipse.rdf4j.rio.ntriples.parser_threads}
+	 */
+	public static final RioSetting<Long> PARSER_THREADS = new LongRioSetting(
+			"org.eclipse.rdf4j.rio.ntriples.parser_threads", "Number of N-Triples parser threads", 1L);
+
+	/**
+	 * Boolean setting for parser to determine whether statements are reported in document order when the document is
+	 * parsed by several threads (see {@link #PARSER_THREADS}). If disabled, the statements of each chunk of lines are
+	 * reported as soon as the chunk has been parsed, so statements may be reported in a different order than they
+	 * appear in the document. Statements of the same line are always reported together.
+	 * <p>
+	 * Defaults to true.
+	 * <p>
+	 * Can be overridden by setting system property {@code org.eclipse.rdf4j.rio.ntriples.preserve_statement_order}
+	 */
+	public static final RioSetting<Boolean> PRESERVE_STATEMENT_ORDER = new BooleanRioSetting(
+			"org.eclipse.rdf4j.rio.ntriples.preserve_statement_order", "Preserve N-Triples statement order",
+			Boolean.TRUE);
+
 	/**
 	 * Private constructor
 	 */
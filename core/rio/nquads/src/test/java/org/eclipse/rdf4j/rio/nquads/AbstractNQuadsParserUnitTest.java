@@ -642,7 +642,7 @@ public abstract class AbstractNQuadsParserUnitTest {
 
 	@Test
 	public void testSupportedSettings() throws Exception {
-		assertThat(parser.getSupportedSettings()).hasSize(14);
+		assertThat(parser.getSupportedSettings()).hasSize(16);
 	}
 
 	protected abstract RDFParser createRDFParser();
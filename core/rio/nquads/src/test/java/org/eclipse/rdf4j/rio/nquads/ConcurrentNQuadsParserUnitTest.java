@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.rio.nquads;
+
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.helpers.NTriplesParserSettings;
+
+/**
+ * JUnit test for the N-Quads parser, parsing with several threads.
+ */
+public class ConcurrentNQuadsParserUnitTest extends AbstractNQuadsParserUnitTest {
+
+	@Override
+	protected RDFParser createRDFParser() {
+		RDFParser parser = new NQuadsParser();
+		parser.set(NTriplesParserSettings.PARSER_THREADS, 4L);
+		return parser;
+	}
+}
@@ -16,23 +16,38 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.io.input.BOMInputStream;
 import org.eclipse.rdf4j.common.text.ASCIIUtil;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.rio.ParseErrorListener;
 import org.eclipse.rdf4j.rio.RDFFormat;
 import org.eclipse.rdf4j.rio.RDFHandlerException;
 import org.eclipse.rdf4j.rio.RDFParseException;
 import org.eclipse.rdf4j.rio.RioSetting;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
 import org.eclipse.rdf4j.rio.helpers.AbstractRDFParser;
 import org.eclipse.rdf4j.rio.helpers.BasicParserSettings;
 import org.eclipse.rdf4j.rio.helpers.NTriplesParserSettings;
@@ -47,6 +62,11 @@ import org.eclipse.rdf4j.rio.helpers.NTriplesUtil;
  */
 public class NTriplesParser extends AbstractRDFParser {
 
+	/**
+	 * The number of lines that are parsed together when the document is parsed by several threads.
+	 */
+	private static final int CHUNK_SIZE = 4096;
+
 	protected BufferedReader reader;
 	protected char[] lineChars;
 	protected int currentIndex;
@@ -116,8 +136,13 @@ public class NTriplesParser extends AbstractRDFParser {
 
 			reportLocation(lineNo, 1);
 
-			while (readLine()) {
-				parseStatement();
+			int threads = getParserConfig().get(NTriplesParserSettings.PARSER_THREADS).intValue();
+			if (threads > 1) {
+				parseConcurrently(threads);
+			} else {
+				while (readLine()) {
+					parseStatement();
+				}
 			}
 		} finally {
 			clear();
@@ -128,6 +153,173 @@ public class NTriplesParser extends AbstractRDFParser {
 		}
 	}
 
+	/**
+	 * Reads the document in chunks of lines, which are parsed by a pool of threads, each with its own parser created by
+	 * {@link #createChunkParser()}. The statements, comments and errors of a chunk are recorded and only reported by
+	 * the calling thread, either in document order or in the order in which the chunks have been parsed.
+	 */
+	private void parseConcurrently(int threads) throws IOException, RDFParseException, RDFHandlerException {
+		boolean preserveOrder = getParserConfig().get(NTriplesParserSettings.PRESERVE_STATEMENT_ORDER);
+		int maxPendingChunks = threads * 2;
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads, (Runnable runnable) -> {
+			Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+			thread.setName("rdf4j-ntriples-parser");
+			thread.setDaemon(true);
+			return thread;
+		});
+		CompletionService<ParsedChunk> completionService = new ExecutorCompletionService<>(executor);
+		Deque<Future<ParsedChunk>> pending = new ArrayDeque<>();
+
+		try {
+			List<String> lines = new ArrayList<>(CHUNK_SIZE);
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lines.add(line);
+				lineNo++;
+				if (lines.size() == CHUNK_SIZE) {
+					pending.add(submitChunk(lines, preserveOrder ? executor : null, completionService));
+					lines = new ArrayList<>(CHUNK_SIZE);
+
+					while (pending.size() >= maxPendingChunks) {
+						reportChunk(nextChunk(pending, completionService, preserveOrder));
+					}
+				}
+			}
+			if (!lines.isEmpty()) {
+				pending.add(submitChunk(lines, preserveOrder ? executor : null, completionService));
+			}
+			while (!pending.isEmpty()) {
+				reportChunk(nextChunk(pending, completionService, preserveOrder));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Submits the lines that have just been read for parsing, either to the executor if chunks are reported in document
+	 * order, or to the completion service if they are reported as soon as they have been parsed.
+	 */
+	private Future<ParsedChunk> submitChunk(List<String> lines, ExecutorService executor,
+			CompletionService<ParsedChunk> completionService) {
+		long firstLineNo = lineNo - lines.size() + 1;
+		Callable<ParsedChunk> task = () -> parseChunk(lines, firstLineNo);
+		return executor != null ? executor.submit(task) : completionService.submit(task);
+	}
+
+	private ParsedChunk nextChunk(Deque<Future<ParsedChunk>> pending,
+			CompletionService<ParsedChunk> completionService, boolean preserveOrder) throws IOException {
+		try {
+			Future<ParsedChunk> future;
+			if (preserveOrder) {
+				future = pending.removeFirst();
+			} else {
+				future = completionService.take();
+				pending.remove(future);
+			}
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while parsing");
+		} catch (ExecutionException e) {
+			throw new RDFParseException(e.getCause());
+		}
+	}
+
+	/**
+	 * Parses the lines of a chunk with a new parser that shares the configuration, value factory and blank node scope
+	 * of this parser.
+	 */
+	private ParsedChunk parseChunk(List<String> lines, long firstLineNo) {
+		List<Object> events = new ArrayList<>(lines.size());
+		NTriplesParser parser = createChunkParser();
+		parser.setParserConfig(getParserConfig());
+		parser.clear();
+		parser.valueFactory = valueFactory;
+		parser.shareBNodeScope(this);
+		parser.setRDFHandler(new AbstractRDFHandler() {
+
+			@Override
+			public void handleStatement(Statement st) throws RDFHandlerException {
+				events.add(st);
+			}
+
+			@Override
+			public void handleComment(String comment) throws RDFHandlerException {
+				events.add(comment);
+			}
+		});
+		ParseErrorListener listener = getParseErrorListener();
+		if (listener != null) {
+			parser.setParseErrorListener(new ParseErrorListener() {
+
+				@Override
+				public void warning(String msg, long lineNo, long colNo) {
+					events.add((Runnable) () -> listener.warning(msg, lineNo, colNo));
+				}
+
+				@Override
+				public void error(String msg, long lineNo, long colNo) {
+					events.add((Runnable) () -> listener.error(msg, lineNo, colNo));
+				}
+
+				@Override
+				public void fatalError(String msg, long lineNo, long colNo) {
+					events.add((Runnable) () -> listener.fatalError(msg, lineNo, colNo));
+				}
+			});
+		}
+
+		parser.lineNo = firstLineNo - 1;
+		try {
+			for (String line : lines) {
+				parser.lineChars = line.toCharArray();
+				parser.lineNo++;
+				parser.currentIndex = 0;
+				parser.parseStatement();
+			}
+		} catch (RuntimeException e) {
+			return new ParsedChunk(events, parser.lineNo, e);
+		}
+		return new ParsedChunk(events, parser.lineNo, null);
+	}
+
+	/**
+	 * Reports the statements, comments and errors of a parsed chunk, and rethrows the exception that stopped the
+	 * parsing of the chunk, if any.
+	 */
+	private void reportChunk(ParsedChunk chunk) throws RDFParseException, RDFHandlerException {
+		for (Object event : chunk.events) {
+			if (event instanceof Statement) {
+				if (rdfHandler != null) {
+					rdfHandler.handleStatement((Statement) event);
+				}
+			} else if (event instanceof String) {
+				if (rdfHandler != null) {
+					rdfHandler.handleComment((String) event);
+				}
+			} else {
+				((Runnable) event).run();
+			}
+		}
+		reportLocation(chunk.lastLineNo, 1);
+		if (chunk.failure != null) {
+			throw chunk.failure;
+		}
+	}
+
+	/**
+	 * Creates the parser that parses a chunk of lines when the document is parsed by several threads (see
+	 * {@link NTriplesParserSettings#PARSER_THREADS}). Subclasses that change how lines are parsed should override this
+	 * method to return an instance of the subclass.
+	 *
+	 * @return a new parser.
+	 */
+	protected NTriplesParser createChunkParser() {
+		return new NTriplesParser(valueFactory);
+	}
+
 	protected void parseStatement() throws RDFParseException, RDFHandlerException {
 		boolean ignoredAnError = false;
 		try {
@@ -480,6 +672,24 @@ public class NTriplesParser extends AbstractRDFParser {
 		super.clear();
 	}
 
+	/**
+	 * The statements, comments and errors of a chunk of lines, in the order in which they were parsed.
+	 */
+	private static final class ParsedChunk {
+
+		private final List<Object> events;
+
+		private final long lastLineNo;
+
+		private final RuntimeException failure;
+
+		ParsedChunk(List<Object> events, long lastLineNo, RuntimeException failure) {
+			this.events = events;
+			this.lastLineNo = lastLineNo;
+			this.failure = failure;
+		}
+	}
+
 	/*
 	 * N-Triples parser supports these settings.
 	 */
@@ -488,6 +698,8 @@ public class NTriplesParser extends AbstractRDFParser {
 		Collection<RioSetting<?>> result = new HashSet<>(super.getSupportedSettings());
 
 		result.add(NTriplesParserSettings.FAIL_ON_INVALID_LINES);
+		result.add(NTriplesParserSettings.PARSER_THREADS);
+		result.add(NTriplesParserSettings.PRESERVE_STATEMENT_ORDER);
 
 		return result;
 	}
@@ -294,7 +294,7 @@ public abstract class AbstractNTriplesParserUnitTest {
 
 	@Test
 	public void testSupportedSettings() throws Exception {
-		assertEquals(14, createRDFParser().getSupportedSettings().size());
+		assertEquals(16, createRDFParser().getSupportedSettings().size());
 	}
 
 	@Test
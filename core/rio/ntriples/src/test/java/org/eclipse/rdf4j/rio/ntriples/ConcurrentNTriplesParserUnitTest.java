@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.rio.ntriples;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.helpers.NTriplesParserSettings;
+import org.eclipse.rdf4j.rio.helpers.ParseErrorCollector;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
+import org.junit.Test;
+
+/**
+ * JUnit test for the N-Triples parser, parsing with several threads.
+ */
+public class ConcurrentNTriplesParserUnitTest extends AbstractNTriplesParserUnitTest {
+
+	private static final int LINES = 20000;
+
+	@Override
+	protected RDFParser createRDFParser() {
+		RDFParser parser = new NTriplesParser();
+		parser.set(NTriplesParserSettings.PARSER_THREADS, 4L);
+		return parser;
+	}
+
+	@Test
+	public void testStatementOrderIsPreserved() throws Exception {
+		List<Statement> expected = parse(new NTriplesParser(), document(-1));
+		List<Statement> actual = parse(createRDFParser(), document(-1));
+
+		assertEquals(LINES, actual.size());
+		// blank nodes differ between documents, but the objects are unique
+		assertEquals(objects(expected), objects(actual));
+	}
+
+	@Test
+	public void testUnorderedStatements() throws Exception {
+		RDFParser parser = createRDFParser();
+		parser.set(NTriplesParserSettings.PRESERVE_STATEMENT_ORDER, false);
+
+		List<Statement> expected = parse(new NTriplesParser(), document(-1));
+		List<Statement> actual = parse(parser, document(-1));
+
+		assertEquals(LINES, actual.size());
+		assertEquals(new HashSet<>(objects(expected)), new HashSet<>(objects(actual)));
+	}
+
+	@Test
+	public void testBlankNodeScopeIsShared() throws Exception {
+		List<Statement> statements = parse(createRDFParser(), document(-1));
+
+		// every tenth line refers to the same blank node, in different chunks
+		assertEquals(statements.get(0).getSubject(), statements.get(LINES - 10).getSubject());
+		assertTrue(statements.get(0).getSubject().isBNode());
+	}
+
+	@Test
+	public void testErrorLineNumber() throws Exception {
+		try {
+			parse(createRDFParser(), document(12345));
+			fail("Expected a parse error");
+		} catch (RDFParseException e) {
+			assertEquals(12345, e.getLineNumber());
+		}
+	}
+
+	@Test
+	public void testNonFatalErrorsAreReported() throws Exception {
+		RDFParser parser = createRDFParser();
+		parser.getParserConfig().addNonFatalError(NTriplesParserSettings.FAIL_ON_INVALID_LINES);
+		ParseErrorCollector errors = new ParseErrorCollector();
+		parser.setParseErrorListener(errors);
+
+		List<Statement> statements = parse(parser, document(12345));
+
+		assertEquals(LINES - 1, statements.size());
+		assertEquals(1, errors.getErrors().size());
+		assertTrue(errors.getErrors().get(0).contains("12345"));
+	}
+
+	private List<Value> objects(List<Statement> statements) {
+		return statements.stream().map(Statement::getObject).collect(Collectors.toList());
+	}
+
+	private List<Statement> parse(RDFParser parser, String document) throws Exception {
+		List<Statement> statements = new ArrayList<>();
+		parser.setRDFHandler(new StatementCollector(statements));
+		parser.parse(new StringReader(document), "");
+		return statements;
+	}
+
+	/**
+	 * @param invalidLine the number of the line that is invalid, or -1.
+	 */
+	private String document(int invalidLine) {
+		StringBuilder document = new StringBuilder();
+		for (int i = 1; i <= LINES; i++) {
+			if (i == invalidLine) {
+				document.append("<urn:s> <urn:p> .\n");
+			} else if (i % 10 == 1) {
+				document.append("_:shared <urn:p> \"").append(i).append("\" .\n");
+			} else {
+				document.append("<urn:s").append(i).append("> <urn:p> \"").append(i).append("\"@en .\n");
+			}
+		}
+		return document.toString();
+	}
+}
@@ -25,6 +25,7 @@ import java.util.Set;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -51,6 +52,14 @@ import org.eclipse.rdf4j.sail.SailException;
 @InternalUseOnly
 public abstract class Changeset implements SailSink, ModelFactory {
 
+	private static final int SUBJECT_BOUND = 1;
+
+	private static final int PREDICATE_BOUND = 2;
+
+	private static final int OBJECT_BOUND = 4;
+
+	private static final int CONTEXT_BOUND = 8;
+
 	AdderBasedReadWriteLock readWriteLock = new AdderBasedReadWriteLock();
 	AdderBasedReadWriteLock refBacksReadWriteLock = new AdderBasedReadWriteLock();
 	Semaphore prependLock = new Semaphore(1);
@@ -73,6 +82,13 @@ public abstract class Changeset implements SailSink, ModelFactory {
 	 */
 	private volatile Set<SimpleStatementPattern> observed;
 
+	/**
+	 * The combinations of bound positions of the {@link #observed} patterns, where bit <var>i</var> is set if a pattern
+	 * whose {@link #getBoundPositions(SimpleStatementPattern) bound positions} are <var>i</var> has been observed. This
+	 * allows to check whether a statement matches any observed pattern with one lookup per combination.
+	 */
+	private volatile int observedBoundPositions;
+
 	/**
 	 * Statements that have been added as part of a transaction, but has not yet been committed.
 	 * <p>
@@ -139,24 +155,100 @@ public abstract class Changeset implements SailSink, ModelFactory {
 	public void prepare() throws SailException {
 		assert !closed;
 		if (prepend != null && observed != null) {
-			for (SimpleStatementPattern p : observed) {
-				Resource subj = p.getSubject();
-				IRI pred = p.getPredicate();
-				Value obj = p.getObject();
-				Resource context = p.getContext();
-				Resource[] contexts;
-				if (p.isAllContexts()) {
-					contexts = new Resource[0];
+			for (Changeset changeset : prepend) {
+				if (changeset.getChangedStatementCount() < observed.size() && changeset.deprecatedContexts == null) {
+					// fewer changes than observations, look up each changed statement in the observed patterns
+					if (changeset.hasChangedStatementMatching(this::isObserved)) {
+						throw new SailConflictException("Observed State has Changed");
+					}
 				} else {
-					contexts = new Resource[] { context };
+					for (SimpleStatementPattern p : observed) {
+						Resource subj = p.getSubject();
+						IRI pred = p.getPredicate();
+						Value obj = p.getObject();
+						Resource context = p.getContext();
+						Resource[] contexts;
+						if (p.isAllContexts()) {
+							contexts = new Resource[0];
+						} else {
+							contexts = new Resource[] { context };
+						}
+						if (changeset.hasApproved(subj, pred, obj, contexts)
+								|| (changeset.hasDeprecated(subj, pred, obj, contexts))) {
+							throw new SailConflictException("Observed State has Changed");
+						}
+					}
 				}
-				for (Changeset changeset : prepend) {
-					if (changeset.hasApproved(subj, pred, obj, contexts)
-							|| (changeset.hasDeprecated(subj, pred, obj, contexts))) {
-						throw new SailConflictException("Observed State has Changed");
+			}
+		}
+	}
+
+	/**
+	 * Checks if the statement matches any of the {@link #observed} patterns. Each combination of bound positions of the
+	 * observed patterns is checked by a single lookup of the statement's values at these positions.
+	 */
+	private boolean isObserved(Statement st) {
+		int boundPositions = observedBoundPositions;
+		for (int mask = 0; boundPositions != 0; mask++, boundPositions >>>= 1) {
+			if ((boundPositions & 1) != 0) {
+				SimpleStatementPattern key = new SimpleStatementPattern(
+						(mask & SUBJECT_BOUND) != 0 ? st.getSubject() : null,
+						(mask & PREDICATE_BOUND) != 0 ? st.getPredicate() : null,
+						(mask & OBJECT_BOUND) != 0 ? st.getObject() : null,
+						(mask & CONTEXT_BOUND) != 0 ? st.getContext() : null,
+						(mask & CONTEXT_BOUND) == 0);
+				if (observed.contains(key)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static int getBoundPositions(SimpleStatementPattern pattern) {
+		return (pattern.getSubject() != null ? SUBJECT_BOUND : 0)
+				| (pattern.getPredicate() != null ? PREDICATE_BOUND : 0)
+				| (pattern.getObject() != null ? OBJECT_BOUND : 0)
+				| (pattern.isAllContexts() ? 0 : CONTEXT_BOUND);
+	}
+
+	private void addObserved(SimpleStatementPattern pattern) {
+		observed.add(pattern);
+		observedBoundPositions |= 1 << getBoundPositions(pattern);
+	}
+
+	int getChangedStatementCount() {
+		assert !closed;
+		boolean readLock = readWriteLock.readLock();
+		try {
+			return (approved == null || approvedEmpty ? 0 : approved.size())
+					+ (deprecated == null || deprecatedEmpty ? 0 : deprecated.size());
+		} finally {
+			readWriteLock.unlockReader(readLock);
+		}
+	}
+
+	boolean hasChangedStatementMatching(Predicate<Statement> predicate) {
+		assert !closed;
+		boolean readLock = readWriteLock.readLock();
+		try {
+			if (approved != null && !approvedEmpty) {
+				for (Statement st : approved) {
+					if (predicate.test(st)) {
+						return true;
+					}
+				}
+			}
+			if (deprecated != null && !deprecatedEmpty) {
+				for (Statement st : deprecated) {
+					if (predicate.test(st)) {
+						return true;
 					}
 				}
 			}
+			return false;
+		} finally {
+			readWriteLock.unlockReader(readLock);
 		}
 	}
 
@@ -317,12 +409,12 @@ public abstract class Changeset implements SailSink, ModelFactory {
 				observed = new HashSet<>();
 			}
 			if (contexts == null) {
-				observed.add(new SimpleStatementPattern(subj, pred, obj, null, false));
+				addObserved(new SimpleStatementPattern(subj, pred, obj, null, false));
 			} else if (contexts.length == 0) {
-				observed.add(new SimpleStatementPattern(subj, pred, obj, null, true));
+				addObserved(new SimpleStatementPattern(subj, pred, obj, null, true));
 			} else {
 				for (Resource ctx : contexts) {
-					observed.add(new SimpleStatementPattern(subj, pred, obj, ctx, false));
+					addObserved(new SimpleStatementPattern(subj, pred, obj, ctx, false));
 				}
 			}
 		} finally {
@@ -342,7 +434,7 @@ public abstract class Changeset implements SailSink, ModelFactory {
 				observed = new HashSet<>();
 			}
 
-			observed.add(new SimpleStatementPattern(subj, pred, obj, context, false));
+			addObserved(new SimpleStatementPattern(subj, pred, obj, context, false));
 
 		} finally {
 			readWriteLock.unlockWriter(writeLock);
@@ -356,9 +448,10 @@ public abstract class Changeset implements SailSink, ModelFactory {
 		long writeLock = readWriteLock.writeLock();
 		try {
 			if (this.observed == null) {
-				this.observed = new HashSet<>(observed);
-			} else {
-				this.observed.addAll(observed);
+				this.observed = new HashSet<>(observed.size());
+			}
+			for (SimpleStatementPattern pattern : observed) {
+				addObserved(pattern);
 			}
 		} finally {
 			readWriteLock.unlockWriter(writeLock);
@@ -504,6 +597,7 @@ public abstract class Changeset implements SailSink, ModelFactory {
 		assert !from.closed;
 
 		this.observed = from.observed;
+		this.observedBoundPositions = from.observedBoundPositions;
 		this.approved = from.approved;
 		this.approvedEmpty = from.approvedEmpty;
 		this.deprecated = from.deprecated;
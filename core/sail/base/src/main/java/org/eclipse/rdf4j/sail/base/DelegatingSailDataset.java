@@ -12,6 +12,7 @@ package org.eclipse.rdf4j.sail.base;
 
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Namespace;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
@@ -68,6 +69,27 @@ abstract class DelegatingSailDataset implements SailDataset {
 		return delegate.getStatements(subj, pred, obj, contexts);
 	}
 
+	@Override
+	public CloseableIteration<? extends Statement, SailException> getStatementsInRange(Resource subj, IRI pred,
+			Literal lowerBound, Literal upperBound, Resource... contexts) throws SailException {
+		return delegate.getStatementsInRange(subj, pred, lowerBound, upperBound, contexts);
+	}
+
+	@Override
+	public boolean supportsObjectRanges() {
+		return delegate.supportsObjectRanges();
+	}
+
+	@Override
+	public long getInternalId(Value value) throws SailException {
+		return delegate.getInternalId(value);
+	}
+
+	@Override
+	public boolean supportsInternalIds() {
+		return delegate.supportsInternalIds();
+	}
+
 	@Override
 	public CloseableIteration<? extends Triple, SailException> getTriples(Resource subj, IRI pred,
 			Value obj) throws SailException {
@@ -13,6 +13,7 @@ package org.eclipse.rdf4j.sail.base;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.transaction.IsolationLevels;
 import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
@@ -70,4 +71,12 @@ class ObservingSailDataset extends DelegatingSailDataset {
 		return super.getStatements(subj, pred, obj, contexts);
 	}
 
+	@Override
+	public CloseableIteration<? extends Statement, SailException> getStatementsInRange(Resource subj, IRI pred,
+			Literal lowerBound, Literal upperBound, Resource... contexts) throws SailException {
+		// any change to the objects of the pattern may affect the range
+		observer.observe(subj, pred, null, contexts);
+		return super.getStatementsInRange(subj, pred, lowerBound, upperBound, contexts);
+	}
+
 }
@@ -0,0 +1,404 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.base;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.Binding;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.Dataset;
+import org.eclipse.rdf4j.query.algebra.FunctionCall;
+import org.eclipse.rdf4j.query.algebra.QueryRoot;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.EvaluationStatistics;
+import org.eclipse.rdf4j.query.algebra.helpers.AbstractQueryModelVisitor;
+import org.eclipse.rdf4j.query.algebra.helpers.collectors.StatementPatternCollector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded cache of optimized query plans that is shared by all connections of a {@link SailStore}.
+ * <p>
+ * Plans are keyed by the query model as it was parsed, the dataset, the bindings and whether inferred statements are
+ * included. The values of the bindings are part of the key, since several optimizers rewrite the query model based on
+ * them, e.g. by inlining bound variables or by replacing one variable with another that is known to have the same
+ * value. A plan that was optimized for one set of values can therefore not be reused for another.
+ * <p>
+ * A plan depends on the statistics of the store at the time it was built. The estimated cardinalities of the statement
+ * patterns of a plan are therefore checked again from time to time, and the plan is rebuilt if any of them changed
+ * significantly.
+ */
+public class QueryPlanCache implements QueryPlanCacheMXBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(QueryPlanCache.class);
+
+	/**
+	 * The default maximum number of cached plans.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+	/**
+	 * The default minimum time in milliseconds between two checks of the statistics a cached plan is based on.
+	 */
+	public static final long DEFAULT_REVALIDATION_INTERVAL = 1000;
+
+	// a plan is rebuilt if the estimated cardinality of one of its statement patterns changed by more than this factor
+	private static final double SIGNIFICANT_CHANGE = 2.0;
+
+	private static final AtomicLong MBEAN_COUNTER = new AtomicLong();
+
+	// access ordered, guarded by itself
+	private final LinkedHashMap<PlanKey, Plan> plans = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final long revalidationInterval;
+
+	private volatile int maximumSize;
+
+	private volatile ObjectName mBeanName;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+	private final LongAdder invalidationCount = new LongAdder();
+	private final LongAdder buildTime = new LongAdder();
+
+	public QueryPlanCache() {
+		this(DEFAULT_MAXIMUM_SIZE, DEFAULT_REVALIDATION_INTERVAL);
+	}
+
+	/**
+	 * @param maximumSize          the maximum number of cached plans, 0 disables the cache.
+	 * @param revalidationInterval the minimum time in milliseconds between two checks of the statistics a cached plan
+	 *                             is based on.
+	 */
+	public QueryPlanCache(int maximumSize, long revalidationInterval) {
+		this.maximumSize = Math.max(0, maximumSize);
+		this.revalidationInterval = revalidationInterval;
+	}
+
+	/**
+	 * Determines if a plan for the query can be cached. Plans are not cached if the cache is disabled or if the query
+	 * calls a function without arguments, since functions like NOW() are replaced by their value while optimizing.
+	 *
+	 * @param tupleExpr the query model.
+	 * @return <code>true</code> if a plan for the query can be cached.
+	 */
+	public boolean isCacheable(TupleExpr tupleExpr) {
+		if (maximumSize <= 0) {
+			return false;
+		}
+		ZeroArgFunctionFinder finder = new ZeroArgFunctionFinder();
+		tupleExpr.visit(finder);
+		return !finder.found;
+	}
+
+	/**
+	 * Gets an optimized plan for the query.
+	 *
+	 * @param tupleExpr       the query model, which is not modified.
+	 * @param dataset         the dataset of the query, may be <code>null</code>.
+	 * @param bindings        the bindings of the query.
+	 * @param includeInferred whether inferred statements are included.
+	 * @param statistics      the current statistics of the store.
+	 * @param optimizer       optimizes a copy of the query model for the supplied bindings.
+	 * @return a new copy of the optimized plan, which can be evaluated.
+	 */
+	public TupleExpr getPlan(TupleExpr tupleExpr, Dataset dataset, BindingSet bindings, boolean includeInferred,
+			EvaluationStatistics statistics, UnaryOperator<TupleExpr> optimizer) {
+		PlanKey key = new PlanKey(tupleExpr, dataset, bindings, includeInferred);
+
+		Plan plan;
+		synchronized (plans) {
+			plan = plans.get(key);
+		}
+
+		if (plan != null && plan.isOutdated(statistics, revalidationInterval)) {
+			logger.debug("Statistics changed, rebuilding plan for\n{}", tupleExpr);
+			invalidationCount.increment();
+			synchronized (plans) {
+				plans.remove(key, plan);
+			}
+			plan = null;
+		}
+
+		if (plan != null) {
+			hitCount.increment();
+		} else {
+			missCount.increment();
+			plan = build(key, statistics, optimizer);
+			// the key of a lookup refers to the query model of the caller, only a stored key needs its own copy
+			PlanKey storedKey = key.copy();
+			synchronized (plans) {
+				plans.put(storedKey, plan);
+				Iterator<Plan> iterator = plans.values().iterator();
+				while (plans.size() > maximumSize && iterator.hasNext()) {
+					iterator.next();
+					iterator.remove();
+					evictionCount.increment();
+				}
+			}
+		}
+
+		return plan.optimized.clone();
+	}
+
+	private Plan build(PlanKey key, EvaluationStatistics statistics, UnaryOperator<TupleExpr> optimizer) {
+		long start = System.nanoTime();
+
+		TupleExpr expr = key.tupleExpr.clone();
+		if (!(expr instanceof QueryRoot)) {
+			expr = new QueryRoot(expr);
+		}
+		TupleExpr optimized = optimizer.apply(expr);
+
+		List<StatementPattern> patterns = new ArrayList<>();
+		for (StatementPattern pattern : StatementPatternCollector.process(key.tupleExpr)) {
+			StatementPattern copy = pattern.clone();
+			copy.resetCardinality();
+			patterns.add(copy);
+		}
+		Plan plan = new Plan(optimized, patterns, statistics);
+
+		buildTime.add(System.nanoTime() - start);
+		return plan;
+	}
+
+	/**
+	 * Registers this cache with the platform MBean server.
+	 *
+	 * @param domain the domain of the MBean name, usually the package of the store.
+	 */
+	public void registerMBean(String domain) {
+		try {
+			ObjectName name = new ObjectName(domain + ":type=QueryPlanCache,id=" + MBEAN_COUNTER.incrementAndGet());
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+			mBeanName = name;
+		} catch (JMException | SecurityException e) {
+			logger.debug("Could not register query plan cache MBean", e);
+		}
+	}
+
+	/**
+	 * Removes all cached plans and unregisters this cache from the platform MBean server.
+	 */
+	public void close() {
+		clear();
+		ObjectName name = mBeanName;
+		mBeanName = null;
+		if (name != null) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+			} catch (JMException | SecurityException e) {
+				logger.debug("Could not unregister query plan cache MBean", e);
+			}
+		}
+	}
+
+	@Override
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	@Override
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	@Override
+	public double getHitRate() {
+		long hits = hitCount.sum();
+		long total = hits + missCount.sum();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	@Override
+	public long getInvalidationCount() {
+		return invalidationCount.sum();
+	}
+
+	@Override
+	public double getTotalBuildTime() {
+		return buildTime.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	@Override
+	public double getAverageBuildTime() {
+		long builds = missCount.sum();
+		return builds == 0 ? 0 : getTotalBuildTime() / builds;
+	}
+
+	@Override
+	public int getSize() {
+		synchronized (plans) {
+			return plans.size();
+		}
+	}
+
+	@Override
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	@Override
+	public void setMaximumSize(int maximumSize) {
+		this.maximumSize = Math.max(0, maximumSize);
+		synchronized (plans) {
+			Iterator<Plan> iterator = plans.values().iterator();
+			while (plans.size() > this.maximumSize && iterator.hasNext()) {
+				iterator.next();
+				iterator.remove();
+				evictionCount.increment();
+			}
+		}
+	}
+
+	@Override
+	public void clear() {
+		synchronized (plans) {
+			plans.clear();
+		}
+	}
+
+	private static final class ZeroArgFunctionFinder extends AbstractQueryModelVisitor<RuntimeException> {
+
+		private boolean found;
+
+		@Override
+		public void meet(FunctionCall node) {
+			if (node.getArgs().isEmpty()) {
+				found = true;
+			} else {
+				super.meet(node);
+			}
+		}
+	}
+
+	private static final class PlanKey {
+
+		private final TupleExpr tupleExpr;
+
+		private final Dataset dataset;
+
+		private final Map<String, Value> bindings;
+
+		private final boolean includeInferred;
+
+		private final int hashCode;
+
+		PlanKey(TupleExpr tupleExpr, Dataset dataset, BindingSet bindings, boolean includeInferred) {
+			this.tupleExpr = tupleExpr;
+			this.dataset = dataset;
+			this.bindings = new HashMap<>(bindings.size() * 2);
+			for (Binding binding : bindings) {
+				this.bindings.put(binding.getName(), binding.getValue());
+			}
+			this.includeInferred = includeInferred;
+			this.hashCode = Objects.hash(tupleExpr, dataset, this.bindings, includeInferred);
+		}
+
+		private PlanKey(PlanKey key) {
+			this.tupleExpr = key.tupleExpr.clone();
+			this.dataset = key.dataset;
+			this.bindings = key.bindings;
+			this.includeInferred = key.includeInferred;
+			this.hashCode = key.hashCode;
+		}
+
+		/**
+		 * @return a key with its own copy of the query model, which is not affected by changes to the query model of
+		 *         the caller.
+		 */
+		PlanKey copy() {
+			return new PlanKey(this);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof PlanKey)) {
+				return false;
+			}
+			PlanKey other = (PlanKey) o;
+			return hashCode == other.hashCode && includeInferred == other.includeInferred
+					&& bindings.equals(other.bindings) && Objects.equals(dataset, other.dataset)
+					&& tupleExpr.equals(other.tupleExpr);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	private static final class Plan {
+
+		private final TupleExpr optimized;
+
+		private final List<StatementPattern> patterns;
+
+		private final double[] cardinalities;
+
+		private long validatedAt;
+
+		Plan(TupleExpr optimized, List<StatementPattern> patterns, EvaluationStatistics statistics) {
+			this.optimized = optimized;
+			this.patterns = patterns;
+			this.cardinalities = new double[patterns.size()];
+			for (int i = 0; i < cardinalities.length; i++) {
+				cardinalities[i] = statistics.getCardinality(patterns.get(i));
+			}
+			this.validatedAt = System.currentTimeMillis();
+		}
+
+		/**
+		 * @return <code>true</code> if the estimated cardinality of any statement pattern changed significantly since
+		 *         the plan was built.
+		 */
+		synchronized boolean isOutdated(EvaluationStatistics statistics, long revalidationInterval) {
+			long now = System.currentTimeMillis();
+			if (now - validatedAt < revalidationInterval) {
+				return false;
+			}
+			validatedAt = now;
+			for (int i = 0; i < cardinalities.length; i++) {
+				double before = cardinalities[i] + 1;
+				double after = statistics.getCardinality(patterns.get(i)) + 1;
+				if (after > before * SIGNIFICANT_CHANGE || before > after * SIGNIFICANT_CHANGE) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.base;
+
+/**
+ * Management interface of a {@link QueryPlanCache}.
+ */
+public interface QueryPlanCacheMXBean {
+
+	/**
+	 * @return the number of times a cached plan was used.
+	 */
+	long getHitCount();
+
+	/**
+	 * @return the number of times a plan had to be built because it was not in the cache.
+	 */
+	long getMissCount();
+
+	/**
+	 * @return the ratio of hits to the total number of hits and misses, or 0 if the cache has not been used yet.
+	 */
+	double getHitRate();
+
+	/**
+	 * @return the number of cached plans that were evicted to stay within the maximum size.
+	 */
+	long getEvictionCount();
+
+	/**
+	 * @return the number of cached plans that were discarded because the statistics of the store changed significantly.
+	 */
+	long getInvalidationCount();
+
+	/**
+	 * @return the total time spent building plans, in milliseconds.
+	 */
+	double getTotalBuildTime();
+
+	/**
+	 * @return the average time spent building a plan, in milliseconds, or 0 if no plan has been built yet.
+	 */
+	double getAverageBuildTime();
+
+	/**
+	 * @return the number of cached plans.
+	 */
+	int getSize();
+
+	/**
+	 * @return the maximum number of cached plans.
+	 */
+	int getMaximumSize();
+
+	/**
+	 * @param maximumSize the maximum number of cached plans, 0 disables the cache.
+	 */
+	void setMaximumSize(int maximumSize);
+
+	/**
+	 * Removes all cached plans.
+	 */
+	void clear();
+}
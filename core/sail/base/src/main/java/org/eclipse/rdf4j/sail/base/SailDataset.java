@@ -13,6 +13,7 @@ package org.eclipse.rdf4j.sail.base;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.transaction.IsolationLevels;
 import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Namespace;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
@@ -79,6 +80,59 @@ public interface SailDataset extends SailClosable {
 	CloseableIteration<? extends Statement, SailException> getStatements(Resource subj, IRI pred, Value obj,
 			Resource... contexts) throws SailException;
 
+	/**
+	 * Gets the statements that have a specific subject and/or predicate and a literal object within the given bounds.
+	 * The bounds are inclusive and compared by value, a bound of <var>null</var> leaves that side of the range open.
+	 * The result may contain statements outside of the range, callers are expected to filter the results themselves.
+	 * The default implementation returns all statements with any object.
+	 *
+	 * @param subj       A Resource specifying the subject, or <var>null</var> for a wildcard.
+	 * @param pred       A IRI specifying the predicate, or <var>null</var> for a wildcard.
+	 * @param lowerBound The inclusive lower bound of the object, or <var>null</var>.
+	 * @param upperBound The inclusive upper bound of the object, or <var>null</var>.
+	 * @param contexts   The context(s) to get the statements from. Note that this parameter is a vararg and as such is
+	 *                   optional. If no contexts are supplied the method operates on all contexts.
+	 * @return An iterator over a superset of the statements in the range.
+	 * @throws SailException If the triple source failed to get the statements.
+	 * @see #supportsObjectRanges()
+	 */
+	default CloseableIteration<? extends Statement, SailException> getStatementsInRange(Resource subj, IRI pred,
+			Literal lowerBound, Literal upperBound, Resource... contexts) throws SailException {
+		return getStatements(subj, pred, null, contexts);
+	}
+
+	/**
+	 * Indicates whether {@link #getStatementsInRange} can restrict the scanned statements to the given range, rather
+	 * than returning all statements with any object.
+	 *
+	 * @return <code>true</code> if range scans on the object are supported, else <code>false</code>
+	 */
+	default boolean supportsObjectRanges() {
+		return false;
+	}
+
+	/**
+	 * Gets the identifier that the store uses internally for the given value. Identifiers are non-negative and denote
+	 * the same value for the lifetime of this dataset. The default implementation returns <code>-1</code>.
+	 *
+	 * @param value A value.
+	 * @return The identifier of the value, or <code>-1</code> if the value has no identifier in the store.
+	 * @throws SailException If the identifier could not be looked up.
+	 * @see #supportsInternalIds()
+	 */
+	default long getInternalId(Value value) throws SailException {
+		return -1;
+	}
+
+	/**
+	 * Indicates whether {@link #getInternalId(Value)} returns the internal identifiers of the values.
+	 *
+	 * @return <code>true</code> if internal identifiers are supported, else <code>false</code>
+	 */
+	default boolean supportsInternalIds() {
+		return false;
+	}
+
 	/**
 	 * Gets all RDF-star triples that have a specific subject, predicate and/or object. All three parameters may be null
 	 * to indicate wildcards.
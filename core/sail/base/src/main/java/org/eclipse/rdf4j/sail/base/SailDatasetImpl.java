@@ -29,6 +29,7 @@ import org.eclipse.rdf4j.common.iteration.EmptyIteration;
 import org.eclipse.rdf4j.common.iteration.FilterIteration;
 import org.eclipse.rdf4j.common.iteration.UnionIteration;
 import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Namespace;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
@@ -263,6 +264,37 @@ class SailDatasetImpl implements SailDataset {
 	@Override
 	public CloseableIteration<? extends Statement, SailException> getStatements(Resource subj, IRI pred, Value obj,
 			Resource... contexts) throws SailException {
+		return getStatements(subj, pred, obj, contexts, ctx -> derivedFrom.getStatements(subj, pred, obj, ctx));
+	}
+
+	@Override
+	public CloseableIteration<? extends Statement, SailException> getStatementsInRange(Resource subj, IRI pred,
+			Literal lowerBound, Literal upperBound, Resource... contexts) throws SailException {
+		// the approved statements are not restricted to the range, which is allowed as the result may be a superset
+		return getStatements(subj, pred, null, contexts,
+				ctx -> derivedFrom.getStatementsInRange(subj, pred, lowerBound, upperBound, ctx));
+	}
+
+	@Override
+	public boolean supportsObjectRanges() {
+		return derivedFrom.supportsObjectRanges();
+	}
+
+	@Override
+	public long getInternalId(Value value) throws SailException {
+		// values that are only used by the pending changes have no identifier, which is consistent for all lookups
+		return derivedFrom.getInternalId(value);
+	}
+
+	@Override
+	public boolean supportsInternalIds() {
+		return derivedFrom.supportsInternalIds();
+	}
+
+	private CloseableIteration<? extends Statement, SailException> getStatements(Resource subj, IRI pred, Value obj,
+			Resource[] contexts,
+			Function<Resource[], CloseableIteration<? extends Statement, SailException>> derivedStatements)
+			throws SailException {
 		Set<Resource> deprecatedContexts = changes.getDeprecatedContexts();
 		CloseableIteration<? extends Statement, SailException> iter;
 		if (changes.isStatementCleared()
@@ -273,9 +305,9 @@ class SailDatasetImpl implements SailDataset {
 		} else if (contexts != null && contexts.length > 0 && deprecatedContexts != null) {
 			List<Resource> remaining = new ArrayList<>(Arrays.asList(contexts));
 			remaining.removeAll(deprecatedContexts);
-			iter = derivedFrom.getStatements(subj, pred, obj, remaining.toArray(new Resource[0]));
+			iter = derivedStatements.apply(remaining.toArray(new Resource[0]));
 		} else {
-			iter = derivedFrom.getStatements(subj, pred, obj, contexts);
+			iter = derivedStatements.apply(contexts);
 		}
 		if (changes.hasDeprecated() && iter != null) {
 			iter = difference(iter, changes::hasDeprecated);
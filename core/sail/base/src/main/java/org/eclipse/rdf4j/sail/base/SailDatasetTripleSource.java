@@ -14,6 +14,7 @@ import org.eclipse.rdf4j.common.annotation.InternalUseOnly;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.DistinctIteration;
 import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Triple;
@@ -62,6 +63,43 @@ public class SailDatasetTripleSource implements RDFStarTripleSource {
 		}
 	}
 
+	@Override
+	public CloseableIteration<? extends Statement, QueryEvaluationException> getStatementsInRange(Resource subj,
+			IRI pred, Literal lowerBound, Literal upperBound, Resource... contexts) throws QueryEvaluationException {
+		CloseableIteration<? extends Statement, SailException> statements = null;
+		try {
+			statements = dataset.getStatementsInRange(subj, pred, lowerBound, upperBound, contexts);
+			return new TripleSourceIterationWrapper<>(statements);
+		} catch (Throwable t) {
+			if (statements != null) {
+				statements.close();
+			}
+			if (t instanceof SailException) {
+				throw new QueryEvaluationException(t);
+			}
+			throw t;
+		}
+	}
+
+	@Override
+	public boolean supportsObjectRanges() {
+		return dataset.supportsObjectRanges();
+	}
+
+	@Override
+	public long getInternalId(Value value) throws QueryEvaluationException {
+		try {
+			return dataset.getInternalId(value);
+		} catch (SailException e) {
+			throw new QueryEvaluationException(e);
+		}
+	}
+
+	@Override
+	public boolean supportsInternalIds() {
+		return dataset.supportsInternalIds();
+	}
+
 	@Override
 	public ValueFactory getValueFactory() {
 		return vf;
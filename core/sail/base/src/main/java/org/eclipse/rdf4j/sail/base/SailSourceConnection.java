@@ -36,6 +36,7 @@ import org.eclipse.rdf4j.query.algebra.evaluation.QueryEvaluationStep;
 import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
 import org.eclipse.rdf4j.query.algebra.evaluation.federation.FederatedServiceResolver;
 import org.eclipse.rdf4j.query.algebra.evaluation.federation.FederatedServiceResolverClient;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.EvaluationStatistics;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.StrictEvaluationStrategy;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.StrictEvaluationStrategyFactory;
 import org.eclipse.rdf4j.query.algebra.helpers.QueryModelTreeToGenericPlanNode;
@@ -214,15 +215,23 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 			Dataset dataset, BindingSet bindings, boolean includeInferred) throws SailException {
 		logger.trace("Incoming query model:\n{}", tupleExpr);
 
-		if (cloneTupleExpression) {
-			// Clone the tuple expression to allow for more aggressive optimizations
-			tupleExpr = tupleExpr.clone();
+		// plans can only be shared if the incoming query model is not modified
+		QueryPlanCache planCache = cloneTupleExpression ? store.getQueryPlanCache() : null;
+		if (planCache != null && !planCache.isCacheable(tupleExpr)) {
+			planCache = null;
 		}
 
-		if (!(tupleExpr instanceof QueryRoot)) {
-			// Add a dummy root node to the tuple expressions to allow the
-			// optimizers to modify the actual root node
-			tupleExpr = new QueryRoot(tupleExpr);
+		if (planCache == null) {
+			if (cloneTupleExpression) {
+				// Clone the tuple expression to allow for more aggressive optimizations
+				tupleExpr = tupleExpr.clone();
+			}
+
+			if (!(tupleExpr instanceof QueryRoot)) {
+				// Add a dummy root node to the tuple expressions to allow the
+				// optimizers to modify the actual root node
+				tupleExpr = new QueryRoot(tupleExpr);
+			}
 		}
 
 		SailSource branch = null;
@@ -244,7 +253,13 @@ public abstract class SailSourceConnection extends AbstractNotifyingSailConnecti
 				strategy.setTrackTime(trackTime);
 			}
 
-			tupleExpr = strategy.optimize(tupleExpr, store.getEvaluationStatistics(), bindings);
+			EvaluationStatistics statistics = store.getEvaluationStatistics();
+			if (planCache != null) {
+				tupleExpr = planCache.getPlan(tupleExpr, dataset, bindings, includeInferred, statistics,
+						expr -> strategy.optimize(expr, statistics, bindings));
+			} else {
+				tupleExpr = strategy.optimize(tupleExpr, statistics, bindings);
+			}
 
 			logger.trace("Optimized query model:\n{}", tupleExpr);
 			QueryEvaluationStep qes = strategy.precompile(tupleExpr);
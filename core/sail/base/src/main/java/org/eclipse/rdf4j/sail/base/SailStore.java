@@ -44,4 +44,13 @@ public interface SailStore extends SailClosable {
 	 */
 	SailSource getInferredSailSource();
 
+	/**
+	 * Used by {@link SailSourceConnection} to reuse optimized query plans between queries.
+	 *
+	 * @return the {@link QueryPlanCache} of this {@link SailStore}, or <code>null</code> if plans are not cached.
+	 */
+	default QueryPlanCache getQueryPlanCache() {
+		return null;
+	}
+
 }
@@ -76,6 +76,11 @@ public class SnapshotSailStore implements SailStore {
 		return backingStore.getEvaluationStatistics();
 	}
 
+	@Override
+	public QueryPlanCache getQueryPlanCache() {
+		return backingStore.getQueryPlanCache();
+	}
+
 	@Override
 	public SailSource getExplicitSailSource() {
 		return explicitAutoFlush;
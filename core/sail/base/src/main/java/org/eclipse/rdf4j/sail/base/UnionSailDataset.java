@@ -14,6 +14,7 @@ package org.eclipse.rdf4j.sail.base;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.DualUnionIteration;
 import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Namespace;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
@@ -140,6 +141,48 @@ class UnionSailDataset implements SailDataset {
 
 	}
 
+	@Override
+	public CloseableIteration<? extends Statement, SailException> getStatementsInRange(Resource subj, IRI pred,
+			Literal lowerBound, Literal upperBound, Resource... contexts) throws SailException {
+
+		CloseableIteration<? extends Statement, SailException> iteration1 = null;
+		CloseableIteration<? extends Statement, SailException> iteration2 = null;
+		try {
+			iteration1 = dataset1.getStatementsInRange(subj, pred, lowerBound, upperBound, contexts);
+			iteration2 = dataset2.getStatementsInRange(subj, pred, lowerBound, upperBound, contexts);
+			return union(iteration1, iteration2);
+		} catch (Throwable t) {
+			try {
+				if (iteration1 != null) {
+					iteration1.close();
+				}
+			} finally {
+				if (iteration2 != null) {
+					iteration2.close();
+				}
+			}
+			throw t;
+		}
+
+	}
+
+	@Override
+	public boolean supportsObjectRanges() {
+		return dataset1.supportsObjectRanges() && dataset2.supportsObjectRanges();
+	}
+
+	@Override
+	public long getInternalId(Value value) throws SailException {
+		// both datasets usually belong to the same store, only an identifier that both agree on is unique
+		long id = dataset1.getInternalId(value);
+		return id >= 0 && id == dataset2.getInternalId(value) ? id : -1;
+	}
+
+	@Override
+	public boolean supportsInternalIds() {
+		return dataset1.supportsInternalIds() && dataset2.supportsInternalIds();
+	}
+
 	@Override
 	public CloseableIteration<? extends Triple, SailException> getTriples(Resource subj, IRI pred, Value obj)
 			throws SailException {
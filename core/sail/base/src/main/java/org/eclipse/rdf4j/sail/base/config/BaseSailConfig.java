@@ -12,6 +12,7 @@ package org.eclipse.rdf4j.sail.base.config;
 
 import static org.eclipse.rdf4j.sail.base.config.BaseSailSchema.EVALUATION_STRATEGY_FACTORY;
 import static org.eclipse.rdf4j.sail.base.config.BaseSailSchema.NAMESPACE;
+import static org.eclipse.rdf4j.sail.base.config.BaseSailSchema.QUERY_PLAN_CACHE_SIZE;
 
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
@@ -26,6 +27,8 @@ public abstract class BaseSailConfig extends AbstractSailImplConfig {
 
 	private String evalStratFactoryClassName;
 
+	private int queryPlanCacheSize = 0;
+
 	protected BaseSailConfig(String type) {
 		super(type);
 	}
@@ -53,6 +56,21 @@ public abstract class BaseSailConfig extends AbstractSailImplConfig {
 		}
 	}
 
+	/**
+	 * @return the maximum number of optimized query plans the store keeps for reuse, 0 if plans are not cached.
+	 */
+	public int getQueryPlanCacheSize() {
+		return queryPlanCacheSize;
+	}
+
+	/**
+	 * @param queryPlanCacheSize the maximum number of optimized query plans the store keeps for reuse, 0 disables the
+	 *                           cache. By default, plans are not cached.
+	 */
+	public void setQueryPlanCacheSize(int queryPlanCacheSize) {
+		this.queryPlanCacheSize = queryPlanCacheSize;
+	}
+
 	@Override
 	public Resource export(Model graph) {
 		Resource implNode = super.export(graph);
@@ -62,6 +80,11 @@ public abstract class BaseSailConfig extends AbstractSailImplConfig {
 			graph.add(implNode, EVALUATION_STRATEGY_FACTORY,
 					SimpleValueFactory.getInstance().createLiteral(evalStratFactoryClassName));
 		}
+		if (queryPlanCacheSize > 0) {
+			graph.setNamespace("sb", NAMESPACE);
+			graph.add(implNode, QUERY_PLAN_CACHE_SIZE,
+					SimpleValueFactory.getInstance().createLiteral(queryPlanCacheSize));
+		}
 
 		return implNode;
 	}
@@ -76,6 +99,15 @@ public abstract class BaseSailConfig extends AbstractSailImplConfig {
 					.ifPresent(factoryClassName -> {
 						setEvaluationStrategyFactoryClassName(factoryClassName.stringValue());
 					});
+
+			Models.objectLiteral(graph.getStatements(implNode, QUERY_PLAN_CACHE_SIZE, null)).ifPresent(lit -> {
+				try {
+					setQueryPlanCacheSize(lit.intValue());
+				} catch (NumberFormatException e) {
+					throw new SailConfigException(
+							"Integer value required for " + QUERY_PLAN_CACHE_SIZE + " property, found " + lit);
+				}
+			});
 		} catch (ModelException e) {
 			throw new SailConfigException(e.getMessage(), e);
 		}
@@ -25,8 +25,12 @@ public class BaseSailSchema {
 	/** <var>http://www.openrdf.org/config/sail/base#evaluationStrategyFactory</var> */
 	public final static IRI EVALUATION_STRATEGY_FACTORY;
 
+	/** <var>http://www.openrdf.org/config/sail/base#queryPlanCacheSize</var> */
+	public final static IRI QUERY_PLAN_CACHE_SIZE;
+
 	static {
 		ValueFactory factory = SimpleValueFactory.getInstance();
 		EVALUATION_STRATEGY_FACTORY = factory.createIRI(NAMESPACE, "evaluationStrategyFactory");
+		QUERY_PLAN_CACHE_SIZE = factory.createIRI(NAMESPACE, "queryPlanCacheSize");
 	}
 }
@@ -10,11 +10,15 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.base;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 import java.util.Iterator;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -25,6 +29,7 @@ import org.eclipse.rdf4j.model.impl.LinkedHashModel;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
 import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.sail.SailConflictException;
 import org.eclipse.rdf4j.sail.SailException;
 import org.junit.Test;
 
@@ -111,6 +116,48 @@ public class ChangesetTest {
 		executorService.shutdownNow();
 	}
 
+	@Test
+	public void testPrepareConflict() {
+		Resource ctx = vf.createIRI("urn:ctx");
+		Resource subj = vf.createIRI("urn:subj");
+
+		Changeset concurrent = getChangeset();
+		concurrent.approve(vf.createStatement(subj, RDF.TYPE, RDFS.CLASS, ctx));
+		concurrent.deprecate(vf.createStatement(subj, RDFS.LABEL, vf.createLiteral("label")));
+
+		// fewer observations than changes and more observations than changes use different strategies
+		for (int observations : new int[] { 0, 10 }) {
+			assertConflict(false, concurrent, observations, changeset -> {
+				changeset.observe(subj, RDF.TYPE, RDFS.CLASS, (Resource) null);
+				changeset.observe(subj, RDFS.LABEL, null, ctx);
+				changeset.observe(null, RDFS.COMMENT, null);
+			});
+			assertConflict(true, concurrent, observations,
+					changeset -> changeset.observe(subj, RDF.TYPE, RDFS.CLASS, ctx));
+			assertConflict(true, concurrent, observations, changeset -> changeset.observe(null, RDF.TYPE, null));
+			assertConflict(true, concurrent, observations,
+					changeset -> changeset.observe(null, null, vf.createLiteral("label"), (Resource) null));
+			assertConflict(true, concurrent, observations, changeset -> changeset.observe(subj, null, null, ctx));
+			assertConflict(true, concurrent, observations, changeset -> changeset.observe(null, null, null));
+		}
+	}
+
+	private void assertConflict(boolean expected, Changeset concurrent, int observations,
+			Consumer<Changeset> observe) {
+		Changeset changeset = getChangeset();
+		for (int i = 0; i < observations; i++) {
+			changeset.observe(vf.createIRI("urn:other:" + i), RDF.TYPE, null);
+		}
+		observe.accept(changeset);
+		changeset.prepend(concurrent);
+		try {
+			changeset.prepare();
+			assertFalse("expected conflict", expected);
+		} catch (SailConflictException e) {
+			assertTrue("unexpected conflict", expected);
+		}
+	}
+
 	private Changeset getChangeset() {
 		return new Changeset() {
 			@Override
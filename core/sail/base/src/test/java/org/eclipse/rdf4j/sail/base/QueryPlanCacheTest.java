@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.UnaryOperator;
+
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.query.algebra.Extension;
+import org.eclipse.rdf4j.query.algebra.ExtensionElem;
+import org.eclipse.rdf4j.query.algebra.FunctionCall;
+import org.eclipse.rdf4j.query.algebra.QueryRoot;
+import org.eclipse.rdf4j.query.algebra.StatementPattern;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.Var;
+import org.eclipse.rdf4j.query.algebra.evaluation.impl.EvaluationStatistics;
+import org.eclipse.rdf4j.query.algebra.helpers.collectors.StatementPatternCollector;
+import org.eclipse.rdf4j.query.impl.EmptyBindingSet;
+import org.eclipse.rdf4j.query.impl.MapBindingSet;
+import org.junit.Test;
+
+public class QueryPlanCacheTest {
+
+	private double cardinality = 100;
+
+	private int builds;
+
+	private final EvaluationStatistics statistics = new EvaluationStatistics() {
+
+		@Override
+		public double getCardinality(TupleExpr expr) {
+			return cardinality;
+		}
+	};
+
+	private final UnaryOperator<TupleExpr> optimizer = expr -> {
+		builds++;
+		return expr;
+	};
+
+	@Test
+	public void testPlanIsReused() {
+		QueryPlanCache cache = new QueryPlanCache(10, 0);
+
+		TupleExpr first = cache.getPlan(query(), null, EmptyBindingSet.getInstance(), true, statistics, optimizer);
+		TupleExpr second = cache.getPlan(query(), null, EmptyBindingSet.getInstance(), true, statistics, optimizer);
+
+		assertEquals(1, builds);
+		assertTrue(first instanceof QueryRoot);
+		assertEquals(first, second);
+		assertNotSame(first, second);
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(0.5, cache.getHitRate(), 0);
+	}
+
+	@Test
+	public void testKeyIncludesBindingValues() {
+		QueryPlanCache cache = new QueryPlanCache(10, 0);
+		MapBindingSet resource = new MapBindingSet();
+		resource.addBinding("s", RDFS.RESOURCE);
+		MapBindingSet property = new MapBindingSet();
+		property.addBinding("s", RDF.PROPERTY);
+
+		cache.getPlan(query(), null, resource, true, statistics, optimizer);
+		cache.getPlan(query(), null, resource, true, statistics, optimizer);
+		assertEquals(1, builds);
+
+		// plans are optimized for the values of the bindings, which are not assigned to a cached plan afterwards
+		cache.getPlan(query(), null, property, true, statistics, optimizer);
+		assertEquals(2, builds);
+		cache.getPlan(query(), null, EmptyBindingSet.getInstance(), true, statistics, optimizer);
+		assertEquals(3, builds);
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void testKeyIsIndependentOfQuery() {
+		QueryPlanCache cache = new QueryPlanCache(10, 0);
+		StatementPattern query = (StatementPattern) query();
+		cache.getPlan(query, null, EmptyBindingSet.getInstance(), true, statistics, optimizer);
+
+		// changing the query model of a lookup does not change the cached key
+		query.getSubjectVar().setValue(RDFS.RESOURCE);
+		cache.getPlan(query(), null, EmptyBindingSet.getInstance(), true, statistics, optimizer);
+		assertEquals(1, builds);
+		assertEquals(1, cache.getHitCount());
+	}
+
+	@Test
+	public void testKeyIncludesInferred() {
+		QueryPlanCache cache = new QueryPlanCache(10, 0);
+		cache.getPlan(query(), null, EmptyBindingSet.getInstance(), true, statistics, optimizer);
+		cache.getPlan(query(), null, EmptyBindingSet.getInstance(), false, statistics, optimizer);
+		assertEquals(2, builds);
+		assertEquals(2, cache.getSize());
+	}
+
+	@Test
+	public void testInvalidatedBySignificantChange() {
+		QueryPlanCache cache = new QueryPlanCache(10, 0);
+		cache.getPlan(query(), null, EmptyBindingSet.getInstance(), true, statistics, optimizer);
+
+		cardinality = 150;
+		cache.getPlan(query(), null, EmptyBindingSet.getInstance(), true, statistics, optimizer);
+		assertEquals(1, builds);
+
+		cardinality = 1000;
+		cache.getPlan(query(), null, EmptyBindingSet.getInstance(), true, statistics, optimizer);
+		assertEquals(2, builds);
+		assertEquals(1, cache.getInvalidationCount());
+	}
+
+	@Test
+	public void testEviction() {
+		QueryPlanCache cache = new QueryPlanCache(2, 0);
+		for (int i = 0; i < 3; i++) {
+			TupleExpr query = new StatementPattern(new Var("s"), new Var("p", RDF.TYPE),
+					new Var("o", SimpleValueFactory.getInstance().createLiteral(i)));
+			cache.getPlan(query, null, EmptyBindingSet.getInstance(), true, statistics, optimizer);
+		}
+		assertEquals(2, cache.getSize());
+		assertEquals(1, cache.getEvictionCount());
+
+		cache.setMaximumSize(0);
+		assertEquals(0, cache.getSize());
+		assertFalse(cache.isCacheable(query()));
+	}
+
+	@Test
+	public void testZeroArgFunctionsAreNotCacheable() {
+		QueryPlanCache cache = new QueryPlanCache(10, 0);
+		assertTrue(cache.isCacheable(query()));
+
+		Extension extension = new Extension(query(),
+				new ExtensionElem(new FunctionCall("http://www.w3.org/2005/xpath-functions#now"), "now"));
+		assertFalse(cache.isCacheable(extension));
+	}
+
+	@Test
+	public void testQueryIsNotModified() {
+		QueryPlanCache cache = new QueryPlanCache(10, 0);
+		TupleExpr query = query();
+		MapBindingSet bindings = new MapBindingSet();
+		bindings.addBinding("s", RDFS.RESOURCE);
+		cache.getPlan(query, null, bindings, true, statistics, optimizer);
+
+		assertNull(query.getParentNode());
+		assertNull(((StatementPattern) query).getSubjectVar().getValue());
+	}
+
+	private TupleExpr query() {
+		return new StatementPattern(new Var("s"), new Var("p", RDF.TYPE), new Var("o"));
+	}
+}
@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.lmdb;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Coordinates the syncs of concurrent commits if group commit is enabled and collects statistics about the commits of a
+ * store.
+ * <p>
+ * Transactions are committed without syncing and each committing connection then waits until a sync has made its commit
+ * durable. The first waiting connection becomes the leader and runs a sync for all commits that have completed so far,
+ * connections that arrive while a sync is running wait for the next sync. Under load, this lets a single sync cover the
+ * commits of many writers.
+ */
+class GroupCommit {
+
+	/**
+	 * The number of recent samples that are used to compute percentiles.
+	 */
+	static final int SAMPLE_SIZE = 1024;
+
+	interface SyncAction {
+		void sync() throws IOException;
+	}
+
+	private final SyncAction syncAction;
+
+	private final long delayNanos;
+
+	/** The sequence number of the last committed transaction. */
+	private long committed;
+
+	/** The sequence number of the last transaction that has been synced. */
+	private long synced;
+
+	private boolean syncing;
+
+	private long syncCount;
+
+	private long syncedCommitCount;
+
+	private long maxBatchSize;
+
+	private final long[] batchSizes = new long[SAMPLE_SIZE];
+
+	private long batchSizeSamples;
+
+	private final long[] commitLatencies = new long[SAMPLE_SIZE];
+
+	private long commitLatencySamples;
+
+	/**
+	 * @param syncAction the action that makes all committed transactions durable, or <var>null</var> if group commit is
+	 *                   disabled
+	 * @param delay      the time in milliseconds that the leader waits for further commits before syncing
+	 */
+	GroupCommit(SyncAction syncAction, int delay) {
+		this.syncAction = syncAction;
+		this.delayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, delay));
+	}
+
+	boolean isEnabled() {
+		return syncAction != null;
+	}
+
+	/**
+	 * Registers a committed transaction that is not yet durable.
+	 */
+	synchronized void committed() {
+		committed++;
+	}
+
+	/**
+	 * Waits until all transactions that have been committed before this call are durable.
+	 *
+	 * @throws IOException          if the sync failed
+	 * @throws InterruptedException if the thread was interrupted while waiting for another sync
+	 */
+	void awaitDurable() throws IOException, InterruptedException {
+		if (syncAction == null) {
+			return;
+		}
+		long target = 0;
+		synchronized (this) {
+			long sequence = committed;
+			while (synced < sequence) {
+				if (!syncing) {
+					break;
+				}
+				wait();
+			}
+			if (synced >= sequence) {
+				return;
+			}
+			syncing = true;
+		}
+
+		boolean success = false;
+		try {
+			if (delayNanos > 0) {
+				LockSupport.parkNanos(delayNanos);
+			}
+			synchronized (this) {
+				target = committed;
+			}
+			syncAction.sync();
+			success = true;
+		} finally {
+			synchronized (this) {
+				syncing = false;
+				if (success) {
+					long batchSize = target - synced;
+					synced = target;
+					syncCount++;
+					syncedCommitCount += batchSize;
+					maxBatchSize = Math.max(maxBatchSize, batchSize);
+					batchSizes[(int) (batchSizeSamples++ % SAMPLE_SIZE)] = batchSize;
+				}
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Records the time that a connection needed to commit a transaction, including the wait for the sync.
+	 */
+	synchronized void recordCommitLatency(long nanos) {
+		commitLatencies[(int) (commitLatencySamples++ % SAMPLE_SIZE)] = nanos;
+	}
+
+	synchronized long getSyncCount() {
+		return syncCount;
+	}
+
+	synchronized long getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	synchronized double getAverageBatchSize() {
+		return syncCount == 0 ? 0 : (double) syncedCommitCount / syncCount;
+	}
+
+	synchronized long getBatchSizePercentile(double percentile) {
+		return percentile(batchSizes, batchSizeSamples, percentile);
+	}
+
+	synchronized long getCommitLatencyPercentile(double percentile) {
+		return percentile(commitLatencies, commitLatencySamples, percentile);
+	}
+
+	private static long percentile(long[] samples, long count, double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+		}
+		int size = (int) Math.min(count, samples.length);
+		if (size == 0) {
+			return 0;
+		}
+		long[] sorted = Arrays.copyOf(samples, size);
+		Arrays.sort(sorted);
+		int index = (int) Math.ceil(percentile / 100 * size) - 1;
+		return sorted[Math.max(0, index)];
+	}
+}
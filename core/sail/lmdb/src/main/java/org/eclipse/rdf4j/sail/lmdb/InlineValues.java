@@ -0,0 +1,412 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.lmdb;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.base.CoreDatatype;
+import org.eclipse.rdf4j.sail.lmdb.model.LmdbValue;
+
+/**
+ * Encodes small literals directly in their value IDs, so that they can be stored and read without accessing the value
+ * database.
+ *
+ * <p>
+ * An inline ID has the following layout (from the most to the least significant bit):
+ * </p>
+ *
+ * <pre>
+ * 0 | 1 | tag (4 bits) | payload (56 bits) | type (2 bits)
+ * </pre>
+ *
+ * <p>
+ * The highest bit is never set, so that inline IDs are valid unsigned {@link Varint varints}. The second highest bit
+ * marks an ID as inline, which cannot collide with IDs that are assigned by the value store. The tag identifies the
+ * datatype and the lowest two bits contain the type of literal values just like regular IDs do.
+ * </p>
+ *
+ * <p>
+ * Payloads are encoded in an order-preserving way: for two inline IDs with the same tag, the numeric order of the IDs
+ * is the order of the literals' values. Integers are stored with an offset of 2<sup>55</sup>, date-time values as
+ * milliseconds since the epoch with the same offset and strings as their left-aligned UTF-8 bytes.
+ * </p>
+ *
+ * <p>
+ * A literal is only inlined if its label is the exact representation that is created when decoding the ID, e.g.
+ * <code>"01"^^xsd:integer</code> and <code>"1"^^xsd:integer</code> are different literals and only the latter is
+ * inlined.
+ * </p>
+ */
+final class InlineValues {
+
+	static final long INLINE_FLAG = 1L << 62;
+
+	private static final int TAG_SHIFT = 58;
+
+	private static final int PAYLOAD_SHIFT = 2;
+
+	private static final long PAYLOAD_MASK = (1L << 56) - 1;
+
+	private static final long OFFSET = 1L << 55;
+
+	private static final long LITERAL_VALUE = 0x1;
+
+	static final int BOOLEAN = 0x1;
+
+	static final int INTEGER = 0x2;
+
+	static final int LONG = 0x3;
+
+	static final int INT = 0x4;
+
+	static final int SHORT = 0x5;
+
+	static final int BYTE = 0x6;
+
+	static final int DATETIME = 0x7;
+
+	static final int DATETIME_UTC = 0x8;
+
+	static final int STRING = 0x9;
+
+	/**
+	 * The maximum difference between a date-time value with and without timezone, see
+	 * <a href="https://www.w3.org/TR/xmlschema-2/#dateTime-order">XML Schema order relation on dateTime</a>.
+	 */
+	private static final long MAX_TIMEZONE_MILLIS = 14 * 60 * 60 * 1000L;
+
+	/**
+	 * Maximum number of UTF-8 bytes of inlined strings.
+	 */
+	private static final int MAX_STRING_BYTES = 7;
+
+	private InlineValues() {
+	}
+
+	/**
+	 * Checks whether the given ID is an inline ID.
+	 *
+	 * @param id a value ID
+	 * @return <code>true</code> if the ID encodes a literal, else <code>false</code>
+	 */
+	static boolean isInline(long id) {
+		return id > 0 && (id & INLINE_FLAG) != 0;
+	}
+
+	/**
+	 * Returns the tag of an inline ID.
+	 *
+	 * @param id an inline ID
+	 * @return the tag that identifies the datatype of the encoded literal
+	 */
+	static int tag(long id) {
+		return (int) ((id >>> TAG_SHIFT) & 0xF);
+	}
+
+	/**
+	 * Creates an inline ID from a tag and a payload.
+	 */
+	static long toId(int tag, long payload) {
+		return INLINE_FLAG | ((long) tag << TAG_SHIFT) | ((payload & PAYLOAD_MASK) << PAYLOAD_SHIFT) | LITERAL_VALUE;
+	}
+
+	private static long payload(long id) {
+		return (id >>> PAYLOAD_SHIFT) & PAYLOAD_MASK;
+	}
+
+	/**
+	 * Encodes the given literal as inline ID.
+	 *
+	 * @param literal a literal
+	 * @return the inline ID of the literal, or {@link LmdbValue#UNKNOWN_ID} if the literal cannot be inlined
+	 */
+	static long encode(Literal literal) {
+		if (literal.getLanguage().isPresent()) {
+			return LmdbValue.UNKNOWN_ID;
+		}
+		CoreDatatype datatype = literal.getCoreDatatype();
+		if (!datatype.isXSDDatatype()) {
+			return LmdbValue.UNKNOWN_ID;
+		}
+		String label = literal.getLabel();
+		switch ((CoreDatatype.XSD) datatype) {
+		case BOOLEAN:
+			if ("true".equals(label)) {
+				return toId(BOOLEAN, 1);
+			} else if ("false".equals(label)) {
+				return toId(BOOLEAN, 0);
+			}
+			return LmdbValue.UNKNOWN_ID;
+		case INTEGER:
+			return encodeInteger(INTEGER, label);
+		case LONG:
+			return encodeInteger(LONG, label);
+		case INT:
+			return encodeInteger(INT, label);
+		case SHORT:
+			return encodeInteger(SHORT, label);
+		case BYTE:
+			return encodeInteger(BYTE, label);
+		case DATETIME:
+			return encodeDateTime(label);
+		case STRING:
+			return encodeString(label);
+		default:
+			return LmdbValue.UNKNOWN_ID;
+		}
+	}
+
+	private static long encodeInteger(int tag, String label) {
+		// at most 17 digits and a sign fit into the payload
+		if (label.isEmpty() || label.length() > 18) {
+			return LmdbValue.UNKNOWN_ID;
+		}
+		long value;
+		try {
+			value = Long.parseLong(label);
+		} catch (NumberFormatException e) {
+			return LmdbValue.UNKNOWN_ID;
+		}
+		if (value < -OFFSET || value >= OFFSET || !Long.toString(value).equals(label)) {
+			return LmdbValue.UNKNOWN_ID;
+		}
+		return toId(tag, value + OFFSET);
+	}
+
+	private static long encodeDateTime(String label) {
+		boolean utc = label.endsWith("Z");
+		LocalDateTime dateTime;
+		try {
+			dateTime = LocalDateTime.parse(utc ? label.substring(0, label.length() - 1) : label);
+		} catch (DateTimeParseException e) {
+			return LmdbValue.UNKNOWN_ID;
+		}
+		if (dateTime.getYear() < 1 || dateTime.getYear() > 9999
+				|| !formatDateTime(dateTime, utc).equals(label)) {
+			return LmdbValue.UNKNOWN_ID;
+		}
+		long millis = dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+		return toId(utc ? DATETIME_UTC : DATETIME, millis + OFFSET);
+	}
+
+	private static long encodeString(String label) {
+		if (label.length() > MAX_STRING_BYTES) {
+			return LmdbValue.UNKNOWN_ID;
+		}
+		byte[] bytes = label.getBytes(StandardCharsets.UTF_8);
+		if (bytes.length > MAX_STRING_BYTES) {
+			return LmdbValue.UNKNOWN_ID;
+		}
+		long payload = 0;
+		for (int i = 0; i < MAX_STRING_BYTES; i++) {
+			payload <<= 8;
+			if (i < bytes.length) {
+				if (bytes[i] == 0) {
+					// zero bytes are used as padding
+					return LmdbValue.UNKNOWN_ID;
+				}
+				payload |= bytes[i] & 0xFF;
+			}
+		}
+		return toId(STRING, payload);
+	}
+
+	/**
+	 * Computes the ranges of value IDs that contain all literals between the given bounds. The ranges consist of the
+	 * IDs of all values that are not inlined and the ranges of inline IDs with a datatype that is comparable with the
+	 * bounds.
+	 *
+	 * @param lowerBound the inclusive lower bound, or <code>null</code>
+	 * @param upperBound the inclusive upper bound, or <code>null</code>
+	 * @return pairs of inclusive minimum and maximum IDs, or <code>null</code> if the bounds are not numeric or
+	 *         date-time values of the same kind
+	 */
+	static long[] getRanges(Literal lowerBound, Literal upperBound) {
+		CoreDatatype.XSD lowerKind = getRangeKind(lowerBound);
+		CoreDatatype.XSD upperKind = getRangeKind(upperBound);
+		CoreDatatype.XSD kind = lowerKind != null ? lowerKind : upperKind;
+		if (kind == null || lowerBound != null && lowerKind != kind || upperBound != null && upperKind != kind) {
+			return null;
+		}
+		try {
+			if (kind == CoreDatatype.XSD.DECIMAL) {
+				long min = lowerBound == null ? -OFFSET
+						: clamp(lowerBound.decimalValue().setScale(0, RoundingMode.CEILING));
+				long max = upperBound == null ? OFFSET - 1
+						: clamp(upperBound.decimalValue().setScale(0, RoundingMode.FLOOR));
+				return getRanges(min, max, INTEGER, LONG, INT, SHORT, BYTE);
+			} else {
+				// values with and without timezone are only ordered if they are more than 14 hours apart
+				long min = lowerBound == null ? -OFFSET : toMillis(lowerBound) - MAX_TIMEZONE_MILLIS;
+				long max = upperBound == null ? OFFSET - 1 : toMillis(upperBound) + MAX_TIMEZONE_MILLIS + 1;
+				return getRanges(Math.max(min, -OFFSET), Math.min(max, OFFSET - 1), DATETIME, DATETIME_UTC);
+			}
+		} catch (IllegalArgumentException | DateTimeParseException | ArithmeticException e) {
+			// invalid bound
+			return null;
+		}
+	}
+
+	private static CoreDatatype.XSD getRangeKind(Literal bound) {
+		if (bound != null && bound.getCoreDatatype().isXSDDatatype()) {
+			CoreDatatype.XSD datatype = (CoreDatatype.XSD) bound.getCoreDatatype();
+			if (datatype.isNumericDatatype()) {
+				return CoreDatatype.XSD.DECIMAL;
+			} else if (datatype == CoreDatatype.XSD.DATETIME) {
+				return CoreDatatype.XSD.DATETIME;
+			}
+		}
+		return null;
+	}
+
+	private static long[] getRanges(long min, long max, int... tags) {
+		int count = min <= max ? tags.length : 0;
+		long[] ranges = new long[2 + 2 * count];
+		// all IDs that are not inlined
+		ranges[0] = 0;
+		ranges[1] = INLINE_FLAG - 1;
+		for (int i = 0; i < count; i++) {
+			ranges[2 + 2 * i] = toId(tags[i], min + OFFSET);
+			ranges[3 + 2 * i] = toId(tags[i], max + OFFSET);
+		}
+		return ranges;
+	}
+
+	private static long clamp(BigDecimal value) {
+		if (value.compareTo(BigDecimal.valueOf(-OFFSET)) < 0) {
+			return -OFFSET;
+		} else if (value.compareTo(BigDecimal.valueOf(OFFSET - 1)) > 0) {
+			return OFFSET - 1;
+		}
+		return value.longValueExact();
+	}
+
+	private static long toMillis(Literal dateTime) {
+		TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(dateTime.getLabel(), OffsetDateTime::from,
+				LocalDateTime::from);
+		if (parsed instanceof OffsetDateTime) {
+			return ((OffsetDateTime) parsed).toInstant().toEpochMilli();
+		}
+		return ((LocalDateTime) parsed).toInstant(ZoneOffset.UTC).toEpochMilli();
+	}
+
+	/**
+	 * Returns the datatype of the literal that is encoded by an inline ID.
+	 *
+	 * @param id an inline ID
+	 * @return the datatype of the literal
+	 * @throws IllegalArgumentException if the ID has an unknown tag
+	 */
+	static CoreDatatype.XSD getDatatype(long id) {
+		switch (tag(id)) {
+		case BOOLEAN:
+			return CoreDatatype.XSD.BOOLEAN;
+		case INTEGER:
+			return CoreDatatype.XSD.INTEGER;
+		case LONG:
+			return CoreDatatype.XSD.LONG;
+		case INT:
+			return CoreDatatype.XSD.INT;
+		case SHORT:
+			return CoreDatatype.XSD.SHORT;
+		case BYTE:
+			return CoreDatatype.XSD.BYTE;
+		case DATETIME:
+		case DATETIME_UTC:
+			return CoreDatatype.XSD.DATETIME;
+		case STRING:
+			return CoreDatatype.XSD.STRING;
+		default:
+			throw new IllegalArgumentException("Invalid inline value tag " + tag(id) + " for value with id " + id);
+		}
+	}
+
+	/**
+	 * Returns the label of the literal that is encoded by an inline ID.
+	 *
+	 * @param id an inline ID
+	 * @return the label of the literal
+	 * @throws IllegalArgumentException if the ID has an unknown tag
+	 */
+	static String getLabel(long id) {
+		long payload = payload(id);
+		switch (tag(id)) {
+		case BOOLEAN:
+			return payload == 0 ? "false" : "true";
+		case INTEGER:
+		case LONG:
+		case INT:
+		case SHORT:
+		case BYTE:
+			return Long.toString(payload - OFFSET);
+		case DATETIME:
+		case DATETIME_UTC:
+			LocalDateTime dateTime = LocalDateTime.ofEpochSecond(Math.floorDiv(payload - OFFSET, 1000),
+					(int) Math.floorMod(payload - OFFSET, 1000) * 1_000_000, ZoneOffset.UTC);
+			return formatDateTime(dateTime, tag(id) == DATETIME_UTC);
+		case STRING:
+			byte[] bytes = new byte[MAX_STRING_BYTES];
+			int length = 0;
+			for (int i = 0; i < MAX_STRING_BYTES; i++) {
+				byte b = (byte) (payload >>> (8 * (MAX_STRING_BYTES - 1 - i)));
+				if (b == 0) {
+					break;
+				}
+				bytes[length++] = b;
+			}
+			return new String(bytes, 0, length, StandardCharsets.UTF_8);
+		default:
+			throw new IllegalArgumentException("Invalid inline value tag " + tag(id) + " for value with id " + id);
+		}
+	}
+
+	/**
+	 * Formats a date-time value as <code>yyyy-MM-ddTHH:mm:ss[.SSS][Z]</code>.
+	 */
+	private static String formatDateTime(LocalDateTime dateTime, boolean utc) {
+		StringBuilder sb = new StringBuilder(24);
+		pad(sb, dateTime.getYear(), 4).append('-');
+		pad(sb, dateTime.getMonthValue(), 2).append('-');
+		pad(sb, dateTime.getDayOfMonth(), 2).append('T');
+		pad(sb, dateTime.getHour(), 2).append(':');
+		pad(sb, dateTime.getMinute(), 2).append(':');
+		pad(sb, dateTime.getSecond(), 2);
+		int nanos = dateTime.getNano();
+		if (nanos != 0) {
+			if (nanos % 1_000_000 != 0) {
+				// cannot be represented with milliseconds
+				return "";
+			}
+			pad(sb.append('.'), nanos / 1_000_000, 3);
+		}
+		if (utc) {
+			sb.append('Z');
+		}
+		return sb.toString();
+	}
+
+	private static StringBuilder pad(StringBuilder sb, int value, int digits) {
+		String s = Integer.toString(value);
+		for (int i = s.length(); i < digits; i++) {
+			sb.append('0');
+		}
+		return sb.append(s);
+	}
+}
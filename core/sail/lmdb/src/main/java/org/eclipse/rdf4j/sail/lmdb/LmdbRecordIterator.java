@@ -75,18 +75,27 @@ class LmdbRecordIterator implements RecordIterator {
 
 	LmdbRecordIterator(Pool pool, TripleIndex index, boolean rangeSearch, long subj, long pred, long obj,
 			long context, boolean explicit, Txn txnRef) throws IOException {
+		this(pool, index, rangeSearch, subj, pred, obj, obj, context, explicit, txnRef);
+	}
+
+	/**
+	 * Creates an iterator over the records with object IDs between <code>minObj</code> and <code>maxObj</code>
+	 * (inclusive). The object is only matched exactly if both bounds are equal.
+	 */
+	LmdbRecordIterator(Pool pool, TripleIndex index, boolean rangeSearch, long subj, long pred, long minObj,
+			long maxObj, long context, boolean explicit, Txn txnRef) throws IOException {
 		this.pool = pool;
 		this.keyData = pool.getVal();
 		this.valueData = pool.getVal();
 		this.index = index;
 		if (rangeSearch) {
 			minKeyBuf = pool.getKeyBuffer();
-			index.getMinKey(minKeyBuf, subj, pred, obj, context);
+			index.getMinKey(minKeyBuf, subj, pred, minObj, context);
 			minKeyBuf.flip();
 
 			this.maxKey = pool.getVal();
 			this.maxKeyBuf = pool.getKeyBuffer();
-			index.getMaxKey(maxKeyBuf, subj, pred, obj, context);
+			index.getMaxKey(maxKeyBuf, subj, pred, maxObj, context);
 			maxKeyBuf.flip();
 			this.maxKey.mv_data(maxKeyBuf);
 		} else {
@@ -94,6 +103,7 @@ class LmdbRecordIterator implements RecordIterator {
 			this.maxKey = null;
 		}
 
+		long obj = minObj == maxObj ? minObj : -1;
 		boolean matchValues = subj > 0 || pred > 0 || obj > 0 || context >= 0;
 		if (matchValues) {
 			this.groupMatcher = index.createMatcher(subj, pred, obj, context);
@@ -13,10 +13,12 @@ package org.eclipse.rdf4j.sail.lmdb;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -30,6 +32,7 @@ import org.eclipse.rdf4j.common.iteration.FilterIteration;
 import org.eclipse.rdf4j.common.iteration.UnionIteration;
 import org.eclipse.rdf4j.common.transaction.IsolationLevel;
 import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Namespace;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
@@ -38,6 +41,7 @@ import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.query.algebra.evaluation.impl.EvaluationStatistics;
 import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.base.BackingSailSource;
+import org.eclipse.rdf4j.sail.base.QueryPlanCache;
 import org.eclipse.rdf4j.sail.base.SailDataset;
 import org.eclipse.rdf4j.sail.base.SailSink;
 import org.eclipse.rdf4j.sail.base.SailSource;
@@ -153,6 +157,11 @@ class LmdbSailStore implements SailStore {
 
 	private final ContextStore contextStore;
 
+	/**
+	 * Cache of optimized query plans, <code>null</code> if plans are not cached.
+	 */
+	private final QueryPlanCache queryPlanCache;
+
 	/**
 	 * A lock to control concurrent access by {@link LmdbSailSink} to the TripleStore, ValueStore, and NamespaceStore.
 	 * Each sink method that directly accesses one of these store obtains the lock and releases it immediately when
@@ -165,6 +174,17 @@ class LmdbSailStore implements SailStore {
 	 */
 	private final AtomicBoolean storeTxnStarted = new AtomicBoolean(false);
 
+	/**
+	 * The number of collected value IDs of removed statements that triggers the removal of unreferenced values, or 0 if
+	 * values are never removed.
+	 */
+	private final int valueGCThreshold;
+
+	/**
+	 * Coordinates the syncs of concurrent commits and collects commit statistics.
+	 */
+	private final GroupCommit groupCommit;
+
 	/**
 	 * Creates a new {@link LmdbSailStore}.
 	 */
@@ -174,13 +194,27 @@ class LmdbSailStore implements SailStore {
 			namespaceStore = new NamespaceStore(dataDir);
 			valueStore = new ValueStore(new File(dataDir, "values"), config);
 			tripleStore = new TripleStore(new File(dataDir, "triples"), config);
+			valueGCThreshold = config.getValueGCThreshold();
+			tripleStore.setCollectRemovedValueIds(valueGCThreshold > 0);
 			contextStore = new ContextStore(this, dataDir);
+			groupCommit = new GroupCommit(config.getForceSync() && config.getGroupCommit() ? () -> {
+				// sync the values first, the triples refer to them
+				valueStore.sync();
+				tripleStore.sync();
+			} : null, config.getGroupCommitDelay());
 			initialized = true;
 		} finally {
 			if (!initialized) {
 				close();
 			}
 		}
+		if (config.getQueryPlanCacheSize() > 0) {
+			queryPlanCache = new QueryPlanCache(config.getQueryPlanCacheSize(),
+					QueryPlanCache.DEFAULT_REVALIDATION_INTERVAL);
+			queryPlanCache.registerMBean("org.eclipse.rdf4j.sail.lmdb");
+		} else {
+			queryPlanCache = null;
+		}
 	}
 
 	@Override
@@ -217,6 +251,9 @@ class LmdbSailStore implements SailStore {
 
 	@Override
 	public void close() throws SailException {
+		if (queryPlanCache != null) {
+			queryPlanCache.close();
+		}
 		try {
 			try {
 				if (namespaceStore != null) {
@@ -251,6 +288,46 @@ class LmdbSailStore implements SailStore {
 		}
 	}
 
+	/**
+	 * Removes the values of removed statements that are no longer referenced by any statement, once enough of these
+	 * have been collected. This is skipped while read transactions are open on the triple store, as these may still see
+	 * statements that refer to the values.
+	 */
+	private void removeUnreferencedValues() throws IOException {
+		Set<Long> removedValueIds = tripleStore.removedValueIds();
+		if (removedValueIds == null || removedValueIds.size() < valueGCThreshold
+				|| tripleStore.getTxnManager().hasActiveTxns()) {
+			return;
+		}
+
+		Set<Long> ids = new HashSet<>(removedValueIds);
+		removedValueIds.clear();
+		try (Txn txn = tripleStore.getTxnManager().createReadTxn()) {
+			tripleStore.retainUnreferenced(txn, ids);
+		}
+		long removed = valueStore.removeValues(ids);
+		logger.debug("Removed {} unreferenced values", removed);
+	}
+
+	/**
+	 * @return the number of values that have been removed because they were no longer referenced by any statement
+	 */
+	long getRemovedValueCount() {
+		return valueStore.getRemovedValueCount();
+	}
+
+	/**
+	 * @return the total size in bytes of the values that have been removed because they were no longer referenced by
+	 *         any statement
+	 */
+	long getRemovedValueBytes() {
+		return valueStore.getRemovedValueBytes();
+	}
+
+	GroupCommit getGroupCommit() {
+		return groupCommit;
+	}
+
 	SailException wrapTripleStoreException() {
 		return tripleStoreException instanceof SailException ? (SailException) tripleStoreException
 				: new SailException(tripleStoreException);
@@ -261,6 +338,11 @@ class LmdbSailStore implements SailStore {
 		return new LmdbEvaluationStatistics(valueStore, tripleStore);
 	}
 
+	@Override
+	public QueryPlanCache getQueryPlanCache() {
+		return queryPlanCache;
+	}
+
 	@Override
 	public SailSource getExplicitSailSource() {
 		return new LmdbSailSource(true);
@@ -342,6 +424,94 @@ class LmdbSailStore implements SailStore {
 			}
 		}
 
+		List<Long> contextIDList = getContextIDs(contexts);
+
+		ArrayList<LmdbStatementIterator> perContextIterList = new ArrayList<>(contextIDList.size());
+
+		for (long contextID : contextIDList) {
+			RecordIterator records = tripleStore.getTriples(txn, subjID, predID, objID, contextID, explicit);
+			perContextIterList.add(new LmdbStatementIterator(records, valueStore));
+		}
+
+		if (perContextIterList.size() == 1) {
+			return perContextIterList.get(0);
+		} else {
+			return new UnionIteration<>(perContextIterList);
+		}
+	}
+
+	/**
+	 * Creates a statement iterator for a pattern whose object is a literal between the given bounds. The iterator only
+	 * scans the ranges of value IDs that may contain such literals: all IDs of values that are not inlined and the
+	 * matching ranges of inline IDs. The iterator may return statements outside of the bounds.
+	 *
+	 * @param subj       The subject of the pattern, or <tt>null</tt> to indicate a wildcard.
+	 * @param pred       The predicate of the pattern, or <tt>null</tt> to indicate a wildcard.
+	 * @param lowerBound The inclusive lower bound of the object, or <tt>null</tt>.
+	 * @param upperBound The inclusive upper bound of the object, or <tt>null</tt>.
+	 * @param contexts   The context(s) of the pattern.
+	 * @return A StatementIterator that returns a superset of the statements within the bounds.
+	 */
+	CloseableIteration<? extends Statement, SailException> createRangeStatementIterator(Txn txn, Resource subj,
+			IRI pred, Literal lowerBound, Literal upperBound, boolean explicit, Resource... contexts)
+			throws IOException {
+		long[] objRanges = valueStore.isInlineValues() ? InlineValues.getRanges(lowerBound, upperBound) : null;
+		if (objRanges == null) {
+			return createStatementIterator(txn, subj, pred, null, explicit, contexts);
+		}
+
+		long subjID = LmdbValue.UNKNOWN_ID;
+		if (subj != null) {
+			subjID = valueStore.getId(subj);
+			if (subjID == LmdbValue.UNKNOWN_ID) {
+				return new EmptyIteration<>();
+			}
+		}
+
+		long predID = LmdbValue.UNKNOWN_ID;
+		if (pred != null) {
+			predID = valueStore.getId(pred);
+			if (predID == LmdbValue.UNKNOWN_ID) {
+				return new EmptyIteration<>();
+			}
+		}
+
+		List<Long> contextIDList = getContextIDs(contexts);
+
+		List<LmdbStatementIterator> iterList = new ArrayList<>(contextIDList.size() * objRanges.length / 2);
+		try {
+			for (long contextID : contextIDList) {
+				for (int i = 0; i < objRanges.length; i += 2) {
+					RecordIterator records = tripleStore.getTriplesInObjectRange(txn, subjID, predID, objRanges[i],
+							objRanges[i + 1], contextID, explicit);
+					if (records == null) {
+						// no index that allows to scan the range
+						for (LmdbStatementIterator iter : iterList) {
+							iter.close();
+						}
+						return createStatementIterator(txn, subj, pred, null, explicit, contexts);
+					}
+					iterList.add(new LmdbStatementIterator(records, valueStore));
+				}
+			}
+		} catch (Throwable t) {
+			for (LmdbStatementIterator iter : iterList) {
+				iter.close();
+			}
+			throw t;
+		}
+
+		if (iterList.size() == 1) {
+			return iterList.get(0);
+		} else {
+			return new UnionIteration<>(iterList);
+		}
+	}
+
+	/**
+	 * Returns the IDs of the given contexts of a pattern, or {@link LmdbValue#UNKNOWN_ID} for all contexts.
+	 */
+	private List<Long> getContextIDs(Resource... contexts) throws IOException {
 		List<Long> contextIDList = new ArrayList<>(contexts.length);
 		if (contexts.length == 0) {
 			contextIDList.add(LmdbValue.UNKNOWN_ID);
@@ -358,19 +528,7 @@ class LmdbSailStore implements SailStore {
 				}
 			}
 		}
-
-		ArrayList<LmdbStatementIterator> perContextIterList = new ArrayList<>(contextIDList.size());
-
-		for (long contextID : contextIDList) {
-			RecordIterator records = tripleStore.getTriples(txn, subjID, predID, objID, contextID, explicit);
-			perContextIterList.add(new LmdbStatementIterator(records, valueStore));
-		}
-
-		if (perContextIterList.size() == 1) {
-			return perContextIterList.get(0);
-		} else {
-			return new UnionIteration<>(perContextIterList);
-		}
+		return contextIDList;
 	}
 
 	private final class LmdbSailSource extends BackingSailSource {
@@ -453,6 +611,8 @@ class LmdbSailStore implements SailStore {
 							}
 							// do not set flag to false until _after_ commit is successfully completed.
 							storeTxnStarted.set(false);
+							groupCommit.committed();
+							removeUnreferencedValues();
 						}
 					}
 				}
@@ -809,6 +969,35 @@ class LmdbSailStore implements SailStore {
 				throw new SailException("Unable to get statements", e);
 			}
 		}
+
+		@Override
+		public CloseableIteration<? extends Statement, SailException> getStatementsInRange(Resource subj, IRI pred,
+				Literal lowerBound, Literal upperBound, Resource... contexts) throws SailException {
+			try {
+				return createRangeStatementIterator(txn, subj, pred, lowerBound, upperBound, explicit, contexts);
+			} catch (IOException e) {
+				throw new SailException("Unable to get statements", e);
+			}
+		}
+
+		@Override
+		public boolean supportsObjectRanges() {
+			return valueStore.isInlineValues();
+		}
+
+		@Override
+		public long getInternalId(Value value) throws SailException {
+			try {
+				return valueStore.getId(value);
+			} catch (IOException e) {
+				throw new SailException("Unable to get value id", e);
+			}
+		}
+
+		@Override
+		public boolean supportsInternalIds() {
+			return true;
+		}
 	}
 
 }
@@ -380,6 +380,115 @@ public class LmdbStore extends AbstractNotifyingSail implements FederatedService
 		return disabledIsolationLockManager.isActiveLock();
 	}
 
+	/**
+	 * Returns the number of values that have been removed since initialization because they were no longer referenced
+	 * by any statement.
+	 *
+	 * @return the number of removed values
+	 * @see LmdbStoreConfig#setValueGCThreshold(int)
+	 */
+	public long getRemovedValueCount() {
+		LmdbSailStore backingStore = this.backingStore;
+		return backingStore == null ? 0 : backingStore.getRemovedValueCount();
+	}
+
+	/**
+	 * Returns the total size in bytes of the values that have been removed since initialization because they were no
+	 * longer referenced by any statement.
+	 *
+	 * @return the size of the removed values in bytes
+	 * @see LmdbStoreConfig#setValueGCThreshold(int)
+	 */
+	public long getRemovedValueBytes() {
+		LmdbSailStore backingStore = this.backingStore;
+		return backingStore == null ? 0 : backingStore.getRemovedValueBytes();
+	}
+
+	/**
+	 * Waits until the transactions that have been committed so far are durable if group commit is enabled.
+	 *
+	 * @see LmdbStoreConfig#setGroupCommit(boolean)
+	 */
+	void awaitDurable() throws SailException {
+		LmdbSailStore backingStore = this.backingStore;
+		if (backingStore == null) {
+			return;
+		}
+		try {
+			backingStore.getGroupCommit().awaitDurable();
+		} catch (IOException e) {
+			throw new SailException(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SailException(e);
+		}
+	}
+
+	void recordCommitLatency(long nanos) {
+		LmdbSailStore backingStore = this.backingStore;
+		if (backingStore != null) {
+			backingStore.getGroupCommit().recordCommitLatency(nanos);
+		}
+	}
+
+	/**
+	 * Returns the number of syncs that have been run by group commit since initialization.
+	 *
+	 * @return the number of syncs
+	 * @see LmdbStoreConfig#setGroupCommit(boolean)
+	 */
+	public long getCommitSyncCount() {
+		LmdbSailStore backingStore = this.backingStore;
+		return backingStore == null ? 0 : backingStore.getGroupCommit().getSyncCount();
+	}
+
+	/**
+	 * Returns the average number of commits that have been made durable by a single sync of group commit.
+	 *
+	 * @return the average batch size, or 0 if no sync has been run
+	 * @see LmdbStoreConfig#setGroupCommit(boolean)
+	 */
+	public double getAverageCommitBatchSize() {
+		LmdbSailStore backingStore = this.backingStore;
+		return backingStore == null ? 0 : backingStore.getGroupCommit().getAverageBatchSize();
+	}
+
+	/**
+	 * Returns the largest number of commits that have been made durable by a single sync of group commit.
+	 *
+	 * @return the maximum batch size
+	 * @see LmdbStoreConfig#setGroupCommit(boolean)
+	 */
+	public long getMaxCommitBatchSize() {
+		LmdbSailStore backingStore = this.backingStore;
+		return backingStore == null ? 0 : backingStore.getGroupCommit().getMaxBatchSize();
+	}
+
+	/**
+	 * Returns a percentile of the number of commits that have been made durable by a single sync of group commit. The
+	 * percentile is computed over the most recent syncs.
+	 *
+	 * @param percentile the percentile between 0 and 100, e.g. 50 for the median
+	 * @return the batch size at the given percentile, or 0 if no sync has been run
+	 * @see LmdbStoreConfig#setGroupCommit(boolean)
+	 */
+	public long getCommitBatchSizePercentile(double percentile) {
+		LmdbSailStore backingStore = this.backingStore;
+		return backingStore == null ? 0 : backingStore.getGroupCommit().getBatchSizePercentile(percentile);
+	}
+
+	/**
+	 * Returns a percentile of the time that connections needed to commit their transactions, including the wait for the
+	 * sync if group commit is enabled. The percentile is computed over the most recent commits.
+	 *
+	 * @param percentile the percentile between 0 and 100, e.g. 99 for the 99th percentile
+	 * @return the commit latency in nanoseconds at the given percentile, or 0 if nothing has been committed
+	 */
+	public long getCommitLatencyPercentile(double percentile) {
+		LmdbSailStore backingStore = this.backingStore;
+		return backingStore == null ? 0 : backingStore.getGroupCommit().getCommitLatencyPercentile(percentile);
+	}
+
 	SailStore getSailStore() {
 		return store;
 	}
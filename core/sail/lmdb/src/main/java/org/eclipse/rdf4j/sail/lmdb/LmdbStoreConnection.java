@@ -83,6 +83,7 @@ public class LmdbStoreConnection extends SailSourceConnection {
 
 	@Override
 	protected void commitInternal() throws SailException {
+		long start = System.nanoTime();
 		try {
 			super.commitInternal();
 		} finally {
@@ -91,6 +92,10 @@ public class LmdbStoreConnection extends SailSourceConnection {
 			}
 		}
 
+		// wait for the sync after releasing the lock, so that other writers can commit and share the sync
+		lmdbStore.awaitDurable();
+		lmdbStore.recordCommitLatency(System.nanoTime() - start);
+
 		lmdbStore.notifySailChanged(sailChangedEvent);
 
 		// create a fresh event object.
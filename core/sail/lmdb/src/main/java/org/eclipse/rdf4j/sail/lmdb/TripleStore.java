@@ -39,6 +39,7 @@ import static org.lwjgl.util.lmdb.LMDB.mdb_env_info;
 import static org.lwjgl.util.lmdb.LMDB.mdb_env_open;
 import static org.lwjgl.util.lmdb.LMDB.mdb_env_set_mapsize;
 import static org.lwjgl.util.lmdb.LMDB.mdb_env_set_maxdbs;
+import static org.lwjgl.util.lmdb.LMDB.mdb_env_sync;
 import static org.lwjgl.util.lmdb.LMDB.mdb_get;
 import static org.lwjgl.util.lmdb.LMDB.mdb_put;
 import static org.lwjgl.util.lmdb.LMDB.mdb_stat;
@@ -60,11 +61,13 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.StampedLock;
 
 import org.eclipse.rdf4j.sail.SailException;
@@ -149,6 +152,8 @@ class TripleStore implements Closeable {
 	private long env;
 	private int pageSize;
 	private final boolean forceSync;
+	/** Whether the environment is synced explicitly by {@link #sync()} instead of on every commit. */
+	private final boolean groupCommit;
 	private final boolean autoGrow;
 	private long mapSize;
 	private long writeTxn;
@@ -157,6 +162,17 @@ class TripleStore implements Closeable {
 
 	private TxnRecordCache recordCache = null;
 
+	/**
+	 * The maximum number of value IDs that are collected from removed triples.
+	 */
+	private static final int MAX_REMOVED_VALUE_IDS = 1_000_000;
+
+	/**
+	 * The IDs of the values of removed triples, used as candidates for value garbage collection, or <code>null</code>
+	 * if these are not collected.
+	 */
+	private volatile Set<Long> removedValueIds;
+
 	static final Comparator<ByteBuffer> COMPARATOR = new Comparator<ByteBuffer>() {
 		@Override
 		public int compare(ByteBuffer b1, ByteBuffer b2) {
@@ -181,6 +197,7 @@ class TripleStore implements Closeable {
 	TripleStore(File dir, LmdbStoreConfig config) throws IOException, SailException {
 		this.dir = dir;
 		this.forceSync = config.getForceSync();
+		this.groupCommit = config.getGroupCommit();
 		this.autoGrow = config.getAutoGrow();
 
 		// create directory if it not exists
@@ -197,7 +214,8 @@ class TripleStore implements Closeable {
 
 		// Open environment
 		int flags = MDB_NOTLS;
-		if (!forceSync) {
+		if (!forceSync || groupCommit) {
+			// with group commit the environment is synced explicitly by sync()
 			flags |= MDB_NOSYNC | MDB_NOMETASYNC;
 		}
 		E(mdb_env_open(env, this.dir.getAbsolutePath(), flags, 0664));
@@ -478,6 +496,31 @@ class TripleStore implements Closeable {
 		return getTriplesUsingIndex(txn, subj, pred, obj, context, explicit, index, doRangeSearch);
 	}
 
+	/**
+	 * Returns the triples that match the given subject, predicate and context and whose object IDs are within the given
+	 * range. This requires an index in which the object directly follows the bound fields of the pattern.
+	 *
+	 * @param minObj the inclusive lower bound of the object IDs
+	 * @param maxObj the inclusive upper bound of the object IDs
+	 * @return an iterator over the matching triples, or <code>null</code> if there is no suitable index
+	 */
+	public RecordIterator getTriplesInObjectRange(Txn txn, long subj, long pred, long minObj, long maxObj,
+			long context, boolean explicit) throws IOException {
+		TripleIndex bestIndex = null;
+		int bestScore = -1;
+		for (TripleIndex index : indexes) {
+			int score = index.getObjectRangeScore(subj, pred, context);
+			if (score > bestScore) {
+				bestScore = score;
+				bestIndex = index;
+			}
+		}
+		if (bestIndex == null) {
+			return null;
+		}
+		return new LmdbRecordIterator(pool, bestIndex, true, subj, pred, minObj, maxObj, context, explicit, txn);
+	}
+
 	private RecordIterator getTriplesUsingIndex(Txn txn, long subj, long pred, long obj, long context,
 			boolean explicit, TripleIndex index, boolean rangeSearch) throws IOException {
 		return new LmdbRecordIterator(pool, index, rangeSearch, subj, pred, obj, context, explicit, txn);
@@ -776,6 +819,7 @@ class TripleStore implements Closeable {
 
 			long[] quad;
 			while ((quad = iter.next()) != null) {
+				collectRemovedValueIds(quad);
 				if (recordCache == null) {
 					if (requiresResize()) {
 						// map is full, resize required
@@ -804,6 +848,93 @@ class TripleStore implements Closeable {
 		return perContextCounts;
 	}
 
+	private void collectRemovedValueIds(long[] quad) {
+		Set<Long> ids = removedValueIds;
+		if (ids != null && ids.size() < MAX_REMOVED_VALUE_IDS) {
+			ids.add(quad[SUBJ_IDX]);
+			ids.add(quad[PRED_IDX]);
+			ids.add(quad[OBJ_IDX]);
+			if (quad[CONTEXT_IDX] != 0) {
+				ids.add(quad[CONTEXT_IDX]);
+			}
+		}
+	}
+
+	/**
+	 * Enables or disables the collection of the value IDs of removed triples.
+	 *
+	 * @param collect <code>true</code> if the IDs should be collected
+	 * @see #removedValueIds()
+	 */
+	void setCollectRemovedValueIds(boolean collect) {
+		removedValueIds = collect ? ConcurrentHashMap.newKeySet() : null;
+	}
+
+	/**
+	 * Returns the value IDs of all triples that were removed since the collection was enabled or since these IDs were
+	 * last cleared. At most {@value #MAX_REMOVED_VALUE_IDS} IDs are collected. The returned set is live and can be
+	 * modified to remove IDs that were processed.
+	 *
+	 * @return the IDs, or <code>null</code> if these are not collected
+	 */
+	Set<Long> removedValueIds() {
+		return removedValueIds;
+	}
+
+	/**
+	 * Removes all IDs from the given set that are referenced by at least one explicit or inferred triple.
+	 * <p>
+	 * IDs are looked up by range search in indexes that start with the respective component. If there is no such index
+	 * for some component then all triples are scanned once.
+	 *
+	 * @param txn the transaction to use
+	 * @param ids the IDs to check, referenced IDs are removed from this set
+	 * @throws IOException if an I/O error occurred
+	 */
+	void retainUnreferenced(Txn txn, Set<Long> ids) throws IOException {
+		boolean[] indexed = new boolean[4];
+		for (TripleIndex index : indexes) {
+			indexed["spoc".indexOf(index.getFieldSeq()[0])] = true;
+		}
+
+		for (boolean explicit : new boolean[] { true, false }) {
+			Iterator<Long> it = ids.iterator();
+			while (it.hasNext()) {
+				long id = it.next();
+				for (int i = 0; i < 4; i++) {
+					if (indexed[i] && isReferenced(txn, i, id, explicit)) {
+						it.remove();
+						break;
+					}
+				}
+			}
+		}
+
+		if (!ids.isEmpty() && !(indexed[SUBJ_IDX] && indexed[PRED_IDX] && indexed[OBJ_IDX] && indexed[CONTEXT_IDX])) {
+			for (boolean explicit : new boolean[] { true, false }) {
+				try (RecordIterator records = getTriples(txn, -1, -1, -1, -1, explicit)) {
+					long[] quad;
+					while (!ids.isEmpty() && (quad = records.next()) != null) {
+						for (int i = 0; i < 4; i++) {
+							if (!indexed[i]) {
+								ids.remove(quad[i]);
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private boolean isReferenced(Txn txn, int component, long id, boolean explicit) throws IOException {
+		long[] pattern = { -1, -1, -1, -1 };
+		pattern[component] = id;
+		try (RecordIterator records = getTriples(txn, pattern[SUBJ_IDX], pattern[PRED_IDX], pattern[OBJ_IDX],
+				pattern[CONTEXT_IDX], explicit)) {
+			return records.next() != null;
+		}
+	}
+
 	protected void updateFromCache() throws IOException {
 		recordCache.commit();
 		for (boolean explicit : new boolean[] { true, false }) {
@@ -906,6 +1037,15 @@ class TripleStore implements Closeable {
 		endTransaction(false);
 	}
 
+	/**
+	 * Flushes the data of all committed transactions to disk.
+	 *
+	 * @throws IOException If an I/O error occurred.
+	 */
+	public void sync() throws IOException {
+		E(mdb_env_sync(env, true));
+	}
+
 	private Properties loadProperties(File propFile) throws IOException {
 		try (InputStream in = new FileInputStream(propFile)) {
 			Properties properties = new Properties();
@@ -1016,6 +1156,41 @@ class TripleStore implements Closeable {
 			return score;
 		}
 
+		/**
+		 * Determines the 'score' of this index for a pattern with a range of object IDs. This is the number of bound
+		 * fields before the object, or -1 if any of the fields before the object is unbound and the range cannot be
+		 * scanned as a single key range.
+		 */
+		int getObjectRangeScore(long subj, long pred, long context) {
+			int score = 0;
+			for (char field : fieldSeq) {
+				switch (field) {
+				case 's':
+					if (subj < 0) {
+						return -1;
+					}
+					break;
+				case 'p':
+					if (pred < 0) {
+						return -1;
+					}
+					break;
+				case 'o':
+					return score;
+				case 'c':
+					if (context < 0) {
+						return -1;
+					}
+					break;
+				default:
+					throw new RuntimeException("invalid character '" + field + "' in field sequence: "
+							+ new String(fieldSeq));
+				}
+				score++;
+			}
+			return score;
+		}
+
 		void getMinKey(ByteBuffer bb, long subj, long pred, long obj, long context) {
 			subj = subj <= 0 ? 0 : subj;
 			pred = pred <= 0 ? 0 : pred;
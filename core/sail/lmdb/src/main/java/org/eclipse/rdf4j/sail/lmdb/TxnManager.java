@@ -87,6 +87,17 @@ class TxnManager {
 		return txnRef;
 	}
 
+	/**
+	 * Checks if any read-only transaction reference that was created by {@link #createReadTxn()} is still open.
+	 *
+	 * @return <code>true</code> if there are open read-only transactions, else <code>false</code>
+	 */
+	boolean hasActiveTxns() {
+		synchronized (active) {
+			return !active.isEmpty();
+		}
+	}
+
 	long createReadTxnInternal() throws IOException {
 		long txn = 0;
 		if (mode == Mode.RESET) {
@@ -23,13 +23,16 @@ import static org.lwjgl.util.lmdb.LMDB.MDB_PREV;
 import static org.lwjgl.util.lmdb.LMDB.MDB_RESERVE;
 import static org.lwjgl.util.lmdb.LMDB.MDB_SET_RANGE;
 import static org.lwjgl.util.lmdb.LMDB.mdb_cursor_close;
+import static org.lwjgl.util.lmdb.LMDB.mdb_cursor_del;
 import static org.lwjgl.util.lmdb.LMDB.mdb_cursor_get;
 import static org.lwjgl.util.lmdb.LMDB.mdb_cursor_open;
+import static org.lwjgl.util.lmdb.LMDB.mdb_del;
 import static org.lwjgl.util.lmdb.LMDB.mdb_env_close;
 import static org.lwjgl.util.lmdb.LMDB.mdb_env_create;
 import static org.lwjgl.util.lmdb.LMDB.mdb_env_info;
 import static org.lwjgl.util.lmdb.LMDB.mdb_env_open;
 import static org.lwjgl.util.lmdb.LMDB.mdb_env_set_mapsize;
+import static org.lwjgl.util.lmdb.LMDB.mdb_env_sync;
 import static org.lwjgl.util.lmdb.LMDB.mdb_get;
 import static org.lwjgl.util.lmdb.LMDB.mdb_put;
 import static org.lwjgl.util.lmdb.LMDB.mdb_stat;
@@ -43,8 +46,14 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.zip.CRC32;
@@ -90,6 +99,15 @@ class ValueStore extends AbstractValueFactory {
 
 	private static final byte HASHID_KEY = 0x6;
 
+	private static final byte FREE_KEY = 0x7;
+
+	private static final byte FORMAT_KEY = 0x8;
+
+	/**
+	 * Format flag that is set if small literals are encoded in their IDs.
+	 */
+	private static final byte INLINE_VALUES_FLAG = 0x1;
+
 	/***
 	 * Maximum size of keys before hashing is used (size of two long values)
 	 */
@@ -124,7 +142,13 @@ class ValueStore extends AbstractValueFactory {
 	private int dbi;
 	private long writeTxn;
 	private final boolean forceSync;
+	/** Whether the environment is synced explicitly by {@link #sync()} instead of on every commit. */
+	private final boolean groupCommit;
 	private final boolean autoGrow;
+	/** Whether small literals are encoded in their IDs if a new store is created. */
+	private final boolean inlineValuesEnabled;
+	/** Whether small literals are encoded in their IDs, this is fixed when the store is created. */
+	private volatile boolean inlineValues;
 	/** This lock is required to block transactions while auto-growing the map size. */
 	private final ReadWriteLock txnLock = new ReentrantReadWriteLock();
 
@@ -138,12 +162,37 @@ class ValueStore extends AbstractValueFactory {
 	 */
 	private long nextId;
 
+	/**
+	 * IDs (without type bits) of removed values that can be assigned to new values.
+	 */
+	private final ArrayDeque<Long> freeIds = new ArrayDeque<>();
+
+	/**
+	 * IDs (without type bits) of the values that were removed by the latest call to {@link #removeValues(Set)}. These
+	 * are not reused before the next call, so that values which were fetched before their removal and are resolved
+	 * lazily are not resolved to other values right away.
+	 */
+	private final List<Long> recentlyFreedIds = new ArrayList<>();
+
+	/**
+	 * IDs of the IRIs that are used as datatypes of stored literals, or <code>null</code> if these have not been
+	 * determined yet. These IRIs are referenced by the literals and must not be removed.
+	 */
+	private volatile Set<Long> datatypeIds;
+
+	private final AtomicLong removedValueCount = new AtomicLong();
+
+	private final AtomicLong removedValueBytes = new AtomicLong();
+
 	ValueStore(File dir, LmdbStoreConfig config) throws IOException {
 		this.dir = dir;
 		this.forceSync = config.getForceSync();
+		this.groupCommit = config.getGroupCommit();
 		this.autoGrow = config.getAutoGrow();
 		this.mapSize = config.getValueDBSize();
+		this.inlineValuesEnabled = config.getInlineValues();
 		open();
+		initFormat();
 
 		valueCache = new LmdbValue[config.getValueCacheSize()];
 		valueIDCache = new ConcurrentCache<>(config.getValueIDCacheSize());
@@ -165,7 +214,8 @@ class ValueStore extends AbstractValueFactory {
 				keyData.mv_data(stack.bytes(new byte[] { ID_KEY, (byte) 0xFF }));
 				MDBVal valueData = MDBVal.calloc(stack);
 				if (mdb_cursor_get(cursor, keyData, valueData, MDB_SET_RANGE) == 0 &&
-						mdb_cursor_get(cursor, keyData, valueData, MDB_PREV) == 0) {
+						mdb_cursor_get(cursor, keyData, valueData, MDB_PREV) == 0 &&
+						keyData.mv_data().get(0) == ID_KEY) {
 					// remove lower 2 type bits
 					nextId = (data2id(keyData.mv_data()) >> 2) + 1;
 				} else {
@@ -178,6 +228,106 @@ class ValueStore extends AbstractValueFactory {
 				}
 			}
 		});
+
+		loadFreeIds();
+	}
+
+	/**
+	 * Reads the IDs of removed values from the store. IDs that are not lower than {@link #nextId} are dropped as they
+	 * are handed out again anyway.
+	 */
+	private void loadFreeIds() throws IOException {
+		List<Long> obsoleteIds = new ArrayList<>();
+		readTransaction(env, (stack, txn) -> {
+			long cursor = 0;
+			try {
+				PointerBuffer pp = stack.mallocPointer(1);
+				E(mdb_cursor_open(txn, dbi, pp));
+				cursor = pp.get(0);
+
+				MDBVal keyData = MDBVal.calloc(stack);
+				keyData.mv_data(stack.bytes(FREE_KEY));
+				MDBVal valueData = MDBVal.calloc(stack);
+				if (mdb_cursor_get(cursor, keyData, valueData, MDB_SET_RANGE) == 0) {
+					do {
+						ByteBuffer key = keyData.mv_data();
+						if (key.get() != FREE_KEY) {
+							break;
+						}
+						long id = Varint.readUnsigned(key);
+						if (id < nextId) {
+							freeIds.add(id);
+						} else {
+							obsoleteIds.add(id);
+						}
+					} while (mdb_cursor_get(cursor, keyData, valueData, MDB_NEXT) == 0);
+				}
+				return null;
+			} finally {
+				if (cursor != 0) {
+					mdb_cursor_close(cursor);
+				}
+			}
+		});
+
+		if (!obsoleteIds.isEmpty()) {
+			LmdbUtil.transaction(env, (stack, txn) -> {
+				for (long id : obsoleteIds) {
+					try (MemoryStack frame = stack.push()) {
+						mdb_del(txn, dbi, freeKey(frame, id), null);
+					}
+				}
+				return null;
+			});
+		}
+	}
+
+	/**
+	 * Reads the format flags of the store or writes them if the store is empty.
+	 */
+	private void initFormat() throws IOException {
+		Byte flags = readTransaction(env, (stack, txn) -> {
+			MDBVal keyData = MDBVal.calloc(stack);
+			keyData.mv_data(stack.bytes(FORMAT_KEY));
+			MDBVal valueData = MDBVal.calloc(stack);
+			if (mdb_get(txn, dbi, keyData, valueData) == 0) {
+				return valueData.mv_data().get(0);
+			}
+			MDBStat stat = MDBStat.malloc(stack);
+			mdb_stat(txn, dbi, stat);
+			// existing stores without format flags do not contain any inline IDs
+			return stat.ms_entries() == 0 ? null : (byte) 0;
+		});
+
+		if (flags == null) {
+			flags = inlineValuesEnabled ? INLINE_VALUES_FLAG : 0;
+			byte newFlags = flags;
+			LmdbUtil.transaction(env, (stack, txn) -> {
+				MDBVal keyData = MDBVal.calloc(stack);
+				keyData.mv_data(stack.bytes(FORMAT_KEY));
+				MDBVal valueData = MDBVal.calloc(stack);
+				valueData.mv_data(stack.bytes(newFlags));
+				E(mdb_put(txn, dbi, keyData, valueData, 0));
+				return null;
+			});
+		}
+		inlineValues = (flags & INLINE_VALUES_FLAG) != 0;
+	}
+
+	/**
+	 * @return <code>true</code> if small literals are encoded in their IDs, else <code>false</code>
+	 * @see InlineValues
+	 */
+	boolean isInlineValues() {
+		return inlineValues;
+	}
+
+	private MDBVal freeKey(MemoryStack stack, long id) {
+		ByteBuffer bb = stack.malloc(1 + Long.BYTES + 1);
+		bb.put(FREE_KEY);
+		Varint.writeUnsigned(bb, id);
+		bb.flip();
+		return MDBVal.calloc(stack).mv_data(bb);
 	}
 
 	private void open() throws IOException {
@@ -192,7 +342,8 @@ class ValueStore extends AbstractValueFactory {
 
 		// Open environment
 		int flags = MDB_NOTLS;
-		if (!forceSync) {
+		if (!forceSync || groupCommit) {
+			// with group commit the environment is synced explicitly by sync()
 			flags |= MDB_NOSYNC | MDB_NOMETASYNC;
 		}
 		E(mdb_env_open(env, dir.getAbsolutePath(), flags, 0664));
@@ -226,8 +377,18 @@ class ValueStore extends AbstractValueFactory {
 	}
 
 	private long nextId(byte type) throws IOException {
-		long result = nextId;
-		nextId++;
+		Long freeId = freeIds.poll();
+		long result;
+		if (freeId != null) {
+			result = freeId;
+			writeTransaction((stack, writeTxn) -> {
+				E(mdb_del(writeTxn, dbi, freeKey(stack, freeId), null));
+				return null;
+			});
+		} else {
+			result = nextId;
+			nextId++;
+		}
 		// encode type in lower 2 bits of id
 		result = (result << 2) | type;
 		return result;
@@ -312,6 +473,9 @@ class ValueStore extends AbstractValueFactory {
 	 * @throws IOException If an I/O error occurred.
 	 */
 	public LmdbValue getLazyValue(long id) throws IOException {
+		if (InlineValues.isInline(id)) {
+			return inlineValue(id);
+		}
 		// Check value cache
 		Long cacheID = id;
 		LmdbValue resultValue = cachedValue(cacheID);
@@ -345,6 +509,9 @@ class ValueStore extends AbstractValueFactory {
 	 * @throws IOException If an I/O error occurred.
 	 */
 	public LmdbValue getValue(long id) throws IOException {
+		if (InlineValues.isInline(id)) {
+			return inlineValue(id);
+		}
 		// Check value cache
 		Long cacheID = id;
 		LmdbValue resultValue = cachedValue(cacheID);
@@ -371,6 +538,12 @@ class ValueStore extends AbstractValueFactory {
 	 * @return <code>true</code> if value could be successfully resolved, else <code>false</code>
 	 */
 	public boolean resolveValue(long id, LmdbValue value) {
+		if (InlineValues.isInline(id)) {
+			LmdbLiteral literal = (LmdbLiteral) value;
+			literal.setLabel(InlineValues.getLabel(id));
+			literal.setDatatype(InlineValues.getDatatype(id));
+			return true;
+		}
 		try {
 			byte[] data = getData(id);
 			if (data != null) {
@@ -383,6 +556,13 @@ class ValueStore extends AbstractValueFactory {
 		return false;
 	}
 
+	/**
+	 * Creates the literal that is encoded in an inline ID.
+	 */
+	private LmdbLiteral inlineValue(long id) {
+		return new LmdbLiteral(revision, InlineValues.getLabel(id), InlineValues.getDatatype(id), id);
+	}
+
 	private void resizeMap(long txn, int requiredSize) throws IOException {
 		if (autoGrow) {
 			if (LmdbUtil.requiresResize(mapSize, pageSize, txn, requiredSize)) {
@@ -616,6 +796,16 @@ class ValueStore extends AbstractValueFactory {
 			}
 		}
 
+		if (inlineValues && value instanceof Literal) {
+			long id = InlineValues.encode((Literal) value);
+			if (id != LmdbValue.UNKNOWN_ID) {
+				if (isOwnValue) {
+					((LmdbValue) value).setInternalID(id, revision);
+				}
+				return id;
+			}
+		}
+
 		// Check cache
 		Long cachedID = valueIDCache.get(value);
 
@@ -690,6 +880,15 @@ class ValueStore extends AbstractValueFactory {
 		endTransaction(false);
 	}
 
+	/**
+	 * Flushes the data of all committed transactions to disk.
+	 *
+	 * @throws IOException If an I/O error occurred.
+	 */
+	public void sync() throws IOException {
+		E(mdb_env_sync(env, true));
+	}
+
 	/**
 	 * Stores the supplied value and returns the ID that has been assigned to it. In case the value was already present,
 	 * the value will not be stored again and the ID of the existing value is returned.
@@ -729,12 +928,205 @@ class ValueStore extends AbstractValueFactory {
 		valueIDCache.clear();
 		namespaceCache.clear();
 		namespaceIDCache.clear();
+		freeIds.clear();
+		recentlyFreedIds.clear();
+		datatypeIds = null;
 
 		open();
+		initFormat();
 
 		setNewRevision();
 	}
 
+	/**
+	 * Removes the values with the given IDs from the store and makes their IDs available for new values. The caller
+	 * must ensure that the values are no longer referenced by any statement. IRIs that are used as the datatype of a
+	 * stored literal are not removed. Removing values invalidates all value IDs that are cached in {@link LmdbValue}
+	 * objects.
+	 *
+	 * @param ids the IDs of the values to remove
+	 * @return the number of values that have been removed
+	 * @throws IOException If an I/O error occurred.
+	 */
+	public long removeValues(Set<Long> ids) throws IOException {
+		// IDs that were freed by the previous run may now be reused
+		freeIds.addAll(recentlyFreedIds);
+		recentlyFreedIds.clear();
+
+		if (ids.isEmpty()) {
+			return 0;
+		}
+
+		Set<Long> datatypeIds = this.datatypeIds;
+		if (datatypeIds == null) {
+			datatypeIds = this.datatypeIds = readDatatypeIds();
+		}
+
+		long[] removed = new long[2];
+		Set<Long> keep = datatypeIds;
+		writeTransaction((stack, txn) -> {
+			for (long id : ids) {
+				byte type = (byte) (id & 0x3);
+				if (InlineValues.isInline(id) || type == NAMESPACE_VALUE || type == URI_VALUE && keep.contains(id)) {
+					continue;
+				}
+				try (MemoryStack frame = stack.push()) {
+					int length = removeValue(frame, txn, id);
+					if (length >= 0) {
+						E(mdb_put(txn, dbi, freeKey(frame, id >> 2), MDBVal.calloc(frame).mv_data(frame.bytes()), 0));
+						recentlyFreedIds.add(id >> 2);
+						removed[0]++;
+						removed[1] += length;
+					}
+				}
+			}
+			return null;
+		});
+
+		if (removed[0] > 0) {
+			Arrays.fill(valueCache, null);
+			valueIDCache.clear();
+			setNewRevision();
+
+			removedValueCount.addAndGet(removed[0]);
+			removedValueBytes.addAndGet(removed[1]);
+		}
+		return removed[0];
+	}
+
+	/**
+	 * Removes the data of a value and its lookup entries.
+	 *
+	 * @return the length of the value's data, or -1 if no value with the given ID exists
+	 */
+	private int removeValue(MemoryStack stack, long txn, long id) throws IOException {
+		MDBVal idVal = MDBVal.calloc(stack);
+		idVal.mv_data(id2data(idBuffer(stack), id).flip());
+		MDBVal dataVal = MDBVal.calloc(stack);
+		if (mdb_get(txn, dbi, idVal, dataVal) != 0) {
+			return -1;
+		}
+		byte[] data = new byte[dataVal.mv_data().remaining()];
+		dataVal.mv_data().get(data);
+		E(mdb_del(txn, dbi, idVal, null));
+
+		if (data.length < MAX_KEY_SIZE) {
+			dataVal.mv_data(stack.bytes(data));
+			E(mdb_del(txn, dbi, dataVal, null));
+			return data.length;
+		}
+
+		ByteBuffer hashBb = stack.malloc(2 + 2 * Long.BYTES + 2);
+		hashBb.put(HASH_KEY);
+		Varint.writeUnsigned(hashBb, hash(data));
+		int hashLength = hashBb.position();
+		hashBb.flip();
+		MDBVal hashVal = MDBVal.calloc(stack);
+		hashVal.mv_data(hashBb);
+
+		if (mdb_get(txn, dbi, hashVal, dataVal) == 0 && data2id(dataVal.mv_data()) == id) {
+			// the hash key refers to this value, let it refer to another value with the same hash if there is one
+			hashBb.put(0, HASHID_KEY);
+			hashVal.mv_data(hashBb);
+			byte[] otherId = null;
+			long cursor = 0;
+			try {
+				PointerBuffer pp = stack.mallocPointer(1);
+				E(mdb_cursor_open(txn, dbi, pp));
+				cursor = pp.get(0);
+				if (mdb_cursor_get(cursor, hashVal, dataVal, MDB_SET_RANGE) == 0
+						&& hashVal.mv_data().remaining() > hashLength
+						&& compareRegion(hashVal.mv_data(), 0, hashBb, 0, hashLength) == 0) {
+					ByteBuffer hashIdBb = hashVal.mv_data();
+					hashIdBb.position(hashLength);
+					otherId = new byte[hashIdBb.remaining()];
+					hashIdBb.get(otherId);
+					E(mdb_cursor_del(cursor, 0));
+				}
+			} finally {
+				if (cursor != 0) {
+					mdb_cursor_close(cursor);
+				}
+			}
+
+			hashBb.put(0, HASH_KEY);
+			hashVal.mv_data(hashBb);
+			if (otherId != null) {
+				dataVal.mv_data(stack.bytes(otherId));
+				E(mdb_put(txn, dbi, hashVal, dataVal, 0));
+			} else {
+				E(mdb_del(txn, dbi, hashVal, null));
+			}
+		} else {
+			ByteBuffer hashIdBb = stack.malloc(hashLength + 2 + Long.BYTES);
+			hashIdBb.put(HASHID_KEY);
+			hashIdBb.put(hashBb.position(1));
+			id2data(hashIdBb, id);
+			hashIdBb.flip();
+			hashVal.mv_data(hashIdBb);
+			mdb_del(txn, dbi, hashVal, null);
+		}
+		return data.length;
+	}
+
+	/**
+	 * Reads the IDs of all IRIs that are used as datatypes of stored literals.
+	 */
+	private Set<Long> readDatatypeIds() throws IOException {
+		Set<Long> ids = ConcurrentHashMap.newKeySet();
+		readTransaction(env, (stack, txn) -> {
+			long cursor = 0;
+			try {
+				PointerBuffer pp = stack.mallocPointer(1);
+				E(mdb_cursor_open(txn, dbi, pp));
+				cursor = pp.get(0);
+
+				MDBVal keyData = MDBVal.calloc(stack);
+				keyData.mv_data(stack.bytes(ID_KEY));
+				MDBVal valueData = MDBVal.calloc(stack);
+				if (mdb_cursor_get(cursor, keyData, valueData, MDB_SET_RANGE) == 0) {
+					do {
+						ByteBuffer key = keyData.mv_data();
+						if (key.get(0) != ID_KEY) {
+							break;
+						}
+						long id = data2id(key);
+						if ((id & 0x3) == LITERAL_VALUE) {
+							ByteBuffer data = valueData.mv_data();
+							// skip type marker
+							data.get();
+							long datatypeID = Varint.readUnsigned(data);
+							if (datatypeID != LmdbValue.UNKNOWN_ID) {
+								ids.add(datatypeID);
+							}
+						}
+					} while (mdb_cursor_get(cursor, keyData, valueData, MDB_NEXT) == 0);
+				}
+				return null;
+			} finally {
+				if (cursor != 0) {
+					mdb_cursor_close(cursor);
+				}
+			}
+		});
+		return ids;
+	}
+
+	/**
+	 * @return the number of values that have been removed by {@link #removeValues(Set)} since this store was opened
+	 */
+	long getRemovedValueCount() {
+		return removedValueCount.get();
+	}
+
+	/**
+	 * @return the total size in bytes of the data of the values that have been removed by {@link #removeValues(Set)}
+	 *         since this store was opened
+	 */
+	long getRemovedValueBytes() {
+		return removedValueBytes.get();
+	}
+
 	/**
 	 * Closes the ValueStore, releasing any file references, etc. Once closed, the ValueStore can no longer be used.
 	 *
@@ -830,6 +1222,11 @@ class ValueStore extends AbstractValueFactory {
 				// Unknown datatype means unknown literal
 				return null;
 			}
+
+			Set<Long> datatypeIds = this.datatypeIds;
+			if (create && datatypeIds != null) {
+				datatypeIds.add(datatypeID);
+			}
 		}
 
 		// Get language tag in UTF-8
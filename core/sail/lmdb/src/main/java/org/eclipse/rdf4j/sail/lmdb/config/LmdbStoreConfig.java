@@ -70,6 +70,14 @@ public class LmdbStoreConfig extends BaseSailConfig {
 
 	private boolean autoGrow = true;
 
+	private int valueGCThreshold = 0;
+
+	private boolean inlineValues = true;
+
+	private boolean groupCommit = false;
+
+	private int groupCommitDelay = 0;
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
@@ -177,6 +185,83 @@ public class LmdbStoreConfig extends BaseSailConfig {
 		return this;
 	}
 
+	public int getValueGCThreshold() {
+		return valueGCThreshold;
+	}
+
+	/**
+	 * Enables the removal of values that are no longer referenced by any statement. The IDs of the values of removed
+	 * statements are collected and, once the given number of IDs has been collected, the values that are no longer used
+	 * are removed when the next transaction commits and no other read transaction is active. The IDs of removed values
+	 * are reused for new values.
+	 * <p>
+	 * Values that have been read from the store, but whose contents are resolved lazily, can no longer be resolved
+	 * after they have been removed. This is disabled by default.
+	 *
+	 * @param valueGCThreshold the number of collected value IDs that triggers the removal, or 0 to disable the removal
+	 *                         of values
+	 * @return this config
+	 */
+	public LmdbStoreConfig setValueGCThreshold(int valueGCThreshold) {
+		this.valueGCThreshold = valueGCThreshold;
+		return this;
+	}
+
+	public boolean getInlineValues() {
+		return inlineValues;
+	}
+
+	/**
+	 * Enables the encoding of small literals, such as integers, booleans, date-time values and short strings, directly
+	 * in their value IDs. These literals are stored and read without any lookup in the value database. This setting is
+	 * only used when a new store is created, existing stores keep the encoding they were created with. This is enabled
+	 * by default.
+	 *
+	 * @param inlineValues whether small literals are encoded in their IDs
+	 * @return this config
+	 */
+	public LmdbStoreConfig setInlineValues(boolean inlineValues) {
+		this.inlineValues = inlineValues;
+		return this;
+	}
+
+	public boolean getGroupCommit() {
+		return groupCommit;
+	}
+
+	/**
+	 * Enables group commit for stores that {@link #setForceSync(boolean) force sync}. The transactions of concurrent
+	 * writers are committed without syncing and the connections wait for a single shared sync of the store before their
+	 * commit returns. This keeps the durability guarantee of each commit, but lets many small transactions share the
+	 * cost of one sync. This is disabled by default.
+	 *
+	 * @param groupCommit whether concurrent commits share their syncs
+	 * @return this config
+	 * @see #setGroupCommitDelay(int)
+	 */
+	public LmdbStoreConfig setGroupCommit(boolean groupCommit) {
+		this.groupCommit = groupCommit;
+		return this;
+	}
+
+	public int getGroupCommitDelay() {
+		return groupCommitDelay;
+	}
+
+	/**
+	 * Sets the time that a sync of a group commit waits for further commits to join it. Commits that arrive while a
+	 * sync is running are always grouped into the next sync, so this is only useful to trade commit latency for larger
+	 * groups. The default is 0.
+	 *
+	 * @param groupCommitDelay the delay in milliseconds
+	 * @return this config
+	 * @see #setGroupCommit(boolean)
+	 */
+	public LmdbStoreConfig setGroupCommitDelay(int groupCommitDelay) {
+		this.groupCommitDelay = groupCommitDelay;
+		return this;
+	}
+
 	@Override
 	public Resource export(Model m) {
 		Resource implNode = super.export(m);
@@ -210,6 +295,18 @@ public class LmdbStoreConfig extends BaseSailConfig {
 		if (!autoGrow) {
 			m.add(implNode, LmdbStoreSchema.AUTO_GROW, vf.createLiteral(false));
 		}
+		if (valueGCThreshold > 0) {
+			m.add(implNode, LmdbStoreSchema.VALUE_GC_THRESHOLD, vf.createLiteral(valueGCThreshold));
+		}
+		if (!inlineValues) {
+			m.add(implNode, LmdbStoreSchema.INLINE_VALUES, vf.createLiteral(false));
+		}
+		if (groupCommit) {
+			m.add(implNode, LmdbStoreSchema.GROUP_COMMIT, vf.createLiteral(true));
+		}
+		if (groupCommitDelay > 0) {
+			m.add(implNode, LmdbStoreSchema.GROUP_COMMIT_DELAY, vf.createLiteral(groupCommitDelay));
+		}
 		return implNode;
 	}
 
@@ -303,6 +400,46 @@ public class LmdbStoreConfig extends BaseSailConfig {
 							"Boolean value required for " + LmdbStoreSchema.AUTO_GROW + " property, found " + lit);
 				}
 			});
+
+			Models.objectLiteral(m.getStatements(implNode, LmdbStoreSchema.VALUE_GC_THRESHOLD, null))
+					.ifPresent(lit -> {
+						try {
+							setValueGCThreshold(lit.intValue());
+						} catch (NumberFormatException e) {
+							throw new SailConfigException(
+									"Integer value required for " + LmdbStoreSchema.VALUE_GC_THRESHOLD
+											+ " property, found " + lit);
+						}
+					});
+
+			Models.objectLiteral(m.getStatements(implNode, LmdbStoreSchema.INLINE_VALUES, null)).ifPresent(lit -> {
+				try {
+					setInlineValues(lit.booleanValue());
+				} catch (IllegalArgumentException e) {
+					throw new SailConfigException(
+							"Boolean value required for " + LmdbStoreSchema.INLINE_VALUES + " property, found " + lit);
+				}
+			});
+
+			Models.objectLiteral(m.getStatements(implNode, LmdbStoreSchema.GROUP_COMMIT, null)).ifPresent(lit -> {
+				try {
+					setGroupCommit(lit.booleanValue());
+				} catch (IllegalArgumentException e) {
+					throw new SailConfigException(
+							"Boolean value required for " + LmdbStoreSchema.GROUP_COMMIT + " property, found " + lit);
+				}
+			});
+
+			Models.objectLiteral(m.getStatements(implNode, LmdbStoreSchema.GROUP_COMMIT_DELAY, null))
+					.ifPresent(lit -> {
+						try {
+							setGroupCommitDelay(lit.intValue());
+						} catch (NumberFormatException e) {
+							throw new SailConfigException(
+									"Integer value required for " + LmdbStoreSchema.GROUP_COMMIT_DELAY
+											+ " property, found " + lit);
+						}
+					});
 		} catch (ModelException e) {
 			throw new SailConfigException(e.getMessage(), e);
 		}
@@ -52,6 +52,18 @@ public class LmdbStoreSchema {
 	/** <tt>http://rdf4j.org/config/sail/lmdb#autoGrow</tt> */
 	public final static IRI AUTO_GROW;
 
+	/** <tt>http://rdf4j.org/config/sail/lmdb#valueGCThreshold</tt> */
+	public final static IRI VALUE_GC_THRESHOLD;
+
+	/** <tt>http://rdf4j.org/config/sail/lmdb#inlineValues</tt> */
+	public final static IRI INLINE_VALUES;
+
+	/** <tt>http://rdf4j.org/config/sail/lmdb#groupCommit</tt> */
+	public final static IRI GROUP_COMMIT;
+
+	/** <tt>http://rdf4j.org/config/sail/lmdb#groupCommitDelay</tt> */
+	public final static IRI GROUP_COMMIT_DELAY;
+
 	static {
 		ValueFactory factory = SimpleValueFactory.getInstance();
 		TRIPLE_INDEXES = factory.createIRI(NAMESPACE, "tripleIndexes");
@@ -63,5 +75,9 @@ public class LmdbStoreSchema {
 		NAMESPACE_CACHE_SIZE = factory.createIRI(NAMESPACE, "namespaceCacheSize");
 		NAMESPACE_ID_CACHE_SIZE = factory.createIRI(NAMESPACE, "namespaceIDCacheSize");
 		AUTO_GROW = factory.createIRI(NAMESPACE, "autoGrow");
+		VALUE_GC_THRESHOLD = factory.createIRI(NAMESPACE, "valueGCThreshold");
+		INLINE_VALUES = factory.createIRI(NAMESPACE, "inlineValues");
+		GROUP_COMMIT = factory.createIRI(NAMESPACE, "groupCommit");
+		GROUP_COMMIT_DELAY = factory.createIRI(NAMESPACE, "groupCommitDelay");
 	}
 }
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.lmdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.sail.lmdb.model.LmdbValue;
+import org.junit.Test;
+
+public class InlineValuesTest {
+
+	private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	@Test
+	public void testRoundTrip() {
+		List<Literal> literals = Arrays.asList(
+				vf.createLiteral(true),
+				vf.createLiteral(false),
+				vf.createLiteral("0", XSD.INTEGER),
+				vf.createLiteral("-36028797018963968", XSD.INTEGER),
+				vf.createLiteral("36028797018963967", XSD.INTEGER),
+				vf.createLiteral("42", XSD.LONG),
+				vf.createLiteral("-42", XSD.INT),
+				vf.createLiteral("7", XSD.SHORT),
+				vf.createLiteral("-7", XSD.BYTE),
+				vf.createLiteral("2024-01-01T00:00:00Z", XSD.DATETIME),
+				vf.createLiteral("2024-01-01T12:30:45.123", XSD.DATETIME),
+				vf.createLiteral("1969-12-31T23:59:59.999Z", XSD.DATETIME),
+				vf.createLiteral("0001-01-01T00:00:00Z", XSD.DATETIME),
+				vf.createLiteral(""),
+				vf.createLiteral("sensor"),
+				vf.createLiteral("äöü"));
+
+		for (Literal literal : literals) {
+			long id = InlineValues.encode(literal);
+			assertTrue(literal.toString(), InlineValues.isInline(id));
+			assertEquals(literal.getLabel(), InlineValues.getLabel(id));
+			assertEquals(literal.getDatatype(), InlineValues.getDatatype(id).getIri());
+			assertEquals(1, id & 0x3);
+			assertEquals(9, Varint.calcLengthUnsigned(id));
+		}
+	}
+
+	@Test
+	public void testNotInlined() {
+		List<Literal> literals = Arrays.asList(
+				vf.createLiteral("1", XSD.BOOLEAN),
+				vf.createLiteral("01", XSD.INTEGER),
+				vf.createLiteral("+1", XSD.INTEGER),
+				vf.createLiteral("36028797018963968", XSD.INTEGER),
+				vf.createLiteral("one", XSD.INTEGER),
+				vf.createLiteral("1.0", XSD.DECIMAL),
+				vf.createLiteral("2024-01-01T00:00:00.5Z", XSD.DATETIME),
+				vf.createLiteral("2024-01-01T00:00:00.000Z", XSD.DATETIME),
+				vf.createLiteral("2024-01-01T00:00:00.1234Z", XSD.DATETIME),
+				vf.createLiteral("2024-01-01T00:00:00+01:00", XSD.DATETIME),
+				vf.createLiteral("2024-01-01T00:00Z", XSD.DATETIME),
+				vf.createLiteral("a longer string"),
+				vf.createLiteral("a\u0000b"),
+				vf.createLiteral("label", "en"));
+
+		for (Literal literal : literals) {
+			assertEquals(literal.toString(), LmdbValue.UNKNOWN_ID, InlineValues.encode(literal));
+		}
+	}
+
+	@Test
+	public void testOrder() {
+		assertOrdered(XSD.INTEGER, "-36028797018963968", "-1000", "-1", "0", "1", "240", "1000", "36028797018963967");
+		assertOrdered(XSD.DATETIME, "0001-01-01T00:00:00Z", "1969-12-31T23:59:59.999Z", "1970-01-01T00:00:00Z",
+				"2024-01-01T00:00:00Z", "2024-01-01T00:00:00.001Z", "9999-12-31T23:59:59Z");
+		assertOrdered(XSD.STRING, "", "A", "AB", "B", "a", "z", "zzzzzzz");
+	}
+
+	@Test
+	public void testNoCollisionWithStoredIds() {
+		long id = InlineValues.encode(vf.createLiteral(false));
+		assertFalse(InlineValues.isInline(1L << 50));
+		assertFalse(InlineValues.isInline(LmdbValue.UNKNOWN_ID));
+		assertTrue(id > 0);
+	}
+
+	@Test
+	public void testRanges() {
+		long[] ranges = InlineValues.getRanges(vf.createLiteral("2.5", XSD.DECIMAL), vf.createLiteral(10));
+		// non-inline IDs and one range for each integer datatype
+		assertEquals(12, ranges.length);
+		assertEquals(0, ranges[0]);
+		assertEquals(InlineValues.INLINE_FLAG - 1, ranges[1]);
+		assertEquals(InlineValues.encode(vf.createLiteral("3", XSD.INTEGER)), ranges[2]);
+		assertEquals(InlineValues.encode(vf.createLiteral("10", XSD.INTEGER)), ranges[3]);
+		assertEquals(InlineValues.encode(vf.createLiteral(3)), ranges[6]);
+
+		// date-time ranges include values without timezone that may be in range
+		ranges = InlineValues.getRanges(vf.createLiteral("2024-01-01T12:00:00Z", XSD.DATETIME), null);
+		assertEquals(6, ranges.length);
+		long withoutTimezone = InlineValues.encode(vf.createLiteral("2024-01-01T00:00:00", XSD.DATETIME));
+		assertTrue(withoutTimezone >= ranges[2] && withoutTimezone <= ranges[3]);
+		long before = InlineValues.encode(vf.createLiteral("2023-12-31T00:00:00", XSD.DATETIME));
+		assertTrue(before < ranges[2]);
+
+		// empty range of inline values
+		assertEquals(2, InlineValues.getRanges(vf.createLiteral(2.2), vf.createLiteral(2.8)).length);
+
+		assertEquals(null, InlineValues.getRanges(vf.createLiteral(1), vf.createLiteral("2024-01-01T12:00:00Z",
+				XSD.DATETIME)));
+		assertEquals(null, InlineValues.getRanges(vf.createLiteral("abc"), null));
+		assertEquals(null, InlineValues.getRanges(vf.createLiteral(Double.NaN), null));
+	}
+
+	private void assertOrdered(IRI datatype, String... labels) {
+		long previousId = 0;
+		byte[] previousKey = null;
+		for (String label : labels) {
+			long id = InlineValues.encode(vf.createLiteral(label, datatype));
+			assertTrue(label, id > previousId);
+
+			// the encoded IDs are also ordered in the index keys
+			ByteBuffer bb = ByteBuffer.allocate(9);
+			Varint.writeUnsigned(bb, id);
+			byte[] key = bb.array();
+			if (previousKey != null) {
+				assertTrue(label, Arrays.compareUnsigned(previousKey, key) < 0);
+			}
+			previousId = id;
+			previousKey = key;
+		}
+	}
+}
@@ -15,6 +15,13 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.rdf4j.common.transaction.IsolationLevels;
 import org.eclipse.rdf4j.model.IRI;
@@ -23,8 +30,11 @@ import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.TupleQuery;
 import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.query.explanation.Explanation;
 import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.sail.SailRepository;
@@ -198,6 +208,136 @@ public class LmdbSailStoreTest {
 		}
 	}
 
+	@Test
+	public void testRemoveUnreferencedValues() throws Exception {
+		repo.shutDown();
+		File dataDir = tempFolder.newFolder("gc");
+		LmdbStore store = new LmdbStore(dataDir, new LmdbStoreConfig("spoc,posc").setValueGCThreshold(1));
+		repo = new SailRepository(store);
+		repo.init();
+
+		try (RepositoryConnection conn = repo.getConnection()) {
+			conn.add(S0);
+			conn.add(S1, CTX_1);
+			conn.add(S2, CTX_2);
+		}
+		try (RepositoryConnection conn = repo.getConnection()) {
+			conn.remove(S1, CTX_1);
+		}
+		// subject and context of S1 are unreferenced, rdfs:label is still in use and the object is an inline value
+		assertEquals(2, store.getRemovedValueCount());
+		assertTrue(store.getRemovedValueBytes() > 0);
+
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertTrue("Statement 0 incorrectly removed", conn.hasStatement(S0, false));
+			assertTrue("Statement 2 incorrectly removed", conn.hasStatement(S2, false, CTX_2));
+			conn.add(S1, CTX_1);
+		}
+
+		repo.shutDown();
+		repo = new SailRepository(new LmdbStore(dataDir, new LmdbStoreConfig("spoc,posc").setValueGCThreshold(1)));
+		repo.init();
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertTrue("Statement 0 incorrectly removed", conn.hasStatement(S0, false));
+			assertTrue("Statement 1 not restored", conn.hasStatement(S1, false, CTX_1));
+			assertTrue("Statement 2 incorrectly removed", conn.hasStatement(S2, false, CTX_2));
+			assertEquals(3, conn.size());
+		}
+	}
+
+	@Test
+	public void testRangeQuery() throws Exception {
+		IRI value = F.createIRI("urn:value");
+		try (RepositoryConnection conn = repo.getConnection()) {
+			conn.add(F.createIRI("urn:a"), value, F.createLiteral(-5));
+			conn.add(F.createIRI("urn:b"), value, F.createLiteral(3));
+			conn.add(F.createIRI("urn:c"), value, F.createLiteral("3.5", XSD.DECIMAL));
+			conn.add(F.createIRI("urn:d"), value, F.createLiteral(7.0));
+			conn.add(F.createIRI("urn:e"), value, F.createLiteral("10", XSD.INTEGER));
+			conn.add(F.createIRI("urn:f"), value, F.createLiteral(20L));
+			conn.add(F.createIRI("urn:g"), value, F.createLiteral("7"));
+			conn.add(F.createIRI("urn:h"), value, F.createLiteral("2024-01-01T00:00:00Z", XSD.DATETIME));
+			conn.add(F.createIRI("urn:i"), value, F.createLiteral("2024-06-01T12:00:00", XSD.DATETIME));
+			conn.add(F.createIRI("urn:j"), value, F.createLiteral("2024-12-31T23:00:00-02:00", XSD.DATETIME));
+		}
+
+		String numeric = "select ?s { ?s <urn:value> ?v filter(?v >= 3 && ?v < 20) }";
+		String dateTime = "select ?s { ?s <urn:value> ?v "
+				+ "filter(?v > \"2024-01-01T00:00:00Z\"^^<http://www.w3.org/2001/XMLSchema#dateTime>) }";
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertEquals(Set.of("urn:b", "urn:c", "urn:d", "urn:e"), evaluate(conn, numeric));
+			assertEquals(Set.of("urn:i", "urn:j"), evaluate(conn, dateTime));
+			assertTrue(conn.prepareTupleQuery(numeric)
+					.explain(Explanation.Level.Optimized)
+					.toString()
+					.contains("RangeStatementPattern"));
+
+			// uncommitted changes are included in the range
+			conn.begin(IsolationLevels.SNAPSHOT_READ);
+			conn.add(F.createIRI("urn:k"), value, F.createLiteral(5));
+			conn.remove(F.createIRI("urn:b"), value, null);
+			assertEquals(Set.of("urn:c", "urn:d", "urn:e", "urn:k"), evaluate(conn, numeric));
+			conn.commit();
+		}
+	}
+
+	@Test
+	public void testGroupCommit() throws Exception {
+		repo.shutDown();
+		File dataDir = tempFolder.newFolder("groupcommit");
+		LmdbStore store = new LmdbStore(dataDir,
+				new LmdbStoreConfig("spoc,posc").setForceSync(true).setGroupCommit(true).setGroupCommitDelay(1));
+		repo = new SailRepository(store);
+		repo.init();
+
+		int threads = 8;
+		int commits = 20;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				futures.add(executor.submit(() -> {
+					try (RepositoryConnection conn = repo.getConnection()) {
+						for (int i = 0; i < commits; i++) {
+							conn.add(F.createIRI("urn:s" + thread), RDFS.LABEL, F.createLiteral(i));
+						}
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertTrue(store.getCommitSyncCount() > 0);
+		assertTrue(store.getCommitSyncCount() <= threads * commits);
+		assertTrue(store.getMaxCommitBatchSize() >= 1);
+		assertTrue(store.getAverageCommitBatchSize() >= 1);
+		assertTrue(store.getCommitBatchSizePercentile(50) >= 1);
+		assertTrue(store.getCommitLatencyPercentile(99) >= store.getCommitLatencyPercentile(50));
+		assertTrue(store.getCommitLatencyPercentile(50) > 0);
+
+		repo.shutDown();
+		repo = new SailRepository(new LmdbStore(dataDir, new LmdbStoreConfig("spoc,posc")));
+		repo.init();
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertEquals(threads * commits, conn.size());
+		}
+	}
+
+	private Set<String> evaluate(RepositoryConnection conn, String query) {
+		Set<String> subjects = new HashSet<>();
+		try (TupleQueryResult result = conn.prepareTupleQuery(query).evaluate()) {
+			for (BindingSet bindings : result) {
+				subjects.add(bindings.getValue("s").stringValue());
+			}
+		}
+		return subjects;
+	}
+
 	@After
 	public void after() throws Exception {
 		repo.shutDown();
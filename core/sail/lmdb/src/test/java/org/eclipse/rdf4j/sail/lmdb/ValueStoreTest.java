@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.lmdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.sail.lmdb.config.LmdbStoreConfig;
+import org.eclipse.rdf4j.sail.lmdb.model.LmdbValue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Low-level tests for {@link ValueStore}.
+ */
+public class ValueStoreTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	private final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private File dataDir;
+
+	private ValueStore valueStore;
+
+	@Before
+	public void before() throws Exception {
+		dataDir = tempFolder.newFolder();
+		valueStore = new ValueStore(dataDir, new LmdbStoreConfig());
+	}
+
+	@After
+	public void after() throws Exception {
+		valueStore.close();
+	}
+
+	@Test
+	public void testRemoveValues() throws Exception {
+		IRI iri = vf.createIRI("urn:short");
+		// long enough to be looked up by hash
+		Literal literal = vf.createLiteral("a literal with a label that is longer than a key");
+		IRI kept = vf.createIRI("urn:kept");
+
+		long iriId = store(iri);
+		long literalId = store(literal);
+		long keptId = store(kept);
+
+		assertEquals(2, valueStore.removeValues(Set.of(iriId, literalId)));
+		assertEquals(2, valueStore.getRemovedValueCount());
+
+		assertEquals(LmdbValue.UNKNOWN_ID, valueStore.getId(iri));
+		assertEquals(LmdbValue.UNKNOWN_ID, valueStore.getId(literal));
+		assertEquals(null, valueStore.getValue(iriId));
+		assertEquals(keptId, valueStore.getId(kept));
+		assertEquals(kept, valueStore.getValue(keptId));
+
+		// removed values can be stored again
+		assertNotEquals(LmdbValue.UNKNOWN_ID, store(literal));
+		assertEquals(literal, valueStore.getValue(valueStore.getId(literal)));
+	}
+
+	@Test
+	public void testDatatypesAreKept() throws Exception {
+		IRI datatype = vf.createIRI("urn:datatype");
+		Literal literal = vf.createLiteral("1", datatype);
+
+		long datatypeId = store(datatype);
+		long literalId = store(literal);
+
+		assertEquals(0, valueStore.removeValues(Set.of(datatypeId)));
+		assertEquals(literal, valueStore.getValue(literalId));
+	}
+
+	@Test
+	public void testHashCollision() throws Exception {
+		// "plumless" and "buckeroo" have the same CRC32, which is retained with a common suffix
+		Literal first = vf.createLiteral("plumless is a label that is longer than a key");
+		Literal second = vf.createLiteral("buckeroo is a label that is longer than a key");
+		Literal third = vf.createLiteral("a label that is longer than a key");
+
+		long firstId = store(first);
+		long secondId = store(second);
+		long thirdId = store(third);
+
+		// removing the first value of a hash must keep the second one reachable
+		assertEquals(1, valueStore.removeValues(Set.of(firstId)));
+		assertEquals(LmdbValue.UNKNOWN_ID, valueStore.getId(first));
+		assertEquals(secondId, valueStore.getId(second));
+		assertEquals(thirdId, valueStore.getId(third));
+
+		long newFirstId = store(first);
+		assertEquals(newFirstId, valueStore.getId(first));
+		assertEquals(1, valueStore.removeValues(Set.of(newFirstId)));
+		assertEquals(secondId, valueStore.getId(second));
+
+		assertEquals(1, valueStore.removeValues(Set.of(secondId)));
+		assertEquals(LmdbValue.UNKNOWN_ID, valueStore.getId(second));
+		assertEquals(thirdId, valueStore.getId(third));
+	}
+
+	@Test
+	public void testIdsAreReused() throws Exception {
+		long removedId = store(vf.createIRI("urn:removed"));
+		store(vf.createIRI("urn:other"));
+		valueStore.removeValues(Set.of(removedId));
+
+		// IDs are not reused before the next run
+		long newId = store(vf.createIRI("urn:new"));
+		assertNotEquals(removedId >> 2, newId >> 2);
+
+		valueStore.removeValues(Set.of());
+		long reusedId = store(vf.createIRI("urn:reused"));
+		assertEquals(removedId >> 2, reusedId >> 2);
+		assertEquals(vf.createIRI("urn:reused"), valueStore.getValue(reusedId));
+	}
+
+	@Test
+	public void testFreeIdsArePersisted() throws Exception {
+		long first = store(vf.createIRI("urn:first"));
+		long second = store(vf.createIRI("urn:second"));
+		valueStore.removeValues(Set.of(first, second));
+		valueStore.close();
+
+		valueStore = new ValueStore(dataDir, new LmdbStoreConfig());
+		// the removed IDs were the highest ones, so they are handed out again
+		Set<Long> ids = new HashSet<>();
+		ids.add(store(vf.createIRI("urn:third")) >> 2);
+		ids.add(store(vf.createIRI("urn:fourth")) >> 2);
+		assertEquals(Set.of(first >> 2, second >> 2), ids);
+	}
+
+	@Test
+	public void testInlineValues() throws Exception {
+		Literal literal = vf.createLiteral(42);
+		long id = store(literal);
+
+		assertTrue(InlineValues.isInline(id));
+		assertEquals(id, valueStore.getId(literal));
+		assertEquals(literal, valueStore.getValue(id));
+		assertEquals(literal, valueStore.getLazyValue(id));
+		// the datatype is not stored
+		assertEquals(LmdbValue.UNKNOWN_ID, valueStore.getId(literal.getDatatype()));
+		assertEquals(0, valueStore.removeValues(Set.of(id)));
+	}
+
+	@Test
+	public void testInlineValuesAreKeptForExistingStores() throws Exception {
+		Literal literal = vf.createLiteral(42);
+		store(literal);
+		valueStore.close();
+
+		valueStore = new ValueStore(dataDir, new LmdbStoreConfig().setInlineValues(false));
+		assertTrue(valueStore.isInlineValues());
+		assertTrue(InlineValues.isInline(valueStore.getId(literal)));
+	}
+
+	@Test
+	public void testInlineValuesDisabled() throws Exception {
+		valueStore.close();
+		File otherDir = tempFolder.newFolder();
+		valueStore = new ValueStore(otherDir, new LmdbStoreConfig().setInlineValues(false));
+		Literal literal = vf.createLiteral(42);
+		long id = store(literal);
+		assertFalse(InlineValues.isInline(id));
+		valueStore.close();
+
+		// stores that already contain values are not switched to inline values
+		valueStore = new ValueStore(otherDir, new LmdbStoreConfig());
+		assertFalse(valueStore.isInlineValues());
+		assertEquals(id, valueStore.getId(literal));
+	}
+
+	private long store(Value value) throws Exception {
+		valueStore.startTransaction();
+		long id = valueStore.storeValue(value);
+		valueStore.commit();
+		return id;
+	}
+}
@@ -445,13 +445,14 @@ public abstract class AbstractSearchIndex implements SearchIndex {
 
 	/**
 	 * Add a complete Lucene Document based on these statements. Do not search for an existing document with the same
-	 * subject id. (assume the existing document was deleted)
+	 * subject id. (assume the existing document was deleted). This method does not synchronize on the index, such that
+	 * documents of different subjects can be added concurrently.
 	 *
 	 * @param statements the statements that make up the resource
 	 * @throws IOException
 	 */
 	@Override
-	public final synchronized void addDocuments(Resource subject, List<Statement> statements) throws IOException {
+	public final void addDocuments(Resource subject, List<Statement> statements) throws IOException {
 
 		String resourceId = SearchFields.getResourceID(subject);
 
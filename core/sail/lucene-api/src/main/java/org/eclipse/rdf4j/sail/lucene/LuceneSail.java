@@ -26,7 +26,13 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.lang3.math.NumberUtils;
 import org.eclipse.rdf4j.model.IRI;
@@ -342,6 +348,26 @@ public class LuceneSail extends NotifyingSailWrapper {
 	 */
 	public static final String FUZZY_PREFIX_LENGTH_KEY = "fuzzyPrefixLength";
 
+	/**
+	 * Set the key "refreshInterval=&lt;n&gt;" as sail parameter to refresh the index searchers at most every n
+	 * milliseconds instead of after every commit. Committed changes become visible to queries with a delay of up to n
+	 * milliseconds. Default is 0, i.e. changes are visible directly after the commit. Only supported by the
+	 * org.eclipse.rdf4j.sail.lucene.impl.LuceneIndex.
+	 */
+	public static final String REFRESH_INTERVAL_KEY = "refreshInterval";
+
+	/**
+	 * Set the key "reindexThreads=&lt;n&gt;" as sail parameter to configure the number of threads that add documents to
+	 * the index during {@link #reindex()}. The subjects returned by the reindex query are partitioned across the
+	 * threads. Default is 1.
+	 */
+	public static final String REINDEX_THREADS_KEY = "reindexThreads";
+
+	/**
+	 * The interval in milliseconds at which the progress of {@link #reindex()} is logged.
+	 */
+	private static final long REINDEX_PROGRESS_INTERVAL = 10_000;
+
 	/**
 	 * The LuceneIndex holding the indexed literals.
 	 */
@@ -351,6 +377,8 @@ public class LuceneSail extends NotifyingSailWrapper {
 
 	private volatile String reindexQuery = "SELECT ?s ?p ?o ?c WHERE {{?s ?p ?o} UNION {GRAPH ?c {?s ?p ?o.}}} ORDER BY ?s";
 
+	private volatile int reindexThreads = 1;
+
 	private volatile boolean incompleteQueryFails = true;
 
 	private volatile TupleFunctionEvaluationMode evaluationMode = TupleFunctionEvaluationMode.TRIPLE_SOURCE;
@@ -451,6 +479,9 @@ public class LuceneSail extends NotifyingSailWrapper {
 			if (parameters.containsKey(REINDEX_QUERY_KEY)) {
 				setReindexQuery(parameters.getProperty(REINDEX_QUERY_KEY));
 			}
+			if (parameters.containsKey(REINDEX_THREADS_KEY)) {
+				setReindexThreads(NumberUtils.toInt(parameters.getProperty(REINDEX_THREADS_KEY), 1));
+			}
 			if (parameters.containsKey(INCOMPLETE_QUERY_FAIL_KEY)) {
 				setIncompleteQueryFails(Boolean.parseBoolean(parameters.getProperty(INCOMPLETE_QUERY_FAIL_KEY)));
 			}
@@ -513,6 +544,21 @@ public class LuceneSail extends NotifyingSailWrapper {
 		this.reindexQuery = query;
 	}
 
+	/**
+	 * See REINDEX_THREADS_KEY parameter.
+	 */
+	public int getReindexThreads() {
+		return reindexThreads;
+	}
+
+	/**
+	 * See REINDEX_THREADS_KEY parameter.
+	 */
+	public void setReindexThreads(int reindexThreads) {
+		this.setParameter(REINDEX_THREADS_KEY, String.valueOf(reindexThreads));
+		this.reindexThreads = Math.max(1, reindexThreads);
+	}
+
 	/**
 	 * When this is true, incomplete queries will trigger a SailException. You can set this value either using
 	 * {@link #setIncompleteQueryFails(boolean)} or using the parameter "incompletequeryfail"
@@ -570,6 +616,13 @@ public class LuceneSail extends NotifyingSailWrapper {
 		setParameter(FUZZY_PREFIX_LENGTH_KEY, String.valueOf(fuzzyPrefixLength));
 	}
 
+	/**
+	 * See REFRESH_INTERVAL_KEY parameter. Must be set before the sail is initialized.
+	 */
+	public void setRefreshInterval(long refreshInterval) {
+		setParameter(REFRESH_INTERVAL_KEY, String.valueOf(refreshInterval));
+	}
+
 	public TupleFunctionRegistry getTupleFunctionRegistry() {
 		return tupleFunctionRegistry;
 	}
@@ -617,6 +670,7 @@ public class LuceneSail extends NotifyingSailWrapper {
 						// when we shutdown the repo.
 					}
 				});
+				ReindexTask task = new ReindexTask(reindexThreads);
 				try (SailRepositoryConnection connection = repo.getConnection()) {
 					TupleQuery query = connection.prepareTupleQuery(QueryLanguage.SPARQL, reindexQuery);
 					try (TupleQueryResult res = query.evaluate()) {
@@ -632,35 +686,31 @@ public class LuceneSail extends NotifyingSailWrapper {
 							if (current == null) {
 								current = r;
 							} else if (!current.equals(r)) {
-								if (logger.isDebugEnabled()) {
-									logger.debug("reindexing resource " + current);
-								}
 								// commit
-								luceneIndex.addDocuments(current, statements);
+								task.addDocuments(current, statements);
 
 								// re-init
 								current = r;
-								statements.clear();
+								statements = new ArrayList<>();
 							}
 							statements.add(vf.createStatement(r, p, o, c));
 						}
 
 						// make sure to index statements for last resource
 						if (current != null && !statements.isEmpty()) {
-							if (logger.isDebugEnabled()) {
-								logger.debug("reindexing resource " + current);
-							}
 							// commit
-							luceneIndex.addDocuments(current, statements);
+							task.addDocuments(current, statements);
 						}
 					}
+					task.finish();
 				} finally {
+					task.shutDown();
 					repo.shutDown();
 				}
 				// commit the changes
 				luceneIndex.commit();
 
-				logger.info("Reindexing sail: done.");
+				logger.info("Reindexing sail: done, {}.", task.getProgress());
 			} catch (Exception e) {
 				logger.error("Rolling back", e);
 				luceneIndex.rollback();
@@ -671,6 +721,117 @@ public class LuceneSail extends NotifyingSailWrapper {
 		}
 	}
 
+	/**
+	 * Adds the documents of the subjects during {@link LuceneSail#reindex()}. With more than one thread, the subjects
+	 * are handed to a thread pool whose threads add them to the index concurrently, at most a few subjects per thread
+	 * are queued to bound the memory use.
+	 */
+	private class ReindexTask {
+
+		private final ExecutorService executor;
+
+		private final Semaphore queued;
+
+		private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+		private final AtomicLong resources = new AtomicLong();
+
+		private final AtomicLong documents = new AtomicLong();
+
+		private final long startTime = System.currentTimeMillis();
+
+		private long lastReport = startTime;
+
+		ReindexTask(int threads) {
+			if (threads > 1) {
+				executor = Executors.newFixedThreadPool(threads, (Runnable runnable) -> {
+					Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+					thread.setName("rdf4j-lucene-reindex-" + thread.getId());
+					thread.setDaemon(true);
+					return thread;
+				});
+				queued = new Semaphore(threads * 4);
+			} else {
+				executor = null;
+				queued = null;
+			}
+		}
+
+		void addDocuments(Resource subject, List<Statement> statements) throws Exception {
+			checkFailure();
+			if (executor == null) {
+				add(subject, statements);
+			} else {
+				queued.acquire();
+				executor.execute(() -> {
+					try {
+						if (failure.get() == null) {
+							add(subject, statements);
+						}
+					} catch (Exception e) {
+						failure.compareAndSet(null, e);
+					} finally {
+						queued.release();
+					}
+				});
+			}
+
+			long now = System.currentTimeMillis();
+			if (now - lastReport >= REINDEX_PROGRESS_INTERVAL) {
+				lastReport = now;
+				logger.info("Reindexing sail: {}", getProgress());
+			}
+		}
+
+		private void add(Resource subject, List<Statement> statements) throws IOException {
+			if (logger.isDebugEnabled()) {
+				logger.debug("reindexing resource " + subject);
+			}
+			luceneIndex.addDocuments(subject, statements);
+
+			// one document is added per context of the subject
+			Set<Resource> contexts = new HashSet<>();
+			for (Statement statement : statements) {
+				contexts.add(statement.getContext());
+			}
+			resources.incrementAndGet();
+			documents.addAndGet(contexts.size());
+		}
+
+		/**
+		 * Waits until the documents of all subjects have been added.
+		 */
+		void finish() throws Exception {
+			if (executor != null) {
+				executor.shutdown();
+				while (!executor.awaitTermination(REINDEX_PROGRESS_INTERVAL, TimeUnit.MILLISECONDS)) {
+					logger.info("Reindexing sail: {}", getProgress());
+				}
+			}
+			checkFailure();
+		}
+
+		void shutDown() {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+
+		String getProgress() {
+			long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+			long docs = documents.get();
+			return String.format("%d resources, %d documents in %d s (%.1f documents/s)", resources.get(), docs,
+					elapsed / 1000, docs * 1000.0 / elapsed);
+		}
+
+		private void checkFailure() throws Exception {
+			Exception e = failure.get();
+			if (e != null) {
+				throw e;
+			}
+		}
+	}
+
 	/**
 	 * Sets a filter which determines whether a statement should be considered for indexing when performing complete
 	 * reindexing.
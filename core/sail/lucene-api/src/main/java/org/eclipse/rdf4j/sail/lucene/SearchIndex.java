@@ -143,7 +143,7 @@ public interface SearchIndex {
 	/**
 	 * Add a complete Lucene Document based on these statements.Do not search for an existing document with the same
 	 * subject id. (assume the existing document was deleted). This should be called from within a begin-commit-rollback
-	 * block.
+	 * block. Implementations must allow documents of different subjects to be added concurrently.
 	 *
 	 * @param subject
 	 * @param statements the statements that make up the resource
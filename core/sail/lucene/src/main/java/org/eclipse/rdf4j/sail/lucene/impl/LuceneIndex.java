@@ -11,6 +11,7 @@
 package org.eclipse.rdf4j.sail.lucene.impl;
 
 import static org.eclipse.rdf4j.sail.lucene.LuceneSail.FUZZY_PREFIX_LENGTH_KEY;
+import static org.eclipse.rdf4j.sail.lucene.LuceneSail.REFRESH_INTERVAL_KEY;
 
 import java.io.IOException;
 import java.io.StringReader;
@@ -27,6 +28,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.lang3.math.NumberUtils;
@@ -64,6 +68,8 @@ import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.highlight.Formatter;
@@ -149,11 +155,33 @@ public class LuceneIndex extends AbstractLuceneIndex {
 	 */
 	private volatile IndexWriter indexWriter;
 
+	/**
+	 * Provides IndexSearchers that are opened on the last commit of the index. Created lazily and closed whenever the
+	 * index is cleared.
+	 */
+	private volatile SearcherManager searcherManager;
+
 	/**
 	 * This holds IndexReader and IndexSearcher.
 	 */
 	protected volatile ReaderMonitor currentMonitor;
 
+	/**
+	 * The minimum number of milliseconds between two refreshes of the IndexSearchers. If 0, the IndexSearchers are
+	 * refreshed on every commit.
+	 */
+	private volatile long refreshInterval;
+
+	/**
+	 * Refreshes the IndexSearchers in the background if a refresh interval is set.
+	 */
+	private volatile ScheduledExecutorService refresher;
+
+	/**
+	 * Whether changes were committed since the last refresh of the IndexSearchers.
+	 */
+	private volatile boolean stale;
+
 	private volatile Function<? super String, ? extends SpatialStrategy> geoStrategyMapper;
 
 	private final AtomicBoolean closed = new AtomicBoolean(false);
@@ -204,6 +232,9 @@ public class LuceneIndex extends AbstractLuceneIndex {
 		if (parameters.containsKey(FUZZY_PREFIX_LENGTH_KEY)) {
 			this.fuzzyPrefixLength = NumberUtils.toInt(parameters.getProperty(FUZZY_PREFIX_LENGTH_KEY), 0);
 		}
+		if (parameters.containsKey(REFRESH_INTERVAL_KEY)) {
+			this.refreshInterval = Math.max(0, NumberUtils.toLong(parameters.getProperty(REFRESH_INTERVAL_KEY), 0));
+		}
 
 		postInit();
 	}
@@ -253,6 +284,17 @@ public class LuceneIndex extends AbstractLuceneIndex {
 			IndexWriter writer = new IndexWriter(directory, indexWriterConfig);
 			writer.close();
 		}
+
+		if (refreshInterval > 0 && refresher == null) {
+			refresher = Executors.newSingleThreadScheduledExecutor((Runnable runnable) -> {
+				Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+				thread.setName("rdf4j-lucene-refresh");
+				thread.setDaemon(true);
+				return thread;
+			});
+			refresher.scheduleWithFixedDelay(this::refreshIfStale, refreshInterval, refreshInterval,
+					TimeUnit.MILLISECONDS);
+		}
 	}
 
 	protected Function<String, ? extends SpatialStrategy> createSpatialStrategyMapper(Map<String, String> parameters) {
@@ -312,11 +354,44 @@ public class LuceneIndex extends AbstractLuceneIndex {
 			throw new SailException("Index has been closed");
 		}
 		if (currentMonitor == null) {
-			currentMonitor = new ReaderMonitor(this, directory);
+			try {
+				currentMonitor = new ReaderMonitor(this, getSearcherManager());
+			} catch (IOException e) {
+				throw new SailException(e);
+			}
 		}
 		return currentMonitor;
 	}
 
+	/**
+	 * The SearcherManager opens the IndexSearchers on the last commit of the index, hence they never see the documents
+	 * of a transaction or reindex that is not committed yet, whatever the state of the IndexWriter. A refresh only has
+	 * to open the segments that changed since the previous commit.
+	 */
+	private synchronized SearcherManager getSearcherManager() throws IOException {
+		if (searcherManager == null) {
+			searcherManager = new SearcherManager(DirectoryReader.open(directory), new SearcherFactory() {
+
+				@Override
+				public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) {
+					IndexSearcher indexSearcher = new IndexSearcher(reader);
+					indexSearcher.setSimilarity(similarity);
+					return indexSearcher;
+				}
+			});
+		}
+		return searcherManager;
+	}
+
+	private void closeSearcherManager() throws IOException {
+		// IndexSearchers that were acquired before stay usable until they are released
+		SearcherManager toCloseSearcherManager = searcherManager;
+		searcherManager = null;
+		if (toCloseSearcherManager != null) {
+			toCloseSearcherManager.close();
+		}
+	}
+
 	public synchronized IndexWriter getIndexWriter() throws IOException {
 		if (closed.get()) {
 			throw new SailException("Index has been closed");
@@ -334,6 +409,11 @@ public class LuceneIndex extends AbstractLuceneIndex {
 		// when an earlier instance resulted in an IOException
 		// FIXME: is there a more elegant way to ensure this?
 		if (closed.compareAndSet(false, true)) {
+			ScheduledExecutorService toShutDownRefresher = refresher;
+			refresher = null;
+			if (toShutDownRefresher != null) {
+				toShutDownRefresher.shutdownNow();
+			}
 			try {
 				// This close oldMonitors which hold InderReader and
 				// IndexSeracher
@@ -363,10 +443,14 @@ public class LuceneIndex extends AbstractLuceneIndex {
 					}
 				} finally {
 					try {
-						IndexWriter toCloseIndexWriter = indexWriter;
-						indexWriter = null;
-						if (toCloseIndexWriter != null) {
-							toCloseIndexWriter.close();
+						try {
+							closeSearcherManager();
+						} finally {
+							IndexWriter toCloseIndexWriter = indexWriter;
+							indexWriter = null;
+							if (toCloseIndexWriter != null) {
+								toCloseIndexWriter.close();
+							}
 						}
 					} finally {
 						if (!exceptions.isEmpty()) {
@@ -393,7 +477,7 @@ public class LuceneIndex extends AbstractLuceneIndex {
 	}
 
 	@Override
-	protected synchronized SearchDocument newDocument(String id, String resourceId, String context) {
+	protected SearchDocument newDocument(String id, String resourceId, String context) {
 		return new LuceneDocument(id, resourceId, context, geoStrategyMapper);
 	}
 
@@ -409,8 +493,11 @@ public class LuceneIndex extends AbstractLuceneIndex {
 		return new LuceneDocument(newDocument, geoStrategyMapper);
 	}
 
+	/**
+	 * Adds the document without synchronizing on the index, the IndexWriter itself is thread-safe.
+	 */
 	@Override
-	protected synchronized void addDocument(SearchDocument doc) throws IOException {
+	protected void addDocument(SearchDocument doc) throws IOException {
 		getIndexWriter().addDocument(((LuceneDocument) doc).getDocument());
 	}
 
@@ -425,7 +512,7 @@ public class LuceneIndex extends AbstractLuceneIndex {
 	}
 
 	@Override
-	protected synchronized BulkUpdater newBulkUpdate() {
+	protected BulkUpdater newBulkUpdate() {
 		return new SimpleBulkUpdater(this);
 	}
 
@@ -687,8 +774,12 @@ public class LuceneIndex extends AbstractLuceneIndex {
 	@Override
 	public synchronized void commit() throws IOException {
 		getIndexWriter().commit();
-		// the old IndexReaders/Searchers are not outdated
-		invalidateReaders();
+		if (refreshInterval > 0) {
+			// the IndexReaders/Searchers are refreshed in the background
+			stale = true;
+		} else {
+			refreshReaders();
+		}
 	}
 
 	@Override
@@ -696,6 +787,27 @@ public class LuceneIndex extends AbstractLuceneIndex {
 		getIndexWriter().rollback();
 	}
 
+	/**
+	 * Refreshes the IndexSearchers if changes were committed since the last refresh.
+	 */
+	private synchronized void refreshIfStale() {
+		if (!stale || closed.get()) {
+			return;
+		}
+		try {
+			stale = false;
+			refreshReaders();
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Could not refresh Lucene index readers", e);
+		}
+	}
+
+	private void refreshReaders() throws IOException {
+		getSearcherManager().maybeRefreshBlocking();
+		// the old IndexReaders/Searchers are now outdated
+		invalidateReaders();
+	}
+
 	// //////////////////////////////// Methods for querying the index
 
 	/**
@@ -975,6 +1087,7 @@ public class LuceneIndex extends AbstractLuceneIndex {
 		// clear
 		// the old IndexReaders/Searchers are not outdated
 		invalidateReaders();
+		closeSearcherManager();
 		if (indexWriter != null) {
 			indexWriter.close();
 		}
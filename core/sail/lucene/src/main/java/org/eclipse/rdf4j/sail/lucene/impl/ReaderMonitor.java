@@ -15,6 +15,7 @@ import java.io.IOException;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.store.Directory;
 import org.eclipse.rdf4j.sail.lucene.AbstractReaderMonitor;
 
@@ -33,6 +34,11 @@ public class ReaderMonitor extends AbstractReaderMonitor {
 
 	private IOException indexSearcherCreateException;
 
+	/**
+	 * The SearcherManager the IndexSearcher was acquired from, or null if the IndexReader is owned by this monitor.
+	 */
+	private final SearcherManager searcherManager;
+
 	/**
 	 * If exception occur when create indexReader it will be thrown on getIndexReader or get IndexSearcher
 	 *
@@ -41,6 +47,7 @@ public class ReaderMonitor extends AbstractReaderMonitor {
 	 */
 	public ReaderMonitor(final LuceneIndex index, Directory directory) {
 		super(index);
+		this.searcherManager = null;
 		try {
 			IndexReader indexReader = DirectoryReader.open(directory);
 			indexSearcher = new IndexSearcher(indexReader);
@@ -49,6 +56,23 @@ public class ReaderMonitor extends AbstractReaderMonitor {
 		}
 	}
 
+	/**
+	 * Acquires the current IndexSearcher of the SearcherManager, which is released again when the monitor is closed. If
+	 * exception occur when acquiring the IndexSearcher it will be thrown on getIndexReader or get IndexSearcher
+	 *
+	 * @param index
+	 * @param searcherManager The SearcherManager that provides the IndexSearcher
+	 */
+	public ReaderMonitor(final LuceneIndex index, SearcherManager searcherManager) {
+		super(index);
+		this.searcherManager = searcherManager;
+		try {
+			indexSearcher = searcherManager.acquire();
+		} catch (IOException e) {
+			indexSearcherCreateException = e;
+		}
+	}
+
 	/**
 	 * @throws IOException
 	 */
@@ -56,7 +80,11 @@ public class ReaderMonitor extends AbstractReaderMonitor {
 	protected void handleClose() throws IOException {
 		try {
 			if (indexSearcher != null) {
-				indexSearcher.getIndexReader().close();
+				if (searcherManager != null) {
+					searcherManager.release(indexSearcher);
+				} else {
+					indexSearcher.getIndexReader().close();
+				}
 			}
 		} finally {
 			indexSearcher = null;
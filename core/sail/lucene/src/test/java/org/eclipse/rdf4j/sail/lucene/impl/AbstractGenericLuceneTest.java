@@ -737,6 +737,18 @@ public abstract class AbstractGenericLuceneTest {
 		testComplexQueryTwo();
 	}
 
+	/**
+	 * Checks if reindexing with multiple threads creates the same index.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void testReindexingWithThreads() throws Exception {
+		sail.setReindexThreads(3);
+		sail.reindex();
+		testComplexQueryTwo();
+	}
+
 	@Test
 	public void testPropertyVar() throws MalformedQueryException, RepositoryException, QueryEvaluationException {
 		StringBuilder buffer = new StringBuilder();
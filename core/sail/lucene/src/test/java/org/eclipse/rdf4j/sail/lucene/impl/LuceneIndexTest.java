@@ -19,6 +19,7 @@ import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.util.HashSet;
+import java.util.Properties;
 import java.util.Set;
 
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
@@ -35,7 +36,6 @@ import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TotalHitCountCollector;
 import org.apache.lucene.store.RAMDirectory;
-import org.eclipse.rdf4j.common.concurrent.locks.Properties;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Resource;
@@ -117,7 +117,7 @@ public class LuceneIndexTest {
 	@After
 	public void tearDown() throws Exception {
 		index.shutDown();
-		Properties.setLockTrackingEnabled(false);
+		org.eclipse.rdf4j.common.concurrent.locks.Properties.setLockTrackingEnabled(false);
 	}
 
 	@Test
@@ -216,6 +216,64 @@ public class LuceneIndexTest {
 		reader.close();
 	}
 
+	@Test
+	public void testSearcherRefresh() throws Exception {
+		index.begin();
+		index.addStatement(statement11);
+		index.commit();
+		// the searcher is refreshed on commit
+		assertEquals(1, index.getIndexReader().numDocs());
+
+		index.begin();
+		index.addStatement(statement21);
+		index.rollback();
+		assertEquals(1, index.getIndexReader().numDocs());
+
+		index.begin();
+		index.addStatement(statement21);
+		index.commit();
+		assertEquals(2, index.getIndexReader().numDocs());
+	}
+
+	@Test
+	public void testSearcherAfterClear() throws Exception {
+		index.begin();
+		index.addStatement(statement11);
+		index.commit();
+		assertEquals(1, index.getIndexReader().numDocs());
+
+		// the first searcher after a clear must not see the documents of a reindex that is not committed yet
+		index.clear();
+		index.begin();
+		index.addStatement(statement11);
+		index.addStatement(statement21);
+		assertEquals(0, index.getIndexReader().numDocs());
+
+		index.commit();
+		assertEquals(2, index.getIndexReader().numDocs());
+	}
+
+	@Test
+	public void testSearcherRefreshInterval() throws Exception {
+		index.shutDown();
+		Properties parameters = new Properties();
+		parameters.setProperty(LuceneSail.LUCENE_RAMDIR_KEY, "true");
+		parameters.setProperty(LuceneSail.REFRESH_INTERVAL_KEY, "10");
+		index = new LuceneIndex();
+		index.initialize(parameters);
+
+		index.begin();
+		index.addStatement(statement11);
+		index.commit();
+
+		// the searcher is refreshed in the background
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (index.getIndexReader().numDocs() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(1, index.getIndexReader().numDocs());
+	}
+
 	/**
 	 * NB: this is a convenient but very slow way of getting termDocs. It is sufficient for testing purposes.
 	 *
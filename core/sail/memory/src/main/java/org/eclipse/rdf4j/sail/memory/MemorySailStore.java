@@ -12,6 +12,7 @@ package org.eclipse.rdf4j.sail.memory;
 
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.lang.management.ManagementFactory;
 import java.lang.ref.Cleaner;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -24,6 +25,9 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+
 import org.apache.commons.lang3.time.StopWatch;
 import org.eclipse.rdf4j.common.concurrent.locks.diagnostics.ConcurrentCleaner;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
@@ -44,6 +48,7 @@ import org.eclipse.rdf4j.query.algebra.evaluation.impl.EvaluationStatistics;
 import org.eclipse.rdf4j.sail.SailConflictException;
 import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.base.BackingSailSource;
+import org.eclipse.rdf4j.sail.base.QueryPlanCache;
 import org.eclipse.rdf4j.sail.base.SailDataset;
 import org.eclipse.rdf4j.sail.base.SailSink;
 import org.eclipse.rdf4j.sail.base.SailSource;
@@ -92,8 +97,27 @@ class MemorySailStore implements SailStore {
 	public static final MemResource[] EMPTY_CONTEXT = {};
 	public static final MemResource[] NULL_CONTEXT = { null };
 
+	/**
+	 * System property that enables registering the statement iterator cache of every store with the platform MBean
+	 * server, so that its hit and miss counts can be monitored. Stores that are not closed stay registered.
+	 */
+	public static final String ITERATOR_CACHE_MBEAN_PROPERTY = "org.eclipse.rdf4j.sail.memory.iteratorCacheMBean";
+
+	private static final AtomicInteger ITERATOR_CACHE_MBEAN_COUNTER = new AtomicInteger();
+
 	private final MemStatementIteratorCache iteratorCache = new MemStatementIteratorCache(10);
 
+	/**
+	 * The name under which the {@link #iteratorCache} is registered with the platform MBean server, or <var>null</var>
+	 * if it is not registered.
+	 */
+	private final ObjectName iteratorCacheMBeanName;
+
+	/**
+	 * Cache of optimized query plans, <code>null</code> if plans are not cached.
+	 */
+	private final QueryPlanCache queryPlanCache;
+
 	/**
 	 * Factory/cache for MemValue objects.
 	 */
@@ -148,7 +172,46 @@ class MemorySailStore implements SailStore {
 	private final Object snapshotCleanupThreadLockObject = new Object();
 
 	public MemorySailStore(boolean debug) {
+		this(debug, 0);
+	}
+
+	/**
+	 * @param debug              whether snapshots are tracked for debugging.
+	 * @param queryPlanCacheSize the maximum number of optimized query plans that are kept for reuse, 0 if plans should
+	 *                           not be cached.
+	 */
+	public MemorySailStore(boolean debug, int queryPlanCacheSize) {
 		snapshotMonitor = new SnapshotMonitor(debug);
+		iteratorCacheMBeanName = Boolean.getBoolean(ITERATOR_CACHE_MBEAN_PROPERTY) ? registerIteratorCacheMBean()
+				: null;
+		if (queryPlanCacheSize > 0) {
+			queryPlanCache = new QueryPlanCache(queryPlanCacheSize, QueryPlanCache.DEFAULT_REVALIDATION_INTERVAL);
+			queryPlanCache.registerMBean("org.eclipse.rdf4j.sail.memory");
+		} else {
+			queryPlanCache = null;
+		}
+	}
+
+	private ObjectName registerIteratorCacheMBean() {
+		try {
+			ObjectName name = new ObjectName("org.eclipse.rdf4j.sail.memory:type=MemStatementIteratorCache,id="
+					+ ITERATOR_CACHE_MBEAN_COUNTER.incrementAndGet());
+			ManagementFactory.getPlatformMBeanServer().registerMBean(iteratorCache, name);
+			return name;
+		} catch (JMException | SecurityException e) {
+			logger.debug("Could not register iterator cache MBean", e);
+			return null;
+		}
+	}
+
+	private void unregisterIteratorCacheMBean() {
+		if (iteratorCacheMBeanName != null) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(iteratorCacheMBeanName);
+			} catch (JMException | SecurityException e) {
+				logger.debug("Could not unregister iterator cache MBean", e);
+			}
+		}
 	}
 
 	@Override
@@ -168,6 +231,10 @@ class MemorySailStore implements SailStore {
 		statements.clear();
 		namespaceStore.clear();
 		invalidateCache();
+		unregisterIteratorCacheMBean();
+		if (queryPlanCache != null) {
+			queryPlanCache.close();
+		}
 	}
 
 	private void invalidateCache() {
@@ -179,6 +246,11 @@ class MemorySailStore implements SailStore {
 		return new MemEvaluationStatistics(valueFactory, statements);
 	}
 
+	@Override
+	public QueryPlanCache getQueryPlanCache() {
+		return queryPlanCache;
+	}
+
 	@Override
 	public SailSource getExplicitSailSource() {
 		return new MemorySailSource(true);
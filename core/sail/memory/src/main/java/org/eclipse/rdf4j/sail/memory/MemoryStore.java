@@ -99,6 +99,13 @@ public class MemoryStore extends AbstractNotifyingSail implements FederatedServi
 	 */
 	private volatile long syncDelay = 0L;
 
+	/**
+	 * The maximum number of cached query plans.
+	 *
+	 * @see #setQueryPlanCacheSize
+	 */
+	private volatile int queryPlanCacheSize = 0;
+
 	/**
 	 * Semaphore used to synchronize concurrent access to {@link #syncWithLock()} .
 	 */
@@ -198,6 +205,30 @@ public class MemoryStore extends AbstractNotifyingSail implements FederatedServi
 		return syncDelay;
 	}
 
+	/**
+	 * Sets the maximum number of optimized query plans that are kept for reuse by later evaluations of the same query
+	 * with the same bindings. Setting this variable to 0 disables the cache.
+	 * <p>
+	 * The default value for this parameter is <var>0</var> (plans are not cached).
+	 *
+	 * @param queryPlanCacheSize The maximum number of cached query plans.
+	 */
+	public void setQueryPlanCacheSize(int queryPlanCacheSize) {
+		if (isInitialized()) {
+			throw new IllegalStateException("sail has already been initialized");
+		}
+
+		this.queryPlanCacheSize = queryPlanCacheSize;
+	}
+
+	/**
+	 * @return The maximum number of cached query plans.
+	 * @see #setQueryPlanCacheSize
+	 */
+	public int getQueryPlanCacheSize() {
+		return queryPlanCacheSize;
+	}
+
 	/**
 	 * @return Returns the {@link EvaluationStrategy}.
 	 */
@@ -253,7 +284,7 @@ public class MemoryStore extends AbstractNotifyingSail implements FederatedServi
 	protected void initializeInternal() throws SailException {
 		logger.debug("Initializing MemoryStore...");
 
-		this.store = new MemorySailStore(debugEnabled());
+		this.store = new MemorySailStore(debugEnabled(), queryPlanCacheSize);
 
 		if (persist) {
 			File dataDir = getDataDir();
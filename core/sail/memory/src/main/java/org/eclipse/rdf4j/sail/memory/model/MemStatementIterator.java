@@ -360,6 +360,14 @@ public class MemStatementIterator implements CloseableIteration<MemStatement, Sa
 			this.matchingStatements = matchingStatements;
 		}
 
+		int getCheckedStatements() {
+			return checkedStatements;
+		}
+
+		int getMatchingStatements() {
+			return matchingStatements;
+		}
+
 		@Override
 		public String toString() {
 			return "Stats{" +
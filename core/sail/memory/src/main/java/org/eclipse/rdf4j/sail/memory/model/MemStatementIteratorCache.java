@@ -14,47 +14,93 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.sail.SailException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-
 /**
- * A cache for MemStatementIterator that tracks how frequently an iterator is used and caches the iterator as a list
+ * A cache for MemStatementIterator that tracks how frequently an iterator is used and caches the iterator as a list.
+ * <p>
+ * Usage frequencies are tracked in a compact frequency sketch, and only iterators that have been used more often than
+ * the frequency threshold are considered for caching. The cache is bounded by the total number of cached statements.
+ * When the cache is full, a new result is only admitted if it is more valuable than a cached result that would be
+ * evicted for it, where the value of a result is its usage frequency multiplied by the number of statements that had to
+ * be checked to compute it, divided by its weight. This keeps cheap or rarely used results from pushing out expensive
+ * frequently used ones.
  *
  * @author Håvard M. Ottestad
  */
-public class MemStatementIteratorCache {
+public class MemStatementIteratorCache implements MemStatementIteratorCacheMXBean {
 
 	private final static Logger logger = LoggerFactory.getLogger(MemStatementIteratorCache.class);
 
+	/**
+	 * The default maximum weight, in number of cached statements plus one per cached iterator.
+	 */
+	public static final long DEFAULT_MAXIMUM_WEIGHT = 100_000;
+
+	// the number of cached results that are compared when choosing a result to evict
+	private static final int EVICTION_SAMPLE_SIZE = 8;
+
 	// the number of times an iterator needs to be used before it will be cached
 	public final int CACHE_FREQUENCY_THRESHOLD;
 
-	// a map that tracks the number of times a cacheable iterator has been used
-	private final ConcurrentHashMap<MemStatementIterator, Integer> iteratorFrequencyMap = new ConcurrentHashMap<>();
+	private final long maximumWeight;
+
+	// tracks the number of times a cacheable iterator has been used
+	private final FrequencySketch frequencySketch = new FrequencySketch();
 
 	// a cache for commonly used iterators that are particularly costly
-	private final Cache<MemStatementIterator, List<MemStatement>> iteratorCache = CacheBuilder
-			.newBuilder()
-			.softValues()
-			.build();
+	private final ConcurrentHashMap<MemStatementIterator, CacheEntry> iteratorCache = new ConcurrentHashMap<>();
+
+	private final AtomicLong weight = new AtomicLong();
+
+	// incremented on every invalidation, so that results that were computed before an invalidation are not cached
+	private final AtomicLong generation = new AtomicLong();
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+	private final LongAdder rejectionCount = new LongAdder();
+	private final LongAdder invalidationCount = new LongAdder();
 
 	public MemStatementIteratorCache(int cacheFrequencyThreshold) {
+		this(cacheFrequencyThreshold, DEFAULT_MAXIMUM_WEIGHT);
+	}
+
+	/**
+	 * @param cacheFrequencyThreshold the number of times an iterator needs to be used before it will be cached, at most
+	 *                                {@value FrequencySketch#MAX_FREQUENCY} - 1.
+	 * @param maximumWeight           the maximum total weight of the cached results, where the weight of a result is
+	 *                                the number of statements in it plus one.
+	 */
+	public MemStatementIteratorCache(int cacheFrequencyThreshold, long maximumWeight) {
+		if (cacheFrequencyThreshold >= FrequencySketch.MAX_FREQUENCY) {
+			throw new IllegalArgumentException(
+					"Cache frequency threshold must be less than " + FrequencySketch.MAX_FREQUENCY);
+		}
 		this.CACHE_FREQUENCY_THRESHOLD = cacheFrequencyThreshold;
+		this.maximumWeight = maximumWeight;
 	}
 
 	public void invalidateCache() {
-		if (!(iteratorFrequencyMap.isEmpty())) {
-			iteratorFrequencyMap.clear();
-			iteratorCache.invalidateAll();
-			iteratorCache.cleanUp();
+		if (frequencySketch.isModified() || !iteratorCache.isEmpty()) {
+			generation.incrementAndGet();
+			frequencySketch.clear();
+			for (Map.Entry<MemStatementIterator, CacheEntry> entry : iteratorCache.entrySet()) {
+				remove(entry.getKey(), entry.getValue());
+			}
+			invalidationCount.increment();
 
 			if (logger.isTraceEnabled()) {
 				logger.debug("Invalidated cache", new Throwable());
@@ -65,21 +111,15 @@ public class MemStatementIteratorCache {
 	}
 
 	void incrementIteratorFrequencyMap(MemStatementIterator iterator) {
-		Integer compute = iteratorFrequencyMap.compute(iterator, (key, value) -> {
-			if (value == null) {
-				return 0;
-			}
-			return value + 1;
-		});
+		int frequency = frequencySketch.increment(iterator.hashCode());
 		if (logger.isDebugEnabled()) {
-			logger.debug("Incremented iteratorFrequencyMap to {}\n{} \n{}", compute, iterator, iterator.getStats());
+			logger.debug("Incremented iteratorFrequencyMap to {}\n{} \n{}", frequency, iterator, iterator.getStats());
 		}
 	}
 
 	boolean shouldBeCached(MemStatementIterator iterator) {
-		if (!iteratorFrequencyMap.isEmpty()) {
-			Integer integer = iteratorFrequencyMap.get(iterator);
-			return integer != null && integer > CACHE_FREQUENCY_THRESHOLD;
+		if (frequencySketch.isModified()) {
+			return frequencySketch.frequency(iterator.hashCode()) > CACHE_FREQUENCY_THRESHOLD;
 		} else {
 			return false;
 		}
@@ -87,9 +127,15 @@ public class MemStatementIteratorCache {
 
 	CachedIteration getCachedIterator(MemStatementIterator iterator) {
 
-		List<MemStatement> cached = iteratorCache.getIfPresent(iterator);
+		CacheEntry cached = iteratorCache.get(iterator);
 
-		if (cached == null) {
+		if (cached != null) {
+			hitCount.increment();
+			frequencySketch.increment(iterator.hashCode());
+			iterator.close();
+		} else {
+			missCount.increment();
+			long generationBeforeFill = generation.get();
 			try (iterator) {
 				logger.debug("Filling cache {}", iterator);
 				ArrayList<MemStatement> newCache = new ArrayList<>();
@@ -97,12 +143,243 @@ public class MemStatementIteratorCache {
 					newCache.add(iterator.next());
 				}
 				newCache.trimToSize();
-				cached = Collections.unmodifiableList(newCache);
+				cached = new CacheEntry(Collections.unmodifiableList(newCache),
+						iterator.getStats().getCheckedStatements());
+			}
+			admit(iterator, cached, generationBeforeFill);
+		}
+
+		return new CachedIteration(cached.statements.iterator());
+	}
+
+	private void admit(MemStatementIterator iterator, CacheEntry candidate, long generationBeforeFill) {
+		if (candidate.weight > maximumWeight) {
+			rejectionCount.increment();
+			return;
+		}
+
+		if (weight.get() + candidate.weight > maximumWeight) {
+			Map.Entry<MemStatementIterator, CacheEntry> victim = sampleVictim();
+			if (victim != null && value(victim.getKey(), victim.getValue()) >= value(iterator, candidate)) {
+				rejectionCount.increment();
+				return;
+			}
+		}
+
+		if (iteratorCache.putIfAbsent(iterator, candidate) == null) {
+			weight.addAndGet(candidate.weight);
+			if (generation.get() != generationBeforeFill) {
+				// the store was modified while the result was computed
+				remove(iterator, candidate);
+			} else {
+				evictIfNeeded();
+			}
+		}
+	}
+
+	private void evictIfNeeded() {
+		while (weight.get() > maximumWeight) {
+			Map.Entry<MemStatementIterator, CacheEntry> victim = sampleVictim();
+			if (victim == null) {
+				return;
+			}
+			if (remove(victim.getKey(), victim.getValue())) {
+				evictionCount.increment();
+			}
+		}
+	}
+
+	private boolean remove(MemStatementIterator iterator, CacheEntry entry) {
+		if (iteratorCache.remove(iterator, entry)) {
+			weight.addAndGet(-entry.weight);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Picks the least valuable of a small sample of cached results, starting at a random position in the cache.
+	 */
+	private Map.Entry<MemStatementIterator, CacheEntry> sampleVictim() {
+		int size = iteratorCache.size();
+		if (size == 0) {
+			return null;
+		}
+		int skip = ThreadLocalRandom.current().nextInt(Math.max(1, size - EVICTION_SAMPLE_SIZE + 1));
+
+		Map.Entry<MemStatementIterator, CacheEntry> victim = null;
+		double victimValue = Double.MAX_VALUE;
+		int sampled = 0;
+		for (Map.Entry<MemStatementIterator, CacheEntry> entry : iteratorCache.entrySet()) {
+			if (skip > 0) {
+				skip--;
+				continue;
+			}
+			double value = value(entry.getKey(), entry.getValue());
+			if (value < victimValue) {
+				victim = entry;
+				victimValue = value;
+			}
+			if (++sampled == EVICTION_SAMPLE_SIZE) {
+				break;
+			}
+		}
+		return victim;
+	}
+
+	private double value(MemStatementIterator iterator, CacheEntry entry) {
+		return (double) frequencySketch.frequency(iterator.hashCode()) * entry.cost / entry.weight;
+	}
+
+	@Override
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	@Override
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	@Override
+	public double getHitRate() {
+		long hits = hitCount.sum();
+		long total = hits + missCount.sum();
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	@Override
+	public long getRejectionCount() {
+		return rejectionCount.sum();
+	}
+
+	@Override
+	public long getInvalidationCount() {
+		return invalidationCount.sum();
+	}
+
+	@Override
+	public int getSize() {
+		return iteratorCache.size();
+	}
+
+	@Override
+	public long getWeight() {
+		return weight.get();
+	}
+
+	@Override
+	public long getMaximumWeight() {
+		return maximumWeight;
+	}
+
+	private static class CacheEntry {
+
+		private final List<MemStatement> statements;
+
+		private final int weight;
+
+		// the number of statements that were checked to compute the result
+		private final long cost;
+
+		public CacheEntry(List<MemStatement> statements, long cost) {
+			this.statements = statements;
+			this.weight = statements.size() + 1;
+			this.cost = cost;
+		}
+	}
+
+	/**
+	 * A count-min sketch with four 4-bit counters per item, that is updated without locks. All counters are halved
+	 * periodically so that the sketch reflects recent usage.
+	 */
+	static class FrequencySketch {
+
+		static final int MAX_FREQUENCY = 15;
+
+		private static final int TABLE_SIZE = 512;
+
+		private static final int RESET_THRESHOLD = 10 * TABLE_SIZE * 16 / 4;
+
+		private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+				0xcbf29ce484222325L };
+
+		private final AtomicLongArray table = new AtomicLongArray(TABLE_SIZE);
+
+		private final AtomicInteger additions = new AtomicInteger();
+
+		private volatile boolean modified;
+
+		int frequency(int hashCode) {
+			int frequency = MAX_FREQUENCY;
+			for (int i = 0; i < SEEDS.length; i++) {
+				long hash = hash(hashCode, i);
+				frequency = Math.min(frequency, (int) ((table.get(index(hash)) >>> offset(hash)) & 0xfL));
+			}
+			return frequency;
+		}
+
+		int increment(int hashCode) {
+			modified = true;
+			int frequency = MAX_FREQUENCY;
+			for (int i = 0; i < SEEDS.length; i++) {
+				long hash = hash(hashCode, i);
+				int index = index(hash);
+				int offset = offset(hash);
+				while (true) {
+					long current = table.get(index);
+					int count = (int) ((current >>> offset) & 0xfL);
+					if (count == MAX_FREQUENCY) {
+						break;
+					}
+					if (table.compareAndSet(index, current, current + (1L << offset))) {
+						break;
+					}
+				}
+				frequency = Math.min(frequency, (int) ((table.get(index) >>> offset) & 0xfL));
+			}
+
+			if (additions.incrementAndGet() >= RESET_THRESHOLD) {
+				additions.set(0);
+				for (int i = 0; i < TABLE_SIZE; i++) {
+					table.getAndUpdate(i, value -> (value >>> 1) & 0x7777777777777777L);
+				}
+			}
+			return frequency;
+		}
+
+		boolean isModified() {
+			return modified;
+		}
+
+		void clear() {
+			if (modified) {
+				modified = false;
+				additions.set(0);
+				for (int i = 0; i < TABLE_SIZE; i++) {
+					table.set(i, 0);
+				}
 			}
-			iteratorCache.put(iterator, cached);
 		}
 
-		return new CachedIteration(cached.iterator());
+		private static long hash(int hashCode, int i) {
+			long hash = (hashCode + SEEDS[i]) * SEEDS[i];
+			return hash ^ (hash >>> 32);
+		}
+
+		private static int index(long hash) {
+			return (int) (hash >>> 7) & (TABLE_SIZE - 1);
+		}
+
+		private static int offset(long hash) {
+			// one of the 16 counters in a long
+			return ((int) hash & 0xf) << 2;
+		}
 	}
 
 	private static class CachedIteration implements CloseableIteration<MemStatement, SailException> {
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.memory.model;
+
+/**
+ * Management interface of a {@link MemStatementIteratorCache}.
+ */
+public interface MemStatementIteratorCacheMXBean {
+
+	/**
+	 * @return the number of times a cached result was returned.
+	 */
+	long getHitCount();
+
+	/**
+	 * @return the number of times a frequently used iterator was not in the cache.
+	 */
+	long getMissCount();
+
+	/**
+	 * @return the ratio of hits to the total number of hits and misses, or 0 if the cache has not been used yet.
+	 */
+	double getHitRate();
+
+	/**
+	 * @return the number of cached results that were evicted to stay within the maximum weight.
+	 */
+	long getEvictionCount();
+
+	/**
+	 * @return the number of results that were not admitted because they were less valuable than the cached results they
+	 *         would have replaced.
+	 */
+	long getRejectionCount();
+
+	/**
+	 * @return the number of times the cache was invalidated because the store was modified.
+	 */
+	long getInvalidationCount();
+
+	/**
+	 * @return the number of cached results.
+	 */
+	int getSize();
+
+	/**
+	 * @return the total weight of the cached results.
+	 */
+	long getWeight();
+
+	/**
+	 * @return the maximum total weight of the cached results.
+	 */
+	long getMaximumWeight();
+}
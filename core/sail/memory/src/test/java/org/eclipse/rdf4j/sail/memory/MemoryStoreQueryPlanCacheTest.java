@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.memory;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryResults;
+import org.eclipse.rdf4j.query.TupleQuery;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Compares query results of a {@link MemoryStore} that caches query plans with those of one that does not.
+ */
+public class MemoryStoreQueryPlanCacheTest {
+
+	private static final String SAME_TERM_QUERY = "SELECT ?s ?x { ?s <urn:p> ?o . ?s <urn:p> ?x "
+			+ "FILTER(sameTerm(?o, ?x)) }";
+
+	private static final String FILTER_QUERY = "SELECT ?s ?o { ?s <urn:p> ?o FILTER(?o != ?x) }";
+
+	private SailRepository cached;
+
+	private SailRepository uncached;
+
+	@Before
+	public void setUp() {
+		MemoryStore store = new MemoryStore();
+		store.setQueryPlanCacheSize(100);
+		cached = new SailRepository(store);
+		uncached = new SailRepository(new MemoryStore());
+
+		for (SailRepository repository : new SailRepository[] { cached, uncached }) {
+			try (RepositoryConnection conn = repository.getConnection()) {
+				ValueFactory vf = conn.getValueFactory();
+				IRI p = vf.createIRI("urn:p");
+				conn.add(vf.createIRI("urn:s1"), p, vf.createIRI("urn:o1"));
+				conn.add(vf.createIRI("urn:s1"), p, vf.createIRI("urn:o2"));
+				conn.add(vf.createIRI("urn:s2"), p, vf.createIRI("urn:o1"));
+				conn.add(vf.createIRI("urn:s2"), p, vf.createIRI("urn:o3"));
+				conn.add(vf.createIRI("urn:s3"), p, vf.createIRI("urn:o3"));
+			}
+		}
+	}
+
+	@After
+	public void tearDown() {
+		cached.shutDown();
+		uncached.shutDown();
+	}
+
+	@Test
+	public void testBoundVariableRenamedByOptimizer() {
+		// the plan for the query without bindings must not be reused when ?x is bound
+		assertEquals(5, evaluate(cached, SAME_TERM_QUERY, null).size());
+		assertEquals(2, evaluate(cached, SAME_TERM_QUERY, "urn:o1").size());
+
+		for (String value : new String[] { "urn:o1", "urn:o3", "urn:o1", null, "urn:o2", null }) {
+			assertEquals(evaluate(uncached, SAME_TERM_QUERY, value), evaluate(cached, SAME_TERM_QUERY, value));
+		}
+	}
+
+	@Test
+	public void testBoundVariableInFilter() {
+		for (String value : new String[] { "urn:o1", "urn:o3", "urn:o1", null, "urn:o2", null }) {
+			assertEquals(evaluate(uncached, FILTER_QUERY, value), evaluate(cached, FILTER_QUERY, value));
+		}
+	}
+
+	private Set<BindingSet> evaluate(SailRepository repository, String query, String value) {
+		try (RepositoryConnection conn = repository.getConnection()) {
+			TupleQuery tupleQuery = conn.prepareTupleQuery(query);
+			if (value != null) {
+				tupleQuery.setBinding("x", conn.getValueFactory().createIRI(value));
+			}
+			return QueryResults.asSet(tupleQuery.evaluate());
+		}
+	}
+}
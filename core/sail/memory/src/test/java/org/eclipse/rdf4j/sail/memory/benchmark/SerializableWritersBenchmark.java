@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+
+package org.eclipse.rdf4j.sail.memory.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rdf4j.common.transaction.IsolationLevels;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.util.Values;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Concurrent {@link IsolationLevels#SERIALIZABLE} writers that each observe many statement patterns before they commit,
+ * which stresses the conflict detection between the observed patterns and the concurrently committed changes.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@BenchmarkMode({ Mode.AverageTime })
+@Fork(value = 1, jvmArgs = { "-Xms1G", "-Xmx1G" })
+@Measurement(iterations = 5)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SerializableWritersBenchmark extends BaseConcurrentBenchmark {
+
+	private static final int WRITERS = 16;
+
+	private static final int STATEMENTS_PER_WRITER = 100;
+
+	@Param({ "100", "1000", "10000" })
+	public int observations;
+
+	public static void main(String[] args) throws Exception {
+		Options opt = new OptionsBuilder()
+				.include("SerializableWritersBenchmark.*") // adapt to run other benchmark tests
+				.forks(1)
+				.build();
+
+		new Runner(opt).run();
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		super.setup();
+		repository = new SailRepository(new MemoryStore());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		super.tearDown();
+		if (repository != null) {
+			repository.shutDown();
+			repository = null;
+		}
+	}
+
+	@TearDown(Level.Invocation)
+	public void clearAfterInvocation() {
+		try (RepositoryConnection connection = repository.getConnection()) {
+			connection.begin(IsolationLevels.NONE);
+			connection.clear();
+			connection.commit();
+		}
+	}
+
+	@Benchmark
+	public void serializableWriters() throws InterruptedException {
+		CountDownLatch startSignal = new CountDownLatch(1);
+
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < WRITERS; i++) {
+			int writer = i;
+			futures.add(submit(getRunnable(startSignal, null, IsolationLevels.SERIALIZABLE, connection -> {
+				// observe patterns that only concern this writer, so that the transactions never conflict
+				for (int j = 0; j < observations; j++) {
+					connection.hasStatement(subject(writer, j), RDF.TYPE, null, false);
+				}
+				for (int j = 0; j < STATEMENTS_PER_WRITER; j++) {
+					connection.add(subject(writer, observations + j), RDFS.LABEL, Values.literal(j));
+				}
+			})));
+		}
+
+		startSignal.countDown();
+
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	private static IRI subject(int writer, int index) {
+		return Values.iri("http://example.com/writer" + writer + "/" + index);
+	}
+}
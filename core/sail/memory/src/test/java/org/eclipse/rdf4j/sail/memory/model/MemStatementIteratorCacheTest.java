@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.memory.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.sail.SailException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link MemStatementIteratorCache}.
+ */
+public class MemStatementIteratorCacheTest {
+
+	private static final MemResource[] NO_CONTEXTS = {};
+
+	private final MemValueFactory vf = new MemValueFactory();
+
+	private final MemStatementList statements = new MemStatementList();
+
+	private MemIRI[] predicates;
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		SimpleValueFactory svf = SimpleValueFactory.getInstance();
+		MemResource subject = vf.getOrCreateMemResource(svf.createIRI("urn:s"));
+		MemValue object = vf.getOrCreateMemValue(svf.createLiteral("o"));
+
+		predicates = new MemIRI[2000];
+		for (int i = 0; i < predicates.length; i++) {
+			predicates[i] = (MemIRI) vf.getOrCreateMemResource(svf.createIRI("urn:p" + i));
+			statements.add(new MemStatement(subject, predicates[i], object, null, 0));
+		}
+	}
+
+	@Test
+	public void testCachedAfterFrequencyThreshold() throws Exception {
+		MemStatementIteratorCache cache = new MemStatementIteratorCache(2);
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(getStatements(cache, predicates[5])).isInstanceOf(MemStatementIterator.class);
+			assertThat(consume(getStatements(cache, predicates[5]))).isEqualTo(1);
+		}
+
+		assertThat(consume(getStatements(cache, predicates[5]))).isEqualTo(1);
+		assertThat(cache.getSize()).isEqualTo(1);
+		assertThat(cache.getWeight()).isEqualTo(2);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+
+		assertThat(getStatements(cache, predicates[5])).isNotInstanceOf(MemStatementIterator.class);
+		assertThat(consume(getStatements(cache, predicates[5]))).isEqualTo(1);
+		assertThat(cache.getHitCount()).isEqualTo(2);
+		assertThat(cache.getHitRate()).isCloseTo(2.0 / 3, within(0.001));
+	}
+
+	@Test
+	public void testInvalidation() throws Exception {
+		MemStatementIteratorCache cache = new MemStatementIteratorCache(2);
+		for (int i = 0; i < 5; i++) {
+			consume(getStatements(cache, predicates[5]));
+		}
+		assertThat(cache.getSize()).isEqualTo(1);
+
+		cache.invalidateCache();
+
+		assertThat(cache.getSize()).isEqualTo(0);
+		assertThat(cache.getWeight()).isEqualTo(0);
+		assertThat(cache.getInvalidationCount()).isEqualTo(1);
+		assertThat(getStatements(cache, predicates[5])).isInstanceOf(MemStatementIterator.class);
+	}
+
+	@Test
+	public void testMaximumWeight() throws Exception {
+		// room for a single result with one statement
+		MemStatementIteratorCache cache = new MemStatementIteratorCache(2, 3);
+
+		for (int i = 0; i < 10; i++) {
+			consume(getStatements(cache, predicates[5]));
+		}
+		for (int i = 0; i < 5; i++) {
+			consume(getStatements(cache, predicates[6]));
+		}
+
+		// the more frequently used result stays in the cache
+		assertThat(cache.getSize()).isEqualTo(1);
+		assertThat(cache.getWeight()).isLessThanOrEqualTo(cache.getMaximumWeight());
+		assertThat(cache.getRejectionCount()).isGreaterThan(0);
+
+		long hits = cache.getHitCount();
+		long misses = cache.getMissCount();
+		assertThat(consume(getStatements(cache, predicates[5]))).isEqualTo(1);
+		assertThat(consume(getStatements(cache, predicates[6]))).isEqualTo(1);
+		assertThat(cache.getHitCount()).isEqualTo(hits + 1);
+		assertThat(cache.getMissCount()).isEqualTo(misses + 1);
+	}
+
+	private CloseableIteration<MemStatement, SailException> getStatements(MemStatementIteratorCache cache,
+			MemIRI predicate) throws InterruptedException {
+		return MemStatementIterator.cacheAwareInstance(statements, null, predicate, null, null, -1, NO_CONTEXTS,
+				cache);
+	}
+
+	private int consume(CloseableIteration<MemStatement, SailException> iteration) {
+		int count = 0;
+		try (iteration) {
+			while (iteration.hasNext()) {
+				iteration.next();
+				count++;
+			}
+		}
+		return count;
+	}
+}
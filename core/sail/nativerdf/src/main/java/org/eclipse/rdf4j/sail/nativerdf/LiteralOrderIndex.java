@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import javax.xml.datatype.DatatypeConstants;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import org.eclipse.rdf4j.common.io.ByteArrayUtil;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.base.CoreDatatype;
+import org.eclipse.rdf4j.sail.nativerdf.btree.BTree;
+import org.eclipse.rdf4j.sail.nativerdf.btree.RecordIterator;
+
+/**
+ * A sidecar index of the {@link ValueStore} that orders the IDs of numeric and date-time literals by their values. This
+ * allows to find the objects of statements with a value in a given range without scanning all statements.
+ * <p>
+ * Each record consists of a kind (1 byte), a sortable key (8 bytes) and the ID of the literal (4 bytes). Numeric
+ * literals are ordered by their double values and <code>xsd:dateTime</code> literals by their milliseconds since the
+ * epoch, with values without timezone treated as UTC. Other calendar literals and literals whose values cannot be
+ * determined are stored as unordered and are part of every range.
+ * <p>
+ * The highest value ID that the index is known to contain is recorded in a separate file each time the index is synced.
+ * The {@link ValueStore} uses it to add the literals that were stored after the last sync, and to rebuild the index
+ * when it is missing or incomplete.
+ */
+class LiteralOrderIndex implements Closeable {
+
+	private static final String FILENAME_PREFIX = "values.ord";
+
+	private static final byte UNORDERED = 0;
+
+	private static final byte NUMERIC = 1;
+
+	private static final byte DATETIME = 2;
+
+	private static final int RECORD_LENGTH = 13;
+
+	/**
+	 * The maximum difference between a date-time value with and without timezone.
+	 */
+	private static final long MAX_TIMEZONE_MILLIS = 14 * 60 * 60 * 1000L;
+
+	private final BTree btree;
+
+	private final File idFile;
+
+	private final boolean forceSync;
+
+	/**
+	 * The highest value ID of which the literal is known to be in the index, or -1 if unknown.
+	 */
+	private int indexedID;
+
+	LiteralOrderIndex(File dataDir, boolean forceSync) throws IOException {
+		this.idFile = new File(dataDir, FILENAME_PREFIX + ".id");
+		this.forceSync = forceSync;
+		this.indexedID = readIndexedID(idFile);
+		btree = new BTree(dataDir, FILENAME_PREFIX, 4096, RECORD_LENGTH, forceSync);
+	}
+
+	/**
+	 * @return <code>true</code> if the index has been created in the given directory before
+	 */
+	static boolean exists(File dataDir) {
+		return new File(dataDir, FILENAME_PREFIX + ".dat").exists();
+	}
+
+	/**
+	 * @return the highest value ID of which the literal is known to be in the index as of the last sync, or -1 if the
+	 *         index may be incomplete
+	 */
+	int getIndexedID() {
+		return indexedID;
+	}
+
+	private static int readIndexedID(File idFile) throws IOException {
+		if (!idFile.exists()) {
+			return -1;
+		}
+		byte[] data = Files.readAllBytes(idFile.toPath());
+		return data.length == 4 ? ByteArrayUtil.getInt(data, 0) : -1;
+	}
+
+	private void writeIndexedID(int id) throws IOException {
+		File tmpFile = new File(idFile.getParentFile(), idFile.getName() + ".tmp");
+		byte[] data = new byte[4];
+		ByteArrayUtil.putInt(id, data, 0);
+		try (FileChannel channel = FileChannel.open(tmpFile.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			channel.write(ByteBuffer.wrap(data));
+			if (forceSync) {
+				channel.force(false);
+			}
+		}
+		Files.move(tmpFile.toPath(), idFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+		indexedID = id;
+	}
+
+	/**
+	 * Adds a literal to the index if it has a numeric or calendar datatype.
+	 */
+	void add(Literal literal, int id) throws IOException {
+		byte[] record = toRecord(literal, id);
+		if (record != null) {
+			btree.insert(record);
+		}
+	}
+
+	/**
+	 * Returns the IDs of all literals that may be within the given bounds.
+	 *
+	 * @param lowerBound the inclusive lower bound, or <var>null</var>
+	 * @param upperBound the inclusive upper bound, or <var>null</var>
+	 * @param limit      the maximum number of IDs to return
+	 * @return the IDs of the literals, or <var>null</var> if the bounds cannot be used or the range contains more than
+	 *         <var>limit</var> literals
+	 */
+	int[] getIDs(Literal lowerBound, Literal upperBound, int limit) throws IOException {
+		byte kind = getKind(lowerBound, upperBound);
+		if (kind == UNORDERED) {
+			return null;
+		}
+
+		// keys are compared as unsigned values, so 0 and -1 are the smallest and largest keys
+		long minKey;
+		long maxKey;
+		try {
+			if (kind == NUMERIC) {
+				if (lowerBound != null && Double.isNaN(lowerBound.doubleValue())
+						|| upperBound != null && Double.isNaN(upperBound.doubleValue())) {
+					return null;
+				}
+				minKey = lowerBound == null ? 0 : getNumericKey(lowerBound.doubleValue());
+				maxKey = upperBound == null ? -1 : getNumericKey(upperBound.doubleValue());
+			} else {
+				// values with and without timezone are only ordered if they are more than 14 hours apart
+				minKey = lowerBound == null ? 0
+						: getDateTimeKey(getMillis(lowerBound.calendarValue()) - MAX_TIMEZONE_MILLIS);
+				maxKey = upperBound == null ? -1
+						: getDateTimeKey(getMillis(upperBound.calendarValue()) + MAX_TIMEZONE_MILLIS + 1);
+			}
+		} catch (IllegalArgumentException | ArithmeticException e) {
+			// invalid bound
+			return null;
+		}
+
+		int[] ids = new int[Math.min(limit, 64)];
+		int count = 0;
+		for (int i = 0; i < 2; i++) {
+			byte[] min = i == 0 ? toRecord(UNORDERED, 0, 0) : toRecord(kind, minKey, 0);
+			byte[] max = i == 0 ? toRecord(UNORDERED, -1, -1) : toRecord(kind, maxKey, -1);
+			if (i == 1 && Long.compareUnsigned(minKey, maxKey) > 0) {
+				break;
+			}
+			try (RecordIterator iter = btree.iterateRange(min, max)) {
+				byte[] record;
+				while ((record = iter.next()) != null) {
+					if (count == limit) {
+						return null;
+					}
+					if (count == ids.length) {
+						ids = Arrays.copyOf(ids, Math.min(limit, ids.length * 2));
+					}
+					ids[count++] = ByteArrayUtil.getInt(record, 9);
+				}
+			}
+		}
+		return Arrays.copyOf(ids, count);
+	}
+
+	private static byte getKind(Literal lowerBound, Literal upperBound) {
+		byte lowerKind = getKind(lowerBound);
+		byte upperKind = getKind(upperBound);
+		if (lowerBound == null) {
+			return upperKind;
+		} else if (upperBound == null || lowerKind == upperKind) {
+			return lowerKind;
+		}
+		return UNORDERED;
+	}
+
+	private static byte getKind(Literal bound) {
+		if (bound != null && bound.getCoreDatatype().isXSDDatatype()) {
+			CoreDatatype.XSD datatype = (CoreDatatype.XSD) bound.getCoreDatatype();
+			if (datatype.isNumericDatatype()) {
+				return NUMERIC;
+			} else if (datatype == CoreDatatype.XSD.DATETIME || datatype == CoreDatatype.XSD.DATETIMESTAMP) {
+				return DATETIME;
+			}
+		}
+		return UNORDERED;
+	}
+
+	private static byte[] toRecord(Literal literal, int id) {
+		if (!literal.getCoreDatatype().isXSDDatatype()) {
+			return null;
+		}
+		CoreDatatype.XSD datatype = (CoreDatatype.XSD) literal.getCoreDatatype();
+		try {
+			if (datatype.isNumericDatatype()) {
+				return toRecord(NUMERIC, getNumericKey(literal.doubleValue()), id);
+			} else if (datatype == CoreDatatype.XSD.DATETIME || datatype == CoreDatatype.XSD.DATETIMESTAMP) {
+				return toRecord(DATETIME, getDateTimeKey(getMillis(literal.calendarValue())), id);
+			} else if (datatype.isCalendarDatatype()) {
+				// comparable with date-time values in extended comparison mode
+				return toRecord(UNORDERED, 0, id);
+			}
+		} catch (IllegalArgumentException | ArithmeticException e) {
+			// invalid value, which may still be equal to a bound
+			return toRecord(UNORDERED, 0, id);
+		}
+		return null;
+	}
+
+	private static byte[] toRecord(byte kind, long key, int id) {
+		byte[] record = new byte[RECORD_LENGTH];
+		record[0] = kind;
+		ByteArrayUtil.putLong(key, record, 1);
+		ByteArrayUtil.putInt(id, record, 9);
+		return record;
+	}
+
+	/**
+	 * Maps a double to a long whose unsigned bytes have the order of {@link Double#compare(double, double)}.
+	 */
+	private static long getNumericKey(double value) {
+		long bits = Double.doubleToLongBits(value);
+		return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+	}
+
+	private static long getDateTimeKey(long millis) {
+		return millis ^ Long.MIN_VALUE;
+	}
+
+	private static long getMillis(XMLGregorianCalendar calendar) {
+		if (calendar.getTimezone() == DatatypeConstants.FIELD_UNDEFINED) {
+			calendar = (XMLGregorianCalendar) calendar.clone();
+			calendar.setTimezone(0);
+		}
+		return calendar.toGregorianCalendar().getTimeInMillis();
+	}
+
+	/**
+	 * Syncs the index and records that it contains the literals of all values up to the given ID.
+	 */
+	void sync(int maxID) throws IOException {
+		btree.sync();
+		if (maxID != indexedID) {
+			writeIndexedID(maxID);
+		}
+	}
+
+	void clear() throws IOException {
+		// the index is only complete again once it has been synced
+		Files.deleteIfExists(idFile.toPath());
+		indexedID = -1;
+		btree.clear();
+	}
+
+	@Override
+	public void close() throws IOException {
+		btree.close();
+	}
+}
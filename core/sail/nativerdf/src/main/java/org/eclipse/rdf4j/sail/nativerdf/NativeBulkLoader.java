@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.eclipse.rdf4j.common.concurrent.locks.Lock;
+import org.eclipse.rdf4j.common.io.ByteArrayUtil;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.sail.SailException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads large amounts of explicit statements into a {@link NativeStore} without using transactions. The values of the
+ * statements are stored right away, while the statements themselves are collected in a temporary file. When
+ * {@link #finish()} is called the statements are sorted externally in the order of every index and the B-trees of the
+ * indexes are built bottom-up from the sorted statements, merged with the statements that the store already contains.
+ * <p>
+ * No transactions can be started on the store while a bulk loader is open. The bulk load can not be rolled back and is
+ * not safe against crashes, so a copy of the data directory should be made before bulk loading into a store that
+ * already contains data. Statements that have not been loaded when the loader is closed without calling
+ * {@link #finish()} are discarded, but their values remain in the value store.
+ *
+ * @see NativeStore#createBulkLoader()
+ */
+public class NativeBulkLoader implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(NativeBulkLoader.class);
+
+	/**
+	 * The estimated number of bytes that a record occupies while a run of records is sorted in memory.
+	 */
+	private static final int RECORD_MEMORY_SIZE = 64;
+
+	private static final int MAX_RUN_SIZE = 10_000_000;
+
+	private final ValueStore valueStore;
+
+	private final TripleStore tripleStore;
+
+	private final ContextStore contextStore;
+
+	private final RecordCache triples;
+
+	private final Lock lock;
+
+	private final int runSize;
+
+	private boolean finished;
+
+	NativeBulkLoader(ValueStore valueStore, TripleStore tripleStore, ContextStore contextStore, RecordCache triples,
+			Lock lock) {
+		this.valueStore = valueStore;
+		this.tripleStore = tripleStore;
+		this.contextStore = contextStore;
+		this.triples = triples;
+		this.lock = lock;
+		// use about a quarter of the heap for sorting
+		this.runSize = (int) Math.max(1000,
+				Math.min(MAX_RUN_SIZE, Runtime.getRuntime().maxMemory() / 4 / RECORD_MEMORY_SIZE));
+	}
+
+	/**
+	 * Adds a statement to the bulk load.
+	 */
+	public void add(Statement st) throws SailException {
+		add(st.getSubject(), st.getPredicate(), st.getObject(), st.getContext());
+	}
+
+	/**
+	 * Adds a statement to each of the specified contexts, or to the null context if no contexts are specified.
+	 */
+	public void add(Resource subj, IRI pred, Value obj, Resource... contexts) throws SailException {
+		if (finished) {
+			throw new IllegalStateException("Bulk load has already finished");
+		}
+		try {
+			int subjID = valueStore.storeValue(subj);
+			int predID = valueStore.storeValue(pred);
+			int objID = valueStore.storeValue(obj);
+
+			if (contexts.length == 0) {
+				contexts = new Resource[] { null };
+			}
+
+			for (Resource context : contexts) {
+				int contextID = context == null ? 0 : valueStore.storeValue(context);
+
+				byte[] record = new byte[TripleStore.RECORD_LENGTH];
+				ByteArrayUtil.putInt(subjID, record, TripleStore.SUBJ_IDX);
+				ByteArrayUtil.putInt(predID, record, TripleStore.PRED_IDX);
+				ByteArrayUtil.putInt(objID, record, TripleStore.OBJ_IDX);
+				ByteArrayUtil.putInt(contextID, record, TripleStore.CONTEXT_IDX);
+				record[TripleStore.FLAG_IDX] = TripleStore.EXPLICIT_FLAG;
+				triples.storeRecord(record);
+			}
+		} catch (IOException e) {
+			throw new SailException(e);
+		}
+	}
+
+	/**
+	 * Writes all statements that have been added to the indexes of the store.
+	 *
+	 * @return The number of statements that did not yet exist in the store.
+	 */
+	public long finish() throws SailException {
+		if (finished) {
+			throw new IllegalStateException("Bulk load has already finished");
+		}
+		finished = true;
+
+		try {
+			valueStore.sync();
+
+			logger.debug("Bulk loading {} statements...", triples.getRecordCount());
+			Map<Integer, Long> addedTriples = tripleStore.bulkLoad(triples, runSize);
+
+			long addedCount = 0;
+			for (Map.Entry<Integer, Long> entry : addedTriples.entrySet()) {
+				int contextID = entry.getKey();
+				if (contextID != 0) {
+					contextStore.incrementBy((Resource) valueStore.getValue(contextID), entry.getValue());
+				}
+				addedCount += entry.getValue();
+			}
+			contextStore.sync();
+			logger.debug("Bulk load added {} statements", addedCount);
+
+			return addedCount;
+		} catch (IOException e) {
+			throw new SailException(e);
+		}
+	}
+
+	/**
+	 * Releases the resources of this loader and allows transactions to be started on the store again.
+	 */
+	@Override
+	public void close() throws SailException {
+		try {
+			triples.discard();
+		} catch (IOException e) {
+			throw new SailException(e);
+		} finally {
+			lock.release();
+		}
+	}
+}
@@ -113,6 +113,12 @@ class NativeEvaluationStatistics extends EvaluationStatistics {
 			}
 		}
 
+		if (predID != NativeValue.UNKNOWN_ID && contextID == NativeValue.UNKNOWN_ID
+				&& (subjID == NativeValue.UNKNOWN_ID || objID == NativeValue.UNKNOWN_ID)) {
+			// use the predicate statistics, which take the distribution of subjects and objects into account
+			return tripleStore.getStatistics().cardinality(subjID, predID, objID);
+		}
+
 		return tripleStore.cardinality(subjID, predID, objID, contextID);
 	}
 }
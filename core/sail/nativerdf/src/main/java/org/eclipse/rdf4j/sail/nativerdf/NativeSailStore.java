@@ -23,6 +23,7 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.eclipse.rdf4j.common.concurrent.locks.Lock;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
 import org.eclipse.rdf4j.common.iteration.ConvertingIteration;
@@ -31,6 +32,7 @@ import org.eclipse.rdf4j.common.iteration.FilterIteration;
 import org.eclipse.rdf4j.common.iteration.UnionIteration;
 import org.eclipse.rdf4j.common.transaction.IsolationLevel;
 import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Namespace;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
@@ -40,6 +42,7 @@ import org.eclipse.rdf4j.query.algebra.evaluation.impl.EvaluationStatistics;
 import org.eclipse.rdf4j.sail.SailException;
 import org.eclipse.rdf4j.sail.base.BackingSailSource;
 import org.eclipse.rdf4j.sail.base.Changeset;
+import org.eclipse.rdf4j.sail.base.QueryPlanCache;
 import org.eclipse.rdf4j.sail.base.SailDataset;
 import org.eclipse.rdf4j.sail.base.SailSink;
 import org.eclipse.rdf4j.sail.base.SailSource;
@@ -58,6 +61,12 @@ class NativeSailStore implements SailStore {
 
 	final Logger logger = LoggerFactory.getLogger(NativeSailStore.class);
 
+	/**
+	 * Range queries look up the statements of each literal in the range if the pattern matches at least this many
+	 * statements per literal, and scan all statements of the pattern otherwise.
+	 */
+	private static final int MIN_RANGE_SELECTIVITY = 8;
+
 	private final TripleStore tripleStore;
 
 	private final ValueStore valueStore;
@@ -66,6 +75,13 @@ class NativeSailStore implements SailStore {
 
 	private final ContextStore contextStore;
 
+	private final File dataDir;
+
+	/**
+	 * Cache of optimized query plans, <code>null</code> if plans are not cached.
+	 */
+	private volatile QueryPlanCache queryPlanCache;
+
 	/**
 	 * A lock to control concurrent access by {@link NativeSailSink} to the TripleStore, ValueStore, and NamespaceStore.
 	 * Each sink method that directly accesses one of these store obtains the lock and releases it immediately when
@@ -78,6 +94,12 @@ class NativeSailStore implements SailStore {
 	 */
 	private final AtomicBoolean storeTxnStarted = new AtomicBoolean(false);
 
+	/**
+	 * Flag indicating whether statement iterators return values of which the contents are only read from the
+	 * {@link ValueStore} when they are first accessed.
+	 */
+	private volatile boolean lazyValueResolution = false;
+
 	/**
 	 * Creates a new {@link NativeSailStore} with the default cache sizes.
 	 */
@@ -91,12 +113,24 @@ class NativeSailStore implements SailStore {
 	 */
 	public NativeSailStore(File dataDir, String tripleIndexes, boolean forceSync, int valueCacheSize,
 			int valueIDCacheSize, int namespaceCacheSize, int namespaceIDCacheSize) throws IOException, SailException {
+		this(dataDir, tripleIndexes, forceSync, false, valueCacheSize, valueIDCacheSize, namespaceCacheSize,
+				namespaceIDCacheSize);
+	}
+
+	/**
+	 * Creates a new {@link NativeSailStore} that optionally reads its value and index files through memory mapped
+	 * regions of the files.
+	 */
+	public NativeSailStore(File dataDir, String tripleIndexes, boolean forceSync, boolean memoryMappedReads,
+			int valueCacheSize, int valueIDCacheSize, int namespaceCacheSize, int namespaceIDCacheSize)
+			throws IOException, SailException {
+		this.dataDir = dataDir;
 		boolean initialized = false;
 		try {
 			namespaceStore = new NamespaceStore(dataDir);
-			valueStore = new ValueStore(dataDir, forceSync, valueCacheSize, valueIDCacheSize, namespaceCacheSize,
-					namespaceIDCacheSize);
-			tripleStore = new TripleStore(dataDir, tripleIndexes, forceSync);
+			valueStore = new ValueStore(dataDir, forceSync, memoryMappedReads, valueCacheSize, valueIDCacheSize,
+					namespaceCacheSize, namespaceIDCacheSize);
+			tripleStore = new TripleStore(dataDir, tripleIndexes, forceSync, memoryMappedReads);
 			contextStore = new ContextStore(this, dataDir);
 			initialized = true;
 		} finally {
@@ -106,6 +140,34 @@ class NativeSailStore implements SailStore {
 		}
 	}
 
+	/**
+	 * Sets whether the values of returned statements are resolved lazily. If enabled, only the IDs of the values are
+	 * read from the triple indexes and the lexical forms are read from the value store when they are first accessed,
+	 * which avoids the cost of materializing values that are only used for joining or are filtered out. Such values can
+	 * no longer be resolved once this store has been closed.
+	 */
+	public void setLazyValueResolution(boolean lazyValueResolution) {
+		this.lazyValueResolution = lazyValueResolution;
+	}
+
+	/**
+	 * Sets the maximum number of optimized query plans that are kept for reuse, 0 disables the cache. Cached plans are
+	 * discarded.
+	 */
+	public synchronized void setQueryPlanCacheSize(int queryPlanCacheSize) {
+		QueryPlanCache previous = queryPlanCache;
+		if (queryPlanCacheSize > 0) {
+			QueryPlanCache cache = new QueryPlanCache(queryPlanCacheSize, QueryPlanCache.DEFAULT_REVALIDATION_INTERVAL);
+			cache.registerMBean("org.eclipse.rdf4j.sail.nativerdf");
+			queryPlanCache = cache;
+		} else {
+			queryPlanCache = null;
+		}
+		if (previous != null) {
+			previous.close();
+		}
+	}
+
 	@Override
 	public ValueFactory getValueFactory() {
 		return valueStore;
@@ -113,6 +175,7 @@ class NativeSailStore implements SailStore {
 
 	@Override
 	public void close() throws SailException {
+		setQueryPlanCacheSize(0);
 		try {
 			try {
 				if (namespaceStore != null) {
@@ -147,6 +210,11 @@ class NativeSailStore implements SailStore {
 		return new NativeEvaluationStatistics(valueStore, tripleStore);
 	}
 
+	@Override
+	public QueryPlanCache getQueryPlanCache() {
+		return queryPlanCache;
+	}
+
 	@Override
 	public SailSource getExplicitSailSource() {
 		return new NativeSailSource(true);
@@ -157,6 +225,32 @@ class NativeSailStore implements SailStore {
 		return new NativeSailSource(false);
 	}
 
+	/**
+	 * Creates a {@link NativeBulkLoader} for this store. The caller is responsible for making sure that no transactions
+	 * are active while the loader is in use.
+	 *
+	 * @param lock The lock to release when the loader is closed.
+	 */
+	NativeBulkLoader createBulkLoader(Lock lock) throws IOException {
+		return new NativeBulkLoader(valueStore, tripleStore, contextStore,
+				new SequentialRecordCache(dataDir, TripleStore.RECORD_LENGTH), lock);
+	}
+
+	/**
+	 * Computes the statistics about the triples in the store from scratch. Updates are blocked while the statistics are
+	 * computed.
+	 */
+	void rebuildStatistics() throws SailException {
+		sinkStoreAccessLock.lock();
+		try {
+			tripleStore.rebuildStatistics();
+		} catch (IOException e) {
+			throw new SailException(e);
+		} finally {
+			sinkStoreAccessLock.unlock();
+		}
+	}
+
 	List<Integer> getContextIDs(Resource... contexts) throws IOException {
 		assert contexts.length > 0 : "contexts must not be empty";
 
@@ -187,7 +281,7 @@ class NativeSailStore implements SailStore {
 			// Iterator over all statements
 			stIter1 = createStatementIterator(null, null, null, true);
 		} else {
-			stIter1 = new NativeStatementIterator(btreeIter, valueStore);
+			stIter1 = new NativeStatementIterator(btreeIter, valueStore, lazyValueResolution);
 		}
 
 		FilterIteration<Statement, SailException> stIter2 = new FilterIteration<Statement, SailException>(
@@ -243,29 +337,71 @@ class NativeSailStore implements SailStore {
 			}
 		}
 
-		List<Integer> contextIDList = new ArrayList<>(contexts.length);
-		if (contexts.length == 0) {
-			contextIDList.add(NativeValue.UNKNOWN_ID);
+		List<Integer> contextIDList = getPatternContextIDs(contexts);
+
+		ArrayList<NativeStatementIterator> perContextIterList = new ArrayList<>(contextIDList.size());
+
+		for (int contextID : contextIDList) {
+			RecordIterator btreeIter = tripleStore.getTriples(subjID, predID, objID, contextID, explicit, false);
+
+			perContextIterList.add(new NativeStatementIterator(btreeIter, valueStore, lazyValueResolution));
+		}
+
+		if (perContextIterList.size() == 1) {
+			return perContextIterList.get(0);
 		} else {
-			for (Resource context : contexts) {
-				if (context == null) {
-					contextIDList.add(0);
-				} else {
-					int contextID = valueStore.getID(context);
+			return new UnionIteration<>(perContextIterList);
+		}
+	}
 
-					if (contextID != NativeValue.UNKNOWN_ID) {
-						contextIDList.add(contextID);
-					}
-				}
+	/**
+	 * Creates a statement iterator for a pattern whose object is a literal between the given bounds. The literals in
+	 * the range are looked up in the literal order index of the value store and the statements are retrieved for each
+	 * of them. If the range contains too many literals compared to the number of statements that match the pattern, all
+	 * statements that match the pattern are returned instead.
+	 *
+	 * @param subj       The subject of the pattern, or <var>null</var> to indicate a wildcard.
+	 * @param pred       The predicate of the pattern, or <var>null</var> to indicate a wildcard.
+	 * @param lowerBound The inclusive lower bound of the object, or <var>null</var>.
+	 * @param upperBound The inclusive upper bound of the object, or <var>null</var>.
+	 * @param contexts   The context(s) of the pattern.
+	 * @return A StatementIterator that returns a superset of the statements within the bounds.
+	 */
+	CloseableIteration<? extends Statement, SailException> createRangeStatementIterator(Resource subj, IRI pred,
+			Literal lowerBound, Literal upperBound, boolean explicit, Resource... contexts) throws IOException {
+		int subjID = NativeValue.UNKNOWN_ID;
+		if (subj != null) {
+			subjID = valueStore.getID(subj);
+			if (subjID == NativeValue.UNKNOWN_ID) {
+				return new EmptyIteration<>();
+			}
+		}
+
+		int predID = NativeValue.UNKNOWN_ID;
+		if (pred != null) {
+			predID = valueStore.getID(pred);
+			if (predID == NativeValue.UNKNOWN_ID) {
+				return new EmptyIteration<>();
 			}
 		}
 
+		List<Integer> contextIDList = getPatternContextIDs(contexts);
+
+		// a lookup per literal is only cheaper than a scan if the range contains few literals
+		double cardinality = tripleStore.cardinality(subjID, predID, NativeValue.UNKNOWN_ID,
+				contextIDList.size() == 1 ? contextIDList.get(0) : NativeValue.UNKNOWN_ID);
+		int[] objIDs = valueStore.getLiteralIDs(lowerBound, upperBound,
+				(int) Math.min(cardinality / MIN_RANGE_SELECTIVITY, Integer.MAX_VALUE - 8));
+		if (objIDs == null) {
+			return createStatementIterator(subj, pred, null, explicit, contexts);
+		}
+
 		ArrayList<NativeStatementIterator> perContextIterList = new ArrayList<>(contextIDList.size());
 
 		for (int contextID : contextIDList) {
-			RecordIterator btreeIter = tripleStore.getTriples(subjID, predID, objID, contextID, explicit, false);
+			RecordIterator btreeIter = new ObjectLookupRecordIterator(subjID, predID, objIDs, contextID, explicit);
 
-			perContextIterList.add(new NativeStatementIterator(btreeIter, valueStore));
+			perContextIterList.add(new NativeStatementIterator(btreeIter, valueStore, lazyValueResolution));
 		}
 
 		if (perContextIterList.size() == 1) {
@@ -275,6 +411,29 @@ class NativeSailStore implements SailStore {
 		}
 	}
 
+	/**
+	 * Returns the IDs of the given contexts of a pattern, or {@link NativeValue#UNKNOWN_ID} for all contexts.
+	 */
+	private List<Integer> getPatternContextIDs(Resource... contexts) throws IOException {
+		List<Integer> contextIDList = new ArrayList<>(contexts.length);
+		if (contexts.length == 0) {
+			contextIDList.add(NativeValue.UNKNOWN_ID);
+		} else {
+			for (Resource context : contexts) {
+				if (context == null) {
+					contextIDList.add(0);
+				} else {
+					int contextID = valueStore.getID(context);
+
+					if (contextID != NativeValue.UNKNOWN_ID) {
+						contextIDList.add(contextID);
+					}
+				}
+			}
+		}
+		return contextIDList;
+	}
+
 	double cardinality(Resource subj, IRI pred, Value obj, Resource context) throws IOException {
 		int subjID = NativeValue.UNKNOWN_ID;
 		if (subj != null) {
@@ -584,6 +743,70 @@ class NativeSailStore implements SailStore {
 		}
 	}
 
+	/**
+	 * Iterates over the triples with any of the given object IDs by looking up the triples of each object separately.
+	 */
+	private final class ObjectLookupRecordIterator implements RecordIterator {
+
+		private final int subjID;
+
+		private final int predID;
+
+		private final int[] objIDs;
+
+		private final int contextID;
+
+		private final boolean explicit;
+
+		private int nextObjIndex;
+
+		private RecordIterator current;
+
+		ObjectLookupRecordIterator(int subjID, int predID, int[] objIDs, int contextID, boolean explicit) {
+			this.subjID = subjID;
+			this.predID = predID;
+			this.objIDs = objIDs;
+			this.contextID = contextID;
+			this.explicit = explicit;
+		}
+
+		@Override
+		public byte[] next() throws IOException {
+			while (true) {
+				if (current != null) {
+					byte[] record = current.next();
+					if (record != null) {
+						return record;
+					}
+					current.close();
+					current = null;
+				}
+				if (nextObjIndex == objIDs.length) {
+					return null;
+				}
+				current = tripleStore.getTriples(subjID, predID, objIDs[nextObjIndex++], contextID, explicit, false);
+			}
+		}
+
+		@Override
+		public void set(byte[] record) throws IOException {
+			// the last record was returned by the current lookup, which is only closed by the next call to next()
+			if (current == null) {
+				throw new IllegalStateException("No record to replace");
+			}
+			current.set(record);
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (current != null) {
+				current.close();
+				current = null;
+			}
+			nextObjIndex = objIDs.length;
+		}
+	}
+
 	/**
 	 * @author James Leigh
 	 */
@@ -624,6 +847,35 @@ class NativeSailStore implements SailStore {
 				throw new SailException("Unable to get statements", e);
 			}
 		}
+
+		@Override
+		public CloseableIteration<? extends Statement, SailException> getStatementsInRange(Resource subj, IRI pred,
+				Literal lowerBound, Literal upperBound, Resource... contexts) throws SailException {
+			try {
+				return createRangeStatementIterator(subj, pred, lowerBound, upperBound, explicit, contexts);
+			} catch (IOException e) {
+				throw new SailException("Unable to get statements", e);
+			}
+		}
+
+		@Override
+		public boolean supportsObjectRanges() {
+			return true;
+		}
+
+		@Override
+		public long getInternalId(Value value) throws SailException {
+			try {
+				return valueStore.getID(value);
+			} catch (IOException e) {
+				throw new SailException("Unable to get value id", e);
+			}
+		}
+
+		@Override
+		public boolean supportsInternalIds() {
+			return true;
+		}
 	}
 
 }
@@ -35,6 +35,8 @@ class NativeStatementIterator extends LookAheadIteration<Statement, SailExceptio
 
 	private final ValueStore valueStore;
 
+	private final boolean lazyValues;
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
@@ -43,8 +45,18 @@ class NativeStatementIterator extends LookAheadIteration<Statement, SailExceptio
 	 * Creates a new NativeStatementIterator.
 	 */
 	public NativeStatementIterator(RecordIterator btreeIter, ValueStore valueStore) throws IOException {
+		this(btreeIter, valueStore, false);
+	}
+
+	/**
+	 * Creates a new NativeStatementIterator that optionally returns values of which the contents are only read from the
+	 * value store when they are first accessed.
+	 */
+	public NativeStatementIterator(RecordIterator btreeIter, ValueStore valueStore, boolean lazyValues)
+			throws IOException {
 		this.btreeIter = btreeIter;
 		this.valueStore = valueStore;
+		this.lazyValues = lazyValues;
 	}
 
 	/*---------*
@@ -61,18 +73,18 @@ class NativeStatementIterator extends LookAheadIteration<Statement, SailExceptio
 			}
 
 			int subjID = ByteArrayUtil.getInt(nextValue, TripleStore.SUBJ_IDX);
-			Resource subj = (Resource) valueStore.getValue(subjID);
+			Resource subj = (Resource) getValue(subjID);
 
 			int predID = ByteArrayUtil.getInt(nextValue, TripleStore.PRED_IDX);
-			IRI pred = (IRI) valueStore.getValue(predID);
+			IRI pred = (IRI) getValue(predID);
 
 			int objID = ByteArrayUtil.getInt(nextValue, TripleStore.OBJ_IDX);
-			Value obj = valueStore.getValue(objID);
+			Value obj = getValue(objID);
 
 			Resource context = null;
 			int contextID = ByteArrayUtil.getInt(nextValue, TripleStore.CONTEXT_IDX);
 			if (contextID != 0) {
-				context = (Resource) valueStore.getValue(contextID);
+				context = (Resource) getValue(contextID);
 			}
 
 			return valueStore.createStatement(subj, pred, obj, context);
@@ -81,6 +93,10 @@ class NativeStatementIterator extends LookAheadIteration<Statement, SailExceptio
 		}
 	}
 
+	private Value getValue(int id) throws IOException {
+		return lazyValues ? valueStore.getLazyValue(id) : valueStore.getValue(id);
+	}
+
 	@Override
 	protected void handleClose() throws SailException {
 		try {
@@ -117,6 +117,12 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 	 */
 	private volatile boolean forceSync = false;
 
+	private volatile boolean memoryMappedReads = false;
+
+	private volatile boolean lazyValueResolution = false;
+
+	private volatile int queryPlanCacheSize = 0;
+
 	private volatile int valueCacheSize = ValueStore.VALUE_CACHE_SIZE;
 
 	private volatile int valueIDCacheSize = ValueStore.VALUE_ID_CACHE_SIZE;
@@ -127,6 +133,8 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 
 	private SailStore store;
 
+	private NativeSailStore nativeSailStore;
+
 	// used to decide if store is writable, is true if the store was writable during initialization
 	private boolean isWritable;
 
@@ -225,6 +233,47 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 		return forceSync;
 	}
 
+	/**
+	 * Specifies whether the value and index files should be read through memory mapped regions of the files, must be
+	 * called before initialization. This saves a system call and a buffer allocation per read, which pays off for read
+	 * heavy workloads, at the cost of address space and of leaving more of the caching to the operating system. Writes
+	 * are not affected. By default, this feature is disabled.
+	 */
+	public void setMemoryMappedReads(boolean memoryMappedReads) {
+		this.memoryMappedReads = memoryMappedReads;
+	}
+
+	public boolean getMemoryMappedReads() {
+		return memoryMappedReads;
+	}
+
+	/**
+	 * Specifies whether the values of statements that are read from this store should be resolved lazily, must be
+	 * called before initialization. If enabled, query evaluation works on value IDs and only reads the lexical form of
+	 * a value when it is actually needed, for example to evaluate a filter or to produce a result. This saves reading
+	 * values that are only used to join statements. Values that are returned in this mode can not be resolved anymore
+	 * after the store has been shut down. By default, this feature is disabled.
+	 */
+	public void setLazyValueResolution(boolean lazyValueResolution) {
+		this.lazyValueResolution = lazyValueResolution;
+	}
+
+	public boolean getLazyValueResolution() {
+		return lazyValueResolution;
+	}
+
+	/**
+	 * Sets the maximum number of optimized query plans that are kept for reuse by later evaluations of the same query
+	 * with the same bindings, must be called before initialization. By default, plans are not cached.
+	 */
+	public void setQueryPlanCacheSize(int queryPlanCacheSize) {
+		this.queryPlanCacheSize = queryPlanCacheSize;
+	}
+
+	public int getQueryPlanCacheSize() {
+		return queryPlanCacheSize;
+	}
+
 	public void setValueCacheSize(int valueCacheSize) {
 		this.valueCacheSize = valueCacheSize;
 	}
@@ -332,8 +381,11 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 				Files.writeString(versionPath, VERSION, StandardCharsets.UTF_8,
 						StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
 			}
-			final NativeSailStore mainStore = new NativeSailStore(dataDir, tripleIndexes, forceSync, valueCacheSize,
-					valueIDCacheSize, namespaceCacheSize, namespaceIDCacheSize);
+			final NativeSailStore mainStore = new NativeSailStore(dataDir, tripleIndexes, forceSync, memoryMappedReads,
+					valueCacheSize, valueIDCacheSize, namespaceCacheSize, namespaceIDCacheSize);
+			mainStore.setLazyValueResolution(lazyValueResolution);
+			mainStore.setQueryPlanCacheSize(queryPlanCacheSize);
+			this.nativeSailStore = mainStore;
 			this.store = new SnapshotSailStore(mainStore, () -> new MemoryOverflowIntoNativeStore()) {
 
 				@Override
@@ -467,6 +519,78 @@ public class NativeStore extends AbstractNotifyingSail implements FederatedServi
 		return disabledIsolationLockManager.isActiveLock();
 	}
 
+	/**
+	 * Creates a {@link NativeBulkLoader} that loads large amounts of statements into this store by building the indexes
+	 * bottom-up, which is much faster than adding the statements in a transaction. This call blocks until all active
+	 * transactions have finished and no transactions can be started until the loader is closed. Connections should not
+	 * be used to read from the store while the loader is open.
+	 *
+	 * @return A bulk loader that must be closed after use.
+	 * @throws SailException If the loader could not be created.
+	 */
+	public NativeBulkLoader createBulkLoader() throws SailException {
+		if (!isInitialized()) {
+			throw new IllegalStateException("Sail is not initialized or has been shut down");
+		}
+		if (!isWritable()) {
+			throw new SailException("Native store is not writable");
+		}
+
+		Lock isolatedLock;
+		Lock disabledIsolationLock;
+		txnLockManager.lock();
+		try {
+			// exclude transactions with and without isolation by holding a lock in both lock managers
+			isolatedLockManager.waitForActiveLocks();
+			disabledIsolationLockManager.waitForActiveLocks();
+			isolatedLock = isolatedLockManager.createLock("bulk load");
+			disabledIsolationLock = disabledIsolationLockManager.createLock("bulk load");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SailException(e);
+		} finally {
+			txnLockManager.unlock();
+		}
+
+		Lock lock = new Lock() {
+
+			@Override
+			public boolean isActive() {
+				return isolatedLock.isActive();
+			}
+
+			@Override
+			public void release() {
+				try {
+					disabledIsolationLock.release();
+				} finally {
+					isolatedLock.release();
+				}
+			}
+		};
+
+		try {
+			return nativeSailStore.createBulkLoader(lock);
+		} catch (IOException | RuntimeException e) {
+			lock.release();
+			throw new SailException(e);
+		}
+	}
+
+	/**
+	 * Computes the statistics that are used for query planning from all statements in the store. The statistics are
+	 * kept up-to-date incrementally, so this is only needed when they are suspected to have become inaccurate. Updates
+	 * of the store are blocked while the statistics are computed.
+	 *
+	 * @throws SailException If the statistics could not be computed.
+	 */
+	public void rebuildStatistics() throws SailException {
+		if (!isInitialized()) {
+			throw new IllegalStateException("Sail is not initialized or has been shut down");
+		}
+		nativeSailStore.rebuildStatistics();
+	}
+
 	SailStore getSailStore() {
 		return store;
 	}
@@ -0,0 +1,699 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.rdf4j.common.io.ByteArrayUtil;
+import org.eclipse.rdf4j.common.io.IOUtil;
+import org.eclipse.rdf4j.sail.nativerdf.btree.RecordIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Statistics about the committed triples of a {@link TripleStore}, per predicate, for estimating the cardinality of
+ * statement patterns. For every predicate the exact number of triples is kept, together with estimates of the number of
+ * distinct subjects and objects (HyperLogLog sketches) and the most frequent subjects and objects with their frequency
+ * (Space-Saving heavy hitters).
+ * <p>
+ * The statistics are updated incrementally with the triples that are added and removed by every commit. As the sketches
+ * can not forget removed values, the statistics of a predicate are recomputed from its triples once more triples have
+ * been removed than it still has. The statistics are kept in memory and only written to disk from time to time. The
+ * file is marked as dirty before the first update after it has been written, so that the statistics are rebuilt from
+ * the triples when the store was not shut down cleanly. Statistics that could not be read from disk are computed in
+ * memory when they are first used, and are only written to disk if the data directory is writable.
+ * <p>
+ * The statistics file has a 9-byte header consisting of:
+ *
+ * <pre>
+ *  byte 1-3         : the magic number marker
+ *  byte 4           : the file format version
+ *  byte 5           : flag indicating whether the file is up-to-date (1) or dirty (0)
+ *  byte 6-9         : the number of predicates contained in the file, as an int.
+ * </pre>
+ *
+ * Each predicate is encoded in the file as a record, as follows:
+ *
+ * <pre>
+ *  byte 1-4         : the ID of the predicate, as an int.
+ *  byte 5-12        : the number of triples with the predicate, as a long.
+ *  byte 13-20       : the number of triples removed since the sketches were computed, as a long.
+ *  byte 21-276      : the registers of the distinct subjects sketch
+ *  byte 277-532     : the registers of the distinct objects sketch
+ *  byte 533-        : the heavy hitter subjects followed by the heavy hitter objects, each encoded as a byte with
+ *                     their number, followed by an int ID, a long frequency and a long maximum error of the
+ *                     frequency for each of them.
+ * </pre>
+ *
+ * @see NativeEvaluationStatistics
+ */
+class PredicateStatistics {
+
+	private static final Logger logger = LoggerFactory.getLogger(PredicateStatistics.class);
+
+	private static final String FILE_NAME = "predicates.dat";
+
+	/**
+	 * Magic number "Native Predicate Statistics" to detect whether the file is actually a statistics file. The first
+	 * three bytes of the file should be equal to this magic number.
+	 */
+	private static final byte[] MAGIC_NUMBER = new byte[] { 'n', 'p', 's' };
+
+	/**
+	 * File format version, stored as the fourth byte in statistics files.
+	 */
+	private static final byte FILE_FORMAT_VERSION = 1;
+
+	private static final int CLEAN_FLAG_OFFSET = 4;
+
+	/**
+	 * The number of most frequent subjects and objects that is tracked per predicate.
+	 */
+	static final int HEAVY_HITTERS = 16;
+
+	/**
+	 * The minimum number of updates before the statistics are written to disk after a commit.
+	 */
+	private static final long MIN_SYNC_UPDATES = 10_000;
+
+	private final TripleStore tripleStore;
+
+	private final File file;
+
+	private final boolean forceSync;
+
+	/**
+	 * Flag indicating whether the statistics may be written to disk.
+	 */
+	private final boolean writable;
+
+	private volatile Map<Integer, Stats> statsMap = new ConcurrentHashMap<>();
+
+	/**
+	 * Flag indicating whether the file on disk is marked as up-to-date.
+	 */
+	private boolean clean;
+
+	/**
+	 * Flag indicating whether the statistics need to be computed from the triples.
+	 */
+	private volatile boolean rebuildNeeded;
+
+	/**
+	 * The total number of triples.
+	 */
+	private long totalCount;
+
+	/**
+	 * The number of triples that have been added or removed since the statistics were last written to disk.
+	 */
+	private long pendingUpdates;
+
+	PredicateStatistics(TripleStore tripleStore, File dataDir, boolean forceSync) {
+		this.tripleStore = tripleStore;
+		this.file = new File(dataDir, FILE_NAME);
+		this.forceSync = forceSync;
+		this.writable = dataDir.canWrite();
+
+		try {
+			readStatisticsFromFile();
+		} catch (FileNotFoundException e) {
+			logger.debug("predicate statistics have not been created yet: {}", e.getMessage());
+			rebuildNeeded = true;
+		} catch (IOException e) {
+			logger.info("could not read predicate statistics: {}", e.getMessage());
+			rebuildNeeded = true;
+		}
+	}
+
+	/**
+	 * Checks whether the statistics could not be read from disk, or are known to be out of date, and still need to be
+	 * computed from the triples.
+	 */
+	boolean isRebuildNeeded() {
+		return rebuildNeeded;
+	}
+
+	/**
+	 * Marks the statistics file as dirty, before the triples are changed without updating the statistics right away.
+	 */
+	synchronized void markDirty() throws IOException {
+		if (clean) {
+			try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+				raf.seek(CLEAN_FLAG_OFFSET);
+				raf.writeByte(0);
+				if (forceSync) {
+					raf.getFD().sync();
+				}
+			}
+			clean = false;
+		}
+	}
+
+	/**
+	 * Computes the statistics from all committed triples of the store and writes them to disk if the data directory is
+	 * writable. The caller must make sure that no commits happen concurrently.
+	 */
+	synchronized void rebuild() throws IOException {
+		build();
+		if (writable) {
+			writeStatisticsToFile();
+		}
+	}
+
+	/**
+	 * Gets the statistics per predicate, computing them from the committed triples if they are not available yet.
+	 * Commits hold the lock on this object while they update the indexes, so that the statistics are not computed from
+	 * a partially committed transaction.
+	 */
+	private Map<Integer, Stats> getStatsMap() throws IOException {
+		if (rebuildNeeded) {
+			synchronized (this) {
+				if (rebuildNeeded) {
+					logger.info("Computing predicate statistics (this may take a while)");
+					build();
+				}
+			}
+		}
+		return statsMap;
+	}
+
+	private void build() throws IOException {
+		logger.debug("computing predicate statistics");
+		Map<Integer, Stats> newStatsMap = new ConcurrentHashMap<>();
+		long count = 0;
+		try (RecordIterator iter = tripleStore.getTriples(-1, -1, -1, -1)) {
+			byte[] data;
+			while ((data = iter.next()) != null) {
+				int pred = ByteArrayUtil.getInt(data, TripleStore.PRED_IDX);
+				newStatsMap.computeIfAbsent(pred, p -> new Stats()).add(data);
+				count++;
+			}
+		}
+		statsMap = newStatsMap;
+		totalCount = count;
+		rebuildNeeded = false;
+		// the file on disk, if any, no longer matches the statistics
+		clean = false;
+		logger.debug("predicate statistics computed for {} predicates", newStatsMap.size());
+	}
+
+	/**
+	 * Updates the statistics with the changes of a commit. The caller must make sure that the commit has been applied
+	 * to the indexes and that no other commits happen concurrently.
+	 *
+	 * @param updatedTriples The records of the triples that were updated by the commit, with their transaction flags.
+	 */
+	synchronized void update(RecordIterator updatedTriples) throws IOException {
+		if (rebuildNeeded) {
+			// the statistics will be computed from the committed triples when they are first used
+			return;
+		}
+
+		Set<Integer> staleStats = new HashSet<>();
+		byte[] data;
+		while ((data = updatedTriples.next()) != null) {
+			byte flags = data[TripleStore.FLAG_IDX];
+			boolean wasAdded = (flags & TripleStore.ADDED_FLAG) != 0;
+			boolean wasRemoved = (flags & TripleStore.REMOVED_FLAG) != 0;
+			int pred = ByteArrayUtil.getInt(data, TripleStore.PRED_IDX);
+
+			if (wasAdded && !wasRemoved) {
+				statsMap.computeIfAbsent(pred, p -> new Stats()).add(data);
+				totalCount++;
+				pendingUpdates++;
+			} else if (wasRemoved && !wasAdded) {
+				Stats stats = statsMap.get(pred);
+				if (stats != null) {
+					if (stats.remove(data)) {
+						staleStats.add(pred);
+					}
+					totalCount--;
+					pendingUpdates++;
+				}
+			}
+		}
+
+		for (int pred : staleStats) {
+			Stats stats = statsMap.get(pred);
+			if (stats.getCount() <= 0) {
+				statsMap.remove(pred);
+			} else {
+				refresh(pred);
+			}
+		}
+
+		if (writable && pendingUpdates >= Math.max(MIN_SYNC_UPDATES, totalCount / 10)) {
+			writeStatisticsToFile();
+		}
+	}
+
+	/**
+	 * Recomputes the statistics of the specified predicate from its triples.
+	 */
+	private void refresh(int pred) throws IOException {
+		Stats stats = new Stats();
+		try (RecordIterator iter = tripleStore.getTriples(-1, pred, -1, -1)) {
+			byte[] data;
+			while ((data = iter.next()) != null) {
+				stats.add(data);
+			}
+		}
+		if (stats.getCount() > 0) {
+			statsMap.put(pred, stats);
+		} else {
+			statsMap.remove(pred);
+		}
+	}
+
+	synchronized void clear() throws IOException {
+		markDirty();
+		statsMap = new ConcurrentHashMap<>();
+		totalCount = 0;
+		rebuildNeeded = false;
+		pendingUpdates++;
+	}
+
+	/**
+	 * Writes the statistics to disk if they have been changed since they were last written and the data directory is
+	 * writable.
+	 */
+	synchronized void sync() throws IOException {
+		if (writable && !clean && !rebuildNeeded) {
+			writeStatisticsToFile();
+		}
+	}
+
+	/**
+	 * Gets the number of triples with the specified predicate.
+	 */
+	long getCount(int pred) throws IOException {
+		Stats stats = getStatsMap().get(pred);
+		return stats == null ? 0 : stats.getCount();
+	}
+
+	/**
+	 * Gets the estimated number of distinct subjects of the triples with the specified predicate.
+	 */
+	long getDistinctSubjectCount(int pred) throws IOException {
+		Stats stats = getStatsMap().get(pred);
+		return stats == null ? 0 : stats.getDistinctSubjectCount();
+	}
+
+	/**
+	 * Gets the estimated number of distinct objects of the triples with the specified predicate.
+	 */
+	long getDistinctObjectCount(int pred) throws IOException {
+		Stats stats = getStatsMap().get(pred);
+		return stats == null ? 0 : stats.getDistinctObjectCount();
+	}
+
+	/**
+	 * Estimates the number of triples that match the specified pattern, of which the predicate must be bound.
+	 *
+	 * @param subj The subject of the pattern, or <var>-1</var> for a wildcard.
+	 * @param pred The predicate of the pattern.
+	 * @param obj  The object of the pattern, or <var>-1</var> for a wildcard.
+	 */
+	double cardinality(int subj, int pred, int obj) throws IOException {
+		Stats stats = getStatsMap().get(pred);
+		if (stats == null) {
+			return 0;
+		}
+		return stats.cardinality(subj, obj);
+	}
+
+	private void writeStatisticsToFile() throws IOException {
+		try (FileOutputStream fileOut = new FileOutputStream(file);
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+			out.write(MAGIC_NUMBER);
+			out.writeByte(FILE_FORMAT_VERSION);
+			out.writeBoolean(true);
+
+			Map<Integer, Stats> currentStatsMap = statsMap;
+			out.writeInt(currentStatsMap.size());
+			for (Map.Entry<Integer, Stats> entry : currentStatsMap.entrySet()) {
+				out.writeInt(entry.getKey());
+				entry.getValue().write(out);
+			}
+			out.flush();
+			if (forceSync) {
+				fileOut.getFD().sync();
+			}
+		}
+		clean = true;
+		pendingUpdates = 0;
+	}
+
+	private void readStatisticsFromFile() throws IOException {
+		if (!file.exists()) {
+			throw new FileNotFoundException("predicate statistics file " + file + " does not exist");
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			byte[] magicNumber = IOUtil.readBytes(in, MAGIC_NUMBER.length);
+			if (!Arrays.equals(magicNumber, MAGIC_NUMBER)) {
+				throw new IOException("File doesn't contain compatible predicate statistics");
+			}
+
+			byte version = in.readByte();
+			if (version != FILE_FORMAT_VERSION) {
+				throw new IOException("Unable to read predicate statistics; invalid file format version: " + version);
+			}
+
+			if (!in.readBoolean()) {
+				throw new IOException("Predicate statistics are out of date");
+			}
+
+			int size = in.readInt();
+			Map<Integer, Stats> newStatsMap = new ConcurrentHashMap<>(size);
+			long count = 0;
+			for (int i = 0; i < size; i++) {
+				int pred = in.readInt();
+				Stats stats = Stats.read(in);
+				newStatsMap.put(pred, stats);
+				count += stats.getCount();
+			}
+
+			statsMap = newStatsMap;
+			totalCount = count;
+			clean = true;
+		}
+	}
+
+	/**
+	 * The statistics of a single predicate.
+	 */
+	private static final class Stats {
+
+		private long count;
+
+		/**
+		 * The number of triples that have been removed since the sketches were computed.
+		 */
+		private long removed;
+
+		private final Sketch subjects;
+
+		private final Sketch objects;
+
+		private final HeavyHitters topSubjects;
+
+		private final HeavyHitters topObjects;
+
+		Stats() {
+			this(new Sketch(), new Sketch(), new HeavyHitters(), new HeavyHitters());
+		}
+
+		private Stats(Sketch subjects, Sketch objects, HeavyHitters topSubjects, HeavyHitters topObjects) {
+			this.subjects = subjects;
+			this.objects = objects;
+			this.topSubjects = topSubjects;
+			this.topObjects = topObjects;
+		}
+
+		synchronized void add(byte[] data) {
+			int subj = ByteArrayUtil.getInt(data, TripleStore.SUBJ_IDX);
+			int obj = ByteArrayUtil.getInt(data, TripleStore.OBJ_IDX);
+			count++;
+			subjects.add(subj);
+			objects.add(obj);
+			topSubjects.add(subj);
+			topObjects.add(obj);
+		}
+
+		/**
+		 * @return <var>true</var> if the sketches should be recomputed.
+		 */
+		synchronized boolean remove(byte[] data) {
+			count--;
+			removed++;
+			topSubjects.remove(ByteArrayUtil.getInt(data, TripleStore.SUBJ_IDX));
+			topObjects.remove(ByteArrayUtil.getInt(data, TripleStore.OBJ_IDX));
+			return removed > count;
+		}
+
+		synchronized long getCount() {
+			return count;
+		}
+
+		synchronized long getDistinctSubjectCount() {
+			return Math.min(count, subjects.estimate());
+		}
+
+		synchronized long getDistinctObjectCount() {
+			return Math.min(count, objects.estimate());
+		}
+
+		synchronized double cardinality(int subj, int obj) {
+			if (subj < 0 && obj < 0) {
+				return count;
+			}
+
+			double cardinality = count;
+			if (subj >= 0) {
+				cardinality = topSubjects.estimate(subj, count, getDistinctSubjectCount());
+			}
+			if (obj >= 0) {
+				double objCardinality = topObjects.estimate(obj, count, getDistinctObjectCount());
+				// assume that subjects and objects are independent
+				cardinality = count == 0 ? 0 : cardinality * objCardinality / count;
+			}
+			return cardinality;
+		}
+
+		synchronized void write(DataOutputStream out) throws IOException {
+			out.writeLong(count);
+			out.writeLong(removed);
+			subjects.write(out);
+			objects.write(out);
+			topSubjects.write(out);
+			topObjects.write(out);
+		}
+
+		static Stats read(DataInputStream in) throws IOException {
+			long count = in.readLong();
+			long removed = in.readLong();
+			Stats stats = new Stats(Sketch.read(in), Sketch.read(in), HeavyHitters.read(in), HeavyHitters.read(in));
+			stats.count = count;
+			stats.removed = removed;
+			return stats;
+		}
+	}
+
+	/**
+	 * A HyperLogLog sketch for estimating the number of distinct IDs that have been added to it.
+	 */
+	static final class Sketch {
+
+		private static final int PRECISION = 8;
+
+		private static final int REGISTERS = 1 << PRECISION;
+
+		private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+		private final byte[] registers;
+
+		Sketch() {
+			this(new byte[REGISTERS]);
+		}
+
+		private Sketch(byte[] registers) {
+			this.registers = registers;
+		}
+
+		void add(int id) {
+			long hash = hash(id);
+			int index = (int) (hash >>> (Long.SIZE - PRECISION));
+			int rank = Math.min(Long.numberOfLeadingZeros(hash << PRECISION), Long.SIZE - PRECISION) + 1;
+			if (rank > registers[index]) {
+				registers[index] = (byte) rank;
+			}
+		}
+
+		long estimate() {
+			double sum = 0;
+			int zeros = 0;
+			for (byte register : registers) {
+				sum += 1.0 / (1L << register);
+				if (register == 0) {
+					zeros++;
+				}
+			}
+
+			double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+			if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+				// small range correction
+				estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+			}
+			return Math.round(estimate);
+		}
+
+		void write(DataOutputStream out) throws IOException {
+			out.write(registers);
+		}
+
+		static Sketch read(DataInputStream in) throws IOException {
+			return new Sketch(IOUtil.readBytes(in, REGISTERS));
+		}
+
+		private static long hash(int id) {
+			// finalizer of SplitMix64
+			long z = id * 0x9E3779B97F4A7C15L;
+			z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+			z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+			return z ^ (z >>> 31);
+		}
+	}
+
+	/**
+	 * Tracks the most frequent IDs that have been added to it, using the Space-Saving algorithm. An ID that is not yet
+	 * tracked replaces the least frequent one and inherits its frequency, which is remembered as the maximum error of
+	 * its frequency.
+	 */
+	static final class HeavyHitters {
+
+		private final int[] ids;
+
+		private final long[] counts;
+
+		private final long[] errors;
+
+		private int size;
+
+		HeavyHitters() {
+			this(new int[HEAVY_HITTERS], new long[HEAVY_HITTERS], new long[HEAVY_HITTERS], 0);
+		}
+
+		private HeavyHitters(int[] ids, long[] counts, long[] errors, int size) {
+			this.ids = ids;
+			this.counts = counts;
+			this.errors = errors;
+			this.size = size;
+		}
+
+		void add(int id) {
+			int index = indexOf(id);
+			if (index >= 0) {
+				counts[index]++;
+			} else if (size < ids.length) {
+				ids[size] = id;
+				counts[size] = 1;
+				errors[size] = 0;
+				size++;
+			} else {
+				// replace the least frequent ID
+				int min = 0;
+				for (int i = 1; i < size; i++) {
+					if (counts[i] < counts[min]) {
+						min = i;
+					}
+				}
+				ids[min] = id;
+				errors[min] = counts[min];
+				counts[min]++;
+			}
+		}
+
+		void remove(int id) {
+			int index = indexOf(id);
+			if (index >= 0) {
+				counts[index]--;
+				errors[index] = Math.min(errors[index], counts[index]);
+				if (counts[index] <= 0) {
+					size--;
+					ids[index] = ids[size];
+					counts[index] = counts[size];
+					errors[index] = errors[size];
+				}
+			}
+		}
+
+		/**
+		 * Gets the guaranteed frequency of the specified ID, or <var>0</var> if it is not tracked.
+		 */
+		long getCount(int id) {
+			int index = indexOf(id);
+			return index >= 0 ? counts[index] - errors[index] : 0;
+		}
+
+		/**
+		 * Estimates the frequency of the specified ID. IDs with a guaranteed frequency use that frequency, the others
+		 * are assumed to share the remaining triples evenly.
+		 */
+		double estimate(int id, long totalCount, long distinctCount) {
+			long count = getCount(id);
+			if (count > 0) {
+				return count;
+			}
+
+			long trackedCount = 0;
+			int trackedIds = 0;
+			for (int i = 0; i < size; i++) {
+				if (counts[i] > errors[i]) {
+					trackedCount += counts[i] - errors[i];
+					trackedIds++;
+				}
+			}
+			long remainingCount = Math.max(0, totalCount - trackedCount);
+			long remainingDistinct = Math.max(1, distinctCount - trackedIds);
+			return (double) remainingCount / remainingDistinct;
+		}
+
+		private int indexOf(int id) {
+			for (int i = 0; i < size; i++) {
+				if (ids[i] == id) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		void write(DataOutputStream out) throws IOException {
+			out.writeByte(size);
+			for (int i = 0; i < size; i++) {
+				out.writeInt(ids[i]);
+				out.writeLong(counts[i]);
+				out.writeLong(errors[i]);
+			}
+		}
+
+		static HeavyHitters read(DataInputStream in) throws IOException {
+			int size = in.readUnsignedByte();
+			if (size > HEAVY_HITTERS) {
+				throw new IOException("Invalid number of heavy hitters: " + size);
+			}
+			int[] ids = new int[HEAVY_HITTERS];
+			long[] counts = new long[HEAVY_HITTERS];
+			long[] errors = new long[HEAVY_HITTERS];
+			for (int i = 0; i < size; i++) {
+				ids[i] = in.readInt();
+				counts[i] = in.readLong();
+				errors[i] = in.readLong();
+			}
+			return new HeavyHitters(ids, counts, errors, size);
+		}
+	}
+}
@@ -17,9 +17,12 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -27,6 +30,10 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.eclipse.rdf4j.common.io.ByteArrayUtil;
 import org.eclipse.rdf4j.sail.SailException;
@@ -126,6 +133,12 @@ class TripleStore implements Closeable {
 	 */
 	static final byte TOGGLE_EXPLICIT_FLAG = (byte) 0x8; // 0000 1000
 
+	/**
+	 * System property that can be set to false to apply the updates of a transaction to one index after the other,
+	 * instead of to all indexes concurrently.
+	 */
+	static final String PARALLEL_INDEX_UPDATES_PROPERTY = "org.eclipse.rdf4j.sail.nativerdf.parallelIndexUpdates";
+
 	/*-----------*
 	 * Variables *
 	 *-----------*/
@@ -149,10 +162,20 @@ class TripleStore implements Closeable {
 
 	private final boolean forceSync;
 
+	private final boolean memoryMappedReads;
+
 	private final TxnStatusFile txnStatusFile;
 
+	private final PredicateStatistics statistics;
+
 	private volatile SortedRecordCache updatedTriplesCache;
 
+	/**
+	 * Whether the indexes are updated concurrently when a transaction is committed or rolled back.
+	 */
+	private final boolean parallelIndexUpdates = Boolean
+			.parseBoolean(System.getProperty(PARALLEL_INDEX_UPDATES_PROPERTY, "true"));
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
@@ -162,8 +185,14 @@ class TripleStore implements Closeable {
 	}
 
 	public TripleStore(File dir, String indexSpecStr, boolean forceSync) throws IOException, SailException {
+		this(dir, indexSpecStr, forceSync, false);
+	}
+
+	public TripleStore(File dir, String indexSpecStr, boolean forceSync, boolean memoryMappedReads)
+			throws IOException, SailException {
 		this.dir = dir;
 		this.forceSync = forceSync;
+		this.memoryMappedReads = memoryMappedReads;
 		this.txnStatusFile = new TxnStatusFile(dir);
 
 		File propFile = new File(dir, PROPERTIES_FILE);
@@ -181,6 +210,7 @@ class TripleStore implements Closeable {
 			}
 
 			initIndexes(indexSpecs);
+			statistics = new PredicateStatistics(this, dir, forceSync);
 		} else {
 			// Read triple properties file and check format version number
 			properties = loadProperties(propFile);
@@ -189,6 +219,7 @@ class TripleStore implements Closeable {
 			// Initialize existing indexes
 			Set<String> indexSpecs = getIndexSpecs();
 			initIndexes(indexSpecs);
+			statistics = new PredicateStatistics(this, dir, forceSync);
 
 			// Check transaction status
 			TxnStatus txnStatus = txnStatusFile.getTxnStatus();
@@ -420,6 +451,12 @@ class TripleStore implements Closeable {
 	public void close() throws IOException {
 		try {
 			List<Throwable> caughtExceptions = new ArrayList<>();
+			try {
+				statistics.sync();
+			} catch (Throwable e) {
+				logger.warn("Failed to write predicate statistics");
+				caughtExceptions.add(e);
+			}
 			for (TripleIndex index : indexes) {
 				try {
 					index.getBTree().close();
@@ -654,11 +691,27 @@ class TripleStore implements Closeable {
 	}
 
 	public void clear() throws IOException {
+		statistics.clear();
 		for (TripleIndex index : indexes) {
 			index.getBTree().clear();
 		}
 	}
 
+	/**
+	 * Gets the statistics about the committed triples of this store.
+	 */
+	PredicateStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Computes the statistics about the committed triples of this store from scratch. Commits must not happen
+	 * concurrently.
+	 */
+	public void rebuildStatistics() throws IOException {
+		statistics.rebuild();
+	}
+
 	public boolean storeTriple(int subj, int pred, int obj, int context) throws IOException {
 		return storeTriple(subj, pred, obj, context, true);
 	}
@@ -731,6 +784,190 @@ class TripleStore implements Closeable {
 		return stAdded;
 	}
 
+	/**
+	 * Adds the supplied explicit triples to the store without using a transaction. Instead of inserting the triples in
+	 * the indexes one by one, they are sorted externally in the order of every index, merged with the existing content
+	 * of the index and written to a new B-tree that is built bottom-up. This is much faster for large amounts of
+	 * triples, but as the indexes are replaced the operation can not be rolled back and is not safe against crashes. No
+	 * transaction may be active while this method is called.
+	 *
+	 * @param triples The records of the triples to add, in arbitrary order and possibly containing duplicates.
+	 * @param runSize The maximum number of records that is sorted in memory at a time.
+	 * @return The number of triples that did not yet exist in the store, per context ID.
+	 * @throws IOException If an I/O error occurred.
+	 */
+	public Map<Integer, Long> bulkLoad(RecordCache triples, int runSize) throws IOException {
+		if (txnStatusFile.getTxnStatus() != TxnStatus.NONE) {
+			throw new IllegalStateException("Bulk load is not possible while a transaction is active");
+		}
+
+		Map<Integer, Long> addedTriples = new HashMap<>();
+		TripleIndex firstIndex = indexes.get(0);
+		List<RecordCache> runs = new ArrayList<>();
+		RecordCache mergedTriples = null;
+		try {
+			// Determine the final set of triples in the order of the first index by merging the new triples with the
+			// existing ones, this set is then used as input for all indexes
+			sortRuns(triples, firstIndex.tripleComparator, runSize, runs);
+			mergedTriples = new SequentialRecordCache(dir, RECORD_LENGTH);
+
+			List<RecordIterator> sources = new ArrayList<>(runs.size() + 1);
+			sources.add(firstIndex.getBTree().iterateAll());
+			for (RecordCache run : runs) {
+				sources.add(run.getRecords());
+			}
+			try (MergedRecordIterator iter = new MergedRecordIterator(sources, firstIndex.tripleComparator)) {
+				byte[] record;
+				while ((record = iter.next()) != null) {
+					mergedTriples.storeRecord(record);
+					if (!iter.isFromFirstSource()) {
+						addedTriples.merge(ByteArrayUtil.getInt(record, CONTEXT_IDX), 1L, Long::sum);
+					}
+				}
+			}
+			discard(runs);
+
+			if (addedTriples.isEmpty()) {
+				return addedTriples;
+			}
+
+			statistics.markDirty();
+			long tripleCount = mergedTriples.getRecordCount();
+			RecordCache input = mergedTriples;
+			Map<TripleIndex, TripleIndex> rebuiltIndexes = new ConcurrentHashMap<>();
+			try {
+				forEachIndex(index -> {
+					if (index == firstIndex) {
+						try (RecordIterator iter = input.getRecords()) {
+							rebuiltIndexes.put(index, rebuildIndex(index, iter, tripleCount));
+						}
+					} else {
+						List<RecordCache> indexRuns = new ArrayList<>();
+						try {
+							sortRuns(input, index.tripleComparator, runSize, indexRuns);
+							List<RecordIterator> indexSources = new ArrayList<>(indexRuns.size());
+							for (RecordCache run : indexRuns) {
+								indexSources.add(run.getRecords());
+							}
+							try (RecordIterator iter = new MergedRecordIterator(indexSources, index.tripleComparator)) {
+								rebuiltIndexes.put(index, rebuildIndex(index, iter, tripleCount));
+							}
+						} finally {
+							discard(indexRuns);
+						}
+					}
+				});
+			} finally {
+				// also replace the indexes that have been rebuilt when another one failed, their old B-trees are closed
+				for (int i = 0; i < indexes.size(); i++) {
+					indexes.set(i, rebuiltIndexes.getOrDefault(indexes.get(i), indexes.get(i)));
+				}
+			}
+			statistics.rebuild();
+
+			return addedTriples;
+		} finally {
+			try {
+				discard(runs);
+			} finally {
+				if (mergedTriples != null) {
+					mergedTriples.discard();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the supplied records in chunks of at most <var>runSize</var> records, sorts every chunk and stores it as a
+	 * run in a temporary file.
+	 */
+	private void sortRuns(RecordCache records, RecordComparator comparator, int runSize, List<RecordCache> runs)
+			throws IOException {
+		Comparator<byte[]> recordComparator = (a, b) -> comparator.compareBTreeValues(a, b, 0, RECORD_LENGTH);
+		byte[][] chunk = new byte[(int) Math.min(runSize, Math.max(1, records.getRecordCount()))][];
+		try (RecordIterator iter = records.getRecords()) {
+			byte[] record = iter.next();
+			while (record != null) {
+				int size = 0;
+				while (record != null && size < chunk.length) {
+					chunk[size++] = record;
+					record = iter.next();
+				}
+				Arrays.parallelSort(chunk, 0, size, recordComparator);
+
+				RecordCache run = new SequentialRecordCache(dir, RECORD_LENGTH);
+				runs.add(run);
+				for (int i = 0; i < size; i++) {
+					run.storeRecord(chunk[i]);
+					chunk[i] = null;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the supplied records, which are sorted in the order of the index, into a B-tree that is built bottom-up.
+	 * An empty index is filled directly, otherwise a new B-tree is built next to the existing one, which is replaced by
+	 * it afterwards.
+	 *
+	 * @return The index that contains the supplied records.
+	 */
+	private TripleIndex rebuildIndex(TripleIndex index, RecordIterator records, long recordCount) throws IOException {
+		String fieldSeq = new String(index.getFieldSeq());
+		BTree btree = index.getBTree();
+
+		boolean empty;
+		try (RecordIterator iter = btree.iterateAll()) {
+			empty = iter.next() == null;
+		}
+		if (empty) {
+			btree.bulkLoad(records, recordCount);
+			return index;
+		}
+
+		logger.debug("Rebuilding index '{}'...", fieldSeq);
+		String filenamePrefix = index.getFilenamePrefix(fieldSeq);
+		String bulkFilenamePrefix = filenamePrefix + "-bulk";
+		TripleIndex bulkIndex = new TripleIndex(fieldSeq, bulkFilenamePrefix);
+		try {
+			bulkIndex.getBTree().bulkLoad(records, recordCount);
+		} catch (IOException | RuntimeException e) {
+			bulkIndex.getBTree().delete();
+			throw e;
+		}
+		bulkIndex.getBTree().close();
+
+		// The old B-tree is only replaced once the new one is complete. The data file is replaced atomically, the
+		// allocated nodes file is removed before, so that it is recomputed from whichever data file survives a crash.
+		btree.close();
+		File bulkDataFile = new File(dir, bulkFilenamePrefix + ".dat");
+		File bulkAllocFile = new File(dir, bulkFilenamePrefix + ".alloc");
+		try {
+			Files.deleteIfExists(new File(dir, filenamePrefix + ".alloc").toPath());
+			Files.move(bulkDataFile.toPath(), new File(dir, filenamePrefix + ".dat").toPath(),
+					StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			Files.deleteIfExists(bulkDataFile.toPath());
+			Files.deleteIfExists(bulkAllocFile.toPath());
+			throw e;
+		}
+		Files.move(bulkAllocFile.toPath(), new File(dir, filenamePrefix + ".alloc").toPath(),
+				StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		logger.debug("Index '{}' rebuilt", fieldSeq);
+
+		return new TripleIndex(fieldSeq);
+	}
+
+	private static void discard(List<RecordCache> caches) throws IOException {
+		try {
+			for (RecordCache cache : caches) {
+				cache.discard();
+			}
+		} finally {
+			caches.clear();
+		}
+	}
+
 	/**
 	 * Remove triples
 	 *
@@ -893,47 +1130,25 @@ class TripleStore implements Closeable {
 		// updatedTriplesCache will be null when recovering from a crashed commit
 		boolean validCache = updatedTriplesCache != null && updatedTriplesCache.isValid();
 
-		for (TripleIndex index : indexes) {
-			BTree btree = index.getBTree();
+		// statistics that have not been computed yet must not be computed from a partially committed transaction
+		synchronized (statistics) {
+			// the statistics are only written to disk from time to time, they are rebuilt when the store is restarted
+			// after a crash
+			statistics.markDirty();
 
-			RecordIterator iter;
-			if (validCache) {
-				// Use the cached set of updated triples
-				iter = updatedTriplesCache.getRecords();
-			} else {
-				// Cache is invalid; too much updates(?). Iterate over all triples
-				iter = btree.iterateAll();
-			}
-
-			try {
-				byte[] data;
-				while ((data = iter.next()) != null) {
-					byte flags = data[FLAG_IDX];
-					boolean wasAdded = (flags & ADDED_FLAG) != 0;
-					boolean wasRemoved = (flags & REMOVED_FLAG) != 0;
-					boolean wasToggled = (flags & TOGGLE_EXPLICIT_FLAG) != 0;
-
-					if (wasRemoved) {
-						btree.remove(data);
-					} else if (wasAdded || wasToggled) {
-						if (wasToggled) {
-							data[FLAG_IDX] ^= EXPLICIT_FLAG;
-						}
-						if (wasAdded) {
-							data[FLAG_IDX] ^= ADDED_FLAG;
-						}
+			// the indexes are independent B-trees, every index is updated and synced on its own thread
+			forEachIndex(index -> {
+				commit(index.getBTree(), validCache);
+				index.getBTree().sync();
+			});
 
-						if (validCache) {
-							// We're iterating the cache
-							btree.insert(data);
-						} else {
-							// We're iterating the BTree itself
-							iter.set(data);
-						}
-					}
+			if (validCache) {
+				try (RecordIterator iter = updatedTriplesCache.getRecords()) {
+					statistics.update(iter);
 				}
-			} finally {
-				iter.close();
+			} else {
+				// the updated triples are unknown, or too many to be cached
+				statistics.rebuild();
 			}
 		}
 
@@ -941,12 +1156,52 @@ class TripleStore implements Closeable {
 			updatedTriplesCache.clear();
 		}
 
-		sync();
-
 		txnStatusFile.setTxnStatus(TxnStatus.NONE);
 		// checkAllCommitted();
 	}
 
+	private void commit(BTree btree, boolean validCache) throws IOException {
+		RecordIterator iter;
+		if (validCache) {
+			// Use the cached set of updated triples
+			iter = updatedTriplesCache.getRecords();
+		} else {
+			// Cache is invalid; too much updates(?). Iterate over all triples
+			iter = btree.iterateAll();
+		}
+
+		try {
+			byte[] data;
+			while ((data = iter.next()) != null) {
+				byte flags = data[FLAG_IDX];
+				boolean wasAdded = (flags & ADDED_FLAG) != 0;
+				boolean wasRemoved = (flags & REMOVED_FLAG) != 0;
+				boolean wasToggled = (flags & TOGGLE_EXPLICIT_FLAG) != 0;
+
+				if (wasRemoved) {
+					btree.remove(data);
+				} else if (wasAdded || wasToggled) {
+					if (wasToggled) {
+						data[FLAG_IDX] ^= EXPLICIT_FLAG;
+					}
+					if (wasAdded) {
+						data[FLAG_IDX] ^= ADDED_FLAG;
+					}
+
+					if (validCache) {
+						// We're iterating the cache
+						btree.insert(data);
+					} else {
+						// We're iterating the BTree itself
+						iter.set(data);
+					}
+				}
+			}
+		} finally {
+			iter.close();
+		}
+	}
+
 	private void checkAllCommitted() throws IOException {
 		for (TripleIndex index : indexes) {
 			System.out.println("Checking " + index + " index");
@@ -971,56 +1226,110 @@ class TripleStore implements Closeable {
 		// updatedTriplesCache will be null when recovering from a crash
 		boolean validCache = updatedTriplesCache != null && updatedTriplesCache.isValid();
 
-		byte txnFlagsMask = ~(ADDED_FLAG | REMOVED_FLAG | TOGGLE_EXPLICIT_FLAG);
+		forEachIndex(index -> {
+			rollback(index.getBTree(), validCache);
+			index.getBTree().sync();
+		});
 
-		for (TripleIndex index : indexes) {
-			BTree btree = index.getBTree();
+		if (updatedTriplesCache != null) {
+			updatedTriplesCache.clear();
+		}
 
-			RecordIterator iter;
-			if (validCache) {
-				// Use the cached set of updated triples
-				iter = updatedTriplesCache.getRecords();
-			} else {
-				// Cache is invalid; too much updates(?). Iterate over all triples
-				iter = btree.iterateAll();
-			}
+		txnStatusFile.setTxnStatus(TxnStatus.NONE);
+	}
 
-			try {
-				byte[] data;
-				while ((data = iter.next()) != null) {
-					byte flags = data[FLAG_IDX];
-					boolean wasAdded = (flags & ADDED_FLAG) != 0;
-					boolean wasRemoved = (flags & REMOVED_FLAG) != 0;
-					boolean wasToggled = (flags & TOGGLE_EXPLICIT_FLAG) != 0;
+	private void rollback(BTree btree, boolean validCache) throws IOException {
+		byte txnFlagsMask = ~(ADDED_FLAG | REMOVED_FLAG | TOGGLE_EXPLICIT_FLAG);
 
-					if (wasAdded) {
-						btree.remove(data);
-					} else {
-						if (wasRemoved || wasToggled) {
-							data[FLAG_IDX] &= txnFlagsMask;
-
-							if (validCache) {
-								// We're iterating the cache
-								btree.insert(data);
-							} else {
-								// We're iterating the BTree itself
-								iter.set(data);
-							}
+		RecordIterator iter;
+		if (validCache) {
+			// Use the cached set of updated triples
+			iter = updatedTriplesCache.getRecords();
+		} else {
+			// Cache is invalid; too much updates(?). Iterate over all triples
+			iter = btree.iterateAll();
+		}
+
+		try {
+			byte[] data;
+			while ((data = iter.next()) != null) {
+				byte flags = data[FLAG_IDX];
+				boolean wasAdded = (flags & ADDED_FLAG) != 0;
+				boolean wasRemoved = (flags & REMOVED_FLAG) != 0;
+				boolean wasToggled = (flags & TOGGLE_EXPLICIT_FLAG) != 0;
+
+				if (wasAdded) {
+					btree.remove(data);
+				} else {
+					if (wasRemoved || wasToggled) {
+						data[FLAG_IDX] &= txnFlagsMask;
+
+						if (validCache) {
+							// We're iterating the cache
+							btree.insert(data);
+						} else {
+							// We're iterating the BTree itself
+							iter.set(data);
 						}
 					}
 				}
-			} finally {
-				iter.close();
 			}
+		} finally {
+			iter.close();
 		}
+	}
 
-		if (updatedTriplesCache != null) {
-			updatedTriplesCache.clear();
+	/**
+	 * Applies the specified update to all indexes. The indexes are updated concurrently if there is more than one and
+	 * {@link #PARALLEL_INDEX_UPDATES_PROPERTY} is not set to false. The update is applied to all indexes, even if it
+	 * fails for one of them, so that every index has been brought as far as possible before the exception is thrown. As
+	 * the transaction status is only reset after this method has completed successfully, a failed or interrupted update
+	 * will be repeated for all indexes when the store is restarted.
+	 */
+	private void forEachIndex(IndexUpdate update) throws IOException {
+		List<Throwable> exceptions = new ArrayList<>();
+		if (!parallelIndexUpdates || indexes.size() <= 1) {
+			for (TripleIndex index : indexes) {
+				try {
+					update.apply(index);
+				} catch (Throwable e) {
+					exceptions.add(e);
+				}
+			}
+		} else {
+			List<Future<?>> futures = new ArrayList<>(indexes.size());
+			for (TripleIndex index : indexes) {
+				futures.add(ForkJoinPool.commonPool().submit(() -> {
+					update.apply(index);
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					exceptions.add(e.getCause());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					exceptions.add(e);
+				}
+			}
 		}
 
-		sync();
+		if (!exceptions.isEmpty()) {
+			Throwable e = exceptions.get(0);
+			if (e instanceof IOException) {
+				throw (IOException) e;
+			} else if (e instanceof Error) {
+				throw (Error) e;
+			}
+			throw new IOException(e);
+		}
+	}
 
-		txnStatusFile.setTxnStatus(TxnStatus.NONE);
+	@FunctionalInterface
+	private interface IndexUpdate {
+		void apply(TripleIndex index) throws IOException;
 	}
 
 	protected void sync() throws IOException {
@@ -1123,7 +1432,14 @@ class TripleStore implements Closeable {
 
 		public TripleIndex(String fieldSeq) throws IOException {
 			tripleComparator = new TripleComparator(fieldSeq);
-			btree = new BTree(dir, getFilenamePrefix(fieldSeq), 2048, RECORD_LENGTH, tripleComparator, forceSync);
+			btree = new BTree(dir, getFilenamePrefix(fieldSeq), 2048, RECORD_LENGTH, tripleComparator, forceSync,
+					memoryMappedReads);
+		}
+
+		public TripleIndex(String fieldSeq, String filenamePrefix) throws IOException {
+			tripleComparator = new TripleComparator(fieldSeq);
+			btree = new BTree(dir, filenamePrefix, 2048, RECORD_LENGTH, tripleComparator, forceSync,
+					memoryMappedReads);
 		}
 
 		private String getFilenamePrefix(String fieldSeq) {
@@ -1191,6 +1507,91 @@ class TripleStore implements Closeable {
 		}
 	}
 
+	/*-----------------------------------*
+	 * Inner class MergedRecordIterator *
+	 *-----------------------------------*/
+
+	/**
+	 * Merges record iterators that are sorted according to the same comparator. Records that are equal according to the
+	 * comparator are returned once, with the flags of all of them combined.
+	 */
+	private static class MergedRecordIterator implements RecordIterator {
+
+		private final List<RecordIterator> sources;
+
+		private final RecordComparator comparator;
+
+		/**
+		 * The current record of every source, <var>null</var> once a source is exhausted.
+		 */
+		private final byte[][] heads;
+
+		private boolean fromFirstSource;
+
+		public MergedRecordIterator(List<RecordIterator> sources, RecordComparator comparator) throws IOException {
+			this.sources = sources;
+			this.comparator = comparator;
+			this.heads = new byte[sources.size()][];
+			for (int i = 0; i < heads.length; i++) {
+				heads[i] = sources.get(i).next();
+			}
+		}
+
+		@Override
+		public byte[] next() throws IOException {
+			// the number of sources is small, a linear scan for the smallest record is good enough
+			byte[] min = null;
+			for (byte[] head : heads) {
+				if (head != null && (min == null || comparator.compareBTreeValues(head, min, 0, RECORD_LENGTH) < 0)) {
+					min = head;
+				}
+			}
+			if (min == null) {
+				return null;
+			}
+
+			byte[] result = min.clone();
+			fromFirstSource = false;
+			for (int i = 0; i < heads.length; i++) {
+				// a source may itself contain duplicates, so keep advancing while its head is equal
+				while (heads[i] != null && comparator.compareBTreeValues(heads[i], result, 0, RECORD_LENGTH) == 0) {
+					result[FLAG_IDX] |= heads[i][FLAG_IDX];
+					fromFirstSource |= i == 0;
+					heads[i] = sources.get(i).next();
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * @return <var>true</var> if the record that was last returned by {@link #next()} was (also) returned by the
+		 *         first source.
+		 */
+		public boolean isFromFirstSource() {
+			return fromFirstSource;
+		}
+
+		@Override
+		public void set(byte[] record) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void close() throws IOException {
+			List<Throwable> exceptions = new ArrayList<>();
+			for (RecordIterator source : sources) {
+				try {
+					source.close();
+				} catch (Throwable e) {
+					exceptions.add(e);
+				}
+			}
+			if (!exceptions.isEmpty()) {
+				throw new IOException(exceptions.get(0));
+			}
+		}
+	}
+
 	/*------------------------------*
 	 * Inner class TripleComparator *
 	 *------------------------------*/
@@ -90,6 +90,11 @@ public class ValueStore extends SimpleValueFactory {
 	 */
 	private final DataStore dataStore;
 
+	/**
+	 * Index of the numeric and date-time literals ordered by their values.
+	 */
+	private final LiteralOrderIndex literalOrderIndex;
+
 	/**
 	 * Lock manager used to prevent the removal of values over multiple method calls. Note that values can still be
 	 * added when read locks are active.
@@ -137,8 +142,13 @@ public class ValueStore extends SimpleValueFactory {
 
 	public ValueStore(File dataDir, boolean forceSync, int valueCacheSize, int valueIDCacheSize, int namespaceCacheSize,
 			int namespaceIDCacheSize) throws IOException {
+		this(dataDir, forceSync, false, valueCacheSize, valueIDCacheSize, namespaceCacheSize, namespaceIDCacheSize);
+	}
+
+	public ValueStore(File dataDir, boolean forceSync, boolean memoryMappedReads, int valueCacheSize,
+			int valueIDCacheSize, int namespaceCacheSize, int namespaceIDCacheSize) throws IOException {
 		super();
-		dataStore = new DataStore(dataDir, FILENAME_PREFIX, forceSync);
+		dataStore = new DataStore(dataDir, FILENAME_PREFIX, forceSync, memoryMappedReads);
 
 		valueCache = new ConcurrentCache<>(valueCacheSize);
 		valueIDCache = new ConcurrentCache<>(valueIDCacheSize);
@@ -146,6 +156,8 @@ public class ValueStore extends SimpleValueFactory {
 		namespaceIDCache = new ConcurrentCache<>(namespaceIDCacheSize);
 
 		setNewRevision();
+
+		literalOrderIndex = openLiteralOrderIndex(dataDir, forceSync);
 	}
 
 	/*---------*
@@ -160,6 +172,49 @@ public class ValueStore extends SimpleValueFactory {
 		revision = new ValueStoreRevision(this);
 	}
 
+	/**
+	 * Opens the literal order index and adds the literals that it is missing, which are all literals for stores created
+	 * by older versions and the literals stored after the last sync if the store was not shut down properly.
+	 *
+	 * @return the index, or <var>null</var> if it is missing or incomplete and the data directory is read-only
+	 */
+	private LiteralOrderIndex openLiteralOrderIndex(File dataDir, boolean forceSync) throws IOException {
+		boolean writable = dataDir.canWrite();
+		if (!writable && !LiteralOrderIndex.exists(dataDir)) {
+			return null;
+		}
+
+		LiteralOrderIndex index = new LiteralOrderIndex(dataDir, forceSync);
+		int maxID = dataStore.getMaxID();
+		int indexedID = index.getIndexedID();
+		if (indexedID == maxID) {
+			return index;
+		}
+		if (!writable) {
+			index.close();
+			return null;
+		}
+
+		try {
+			if (indexedID < 0 || indexedID > maxID) {
+				// the index was never completed or belongs to values that have since been cleared
+				index.clear();
+				indexedID = 0;
+			}
+			for (int id = indexedID + 1; id <= maxID; id++) {
+				byte[] data = dataStore.getData(id);
+				if (data != null && data[0] == LITERAL_VALUE) {
+					index.add((Literal) data2value(id, data), id);
+				}
+			}
+			index.sync(maxID);
+		} catch (IOException | RuntimeException e) {
+			index.close();
+			throw e;
+		}
+		return index;
+	}
+
 	public ValueStoreRevision getRevision() {
 		return revision;
 	}
@@ -199,6 +254,66 @@ public class ValueStore extends SimpleValueFactory {
 		return resultValue;
 	}
 
+	/**
+	 * Gets the value for the specified ID, of which only the type is determined right away. The contents of the value
+	 * are read from the value store when they are first needed, which requires that the value store is still open at
+	 * that time.
+	 *
+	 * @param id A value ID.
+	 * @return The value for the ID, or <var>null</var> no such value could be found.
+	 * @exception IOException If an I/O error occurred.
+	 */
+	public NativeValue getLazyValue(int id) throws IOException {
+		// Check value cache
+		Integer cacheID = id;
+		NativeValue resultValue = valueCache.get(cacheID);
+
+		if (resultValue == null) {
+			int type = dataStore.getFirstByte(id);
+
+			switch (type) {
+			case URI_VALUE:
+				resultValue = new NativeIRI(revision, id);
+				break;
+			case BNODE_VALUE:
+				resultValue = new NativeBNode(revision, id);
+				break;
+			case LITERAL_VALUE:
+				resultValue = new NativeLiteral(revision, id);
+				break;
+			case -1:
+				return null;
+			default:
+				throw new IOException("Unsupported value with type id " + type);
+			}
+
+			// Store value in cache
+			valueCache.put(cacheID, resultValue);
+		}
+
+		return resultValue;
+	}
+
+	/**
+	 * Initializes the contents of a value that was created by {@link #getLazyValue(int)}.
+	 *
+	 * @param id    A value ID.
+	 * @param value Existing value that should be resolved.
+	 * @return <var>true</var> if value could be successfully resolved, else <var>false</var>
+	 */
+	public boolean resolveValue(int id, NativeValue value) {
+		try {
+			byte[] data = dataStore.getData(id);
+			if (data != null) {
+				data2value(id, data, value);
+				return true;
+			}
+		} catch (IOException e) {
+			throw new SailException("Failed to resolve value with ID " + id, e);
+		}
+		return false;
+	}
+
 	/**
 	 * Gets the ID for the specified value.
 	 *
@@ -311,7 +426,12 @@ public class ValueStore extends SimpleValueFactory {
 		// store which will handle duplicates
 		byte[] valueData = value2data(value, true);
 
+		int maxID = value instanceof Literal ? dataStore.getMaxID() : 0;
 		int id = dataStore.storeData(valueData);
+		if (literalOrderIndex != null && value instanceof Literal && id > maxID) {
+			// a new literal
+			literalOrderIndex.add((Literal) value, id);
+		}
 
 		NativeValue nv = isOwnValue ? (NativeValue) value : getNativeValue(value);
 
@@ -324,6 +444,24 @@ public class ValueStore extends SimpleValueFactory {
 		return id;
 	}
 
+	/**
+	 * Gets the IDs of the numeric or date-time literals that may be between the given bounds, see
+	 * {@link org.eclipse.rdf4j.sail.base.SailDataset#getStatementsInRange}.
+	 *
+	 * @param lowerBound the inclusive lower bound, or <var>null</var>
+	 * @param upperBound the inclusive upper bound, or <var>null</var>
+	 * @param limit      the maximum number of IDs to return
+	 * @return the IDs of the literals, or <var>null</var> if the bounds cannot be used, there are more than
+	 *         <var>limit</var> literals in the range or the literals are not indexed
+	 * @exception IOException If an I/O error occurred.
+	 */
+	int[] getLiteralIDs(Literal lowerBound, Literal upperBound, int limit) throws IOException {
+		if (literalOrderIndex == null) {
+			return null;
+		}
+		return literalOrderIndex.getIDs(lowerBound, upperBound, limit);
+	}
+
 	/**
 	 * Removes all values from the ValueStore.
 	 *
@@ -334,6 +472,9 @@ public class ValueStore extends SimpleValueFactory {
 			Lock writeLock = lockManager.getWriteLock();
 			try {
 				dataStore.clear();
+				if (literalOrderIndex != null) {
+					literalOrderIndex.clear();
+				}
 
 				valueCache.clear();
 				valueIDCache.clear();
@@ -356,6 +497,9 @@ public class ValueStore extends SimpleValueFactory {
 	 */
 	public void sync() throws IOException {
 		dataStore.sync();
+		if (literalOrderIndex != null) {
+			literalOrderIndex.sync(dataStore.getMaxID());
+		}
 	}
 
 	/**
@@ -364,7 +508,13 @@ public class ValueStore extends SimpleValueFactory {
 	 * @exception IOException If an I/O error occurred.
 	 */
 	public void close() throws IOException {
-		dataStore.close();
+		try {
+			dataStore.close();
+		} finally {
+			if (literalOrderIndex != null) {
+				literalOrderIndex.close();
+			}
+		}
 	}
 
 	/**
@@ -526,33 +676,47 @@ public class ValueStore extends SimpleValueFactory {
 	}
 
 	private NativeValue data2value(int id, byte[] data) throws IOException {
+		return data2value(id, data, null);
+	}
+
+	private NativeValue data2value(int id, byte[] data, NativeValue value) throws IOException {
 		switch (data[0]) {
 		case URI_VALUE:
-			return data2uri(id, data);
+			return data2uri(id, data, (NativeIRI) value);
 		case BNODE_VALUE:
-			return data2bnode(id, data);
+			return data2bnode(id, data, (NativeBNode) value);
 		case LITERAL_VALUE:
-			return data2literal(id, data);
+			return data2literal(id, data, (NativeLiteral) value);
 		default:
 			throw new IllegalArgumentException("Namespaces cannot be converted into values: " + data2namespace(data));
 		}
 	}
 
-	private NativeIRI data2uri(int id, byte[] data) throws IOException {
+	private NativeIRI data2uri(int id, byte[] data, NativeIRI value) throws IOException {
 		int nsID = ByteArrayUtil.getInt(data, 1);
 		String namespace = getNamespace(nsID);
 
 		String localName = new String(data, 5, data.length - 5, StandardCharsets.UTF_8);
 
-		return new NativeIRI(revision, namespace, localName, id);
+		if (value == null) {
+			return new NativeIRI(revision, namespace, localName, id);
+		} else {
+			value.setIRIString(namespace + localName);
+			return value;
+		}
 	}
 
-	private NativeBNode data2bnode(int id, byte[] data) throws IOException {
+	private NativeBNode data2bnode(int id, byte[] data, NativeBNode value) throws IOException {
 		String nodeID = new String(data, 1, data.length - 1, StandardCharsets.UTF_8);
-		return new NativeBNode(revision, nodeID, id);
+		if (value == null) {
+			return new NativeBNode(revision, nodeID, id);
+		} else {
+			value.setID(nodeID);
+			return value;
+		}
 	}
 
-	private NativeLiteral data2literal(int id, byte[] data) throws IOException {
+	private NativeLiteral data2literal(int id, byte[] data, NativeLiteral value) throws IOException {
 		// Get datatype
 		int datatypeID = ByteArrayUtil.getInt(data, 1);
 		IRI datatype = null;
@@ -570,12 +734,22 @@ public class ValueStore extends SimpleValueFactory {
 		// Get label
 		String label = new String(data, 6 + langLength, data.length - 6 - langLength, StandardCharsets.UTF_8);
 
-		if (lang != null) {
-			return new NativeLiteral(revision, label, lang, id);
-		} else if (datatype != null) {
-			return new NativeLiteral(revision, label, datatype, id);
+		if (value == null) {
+			if (lang != null) {
+				return new NativeLiteral(revision, label, lang, id);
+			} else if (datatype != null) {
+				return new NativeLiteral(revision, label, datatype, id);
+			} else {
+				return new NativeLiteral(revision, label, XSD.STRING, id);
+			}
 		} else {
-			return new NativeLiteral(revision, label, XSD.STRING, id);
+			value.setLabel(label);
+			if (lang != null) {
+				value.setLanguage(lang);
+			} else {
+				value.setDatatype(datatype != null ? datatype : XSD.STRING);
+			}
+			return value;
 		}
 	}
 
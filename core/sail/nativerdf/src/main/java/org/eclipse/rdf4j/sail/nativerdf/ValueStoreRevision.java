@@ -55,4 +55,8 @@ public class ValueStoreRevision implements Serializable {
 	public ValueStore getValueStore() {
 		return valueStore;
 	}
+
+	public boolean resolveValue(int id, NativeValue value) {
+		return valueStore.resolveValue(id, value);
+	}
 }
@@ -241,6 +241,27 @@ public class BTree implements Closeable {
 	 */
 	public BTree(File dataDir, String filenamePrefix, int blockSize, int valueSize, RecordComparator comparator,
 			boolean forceSync) throws IOException {
+		this(dataDir, filenamePrefix, blockSize, valueSize, comparator, forceSync, false);
+	}
+
+	/**
+	 * Creates a new BTree that uses the supplied <var>RecordComparator</var> to compare the values that are or will be
+	 * stored in the B-Tree, optionally reading its nodes through memory mapped regions of the file.
+	 *
+	 * @param dataDir           The directory for the BTree data.
+	 * @param filenamePrefix    The prefix for all files used by this BTree.
+	 * @param blockSize         The size (in bytes) of a file block for a single node. Ideally, the size specified is
+	 *                          the size of a block in the used file system.
+	 * @param valueSize         The size (in bytes) of the fixed-length values that are or will be stored in the B-Tree.
+	 * @param comparator        The <var>RecordComparator</var> to use for determining whether one value is smaller,
+	 *                          larger or equal to another.
+	 * @param forceSync         Flag indicating whether updates should be synced to disk forcefully by calling
+	 *                          {@link FileChannel#force(boolean)}. This may have a severe impact on write performance.
+	 * @param memoryMappedReads Flag indicating whether nodes should be read through memory mapped regions of the file.
+	 * @throws IOException In case the initialization of the B-Tree file failed.
+	 */
+	public BTree(File dataDir, String filenamePrefix, int blockSize, int valueSize, RecordComparator comparator,
+			boolean forceSync, boolean memoryMappedReads) throws IOException {
 		if (dataDir == null) {
 			throw new IllegalArgumentException("dataDir must not be null");
 		}
@@ -261,7 +282,7 @@ public class BTree implements Closeable {
 		}
 
 		File file = new File(dataDir, filenamePrefix + ".dat");
-		this.nioFile = new NioFile(file);
+		this.nioFile = new NioFile(file, memoryMappedReads);
 		this.comparator = comparator;
 		this.forceSync = forceSync;
 
@@ -741,6 +762,103 @@ public class BTree implements Closeable {
 		}
 	}
 
+	/**
+	 * Fills an empty B-Tree with the supplied values, building the tree bottom-up instead of inserting the values one
+	 * by one. Every node is written to disk exactly once and the nodes on the lower levels of the tree are filled to
+	 * (close to) their capacity, as opposed to the half full nodes that result from splitting nodes on insertion.
+	 *
+	 * @param values     The values to load, which must be sorted according to the {@link RecordComparator} of this
+	 *                   B-Tree and must not contain duplicates. The iterator is not closed by this method.
+	 * @param valueCount The exact number of values that are returned by <var>values</var>.
+	 * @throws IOException           If an I/O error occurred or if <var>values</var> returned less than
+	 *                               <var>valueCount</var> values.
+	 * @throws IllegalStateException If this B-Tree is not empty.
+	 */
+	public void bulkLoad(RecordIterator values, long valueCount) throws IOException {
+		btreeLock.writeLock().lock();
+		try {
+			if (rootNodeID != 0) {
+				throw new IllegalStateException("B-Tree is not empty: " + getFile());
+			}
+			if (valueCount <= 0) {
+				return;
+			}
+
+			// find the lowest tree that is able to hold all values
+			int newHeight = 1;
+			while (getMaxValueCount(newHeight) < valueCount) {
+				newHeight++;
+			}
+
+			rootNodeID = bulkLoad(values, valueCount, newHeight);
+			height = newHeight;
+			writeFileHeader();
+
+			if (forceSync) {
+				nioFile.force(false);
+			}
+			allocatedNodesList.sync();
+		} finally {
+			btreeLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Writes a (sub)tree of the specified height that holds the next <var>valueCount</var> values of the supplied
+	 * iterator.
+	 *
+	 * @return The ID of the root node of the (sub)tree.
+	 */
+	private int bulkLoad(RecordIterator values, long valueCount, int nodeHeight) throws IOException {
+		Node node = new Node(allocatedNodesList.allocateNode(), this);
+
+		if (nodeHeight == 1) {
+			for (int i = 0; i < valueCount; i++) {
+				node.insertValueNodeIDPair(i, nextBulkValue(values), 0);
+			}
+		} else {
+			// use as few children as possible and spread the values evenly over them, this keeps all children at
+			// least half full
+			long childCapacity = getMaxValueCount(nodeHeight - 1);
+			int childCount = (int) ((valueCount + childCapacity + 1) / (childCapacity + 1));
+			long childValues = valueCount - (childCount - 1);
+			long childValueCount = childValues / childCount;
+			long remainder = childValues % childCount;
+
+			node.setChildNodeID(0, bulkLoad(values, childValueCount + (remainder > 0 ? 1 : 0), nodeHeight - 1));
+			for (int i = 1; i < childCount; i++) {
+				byte[] separator = nextBulkValue(values);
+				int childID = bulkLoad(values, childValueCount + (i < remainder ? 1 : 0), nodeHeight - 1);
+				node.insertValueNodeIDPair(i - 1, separator, childID);
+			}
+		}
+
+		node.write();
+		return node.getID();
+	}
+
+	private static byte[] nextBulkValue(RecordIterator values) throws IOException {
+		byte[] value = values.next();
+		if (value == null) {
+			throw new IOException("Bulk load input ended before the specified number of values was read");
+		}
+		return value;
+	}
+
+	/**
+	 * Gets the number of values that fit in a tree of the specified height, capped at {@link Long#MAX_VALUE}.
+	 */
+	private long getMaxValueCount(int treeHeight) {
+		long count = 1;
+		for (int i = 0; i < treeHeight; i++) {
+			if (count > Long.MAX_VALUE / branchFactor) {
+				return Long.MAX_VALUE;
+			}
+			count *= branchFactor;
+		}
+		return count - 1;
+	}
+
 	private InsertResult insertInTree(byte[] value, int nodeID, Node node) throws IOException {
 		InsertResult insertResult;
 
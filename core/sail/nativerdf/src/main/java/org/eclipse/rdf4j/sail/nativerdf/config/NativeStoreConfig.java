@@ -11,6 +11,8 @@
 package org.eclipse.rdf4j.sail.nativerdf.config;
 
 import static org.eclipse.rdf4j.sail.nativerdf.config.NativeStoreSchema.FORCE_SYNC;
+import static org.eclipse.rdf4j.sail.nativerdf.config.NativeStoreSchema.LAZY_VALUE_RESOLUTION;
+import static org.eclipse.rdf4j.sail.nativerdf.config.NativeStoreSchema.MEMORY_MAPPED_READS;
 import static org.eclipse.rdf4j.sail.nativerdf.config.NativeStoreSchema.NAMESPACE;
 import static org.eclipse.rdf4j.sail.nativerdf.config.NativeStoreSchema.NAMESPACE_CACHE_SIZE;
 import static org.eclipse.rdf4j.sail.nativerdf.config.NativeStoreSchema.NAMESPACE_ID_CACHE_SIZE;
@@ -40,6 +42,10 @@ public class NativeStoreConfig extends BaseSailConfig {
 
 	private boolean forceSync = false;
 
+	private boolean memoryMappedReads = false;
+
+	private boolean lazyValueResolution = false;
+
 	private int valueCacheSize = -1;
 
 	private int valueIDCacheSize = -1;
@@ -86,6 +92,22 @@ public class NativeStoreConfig extends BaseSailConfig {
 		this.forceSync = forceSync;
 	}
 
+	public boolean getMemoryMappedReads() {
+		return memoryMappedReads;
+	}
+
+	public void setMemoryMappedReads(boolean memoryMappedReads) {
+		this.memoryMappedReads = memoryMappedReads;
+	}
+
+	public boolean getLazyValueResolution() {
+		return lazyValueResolution;
+	}
+
+	public void setLazyValueResolution(boolean lazyValueResolution) {
+		this.lazyValueResolution = lazyValueResolution;
+	}
+
 	public int getValueCacheSize() {
 		return valueCacheSize;
 	}
@@ -130,6 +152,12 @@ public class NativeStoreConfig extends BaseSailConfig {
 		if (forceSync) {
 			m.add(implNode, FORCE_SYNC, vf.createLiteral(forceSync));
 		}
+		if (memoryMappedReads) {
+			m.add(implNode, MEMORY_MAPPED_READS, vf.createLiteral(memoryMappedReads));
+		}
+		if (lazyValueResolution) {
+			m.add(implNode, LAZY_VALUE_RESOLUTION, vf.createLiteral(lazyValueResolution));
+		}
 		if (valueCacheSize >= 0) {
 			m.add(implNode, VALUE_CACHE_SIZE, vf.createLiteral(valueCacheSize));
 		}
@@ -162,6 +190,22 @@ public class NativeStoreConfig extends BaseSailConfig {
 							"Boolean value required for " + FORCE_SYNC + " property, found " + lit);
 				}
 			});
+			Models.objectLiteral(m.getStatements(implNode, MEMORY_MAPPED_READS, null)).ifPresent(lit -> {
+				try {
+					setMemoryMappedReads(lit.booleanValue());
+				} catch (IllegalArgumentException e) {
+					throw new SailConfigException(
+							"Boolean value required for " + MEMORY_MAPPED_READS + " property, found " + lit);
+				}
+			});
+			Models.objectLiteral(m.getStatements(implNode, LAZY_VALUE_RESOLUTION, null)).ifPresent(lit -> {
+				try {
+					setLazyValueResolution(lit.booleanValue());
+				} catch (IllegalArgumentException e) {
+					throw new SailConfigException(
+							"Boolean value required for " + LAZY_VALUE_RESOLUTION + " property, found " + lit);
+				}
+			});
 
 			Models.objectLiteral(m.getStatements(implNode, VALUE_CACHE_SIZE, null)).ifPresent(lit -> {
 				try {
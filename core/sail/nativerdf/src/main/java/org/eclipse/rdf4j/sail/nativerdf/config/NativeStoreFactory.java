@@ -57,6 +57,9 @@ public class NativeStoreFactory implements SailFactory {
 
 			nativeStore.setTripleIndexes(nativeConfig.getTripleIndexes());
 			nativeStore.setForceSync(nativeConfig.getForceSync());
+			nativeStore.setMemoryMappedReads(nativeConfig.getMemoryMappedReads());
+			nativeStore.setLazyValueResolution(nativeConfig.getLazyValueResolution());
+			nativeStore.setQueryPlanCacheSize(nativeConfig.getQueryPlanCacheSize());
 
 			if (nativeConfig.getValueCacheSize() >= 0) {
 				nativeStore.setValueCacheSize(nativeConfig.getValueCacheSize());
@@ -32,6 +32,12 @@ public class NativeStoreSchema {
 	/** <var>http://www.openrdf.org/config/sail/native#forceSync</var> */
 	public final static IRI FORCE_SYNC;
 
+	/** <var>http://www.openrdf.org/config/sail/native#memoryMappedReads</var> */
+	public final static IRI MEMORY_MAPPED_READS;
+
+	/** <var>http://www.openrdf.org/config/sail/native#lazyValueResolution</var> */
+	public final static IRI LAZY_VALUE_RESOLUTION;
+
 	/** <var>http://www.openrdf.org/config/sail/native#valueCacheSize</var> */
 	public final static IRI VALUE_CACHE_SIZE;
 
@@ -48,6 +54,8 @@ public class NativeStoreSchema {
 		ValueFactory factory = SimpleValueFactory.getInstance();
 		TRIPLE_INDEXES = factory.createIRI(NAMESPACE, "tripleIndexes");
 		FORCE_SYNC = factory.createIRI(NAMESPACE, "forceSync");
+		MEMORY_MAPPED_READS = factory.createIRI(NAMESPACE, "memoryMappedReads");
+		LAZY_VALUE_RESOLUTION = factory.createIRI(NAMESPACE, "lazyValueResolution");
 		VALUE_CACHE_SIZE = factory.createIRI(NAMESPACE, "valueCacheSize");
 		VALUE_ID_CACHE_SIZE = factory.createIRI(NAMESPACE, "valueIDCacheSize");
 		NAMESPACE_CACHE_SIZE = factory.createIRI(NAMESPACE, "namespaceCacheSize");
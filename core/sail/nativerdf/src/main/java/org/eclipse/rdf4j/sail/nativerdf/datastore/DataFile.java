@@ -17,6 +17,7 @@ import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.NoSuchElementException;
 
+import org.eclipse.rdf4j.common.io.ByteArrayUtil;
 import org.eclipse.rdf4j.common.io.NioFile;
 
 /**
@@ -67,7 +68,11 @@ public class DataFile implements Closeable {
 	}
 
 	public DataFile(File file, boolean forceSync) throws IOException {
-		this.nioFile = new NioFile(file);
+		this(file, forceSync, false);
+	}
+
+	public DataFile(File file, boolean forceSync, boolean memoryMappedReads) throws IOException {
+		this.nioFile = new NioFile(file, memoryMappedReads);
 		this.forceSync = forceSync;
 
 		try {
@@ -224,6 +229,23 @@ public class DataFile implements Closeable {
 
 	}
 
+	/**
+	 * Gets the first byte of the data that is stored at the specified offset.
+	 *
+	 * @param offset An offset in the data file, must be larger than 0.
+	 * @return The first byte of the data as an unsigned value, or <var>-1</var> if the data is empty.
+	 * @exception IOException If an I/O error occurred.
+	 */
+	public int getFirstByte(long offset) throws IOException {
+		assert offset > 0 : "offset must be larger than 0, is: " + offset;
+		flush();
+
+		byte[] data = nioFile.readBytes(offset, 5);
+		int dataLength = ByteArrayUtil.getInt(data, 0);
+
+		return dataLength > 0 ? data[4] & 0xff : -1;
+	}
+
 	/**
 	 * Discards all stored data.
 	 *
@@ -44,9 +44,14 @@ public class DataStore implements Closeable {
 	}
 
 	public DataStore(File dataDir, String filePrefix, boolean forceSync) throws IOException {
-		dataFile = new DataFile(new File(dataDir, filePrefix + ".dat"), forceSync);
-		idFile = new IDFile(new File(dataDir, filePrefix + ".id"), forceSync);
-		hashFile = new HashFile(new File(dataDir, filePrefix + ".hash"), forceSync);
+		this(dataDir, filePrefix, forceSync, false);
+	}
+
+	public DataStore(File dataDir, String filePrefix, boolean forceSync, boolean memoryMappedReads)
+			throws IOException {
+		dataFile = new DataFile(new File(dataDir, filePrefix + ".dat"), forceSync, memoryMappedReads);
+		idFile = new IDFile(new File(dataDir, filePrefix + ".id"), forceSync, memoryMappedReads);
+		hashFile = new HashFile(new File(dataDir, filePrefix + ".hash"), forceSync, memoryMappedReads);
 	}
 
 	/*---------*
@@ -73,6 +78,26 @@ public class DataStore implements Closeable {
 		return null;
 	}
 
+	/**
+	 * Gets the first byte of the data for the specified ID, without reading the rest of the data.
+	 *
+	 * @param id A positive ID.
+	 * @return The first byte of the data for the specified ID, as an unsigned value, or <var>-1</var> if the ID is
+	 *         unknown or if its data is empty.
+	 * @exception IOException If an I/O error occurred.
+	 */
+	public int getFirstByte(int id) throws IOException {
+		assert id > 0 : "id must be larger than 0, is: " + id;
+
+		long offset = idFile.getOffset(id);
+
+		if (offset != 0L) {
+			return dataFile.getFirstByte(offset);
+		}
+
+		return -1;
+	}
+
 	/**
 	 * Gets the ID for the specified value.
 	 *
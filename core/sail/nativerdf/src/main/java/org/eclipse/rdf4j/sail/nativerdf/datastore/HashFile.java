@@ -101,8 +101,16 @@ public class HashFile implements Closeable {
 		this(file, forceSync, 512); // 512 is default initial size
 	}
 
+	public HashFile(File file, boolean forceSync, boolean memoryMappedReads) throws IOException {
+		this(file, forceSync, memoryMappedReads, 512);
+	}
+
 	public HashFile(File file, boolean forceSync, int initialSize) throws IOException {
-		this.nioFile = new NioFile(file);
+		this(file, forceSync, false, initialSize);
+	}
+
+	public HashFile(File file, boolean forceSync, boolean memoryMappedReads, int initialSize) throws IOException {
+		this.nioFile = new NioFile(file, memoryMappedReads);
 		this.forceSync = forceSync;
 		loadFactor = 0.75f;
 
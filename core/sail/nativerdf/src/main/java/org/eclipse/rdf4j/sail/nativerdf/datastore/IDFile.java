@@ -90,7 +90,11 @@ public class IDFile implements Closeable {
 	}
 
 	public IDFile(File file, boolean forceSync) throws IOException {
-		this.nioFile = new NioFile(file);
+		this(file, forceSync, false);
+	}
+
+	public IDFile(File file, boolean forceSync, boolean memoryMappedReads) throws IOException {
+		this.nioFile = new NioFile(file, memoryMappedReads);
 		this.forceSync = forceSync;
 
 		try {
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.nativerdf.model;
 
+import java.io.ObjectStreamException;
+
 import org.eclipse.rdf4j.model.impl.SimpleBNode;
 import org.eclipse.rdf4j.sail.nativerdf.ValueStoreRevision;
 
@@ -29,13 +31,19 @@ public class NativeBNode extends SimpleBNode implements NativeResource {
 
 	private volatile int internalID;
 
+	private volatile boolean initialized = true;
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
 
-	protected NativeBNode(ValueStoreRevision revision, int internalID) {
+	/**
+	 * Creates a new blank node of which the ID is resolved through the value store revision when it is first needed.
+	 */
+	public NativeBNode(ValueStoreRevision revision, int internalID) {
 		super();
 		setInternalID(internalID, revision);
+		this.initialized = false;
 	}
 
 	public NativeBNode(ValueStoreRevision revision, String nodeID) {
@@ -67,6 +75,28 @@ public class NativeBNode extends SimpleBNode implements NativeResource {
 		return internalID;
 	}
 
+	@Override
+	public void setID(String id) {
+		super.setID(id);
+	}
+
+	@Override
+	public String getID() {
+		init();
+		return super.getID();
+	}
+
+	protected void init() {
+		if (!initialized) {
+			synchronized (this) {
+				if (!initialized) {
+					revision.resolveValue(internalID, this);
+				}
+				initialized = true;
+			}
+		}
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -86,4 +116,8 @@ public class NativeBNode extends SimpleBNode implements NativeResource {
 		return super.equals(o);
 	}
 
+	protected Object writeReplace() throws ObjectStreamException {
+		init();
+		return this;
+	}
 }
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.nativerdf.model;
 
+import java.io.ObjectStreamException;
+
 import org.eclipse.rdf4j.model.impl.SimpleIRI;
 import org.eclipse.rdf4j.sail.nativerdf.ValueStoreRevision;
 
@@ -25,13 +27,19 @@ public class NativeIRI extends SimpleIRI implements NativeResource {
 
 	private volatile int internalID;
 
+	private volatile boolean initialized = true;
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
 
-	protected NativeIRI(ValueStoreRevision revision, int internalID) {
+	/**
+	 * Creates a new IRI of which the string value is resolved through the value store revision when it is first needed.
+	 */
+	public NativeIRI(ValueStoreRevision revision, int internalID) {
 		super();
 		setInternalID(internalID, revision);
+		this.initialized = false;
 	}
 
 	public NativeIRI(ValueStoreRevision revision, String uri) {
@@ -71,6 +79,40 @@ public class NativeIRI extends SimpleIRI implements NativeResource {
 		return internalID;
 	}
 
+	@Override
+	public void setIRIString(String iriString) {
+		super.setIRIString(iriString);
+	}
+
+	@Override
+	public String stringValue() {
+		init();
+		return super.stringValue();
+	}
+
+	@Override
+	public String getNamespace() {
+		init();
+		return super.getNamespace();
+	}
+
+	@Override
+	public String getLocalName() {
+		init();
+		return super.getLocalName();
+	}
+
+	protected void init() {
+		if (!initialized) {
+			synchronized (this) {
+				if (!initialized) {
+					revision.resolveValue(internalID, this);
+				}
+				initialized = true;
+			}
+		}
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -89,4 +131,9 @@ public class NativeIRI extends SimpleIRI implements NativeResource {
 
 		return super.equals(o);
 	}
+
+	protected Object writeReplace() throws ObjectStreamException {
+		init();
+		return this;
+	}
 }
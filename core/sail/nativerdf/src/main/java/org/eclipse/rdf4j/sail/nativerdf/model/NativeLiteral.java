@@ -10,7 +10,15 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.nativerdf.model;
 
+import java.io.ObjectStreamException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Optional;
+
+import javax.xml.datatype.XMLGregorianCalendar;
+
 import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.base.CoreDatatype;
 import org.eclipse.rdf4j.model.impl.SimpleLiteral;
 import org.eclipse.rdf4j.sail.nativerdf.ValueStoreRevision;
 
@@ -30,13 +38,20 @@ public class NativeLiteral extends SimpleLiteral implements NativeValue {
 
 	private volatile int internalID;
 
+	private volatile boolean initialized = true;
+
 	/*--------------*
 	 * Constructors *
 	 *--------------*/
 
-	protected NativeLiteral(ValueStoreRevision revision, int internalID) {
+	/**
+	 * Creates a new literal of which the label, language and datatype are resolved through the value store revision
+	 * when they are first needed.
+	 */
+	public NativeLiteral(ValueStoreRevision revision, int internalID) {
 		super();
 		setInternalID(internalID, revision);
+		this.initialized = false;
 	}
 
 	public NativeLiteral(ValueStoreRevision revision, String label) {
@@ -86,6 +101,134 @@ public class NativeLiteral extends SimpleLiteral implements NativeValue {
 		return internalID;
 	}
 
+	@Override
+	public void setLabel(String label) {
+		super.setLabel(label);
+	}
+
+	@Override
+	public void setLanguage(String language) {
+		super.setLanguage(language);
+	}
+
+	@Override
+	public void setDatatype(IRI datatype) {
+		super.setDatatype(datatype);
+	}
+
+	@Override
+	public String getLabel() {
+		init();
+		return super.getLabel();
+	}
+
+	@Override
+	public Optional<String> getLanguage() {
+		init();
+		return super.getLanguage();
+	}
+
+	@Override
+	public IRI getDatatype() {
+		init();
+		return super.getDatatype();
+	}
+
+	@Override
+	public CoreDatatype getCoreDatatype() {
+		init();
+		return super.getCoreDatatype();
+	}
+
+	@Override
+	public String stringValue() {
+		init();
+		return super.stringValue();
+	}
+
+	@Override
+	public boolean booleanValue() {
+		init();
+		return super.booleanValue();
+	}
+
+	@Override
+	public byte byteValue() {
+		init();
+		return super.byteValue();
+	}
+
+	@Override
+	public short shortValue() {
+		init();
+		return super.shortValue();
+	}
+
+	@Override
+	public int intValue() {
+		init();
+		return super.intValue();
+	}
+
+	@Override
+	public long longValue() {
+		init();
+		return super.longValue();
+	}
+
+	@Override
+	public float floatValue() {
+		init();
+		return super.floatValue();
+	}
+
+	@Override
+	public double doubleValue() {
+		init();
+		return super.doubleValue();
+	}
+
+	@Override
+	public BigInteger integerValue() {
+		init();
+		return super.integerValue();
+	}
+
+	@Override
+	public BigDecimal decimalValue() {
+		init();
+		return super.decimalValue();
+	}
+
+	@Override
+	public XMLGregorianCalendar calendarValue() {
+		init();
+		return super.calendarValue();
+	}
+
+	@Override
+	public int hashCode() {
+		init();
+		return super.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		init();
+		return super.toString();
+	}
+
+	protected void init() {
+		if (!initialized) {
+			synchronized (this) {
+				if (!initialized) {
+					revision.resolveValue(internalID, this);
+				}
+				initialized = true;
+			}
+		}
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) {
@@ -103,6 +246,12 @@ public class NativeLiteral extends SimpleLiteral implements NativeValue {
 			}
 		}
 
+		init();
 		return super.equals(o);
 	}
+
+	protected Object writeReplace() throws ObjectStreamException {
+		init();
+		return this;
+	}
 }
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.List;
+
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.query.QueryResults;
+import org.eclipse.rdf4j.sail.nativerdf.model.NativeValue;
+import org.junit.Test;
+
+/**
+ * Runs the {@link NativeStoreTest} against a {@link NativeStore} that resolves the values of statements lazily.
+ */
+public class LazyValueNativeStoreTest extends NativeStoreTest {
+
+	@Override
+	protected NativeStore createNativeStore(File dataDir) {
+		NativeStore store = super.createNativeStore(dataDir);
+		store.setLazyValueResolution(true);
+		return store;
+	}
+
+	@Test
+	public void testLazyValuesEqualMaterializedValues() throws Exception {
+		BNode bnode = vf.createBNode("lazy");
+		Literal langLiteral = vf.createLiteral("schilderij", "nl");
+		Literal typedLiteral = vf.createLiteral("1642", XSD.INTEGER);
+
+		con.begin();
+		con.addStatement(bnode, RDFS.LABEL, langLiteral, context1);
+		con.addStatement(nightwatch, RDFS.COMMENT, typedLiteral);
+		con.commit();
+
+		List<Statement> statements = QueryResults.asList(con.getStatements(bnode, null, null, false));
+		assertThat(statements).hasSize(1);
+		Statement st = statements.get(0);
+		assertThat(st.getSubject()).isInstanceOf(NativeValue.class).isEqualTo(bnode);
+		assertThat(st.getSubject().hashCode()).isEqualTo(bnode.hashCode());
+		assertThat(st.getObject()).isEqualTo(langLiteral).hasSameHashCodeAs(langLiteral);
+		assertThat(((Literal) st.getObject()).getLanguage()).contains("nl");
+		assertThat(st.getContext()).isEqualTo(context1);
+
+		statements = QueryResults.asList(con.getStatements(null, RDFS.COMMENT, null, false));
+		assertThat(statements).hasSize(1);
+		Literal literal = (Literal) statements.get(0).getObject();
+		assertThat(literal.intValue()).isEqualTo(1642);
+		assertThat(literal.getDatatype()).isEqualTo(XSD.INTEGER);
+		assertThat(typedLiteral).isEqualTo(literal);
+		assertThat(statements.get(0).getSubject()).hasToString(nightwatch.toString());
+	}
+}
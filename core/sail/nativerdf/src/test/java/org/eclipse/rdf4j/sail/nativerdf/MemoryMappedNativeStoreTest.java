@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import java.io.File;
+
+/**
+ * Runs the {@link NativeStoreTest} against a {@link NativeStore} that reads its files through memory mapped regions.
+ */
+public class MemoryMappedNativeStoreTest extends NativeStoreTest {
+
+	@Override
+	protected NativeStore createNativeStore(File dataDir) {
+		NativeStore store = super.createNativeStore(dataDir);
+		store.setMemoryMappedReads(true);
+		return store;
+	}
+}
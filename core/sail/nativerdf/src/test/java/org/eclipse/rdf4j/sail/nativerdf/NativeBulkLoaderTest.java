@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.sail.SailConnection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class NativeBulkLoaderTest {
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	private final IRI g1 = vf.createIRI("http://example.org/g1");
+
+	private final IRI g2 = vf.createIRI("http://example.org/g2");
+
+	@Rule
+	public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+	private File dataDir;
+
+	private NativeStore sail;
+
+	@Before
+	public void setUp() throws Exception {
+		dataDir = tmpDir.newFolder();
+		sail = new NativeStore(dataDir, "spoc,posc,cosp");
+		sail.init();
+	}
+
+	@After
+	public void tearDown() {
+		sail.shutDown();
+	}
+
+	@Test
+	public void testBulkLoadEmptyStore() {
+		Model expected = createStatements(0, 20000);
+		try (NativeBulkLoader loader = sail.createBulkLoader()) {
+			expected.forEach(loader::add);
+			// duplicates are only added once
+			expected.forEach(loader::add);
+			assertThat(loader.finish()).isEqualTo(expected.size());
+		}
+
+		assertContents(expected);
+		assertContexts(g1, g2);
+	}
+
+	@Test
+	public void testBulkLoadExistingStore() {
+		Model existing = createStatements(0, 10000);
+		try (SailConnection conn = sail.getConnection()) {
+			conn.begin();
+			existing.forEach(st -> conn.addStatement(st.getSubject(), st.getPredicate(), st.getObject(),
+					st.getContext()));
+			conn.commit();
+		}
+
+		Model loaded = createStatements(5000, 15000);
+		try (NativeBulkLoader loader = sail.createBulkLoader()) {
+			loaded.forEach(loader::add);
+			assertThat(loader.finish()).isEqualTo(5000 * 2);
+		}
+
+		Model expected = new LinkedHashModel(existing);
+		expected.addAll(loaded);
+		assertContents(expected);
+
+		// the rebuilt indexes are persisted and can be updated as usual
+		sail.shutDown();
+		sail = new NativeStore(dataDir, "spoc,posc,cosp");
+		sail.init();
+		assertContents(expected);
+
+		try (SailConnection conn = sail.getConnection()) {
+			conn.begin();
+			conn.removeStatements(null, null, null, g1);
+			conn.commit();
+		}
+		expected.remove(null, null, null, g1);
+		assertContents(expected);
+		assertContexts(g2);
+	}
+
+	@Test
+	public void testCloseWithoutFinish() {
+		try (NativeBulkLoader loader = sail.createBulkLoader()) {
+			createStatements(0, 100).forEach(loader::add);
+		}
+
+		assertContents(new LinkedHashModel());
+
+		// transactions can be started again once the loader is closed
+		try (SailConnection conn = sail.getConnection()) {
+			conn.begin();
+			conn.addStatement(g1, RDFS.LABEL, vf.createLiteral("g1"));
+			conn.commit();
+		}
+		assertThat(size()).isEqualTo(1);
+	}
+
+	/**
+	 * Creates two statements, one in each context, for every number in the specified range.
+	 */
+	private Model createStatements(int from, int to) {
+		Model model = new LinkedHashModel();
+		for (int i = from; i < to; i++) {
+			IRI subject = vf.createIRI("http://example.org/resource/r" + i);
+			model.add(subject, RDFS.LABEL, vf.createLiteral("resource " + i), g1);
+			model.add(subject, RDFS.SEEALSO, vf.createIRI("http://example.org/resource/r" + (i / 10)), g2);
+		}
+		return model;
+	}
+
+	private void assertContents(Model expected) {
+		try (SailConnection conn = sail.getConnection()) {
+			List<Statement> actual = Iterations.asList(conn.getStatements(null, null, null, false));
+			assertThat(Models.isomorphic(actual, expected)).isTrue();
+
+			// every index returns the same statements
+			assertThat(Iterations.asList(conn.getStatements(null, RDFS.LABEL, null, false)))
+					.hasSameSizeAs(expected.filter(null, RDFS.LABEL, null));
+			assertThat(Iterations.asList(conn.getStatements(null, null, null, false, g2)))
+					.hasSameSizeAs(expected.filter(null, null, null, g2));
+		}
+	}
+
+	private void assertContexts(Resource... contexts) {
+		try (SailConnection conn = sail.getConnection()) {
+			Set<Resource> actual = Iterations.asList(conn.getContextIDs()).stream().collect(Collectors.toSet());
+			assertThat(actual).containsExactlyInAnyOrder(contexts);
+		}
+	}
+
+	private long size() {
+		try (SailConnection conn = sail.getConnection()) {
+			return conn.size();
+		}
+	}
+}
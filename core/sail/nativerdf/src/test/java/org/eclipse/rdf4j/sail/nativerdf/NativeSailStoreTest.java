@@ -10,10 +10,15 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.nativerdf;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Resource;
@@ -21,6 +26,9 @@ import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.TupleQueryResult;
 import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.sail.SailRepository;
@@ -40,6 +48,8 @@ public class NativeSailStoreTest {
 
 	protected Repository repo;
 
+	protected File dataDir;
+
 	protected final ValueFactory F = SimpleValueFactory.getInstance();
 
 	protected final IRI CTX_1 = F.createIRI("urn:one");
@@ -55,7 +65,7 @@ public class NativeSailStoreTest {
 
 	@Before
 	public void before() throws Exception {
-		File dataDir = tempFolder.newFolder("dbmodel");
+		dataDir = tempFolder.newFolder("dbmodel");
 		repo = new SailRepository(new NativeStore(dataDir, "spoc,posc"));
 		repo.init();
 
@@ -126,6 +136,88 @@ public class NativeSailStoreTest {
 		}
 	}
 
+	@Test
+	public void testRangeQuery() throws Exception {
+		IRI value = F.createIRI("urn:value");
+		try (RepositoryConnection conn = repo.getConnection()) {
+			for (int i = 0; i < 200; i++) {
+				conn.add(F.createIRI("urn:n" + i), value, F.createLiteral(i));
+			}
+			conn.add(F.createIRI("urn:a"), value, F.createLiteral("10.5", XSD.DECIMAL));
+			conn.add(F.createIRI("urn:b"), value, F.createLiteral(11.0));
+			conn.add(F.createIRI("urn:c"), value, F.createLiteral("11"));
+			conn.add(F.createIRI("urn:d"), value, F.createLiteral("2024-01-01T00:00:00Z", XSD.DATETIME));
+			conn.add(F.createIRI("urn:e"), value, F.createLiteral("2024-06-01T12:00:00", XSD.DATETIME));
+			conn.add(F.createIRI("urn:f"), value, F.createLiteral("2024-01-01T10:00:00", XSD.DATETIME));
+		}
+
+		String numeric = "select ?s { ?s <urn:value> ?v filter(?v >= 10 && ?v <= 12) }";
+		String dateTime = "select ?s { ?s <urn:value> ?v "
+				+ "filter(?v > \"2024-01-01T00:00:00Z\"^^<http://www.w3.org/2001/XMLSchema#dateTime>) }";
+		Set<String> expectedNumeric = Set.of("urn:n10", "urn:n11", "urn:n12", "urn:a", "urn:b");
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertEquals(expectedNumeric, evaluate(conn, numeric));
+			assertEquals(Set.of("urn:e"), evaluate(conn, dateTime));
+		}
+
+		// the index is rebuilt if it is missing
+		repo.shutDown();
+		for (File file : dataDir.listFiles((dir, name) -> name.startsWith("values.ord"))) {
+			assertTrue(file.delete());
+		}
+		repo = new SailRepository(new NativeStore(dataDir, "spoc,posc"));
+		repo.init();
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertEquals(expectedNumeric, evaluate(conn, numeric));
+		}
+	}
+
+	@Test
+	public void testRangeQueryAfterLostIndexUpdates() throws Exception {
+		IRI value = F.createIRI("urn:value");
+		try (RepositoryConnection conn = repo.getConnection()) {
+			for (int i = 0; i < 100; i++) {
+				conn.add(F.createIRI("urn:n" + i), value, F.createLiteral(i));
+			}
+		}
+
+		// keep a copy of the index as it was before the next literals were added
+		repo.shutDown();
+		File backup = tempFolder.newFolder("backup");
+		for (File file : dataDir.listFiles((dir, name) -> name.startsWith("values.ord"))) {
+			Files.copy(file.toPath(), new File(backup, file.getName()).toPath());
+		}
+		repo = new SailRepository(new NativeStore(dataDir, "spoc,posc"));
+		repo.init();
+		try (RepositoryConnection conn = repo.getConnection()) {
+			for (int i = 100; i < 200; i++) {
+				conn.add(F.createIRI("urn:n" + i), value, F.createLiteral(i));
+			}
+		}
+
+		// as if the values were synced, but the index was not
+		repo.shutDown();
+		for (File file : backup.listFiles()) {
+			Files.copy(file.toPath(), new File(dataDir, file.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		repo = new SailRepository(new NativeStore(dataDir, "spoc,posc"));
+		repo.init();
+		try (RepositoryConnection conn = repo.getConnection()) {
+			assertEquals(Set.of("urn:n98", "urn:n99", "urn:n100", "urn:n101"),
+					evaluate(conn, "select ?s { ?s <urn:value> ?v filter(?v >= 98 && ?v <= 101) }"));
+		}
+	}
+
+	private Set<String> evaluate(RepositoryConnection conn, String query) {
+		Set<String> subjects = new HashSet<>();
+		try (TupleQueryResult result = conn.prepareTupleQuery(query).evaluate()) {
+			for (BindingSet bindings : result) {
+				subjects.add(bindings.getValue("s").stringValue());
+			}
+		}
+		return subjects;
+	}
+
 	@After
 	public void after() throws Exception {
 		repo.shutDown();
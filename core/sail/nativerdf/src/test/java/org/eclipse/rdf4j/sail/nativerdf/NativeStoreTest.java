@@ -48,7 +48,7 @@ public class NativeStoreTest extends RDFNotifyingStoreTest {
 	protected NotifyingSail createSail() throws SailException {
 		try {
 			dataDir = tempDir.newFolder();
-			NotifyingSail sail = new NativeStore(dataDir, "spoc,posc");
+			NotifyingSail sail = createNativeStore(dataDir);
 			sail.init();
 			return sail;
 		} catch (IOException e) {
@@ -56,6 +56,10 @@ public class NativeStoreTest extends RDFNotifyingStoreTest {
 		}
 	}
 
+	protected NativeStore createNativeStore(File dataDir) {
+		return new NativeStore(dataDir, "spoc,posc");
+	}
+
 	// Test for SES-542
 	@Test()
 	public void testGetNamespacePersistence() throws Exception {
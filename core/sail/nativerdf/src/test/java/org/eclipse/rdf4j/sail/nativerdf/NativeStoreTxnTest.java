@@ -87,7 +87,8 @@ public class NativeStoreTxnTest {
 		for (File file : repoDir.listFiles()) {
 			System.out.println("# " + file.getName());
 		}
-		Assert.assertEquals(15, repoDir.listFiles().length);
+		// includes the literal order index values.ord.dat, values.ord.alloc and values.ord.id
+		Assert.assertEquals(19, repoDir.listFiles().length);
 
 		// make sure there is no txncacheXXX.dat file
 		Assert.assertFalse(Files.list(repoDir.getAbsoluteFile().toPath())
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link PredicateStatistics}
+ */
+public class PredicateStatisticsTest {
+
+	private static final int TYPE = 1;
+
+	private static final int LABEL = 2;
+
+	private static final int CLASS_A = 3;
+
+	private static final int CLASS_B = 4;
+
+	@Rule
+	public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+	private File dataDir;
+
+	private TripleStore tripleStore;
+
+	@Before
+	public void setUp() throws Exception {
+		dataDir = tmpDir.newFolder();
+		tripleStore = new TripleStore(dataDir, "spoc,posc");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		tripleStore.close();
+	}
+
+	@Test
+	public void testIncrementalUpdates() throws Exception {
+		addSkewedTriples();
+		assertSkewedStatistics(tripleStore.getStatistics());
+
+		// uncommitted changes are not taken into account
+		tripleStore.startTransaction();
+		tripleStore.removeTriplesByContext(-1, LABEL, -1, -1);
+		assertThat(tripleStore.getStatistics().getCount(LABEL)).isEqualTo(1000);
+		tripleStore.rollback();
+		assertThat(tripleStore.getStatistics().getCount(LABEL)).isEqualTo(1000);
+
+		tripleStore.startTransaction();
+		tripleStore.removeTriplesByContext(-1, -1, CLASS_A, -1);
+		tripleStore.commit();
+
+		PredicateStatistics statistics = tripleStore.getStatistics();
+		assertThat(statistics.getCount(TYPE)).isEqualTo(10);
+		assertThat(statistics.cardinality(-1, TYPE, CLASS_A)).isEqualTo(0);
+		assertThat(statistics.cardinality(-1, TYPE, CLASS_B)).isEqualTo(10);
+		// more triples have been removed than are left, the statistics have been recomputed
+		assertThat(statistics.getDistinctSubjectCount(TYPE)).isEqualTo(10);
+		assertThat(statistics.getDistinctObjectCount(TYPE)).isEqualTo(1);
+
+		tripleStore.startTransaction();
+		tripleStore.removeTriplesByContext(-1, TYPE, -1, -1);
+		tripleStore.commit();
+		assertThat(statistics.getCount(TYPE)).isEqualTo(0);
+		assertThat(statistics.cardinality(-1, TYPE, -1)).isEqualTo(0);
+	}
+
+	@Test
+	public void testPersistence() throws Exception {
+		addSkewedTriples();
+		tripleStore.close();
+
+		tripleStore = new TripleStore(dataDir, "spoc,posc");
+		assertThat(tripleStore.getStatistics().isRebuildNeeded()).isFalse();
+		assertSkewedStatistics(tripleStore.getStatistics());
+	}
+
+	@Test
+	public void testRebuildAfterCrash() throws Exception {
+		addSkewedTriples();
+		tripleStore.close();
+
+		// pretend that the store was not shut down cleanly after the statistics were modified
+		try (RandomAccessFile raf = new RandomAccessFile(new File(dataDir, "predicates.dat"), "rw")) {
+			raf.seek(4);
+			raf.writeByte(0);
+		}
+
+		PredicateStatistics statistics = new PredicateStatistics(tripleStore, dataDir, false);
+		assertThat(statistics.isRebuildNeeded()).isTrue();
+
+		tripleStore = new TripleStore(dataDir, "spoc,posc");
+		assertSkewedStatistics(tripleStore.getStatistics());
+	}
+
+	@Test
+	public void testLazyRebuild() throws Exception {
+		addSkewedTriples();
+		tripleStore.close();
+		File file = new File(dataDir, "predicates.dat");
+		assertThat(file.delete()).isTrue();
+
+		// the statistics are computed in memory when they are first used, and only written to disk on close
+		tripleStore = new TripleStore(dataDir, "spoc,posc");
+		assertThat(tripleStore.getStatistics().isRebuildNeeded()).isTrue();
+		assertSkewedStatistics(tripleStore.getStatistics());
+		assertThat(tripleStore.getStatistics().isRebuildNeeded()).isFalse();
+		assertThat(file).doesNotExist();
+
+		tripleStore.close();
+		assertThat(file).exists();
+		tripleStore = new TripleStore(dataDir, "spoc,posc");
+		assertThat(tripleStore.getStatistics().isRebuildNeeded()).isFalse();
+		assertSkewedStatistics(tripleStore.getStatistics());
+	}
+
+	@Test
+	public void testCommitBeforeLazyRebuild() throws Exception {
+		addSkewedTriples();
+		tripleStore.close();
+		assertThat(new File(dataDir, "predicates.dat").delete()).isTrue();
+
+		tripleStore = new TripleStore(dataDir, "spoc,posc");
+		tripleStore.startTransaction();
+		tripleStore.removeTriplesByContext(-1, LABEL, -1, -1);
+		tripleStore.commit();
+		assertThat(tripleStore.getStatistics().getCount(LABEL)).isEqualTo(0);
+		assertThat(tripleStore.getStatistics().getCount(TYPE)).isEqualTo(1000);
+	}
+
+	@Test
+	public void testRebuild() throws Exception {
+		addSkewedTriples();
+		tripleStore.rebuildStatistics();
+		assertSkewedStatistics(tripleStore.getStatistics());
+	}
+
+	/**
+	 * Adds 1000 labels with distinct subjects and objects, and 1000 types of which 990 are of the same class.
+	 */
+	private void addSkewedTriples() throws Exception {
+		tripleStore.startTransaction();
+		for (int i = 0; i < 1000; i++) {
+			int subj = 1000 + i;
+			tripleStore.storeTriple(subj, LABEL, 10_000 + i, 0);
+			tripleStore.storeTriple(subj, TYPE, i < 990 ? CLASS_A : CLASS_B, 0);
+		}
+		tripleStore.commit();
+	}
+
+	private void assertSkewedStatistics(PredicateStatistics statistics) throws IOException {
+		assertThat(statistics.getCount(LABEL)).isEqualTo(1000);
+		assertThat(statistics.getCount(TYPE)).isEqualTo(1000);
+		assertThat(statistics.getCount(CLASS_A)).isEqualTo(0);
+
+		assertThat((double) statistics.getDistinctSubjectCount(LABEL)).isCloseTo(1000, within(200.0));
+		assertThat((double) statistics.getDistinctObjectCount(LABEL)).isCloseTo(1000, within(200.0));
+		assertThat(statistics.getDistinctObjectCount(TYPE)).isEqualTo(2);
+
+		assertThat(statistics.cardinality(-1, TYPE, -1)).isEqualTo(1000);
+		assertThat(statistics.cardinality(-1, TYPE, CLASS_A)).isEqualTo(990);
+		assertThat(statistics.cardinality(-1, TYPE, CLASS_B)).isEqualTo(10);
+		assertThat(statistics.cardinality(1000, TYPE, -1)).isCloseTo(1, within(0.3));
+		assertThat(statistics.cardinality(1000, LABEL, -1)).isCloseTo(1, within(0.3));
+		assertThat(statistics.cardinality(-1, LABEL, 10_500)).isCloseTo(1, within(0.3));
+	}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.sail.nativerdf.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.assertj.core.util.Files;
+import org.eclipse.rdf4j.common.transaction.IsolationLevels;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.repository.sail.SailRepositoryConnection;
+import org.eclipse.rdf4j.sail.nativerdf.NativeStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the latency of a large transaction against the number of indexes of the store, with the updates applied to
+ * the indexes one after the other or concurrently when the transaction is committed.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@BenchmarkMode({ Mode.AverageTime })
+@Fork(value = 1, jvmArgs = { "-Xms4G", "-Xmx4G", "-XX:+UseG1GC" })
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IndexCommitBenchmark {
+
+	@Param({ "spoc", "spoc,posc", "spoc,posc,ospc", "spoc,posc,ospc,cspo", "spoc,posc,ospc,cspo,cosp" })
+	public String indexes;
+
+	@Param({ "true", "false" })
+	public String parallelIndexUpdates;
+
+	@Param({ "100000" })
+	public int transactionSize;
+
+	private File file;
+	private SailRepository repository;
+	private SailRepositoryConnection connection;
+	private int i;
+
+	public static void main(String[] args) throws RunnerException {
+		Options opt = new OptionsBuilder()
+				.include("IndexCommitBenchmark") // adapt to control which benchmark tests to run
+				.forks(1)
+				.build();
+
+		new Runner(opt).run();
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		System.setProperty("org.eclipse.rdf4j.sail.nativerdf.parallelIndexUpdates", parallelIndexUpdates);
+		file = Files.newTemporaryFolder();
+
+		NativeStore sail = new NativeStore(file, indexes);
+		sail.setForceSync(false);
+		repository = new SailRepository(sail);
+		connection = repository.getConnection();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		connection.close();
+		repository.shutDown();
+		FileUtils.deleteDirectory(file);
+		System.clearProperty("org.eclipse.rdf4j.sail.nativerdf.parallelIndexUpdates");
+	}
+
+	@Benchmark
+	public void transaction() {
+		ValueFactory vf = connection.getValueFactory();
+		connection.begin(IsolationLevels.NONE);
+		for (int k = 0; k < transactionSize; k++) {
+			IRI subject = vf.createIRI("http://example.org/resource/", "r" + (i++));
+			connection.add(subject, RDFS.LABEL, vf.createLiteral(k), RDFS.RESOURCE);
+		}
+		connection.commit();
+	}
+}
@@ -10,11 +10,17 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.nativerdf.btree;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -143,6 +149,88 @@ public class BTreeTest {
 		btree.clear();
 	}
 
+	@Test
+	public void testBulkLoad() throws Exception {
+		for (int count = 0; count <= TEST_VALUES.size(); count++) {
+			btree.clear();
+			List<byte[]> values = TEST_VALUES.subList(0, count);
+			btree.bulkLoad(iterator(values), count);
+
+			assertEquals(values, toList(btree.iterateAll()));
+			for (byte[] value : values) {
+				assertArrayEquals(value, btree.get(value));
+			}
+		}
+	}
+
+	@Test
+	public void testBulkLoadThenUpdate() throws Exception {
+		List<byte[]> evenValues = new ArrayList<>();
+		for (int i = 0; i < TEST_VALUES.size(); i += 2) {
+			evenValues.add(TEST_VALUES.get(i));
+		}
+		btree.bulkLoad(iterator(evenValues), evenValues.size());
+
+		for (byte[] value : RANDOMIZED_TEST_VALUES) {
+			btree.insert(value);
+		}
+		assertEquals(TEST_VALUES, toList(btree.iterateAll()));
+
+		for (byte[] value : RANDOMIZED_TEST_VALUES) {
+			btree.remove(value);
+		}
+		assertTrue(toList(btree.iterateAll()).isEmpty());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testBulkLoadNotEmpty() throws Exception {
+		btree.insert(TEST_VALUES.get(0));
+		btree.bulkLoad(iterator(TEST_VALUES.subList(1, 2)), 1);
+	}
+
+	@Test(expected = IOException.class)
+	public void testBulkLoadTooFewValues() throws Exception {
+		btree.bulkLoad(iterator(TEST_VALUES.subList(0, 10)), 11);
+	}
+
+	private static RecordIterator iterator(List<byte[]> values) {
+		Iterator<byte[]> iterator = values.iterator();
+		return new RecordIterator() {
+
+			@Override
+			public byte[] next() {
+				return iterator.hasNext() ? iterator.next() : null;
+			}
+
+			@Override
+			public void set(byte[] record) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+	}
+
+	private static List<byte[]> toList(RecordIterator iter) throws IOException {
+		List<byte[]> values = new ArrayList<>();
+		try (iter) {
+			byte[] value;
+			while ((value = iter.next()) != null) {
+				values.add(value);
+			}
+		}
+		return values;
+	}
+
+	private static void assertEquals(List<byte[]> expected, List<byte[]> actual) {
+		Assert.assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertArrayEquals(expected.get(i), actual.get(i));
+		}
+	}
+
 	/*
 	 * Test for SES-527 public void testRootNodeSplit() throws Exception { // Fill the root node for (int i = 0; i < 15;
 	 * i++) { btree.insert(TEST_VALUES.get(i)); } // Fire up an iterator RecordIterator iter = btree.iterateAll();
@@ -42,6 +42,7 @@ abstract class ShaclSailBaseConfiguration extends NotifyingSailWrapper {
 	private long validationResultsLimitTotal = ShaclSailConfig.VALIDATION_RESULTS_LIMIT_TOTAL_DEFAULT;
 	private long validationResultsLimitPerConstraint = ShaclSailConfig.VALIDATION_RESULTS_LIMIT_PER_CONSTRAINT_DEFAULT;
 	private long transactionalValidationLimit = ShaclSailConfig.TRANSACTIONAL_VALIDATION_LIMIT_DEFAULT;
+	private long sortMemoryLimit = ShaclSailConfig.SORT_MEMORY_LIMIT_DEFAULT;
 	private boolean logValidationExecution = false;
 	private Set<IRI> shapesGraphs = ShaclSailConfig.SHAPES_GRAPHS_DEFAULT;
 
@@ -369,6 +370,28 @@ abstract class ShaclSailBaseConfiguration extends NotifyingSailWrapper {
 		this.transactionalValidationLimit = transactionalValidationLimit;
 	}
 
+	/**
+	 * Validation plans sort intermediate results in memory. With a sort memory limit, a sort that holds more than the
+	 * given number of tuples writes the sorted tuples to temporary files and merges these files afterwards. This bounds
+	 * the memory usage of validating large transactions at the cost of disk I/O.
+	 *
+	 * @return the maximum number of tuples that a sort holds in memory, -1 for no limit
+	 */
+	public long getSortMemoryLimit() {
+		return sortMemoryLimit;
+	}
+
+	/**
+	 * Validation plans sort intermediate results in memory. With a sort memory limit, a sort that holds more than the
+	 * given number of tuples writes the sorted tuples to temporary files and merges these files afterwards. This bounds
+	 * the memory usage of validating large transactions at the cost of disk I/O.
+	 *
+	 * @param sortMemoryLimit the maximum number of tuples that a sort holds in memory, -1 for no limit
+	 */
+	public void setSortMemoryLimit(long sortMemoryLimit) {
+		this.sortMemoryLimit = sortMemoryLimit;
+	}
+
 	public Set<IRI> getShapesGraphs() {
 		return shapesGraphs;
 	}
@@ -511,6 +511,10 @@ public class ShaclSailConnection extends NotifyingSailConnectionWrapper implemen
 			beforeValidation = System.currentTimeMillis();
 		}
 
+		// counts the shapes that were skipped because they could not be affected by the transaction
+		ValidationExecutionLogger shapeExecutionLogger = ValidationExecutionLogger
+				.getInstance(sail.isGlobalLogValidationExecution());
+
 		try {
 			int numberOfShapes = shapes.stream()
 					.map(ContextWithShapes::getShapes)
@@ -527,10 +531,17 @@ public class ShaclSailConnection extends NotifyingSailConnectionWrapper implemen
 									shape.generatePlans(connectionsGroup,
 											new ValidationSettings(contextWithShapes.getDataGraph(),
 													sail.isLogValidationPlans(), validateEntireBaseSail,
-													sail.isPerformanceLogging()))
+													sail.isPerformanceLogging(), sail.getSortMemoryLimit()))
 							))
 					)
-					.filter(ValidationContainer::hasPlanNode)
+					.filter(validationContainer -> {
+						if (validationContainer.hasPlanNode()) {
+							shapeExecutionLogger.logExecuted(validationContainer.getShape());
+							return true;
+						}
+						shapeExecutionLogger.logSkipped(validationContainer.getShape());
+						return false;
+					})
 					.map(validationContainer -> validationContainer::performValidation);
 
 			List<ValidationResultIterator> validationResultIterators = new ArrayList<>(numberOfShapes);
@@ -595,6 +606,7 @@ public class ShaclSailConnection extends NotifyingSailConnectionWrapper implemen
 			return new LazyValidationReport(validationResultIterators, sail.getValidationResultsLimitTotal());
 
 		} finally {
+			shapeExecutionLogger.flush();
 			if (sail.isPerformanceLogging()) {
 				logger.info("Actual validation and generating plans took {} ms",
 						System.currentTimeMillis() - beforeValidation);
@@ -625,6 +637,8 @@ public class ShaclSailConnection extends NotifyingSailConnectionWrapper implemen
 		boolean parallelValidation = isParallelValidation() && !addedStatementsSet.isEmpty()
 				&& !removedStatementsSet.isEmpty();
 
+		stats.startRecordingChanges();
+
 		try {
 			futures = Stream.of(addedStatementsSet, removedStatementsSet)
 					.map(set -> (Callable<Object>) () -> {
@@ -665,6 +679,7 @@ public class ShaclSailConnection extends NotifyingSailConnectionWrapper implemen
 											: rdfsSubClassOfReasoner.forwardChain(statement))
 									.forEach(statement -> {
 										if (!Thread.currentThread().isInterrupted()) {
+											stats.changed(statement);
 											connection.addStatement(statement.getSubject(),
 													statement.getPredicate(), statement.getObject(),
 													statement.getContext());
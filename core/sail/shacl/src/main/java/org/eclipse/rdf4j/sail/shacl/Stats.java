@@ -11,8 +11,14 @@
 
 package org.eclipse.rdf4j.sail.shacl;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.eclipse.rdf4j.common.annotation.InternalUseOnly;
+import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
 
 /**
  * @apiNote This feature is for internal use only: its existence, signature or behavior may change without warning from
@@ -26,6 +32,11 @@ public class Stats {
 	private boolean hasRemoved;
 	private Boolean emptyIncludingCurrentTransaction;
 
+	// the predicates and the rdf:type objects of the statements in the added and removed statements, or null if these
+	// are unknown
+	private volatile Set<IRI> changedPredicates;
+	private volatile Set<Value> changedTypes;
+
 	public void added(Statement statement) {
 		hasAdded = true;
 	}
@@ -73,4 +84,40 @@ public class Stats {
 	void setEmptyIncludingCurrentTransaction(boolean emptyIncludingCurrentTransaction) {
 		this.emptyIncludingCurrentTransaction = emptyIncludingCurrentTransaction;
 	}
+
+	void startRecordingChanges() {
+		changedPredicates = ConcurrentHashMap.newKeySet();
+		changedTypes = ConcurrentHashMap.newKeySet();
+	}
+
+	/**
+	 * Records a statement that was effectively added or removed in this transaction, including statements that were
+	 * inferred from it.
+	 */
+	void changed(Statement statement) {
+		changedPredicates.add(statement.getPredicate());
+		if (RDF.TYPE.equals(statement.getPredicate())) {
+			changedTypes.add(statement.getObject());
+		}
+	}
+
+	/**
+	 * Checks whether statements with the given predicate and object could have been added or removed in this
+	 * transaction, without querying the added and removed statements.
+	 *
+	 * @param predicate the predicate, or null for any predicate
+	 * @param object    the object, or null for any object
+	 * @return false if it is certain that no such statement was added or removed, else true
+	 */
+	public boolean couldHaveChanged(IRI predicate, Value object) {
+		Set<IRI> changedPredicates = this.changedPredicates;
+		Set<Value> changedTypes = this.changedTypes;
+		if (changedPredicates == null || predicate == null) {
+			return true;
+		}
+		if (!changedPredicates.contains(predicate)) {
+			return false;
+		}
+		return object == null || !RDF.TYPE.equals(predicate) || changedTypes.contains(object);
+	}
 }
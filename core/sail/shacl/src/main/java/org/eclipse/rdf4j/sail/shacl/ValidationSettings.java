@@ -21,15 +21,23 @@ public class ValidationSettings {
 	private final boolean logValidationPlans;
 	private final boolean validateEntireBaseSail;
 	private final boolean performanceLogging;
+	private final long sortMemoryLimit;
 
 	public ValidationSettings(Resource[] dataGraph, boolean logValidationPlans,
 			boolean validateEntireBaseSail,
 			boolean performanceLogging) {
+		this(dataGraph, logValidationPlans, validateEntireBaseSail, performanceLogging, -1);
+	}
+
+	public ValidationSettings(Resource[] dataGraph, boolean logValidationPlans,
+			boolean validateEntireBaseSail,
+			boolean performanceLogging, long sortMemoryLimit) {
 
 		this.dataGraph = dataGraph;
 		this.logValidationPlans = logValidationPlans;
 		this.validateEntireBaseSail = validateEntireBaseSail;
 		this.performanceLogging = performanceLogging;
+		this.sortMemoryLimit = sortMemoryLimit;
 	}
 
 	public ValidationSettings() {
@@ -37,6 +45,7 @@ public class ValidationSettings {
 		logValidationPlans = false;
 		validateEntireBaseSail = false;
 		this.performanceLogging = false;
+		this.sortMemoryLimit = -1;
 	}
 
 	public Resource[] getDataGraph() {
@@ -55,4 +64,12 @@ public class ValidationSettings {
 		return performanceLogging;
 	}
 
+	/**
+	 * @return the maximum number of tuples that a sort in the validation plans holds in memory before it spills to
+	 *         disk, -1 for no limit
+	 */
+	public long getSortMemoryLimit() {
+		return sortMemoryLimit;
+	}
+
 }
@@ -69,6 +69,7 @@ import org.eclipse.rdf4j.sail.shacl.ast.constraintcomponents.UniqueLangConstrain
 import org.eclipse.rdf4j.sail.shacl.ast.constraintcomponents.XoneConstraintComponent;
 import org.eclipse.rdf4j.sail.shacl.ast.planNodes.EmptyNode;
 import org.eclipse.rdf4j.sail.shacl.ast.planNodes.PlanNode;
+import org.eclipse.rdf4j.sail.shacl.ast.planNodes.PlanNodeHelper;
 import org.eclipse.rdf4j.sail.shacl.ast.targets.DashAllObjects;
 import org.eclipse.rdf4j.sail.shacl.ast.targets.DashAllSubjects;
 import org.eclipse.rdf4j.sail.shacl.ast.targets.RSXTargetShape;
@@ -370,6 +371,11 @@ abstract public class Shape implements ConstraintComponent, Identifiable {
 	}
 
 	public PlanNode generatePlans(ConnectionsGroup connectionsGroup, ValidationSettings validationSettings) {
+		return PlanNodeHelper.withSortMemoryLimit(validationSettings.getSortMemoryLimit(),
+				() -> generatePlansInternal(connectionsGroup, validationSettings));
+	}
+
+	private PlanNode generatePlansInternal(ConnectionsGroup connectionsGroup, ValidationSettings validationSettings) {
 		assert constraintComponents.size() == 1;
 
 		StatementMatcher.StableRandomVariableProvider stableRandomVariableProvider = new StatementMatcher.StableRandomVariableProvider();
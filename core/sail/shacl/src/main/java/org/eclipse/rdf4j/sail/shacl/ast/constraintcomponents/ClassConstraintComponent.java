@@ -285,8 +285,7 @@ public class ClassConstraintComponent extends AbstractConstraintComponent {
 	public boolean requiresEvaluation(ConnectionsGroup connectionsGroup, Scope scope, Resource[] dataGraph,
 			StatementMatcher.StableRandomVariableProvider stableRandomVariableProvider) {
 		return super.requiresEvaluation(connectionsGroup, scope, dataGraph, stableRandomVariableProvider)
-				|| connectionsGroup.getRemovedStatements().hasStatement(null, RDF.TYPE, clazz, true, dataGraph)
-				|| connectionsGroup.getAddedStatements().hasStatement(null, RDF.TYPE, clazz, true, dataGraph);
+				|| connectionsGroup.hasChanged(null, RDF.TYPE, clazz, true, dataGraph);
 	}
 
 	@Override
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.sail.shacl.ast.planNodes;
 
+import java.util.function.Supplier;
+
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.vocabulary.RDF4J;
@@ -25,6 +27,34 @@ public class PlanNodeHelper {
 		rdf4jNilDataset.addDefaultGraph(RDF4J.NIL);
 	}
 
+	// the sort memory limit of the validation plan that is being generated by the current thread, the sorts of a plan
+	// are created while its plan nodes are constructed
+	private final static ThreadLocal<Long> sortMemoryLimit = ThreadLocal.withInitial(() -> -1L);
+
+	/**
+	 * Generates a validation plan whose sorts hold at most the specified number of tuples in memory.
+	 *
+	 * @param sortMemoryLimit the maximum number of tuples that a sort holds in memory, -1 for no limit
+	 * @param planGenerator   generates the plan on the current thread
+	 */
+	public static PlanNode withSortMemoryLimit(long sortMemoryLimit, Supplier<PlanNode> planGenerator) {
+		Long previous = PlanNodeHelper.sortMemoryLimit.get();
+		PlanNodeHelper.sortMemoryLimit.set(sortMemoryLimit);
+		try {
+			return planGenerator.get();
+		} finally {
+			PlanNodeHelper.sortMemoryLimit.set(previous);
+		}
+	}
+
+	/**
+	 * @return the sort memory limit of the validation plan that is being generated by the current thread, -1 for no
+	 *         limit
+	 */
+	static long getSortMemoryLimit() {
+		return sortMemoryLimit.get();
+	}
+
 	public static PlanNode handleSorting(PlanNode child, PlanNode parent) {
 		return handleSorting(child.requiresSorted(), parent);
 	}
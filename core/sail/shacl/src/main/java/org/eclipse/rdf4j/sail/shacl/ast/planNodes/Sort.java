@@ -11,25 +11,53 @@
 
 package org.eclipse.rdf4j.sail.shacl.ast.planNodes;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.PriorityQueue;
 
 import org.apache.commons.text.StringEscapeUtils;
 import org.eclipse.rdf4j.common.iteration.CloseableIteration;
 import org.eclipse.rdf4j.sail.SailException;
 
+/**
+ * Sorts the tuples of the parent by their active target. If the sort memory limit is exceeded, sorted runs of tuples
+ * are written to temporary files and merged while iterating.
+ */
 public class Sort implements PlanNode {
 
 	private final PlanNode parent;
+	private final long sortMemoryLimit;
 	private boolean printed = false;
 	private ValidationExecutionLogger validationExecutionLogger;
 
+	/**
+	 * Creates a sort with the sort memory limit of the validation plan that is being generated, see
+	 * {@link PlanNodeHelper#withSortMemoryLimit(long, java.util.function.Supplier)}.
+	 */
 	public Sort(PlanNode parent) {
+		this(parent, PlanNodeHelper.getSortMemoryLimit());
+	}
+
+	/**
+	 * @param sortMemoryLimit the maximum number of tuples that are held in memory, -1 for no limit
+	 */
+	public Sort(PlanNode parent, long sortMemoryLimit) {
 		this.parent = PlanNodeHelper.handleSorting(this, parent);
+		this.sortMemoryLimit = sortMemoryLimit;
 	}
 
 	@Override
@@ -41,6 +69,11 @@ public class Sort implements PlanNode {
 
 			Iterator<ValidationTuple> sortedTuplesIterator;
 
+			// sorted runs that were spilled to disk because the sort memory limit was exceeded
+			List<File> runs;
+
+			MergeIterator mergeIterator;
+
 			boolean closed = false;
 
 			@Override
@@ -52,6 +85,13 @@ public class Sort implements PlanNode {
 
 				sortedTuplesIterator = Collections.emptyIterator();
 				sortedTuples = null;
+
+				if (mergeIterator != null) {
+					mergeIterator.close();
+				}
+				if (runs != null) {
+					runs.forEach(File::delete);
+				}
 			}
 
 			@Override
@@ -70,6 +110,7 @@ public class Sort implements PlanNode {
 					try (CloseableIteration<? extends ValidationTuple, SailException> iterator = parent.iterator()) {
 						sortedTuples = new ArrayList<>(1);
 						alreadySorted = true;
+						boolean serializable = true;
 						ValidationTuple prev = null;
 						while (iterator.hasNext()) {
 							ValidationTuple next = iterator.next();
@@ -77,7 +118,7 @@ public class Sort implements PlanNode {
 
 							// quick break out if sortedTuples is guaranteed to be of size 1 since we don't need to sort
 							// it then
-							if (sortedTuples.size() == 1 && !iterator.hasNext()) {
+							if (runs == null && sortedTuples.size() == 1 && !iterator.hasNext()) {
 								sortedTuplesIterator = sortedTuples.iterator();
 								return;
 							}
@@ -86,26 +127,61 @@ public class Sort implements PlanNode {
 								alreadySorted = false;
 							}
 							prev = next;
+
+							// tuples with validation results or compressed tuples are never spilled, so a sort that
+							// receives such tuples keeps them in memory
+							serializable = serializable && next.isSerializable();
+							if (sortMemoryLimit >= 0 && serializable && sortedTuples.size() > sortMemoryLimit
+									&& iterator.hasNext()) {
+								spill(alreadySorted);
+								alreadySorted = true;
+								prev = null;
+							}
 						}
 
 						assert !iterator.hasNext() : "Iterator: " + iterator;
 					}
 
 					if (!alreadySorted && sortedTuples.size() > 1) {
-						if (sortedTuples.size() > 8192) { // MIN_ARRAY_SORT_GRAN in Arrays.parallelSort(...)
-							ValidationTuple[] objects = sortedTuples.toArray(new ValidationTuple[0]);
-							Arrays.parallelSort(objects, ValidationTuple::compareActiveTarget);
-							sortedTuples = Arrays.asList(objects);
-						} else {
-							sortedTuples.sort(ValidationTuple::compareActiveTarget);
-						}
+						sortedTuples = sort(sortedTuples);
+					}
+
+					if (runs != null) {
+						mergeIterator = new MergeIterator(runs, sortedTuples);
+						sortedTuples = Collections.emptyList();
+						sortedTuplesIterator = mergeIterator;
+					} else {
+						sortedTuplesIterator = sortedTuples.iterator();
 					}
-					sortedTuplesIterator = sortedTuples.iterator();
 
 				}
 
 			}
 
+			private void spill(boolean alreadySorted) {
+				if (!alreadySorted) {
+					sortedTuples = sort(sortedTuples);
+				}
+				if (runs == null) {
+					runs = new ArrayList<>();
+				}
+
+				try {
+					File run = File.createTempFile("rdf4j-shacl-sort", ".tmp");
+					runs.add(run);
+					try (DataOutputStream out = new DataOutputStream(
+							new BufferedOutputStream(new FileOutputStream(run)))) {
+						for (ValidationTuple tuple : sortedTuples) {
+							tuple.write(out);
+						}
+					}
+				} catch (IOException e) {
+					throw new SailException(e);
+				}
+
+				sortedTuples = new ArrayList<>();
+			}
+
 			@Override
 			protected ValidationTuple loggingNext() throws SailException {
 				sortTuples();
@@ -117,6 +193,102 @@ public class Sort implements PlanNode {
 
 	}
 
+	private static List<ValidationTuple> sort(List<ValidationTuple> tuples) {
+		if (tuples.size() > 8192) { // MIN_ARRAY_SORT_GRAN in Arrays.parallelSort(...)
+			ValidationTuple[] objects = tuples.toArray(new ValidationTuple[0]);
+			Arrays.parallelSort(objects, ValidationTuple::compareActiveTarget);
+			return Arrays.asList(objects);
+		} else {
+			tuples.sort(ValidationTuple::compareActiveTarget);
+			return tuples;
+		}
+	}
+
+	/**
+	 * Merges the sorted runs on disk with the sorted tuples that are still in memory. Ties are broken by the order of
+	 * the runs so that the merge is stable, like the in-memory sort.
+	 */
+	private static class MergeIterator implements Iterator<ValidationTuple> {
+
+		private final List<DataInputStream> inputs = new ArrayList<>();
+		private final Iterator<ValidationTuple> inMemory;
+		private final PriorityQueue<Head> heads = new PriorityQueue<>();
+
+		MergeIterator(List<File> runs, List<ValidationTuple> inMemory) {
+			this.inMemory = inMemory.iterator();
+			try {
+				for (File run : runs) {
+					DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(run)));
+					inputs.add(input);
+					advance(inputs.size() - 1);
+				}
+			} catch (IOException e) {
+				close();
+				throw new SailException(e);
+			}
+			advance(inputs.size());
+		}
+
+		private void advance(int source) {
+			ValidationTuple tuple;
+			if (source == inputs.size()) {
+				tuple = inMemory.hasNext() ? inMemory.next() : null;
+			} else {
+				try {
+					tuple = ValidationTuple.read(inputs.get(source));
+				} catch (EOFException e) {
+					tuple = null;
+				} catch (IOException e) {
+					throw new SailException(e);
+				}
+			}
+			if (tuple != null) {
+				heads.add(new Head(tuple, source));
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !heads.isEmpty();
+		}
+
+		@Override
+		public ValidationTuple next() {
+			Head head = heads.poll();
+			if (head == null) {
+				throw new NoSuchElementException();
+			}
+			advance(head.source);
+			return head.tuple;
+		}
+
+		void close() {
+			heads.clear();
+			for (DataInputStream input : inputs) {
+				try {
+					input.close();
+				} catch (IOException ignored) {
+				}
+			}
+		}
+
+		private static class Head implements Comparable<Head> {
+			private final ValidationTuple tuple;
+			private final int source;
+
+			Head(ValidationTuple tuple, int source) {
+				this.tuple = tuple;
+				this.source = source;
+			}
+
+			@Override
+			public int compareTo(Head o) {
+				int compare = tuple.compareActiveTarget(o.tuple);
+				return compare != 0 ? compare : Integer.compare(source, o.source);
+			}
+		}
+	}
+
 	@Override
 	public int depth() {
 		return parent.depth() + 1;
@@ -14,11 +14,13 @@ package org.eclipse.rdf4j.sail.shacl.ast.planNodes;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.rdf4j.sail.shacl.ast.Shape;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,6 +30,12 @@ public class ValidationExecutionLogger {
 
 	private final List<LogStatement> list = new ArrayList<>();
 
+	// number of times that each shape was skipped or executed, indexed by SKIPPED and EXECUTED
+	private final Map<String, long[]> shapeCounts = new LinkedHashMap<>();
+
+	private static final int SKIPPED = 0;
+	private static final int EXECUTED = 1;
+
 	ValidationExecutionLogger() {
 	}
 
@@ -36,7 +44,52 @@ public class ValidationExecutionLogger {
 		list.add(logStatement);
 	}
 
+	/**
+	 * Logs that the validation of a shape was skipped because the shape could not be affected by the changes in the
+	 * transaction.
+	 */
+	public void logSkipped(Shape shape) {
+		count(shape, SKIPPED);
+	}
+
+	/**
+	 * Logs that the validation plan of a shape was executed.
+	 */
+	public void logExecuted(Shape shape) {
+		count(shape, EXECUTED);
+	}
+
+	private synchronized void count(Object shape, int index) {
+		shapeCounts.computeIfAbsent(shape.toString(), k -> new long[2])[index]++;
+	}
+
+	/**
+	 * @return the number of times that the shape was skipped
+	 */
+	public synchronized long getSkippedCount(Shape shape) {
+		long[] counts = shapeCounts.get(shape.toString());
+		return counts == null ? 0 : counts[SKIPPED];
+	}
+
+	/**
+	 * @return the number of times that the validation plan of the shape was executed
+	 */
+	public synchronized long getExecutedCount(Shape shape) {
+		long[] counts = shapeCounts.get(shape.toString());
+		return counts == null ? 0 : counts[EXECUTED];
+	}
+
 	public void flush() {
+		synchronized (this) {
+			if (!shapeCounts.isEmpty()) {
+				long skipped = shapeCounts.values().stream().mapToLong(counts -> counts[SKIPPED]).sum();
+				long executed = shapeCounts.values().stream().mapToLong(counts -> counts[EXECUTED]).sum();
+				logger.info("Skipped {} and executed {} shape validations", skipped, executed);
+				shapeCounts.forEach((shape, counts) -> logger.info("skipped: {}\texecuted: {}\t{}", counts[SKIPPED],
+						counts[EXECUTED], shape.replace("\n", " ")));
+			}
+		}
+
 		Map<String, List<LogStatement>> map = new HashMap<>();
 
 		list.forEach(s -> {
@@ -85,6 +138,16 @@ class DeactivatedValidationLogger extends ValidationExecutionLogger {
 		// no-op
 	}
 
+	@Override
+	public void logSkipped(Shape shape) {
+		// no-op
+	}
+
+	@Override
+	public void logExecuted(Shape shape) {
+		// no-op
+	}
+
 	@Override
 	public void flush() {
 		// no-op
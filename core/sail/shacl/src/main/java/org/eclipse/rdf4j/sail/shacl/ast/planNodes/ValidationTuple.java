@@ -11,6 +11,10 @@
 
 package org.eclipse.rdf4j.sail.shacl.ast.planNodes;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -22,8 +26,14 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
 import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Triple;
 import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.algebra.evaluation.util.ValueComparator;
 import org.eclipse.rdf4j.sail.shacl.ast.constraintcomponents.ConstraintComponent;
@@ -35,6 +45,15 @@ public class ValidationTuple {
 
 	private static final Logger logger = LoggerFactory.getLogger(ValidationTuple.class);
 	private static final ValueComparator valueComparator = new ValueComparator();
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	// value types used by write(...) and read(...)
+	private static final byte NULL_VALUE = 0;
+	private static final byte IRI_VALUE = 1;
+	private static final byte BNODE_VALUE = 2;
+	private static final byte LITERAL_VALUE = 3;
+	private static final byte LANG_LITERAL_VALUE = 4;
+	private static final byte TRIPLE_VALUE = 5;
 
 	// all fields should be immutable
 	private final Value[] chain;
@@ -479,4 +498,115 @@ public class ValidationTuple {
 	public Resource[] getContexts() {
 		return contexts;
 	}
+
+	/**
+	 * @return true if the tuple can be written with {@link #write(DataOutput)}, which does not support validation
+	 *         results and compressed tuples
+	 */
+	boolean isSerializable() {
+		return validationResults.isEmpty() && compressedTuples.isEmpty();
+	}
+
+	void write(DataOutput out) throws IOException {
+		assert isSerializable();
+		out.writeInt(chain.length);
+		for (Value value : chain) {
+			writeValue(value, out);
+		}
+		out.writeByte(scope.ordinal());
+		out.writeBoolean(propertyShapeScopeWithValue);
+		if (contexts == null) {
+			out.writeInt(-1);
+		} else {
+			out.writeInt(contexts.length);
+			for (Resource context : contexts) {
+				writeValue(context, out);
+			}
+		}
+	}
+
+	static ValidationTuple read(DataInput in) throws IOException {
+		Value[] chain = new Value[in.readInt()];
+		for (int i = 0; i < chain.length; i++) {
+			chain[i] = readValue(in);
+		}
+		ConstraintComponent.Scope scope = ConstraintComponent.Scope.values()[in.readByte()];
+		boolean hasValue = in.readBoolean();
+		int contextCount = in.readInt();
+		Resource[] contexts = null;
+		if (contextCount >= 0) {
+			contexts = new Resource[contextCount];
+			for (int i = 0; i < contextCount; i++) {
+				contexts[i] = (Resource) readValue(in);
+			}
+		}
+		return new ValidationTuple(chain, scope, hasValue, contexts);
+	}
+
+	private static void writeValue(Value value, DataOutput out) throws IOException {
+		if (value == null) {
+			out.writeByte(NULL_VALUE);
+		} else if (value.isIRI()) {
+			out.writeByte(IRI_VALUE);
+			writeString(value.stringValue(), out);
+		} else if (value.isBNode()) {
+			out.writeByte(BNODE_VALUE);
+			writeString(((BNode) value).getID(), out);
+		} else if (value.isLiteral()) {
+			Literal literal = (Literal) value;
+			if (literal.getLanguage().isPresent()) {
+				out.writeByte(LANG_LITERAL_VALUE);
+				writeString(literal.getLabel(), out);
+				writeString(literal.getLanguage().get(), out);
+			} else {
+				out.writeByte(LITERAL_VALUE);
+				writeString(literal.getLabel(), out);
+				writeString(literal.getDatatype().stringValue(), out);
+			}
+		} else {
+			Triple triple = (Triple) value;
+			out.writeByte(TRIPLE_VALUE);
+			writeValue(triple.getSubject(), out);
+			writeValue(triple.getPredicate(), out);
+			writeValue(triple.getObject(), out);
+		}
+	}
+
+	private static Value readValue(DataInput in) throws IOException {
+		byte type = in.readByte();
+		switch (type) {
+		case NULL_VALUE:
+			return null;
+		case IRI_VALUE:
+			return vf.createIRI(readString(in));
+		case BNODE_VALUE:
+			return vf.createBNode(readString(in));
+		case LITERAL_VALUE:
+			String label = readString(in);
+			return vf.createLiteral(label, vf.createIRI(readString(in)));
+		case LANG_LITERAL_VALUE:
+			String langLabel = readString(in);
+			return vf.createLiteral(langLabel, readString(in));
+		case TRIPLE_VALUE:
+			Resource subject = (Resource) readValue(in);
+			IRI predicate = (IRI) readValue(in);
+			Value object = readValue(in);
+			return vf.createTriple(subject, predicate, object);
+		default:
+			throw new IOException("Unknown value type: " + type);
+		}
+	}
+
+	// DataOutput.writeUTF(...) is limited to 64 KB, which is not enough for long literals
+	private static void writeString(String string, DataOutput out) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInput in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
 }
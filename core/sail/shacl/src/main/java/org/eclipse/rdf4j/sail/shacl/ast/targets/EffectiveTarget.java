@@ -161,17 +161,9 @@ public class EffectiveTarget {
 
 		return Stream.concat(chain.stream(), getOptionalAsStream())
 				.flatMap(EffectiveTargetObject::getStatementMatcher)
-				.anyMatch(
-						currentStatementPattern -> connectionsGroup.getAddedStatements()
-								.hasStatement(currentStatementPattern.getSubjectValue(),
-										currentStatementPattern.getPredicateValue(),
-										currentStatementPattern.getObjectValue(), false, dataGraph)
-								|| connectionsGroup.getRemovedStatements()
-										.hasStatement(currentStatementPattern.getSubjectValue(),
-												currentStatementPattern.getPredicateValue(),
-												currentStatementPattern.getObjectValue(), false, dataGraph)
-
-				);
+				.anyMatch(currentStatementPattern -> connectionsGroup.hasChanged(
+						currentStatementPattern.getSubjectValue(), currentStatementPattern.getPredicateValue(),
+						currentStatementPattern.getObjectValue(), false, dataGraph));
 
 	}
 
@@ -60,6 +60,7 @@ public class ShaclSailConfig extends AbstractDelegatingSailImplConfig {
 	public final static long VALIDATION_RESULTS_LIMIT_TOTAL_DEFAULT = 1_000_000;
 	public final static long VALIDATION_RESULTS_LIMIT_PER_CONSTRAINT_DEFAULT = 1_000;
 	public final static long TRANSACTIONAL_VALIDATION_LIMIT_DEFAULT = 500_000;
+	public final static long SORT_MEMORY_LIMIT_DEFAULT = -1;
 	public final static Set<IRI> SHAPES_GRAPHS_DEFAULT = Set.of(RDF4J.SHACL_SHAPE_GRAPH);
 
 	private boolean parallelValidation = PARALLEL_VALIDATION_DEFAULT;
@@ -76,6 +77,7 @@ public class ShaclSailConfig extends AbstractDelegatingSailImplConfig {
 	private long validationResultsLimitTotal = VALIDATION_RESULTS_LIMIT_TOTAL_DEFAULT;
 	private long validationResultsLimitPerConstraint = VALIDATION_RESULTS_LIMIT_PER_CONSTRAINT_DEFAULT;
 	private long transactionalValidationLimit = TRANSACTIONAL_VALIDATION_LIMIT_DEFAULT;
+	private long sortMemoryLimit = SORT_MEMORY_LIMIT_DEFAULT;
 	private Set<IRI> shapesGraphs = SHAPES_GRAPHS_DEFAULT;
 
 	public ShaclSailConfig() {
@@ -202,6 +204,14 @@ public class ShaclSailConfig extends AbstractDelegatingSailImplConfig {
 		this.transactionalValidationLimit = transactionalValidationLimit;
 	}
 
+	public long getSortMemoryLimit() {
+		return sortMemoryLimit;
+	}
+
+	public void setSortMemoryLimit(long sortMemoryLimit) {
+		this.sortMemoryLimit = sortMemoryLimit;
+	}
+
 	public Set<IRI> getShapesGraphs() {
 		return shapesGraphs;
 	}
@@ -236,6 +246,8 @@ public class ShaclSailConfig extends AbstractDelegatingSailImplConfig {
 		m.add(implNode, ShaclSailSchema.TRANSACTIONAL_VALIDATION_LIMIT,
 				literal(getTransactionalValidationLimit()));
 
+		m.add(implNode, ShaclSailSchema.SORT_MEMORY_LIMIT, literal(getSortMemoryLimit()));
+
 		for (IRI shapesGraph : shapesGraphs) {
 			m.add(implNode, ShaclSailSchema.SHAPES_GRAPH, shapesGraph);
 		}
@@ -292,6 +304,9 @@ public class ShaclSailConfig extends AbstractDelegatingSailImplConfig {
 					m.getStatements(implNode, ShaclSailSchema.TRANSACTIONAL_VALIDATION_LIMIT, null))
 					.ifPresent(l -> setTransactionalValidationLimit(l.longValue()));
 
+			Models.objectLiteral(m.getStatements(implNode, ShaclSailSchema.SORT_MEMORY_LIMIT, null))
+					.ifPresent(l -> setSortMemoryLimit(l.longValue()));
+
 			if (m.contains(implNode, ShaclSailSchema.SHAPES_GRAPH, null)) {
 				setShapesGraphs(StreamSupport
 						.stream(m.getStatements(implNode, ShaclSailSchema.SHAPES_GRAPH, null).spliterator(), false)
@@ -69,6 +69,7 @@ public class ShaclSailFactory implements SailFactory {
 			sail.setDashDataShapes(shaclSailConfig.isDashDataShapes());
 			sail.setValidationResultsLimitTotal(shaclSailConfig.getValidationResultsLimitTotal());
 			sail.setValidationResultsLimitPerConstraint(shaclSailConfig.getValidationResultsLimitPerConstraint());
+			sail.setSortMemoryLimit(shaclSailConfig.getSortMemoryLimit());
 			sail.setShapesGraphs(shaclSailConfig.getShapesGraphs());
 
 		}
@@ -60,6 +60,7 @@ public class ShaclSailSchema {
 	public final static IRI VALIDATION_RESULTS_LIMIT_TOTAL = create("validationResultsLimitTotal");
 	public final static IRI VALIDATION_RESULTS_LIMIT_PER_CONSTRAINT = create("validationResultsLimitPerConstraint");
 	public final static IRI TRANSACTIONAL_VALIDATION_LIMIT = create("transactionalValidationLimit");
+	public final static IRI SORT_MEMORY_LIMIT = create("sortMemoryLimit");
 
 	public final static IRI SHAPES_GRAPH = create("shapesGraph");
 
@@ -16,6 +16,9 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.rdf4j.common.annotation.InternalUseOnly;
 import org.eclipse.rdf4j.common.transaction.IsolationLevels;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.sail.Sail;
 import org.eclipse.rdf4j.sail.SailConnection;
 import org.eclipse.rdf4j.sail.shacl.ShaclSailConnection;
@@ -161,6 +164,21 @@ public class ConnectionsGroup implements AutoCloseable {
 		return sparqlValidation;
 	}
 
+	/**
+	 * Checks if statements matching the pattern were added or removed in the current transaction. The predicates and
+	 * types that were changed in the transaction are checked first, so that patterns that are unaffected by the
+	 * transaction don't need to query the added and removed statements.
+	 *
+	 * @return false if it is certain that no matching statement was added or removed, else true
+	 */
+	public boolean hasChanged(Resource subj, IRI pred, Value obj, boolean includeInferred, Resource... dataGraph) {
+		if (stats != null && !stats.couldHaveChanged(pred, obj)) {
+			return false;
+		}
+		return addedStatements.hasStatement(subj, pred, obj, includeInferred, dataGraph)
+				|| removedStatements.hasStatement(subj, pred, obj, includeInferred, dataGraph);
+	}
+
 	public boolean hasAddedStatements() {
 		return addedStatements != null;
 	}
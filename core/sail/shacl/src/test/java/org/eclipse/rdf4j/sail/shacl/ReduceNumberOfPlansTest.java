@@ -19,11 +19,14 @@ import org.eclipse.rdf4j.common.exception.RDF4JException;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.RDFS;
 import org.eclipse.rdf4j.rio.RDFParseException;
 import org.eclipse.rdf4j.rio.UnsupportedRDFormatException;
 import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.eclipse.rdf4j.sail.shacl.ast.Shape;
 import org.eclipse.rdf4j.sail.shacl.ast.planNodes.EmptyNode;
 import org.eclipse.rdf4j.sail.shacl.ast.planNodes.PlanNode;
+import org.eclipse.rdf4j.sail.shacl.ast.planNodes.ValidationExecutionLogger;
 import org.eclipse.rdf4j.sail.shacl.wrapper.data.ConnectionsGroup;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -170,6 +173,55 @@ public class ReduceNumberOfPlansTest {
 
 	}
 
+	@Test
+	public void testUnrelatedChanges() throws IOException, InterruptedException {
+		ShaclSail shaclSail = new ShaclSail(new MemoryStore());
+		shaclSail.init();
+		Utils.loadShapeData(shaclSail, "reduceNumberOfPlansTest/shacl.trig");
+
+		addDummyData(shaclSail);
+
+		try (ShaclSailConnection connection = (ShaclSailConnection) shaclSail.getConnection()) {
+			connection.begin();
+
+			IRI other = Utils.Ex.createIri();
+			ValueFactory vf = shaclSail.getValueFactory();
+			connection.addStatement(other, RDF.TYPE, RDFS.CLASS);
+			connection.addStatement(other, RDFS.LABEL, vf.createLiteral("unrelated"));
+
+			connection.prepareValidation();
+
+			try (ConnectionsGroup connectionsGroup = connection.getConnectionsGroup()) {
+				Assertions.assertFalse(connectionsGroup.getStats().couldHaveChanged(Utils.Ex.ssn, null));
+				Assertions.assertFalse(connectionsGroup.getStats().couldHaveChanged(RDF.TYPE, Utils.Ex.Person));
+				Assertions.assertTrue(connectionsGroup.getStats().couldHaveChanged(RDF.TYPE, RDFS.CLASS));
+				Assertions.assertTrue(connectionsGroup.getStats().couldHaveChanged(RDFS.LABEL, null));
+
+				ValidationExecutionLogger logger = ValidationExecutionLogger.getInstance(true);
+				List<Shape> shapes = shaclSail.getCachedShapes()
+						.getDataAndRelease()
+						.stream()
+						.flatMap(s -> s.getShapes().stream())
+						.collect(Collectors.toList());
+				for (Shape shape : shapes) {
+					if (shape.generatePlans(connectionsGroup, new ValidationSettings()) instanceof EmptyNode) {
+						logger.logSkipped(shape);
+					} else {
+						logger.logExecuted(shape);
+					}
+				}
+				for (Shape shape : shapes) {
+					Assertions.assertEquals(1, logger.getSkippedCount(shape));
+					Assertions.assertEquals(0, logger.getExecutedCount(shape));
+				}
+			}
+
+			connection.commit();
+		} finally {
+			shaclSail.shutDown();
+		}
+	}
+
 	private void addDummyData(ShaclSail shaclSail) {
 		try (ShaclSailConnection connection = (ShaclSailConnection) shaclSail.getConnection()) {
 			connection.begin();
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+
+package org.eclipse.rdf4j.sail.shacl;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.shacl.ast.constraintcomponents.ConstraintComponent;
+import org.eclipse.rdf4j.sail.shacl.ast.planNodes.PlanNode;
+import org.eclipse.rdf4j.sail.shacl.ast.planNodes.PlanNodeHelper;
+import org.eclipse.rdf4j.sail.shacl.ast.planNodes.Sort;
+import org.eclipse.rdf4j.sail.shacl.ast.planNodes.ValidationExecutionLogger;
+import org.eclipse.rdf4j.sail.shacl.ast.planNodes.ValidationTuple;
+import org.eclipse.rdf4j.sail.shacl.mock.MockInputPlanNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SortTest {
+
+	private static final ValueFactory vf = SimpleValueFactory.getInstance();
+
+	@Test
+	public void testInMemory() {
+		List<ValidationTuple> input = createInput();
+		Assertions.assertEquals(sorted(input), sort(input, -1));
+	}
+
+	@Test
+	public void testSpillToDisk() {
+		List<ValidationTuple> input = createInput();
+		List<ValidationTuple> expected = sorted(input);
+
+		Assertions.assertEquals(expected, sort(input, 7));
+		Assertions.assertEquals(expected, sort(input, 0));
+		Assertions.assertEquals(expected, sort(input, input.size() - 1));
+	}
+
+	@Test
+	public void testSpillToDiskKeepsContexts() {
+		List<ValidationTuple> input = createInput();
+
+		List<ValidationTuple> actual = sort(input, 7);
+
+		Assertions.assertArrayEquals(
+				sorted(input).stream().map(ValidationTuple::getContexts).toArray(),
+				actual.stream().map(ValidationTuple::getContexts).toArray());
+	}
+
+	@Test
+	public void testSortMemoryLimitOfGeneratedPlan() {
+		List<ValidationTuple> input = createInput();
+		Set<File> runsBefore = sortRuns();
+
+		PlanNode sort = PlanNodeHelper.withSortMemoryLimit(7,
+				() -> new Sort(new MockInputPlanNode(Collections.unmodifiableList(input))));
+		sort.receiveLogger(ValidationExecutionLogger.getInstance(false));
+
+		List<ValidationTuple> actual = new ArrayList<>();
+		try (CloseableIteration<? extends ValidationTuple, SailException> iterator = sort.iterator()) {
+			actual.add(iterator.next());
+			Assertions.assertTrue(sortRuns().size() > runsBefore.size());
+			while (iterator.hasNext()) {
+				actual.add(iterator.next());
+			}
+		}
+
+		Assertions.assertEquals(sorted(input), actual);
+		// the runs are deleted when the iterator is closed
+		Assertions.assertEquals(runsBefore, sortRuns());
+	}
+
+	private static Set<File> sortRuns() {
+		File[] runs = new File(System.getProperty("java.io.tmpdir"))
+				.listFiles((dir, name) -> name.startsWith("rdf4j-shacl-sort"));
+		return runs == null ? new HashSet<>() : new HashSet<>(Arrays.asList(runs));
+	}
+
+	private static List<ValidationTuple> createInput() {
+		Random random = new Random(42);
+		List<ValidationTuple> tuples = new ArrayList<>();
+		Resource[][] contexts = { { null }, { vf.createIRI("http://example.com/g") }, {} };
+		for (int i = 0; i < 100; i++) {
+			Value target;
+			switch (i % 4) {
+			case 0:
+				target = vf.createIRI("http://example.com/" + random.nextInt(50));
+				break;
+			case 1:
+				target = vf.createBNode("b" + random.nextInt(50));
+				break;
+			case 2:
+				target = vf.createLiteral(random.nextInt(50));
+				break;
+			default:
+				target = vf.createTriple(vf.createIRI("http://example.com/" + random.nextInt(50)), RDF.TYPE,
+						vf.createLiteral("label " + random.nextInt(50), "en"));
+			}
+			tuples.add(new ValidationTuple(new Value[] { target, vf.createLiteral(i) },
+					ConstraintComponent.Scope.propertyShape, true, contexts[i % contexts.length]));
+		}
+		return tuples;
+	}
+
+	private static List<ValidationTuple> sorted(List<ValidationTuple> tuples) {
+		List<ValidationTuple> sorted = new ArrayList<>(tuples);
+		sorted.sort(ValidationTuple::compareActiveTarget);
+		return sorted;
+	}
+
+	private static List<ValidationTuple> sort(List<ValidationTuple> tuples, long sortMemoryLimit) {
+		Sort sort = new Sort(new MockInputPlanNode(Collections.unmodifiableList(tuples)), sortMemoryLimit);
+		sort.receiveLogger(ValidationExecutionLogger.getInstance(false));
+
+		List<ValidationTuple> ret = new ArrayList<>();
+		try (CloseableIteration<? extends ValidationTuple, SailException> iterator = sort.iterator()) {
+			while (iterator.hasNext()) {
+				ret.add(iterator.next());
+			}
+		}
+		return ret;
+	}
+}
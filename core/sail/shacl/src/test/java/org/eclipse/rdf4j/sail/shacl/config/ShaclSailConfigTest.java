@@ -22,6 +22,7 @@ import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.PERFORMANCE_LO
 import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.RDFS_SUB_CLASS_REASONING;
 import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.SERIALIZABLE_VALIDATION;
 import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.SHAPES_GRAPH;
+import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.SORT_MEMORY_LIMIT;
 import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.TRANSACTIONAL_VALIDATION_LIMIT;
 import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.VALIDATION_ENABLED;
 import static org.eclipse.rdf4j.sail.shacl.config.ShaclSailSchema.VALIDATION_RESULTS_LIMIT_PER_CONSTRAINT;
@@ -64,6 +65,7 @@ public class ShaclSailConfigTest {
 		assertThat(shaclSailConfig.getValidationResultsLimitTotal()).isEqualTo(1000000);
 		assertThat(shaclSailConfig.getValidationResultsLimitPerConstraint()).isEqualTo(1000);
 		assertThat(shaclSailConfig.getTransactionalValidationLimit()).isEqualTo(500000);
+		assertThat(shaclSailConfig.getSortMemoryLimit()).isEqualTo(-1);
 		assertThat(shaclSailConfig.getShapesGraphs()).isEqualTo(Set.of(RDF4J.SHACL_SHAPE_GRAPH));
 
 	}
@@ -90,6 +92,7 @@ public class ShaclSailConfigTest {
 		mb.add(VALIDATION_RESULTS_LIMIT_TOTAL, 100);
 		mb.add(VALIDATION_RESULTS_LIMIT_PER_CONSTRAINT, 3);
 		mb.add(TRANSACTIONAL_VALIDATION_LIMIT, 9);
+		mb.add(SORT_MEMORY_LIMIT, 10);
 
 		Set<IRI> shapesGraphs = Set.of(Values.iri("http://example.com/ex1"), Values.iri("http://example.com/ex2"));
 		for (IRI shapesGraph : shapesGraphs) {
@@ -112,6 +115,7 @@ public class ShaclSailConfigTest {
 		assertThat(shaclSailConfig.getValidationResultsLimitTotal()).isEqualTo(100);
 		assertThat(shaclSailConfig.getValidationResultsLimitPerConstraint()).isEqualTo(3);
 		assertThat(shaclSailConfig.getTransactionalValidationLimit()).isEqualTo(9);
+		assertThat(shaclSailConfig.getSortMemoryLimit()).isEqualTo(10);
 		assertThat(shaclSailConfig.getShapesGraphs()).isEqualTo(shapesGraphs);
 
 	}
@@ -176,6 +180,7 @@ public class ShaclSailConfigTest {
 		Assertions.assertTrue(m.contains(node, VALIDATION_RESULTS_LIMIT_TOTAL, null));
 		Assertions.assertTrue(m.contains(node, VALIDATION_RESULTS_LIMIT_PER_CONSTRAINT, null));
 		Assertions.assertTrue(m.contains(node, TRANSACTIONAL_VALIDATION_LIMIT, null));
+		Assertions.assertTrue(m.contains(node, SORT_MEMORY_LIMIT, null));
 		Assertions.assertTrue(m.contains(node, SHAPES_GRAPH, null));
 
 	}
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.console.command;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Map;
+
+import org.eclipse.rdf4j.console.ConsoleIO;
+import org.eclipse.rdf4j.console.ConsoleState;
+import org.eclipse.rdf4j.console.setting.ConsoleSetting;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryException;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.UnsupportedRDFormatException;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+import org.eclipse.rdf4j.sail.nativerdf.NativeBulkLoader;
+import org.eclipse.rdf4j.sail.nativerdf.NativeStore;
+
+/**
+ * Bulk load command, loads a data file into a native store by building its indexes bottom-up.
+ */
+public class BulkLoad extends Load {
+
+	@Override
+	public String getName() {
+		return "bulkload";
+	}
+
+	@Override
+	public String getHelpShort() {
+		return "Bulk loads a data file into a native store repository, takes a file path or URL as argument";
+	}
+
+	@Override
+	public String getHelpLong() {
+		return PrintHelp.USAGE + "bulkload <file-or-url> [from <base-uri>] [into <context-id>]\n"
+				+ "  <file-or-url>   The path or URL identifying the data file\n"
+				+ "  <base-uri>      The base URI to use for resolving relative references, defaults to <file-or-url>\n"
+				+ "  <context-id>    The ID of the context to add the data to, e.g. foo:bar or _:n123\n"
+				+ "Loads the specified data file into the current repository, which must be a native store.\n"
+				+ "The indexes of the store are rebuilt, which is much faster than a regular load for large files,\n"
+				+ "but is not transactional. Make a backup of the data directory before bulk loading into a store\n"
+				+ "that already contains data.\n";
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param consoleIO
+	 * @param state
+	 * @param settings
+	 */
+	public BulkLoad(ConsoleIO consoleIO, ConsoleState state, Map<String, ConsoleSetting> settings) {
+		super(consoleIO, state, settings);
+	}
+
+	/**
+	 * Bulk load data from a URL or local file. If the dataURL is null, then the datafile will be used.
+	 *
+	 * @param repository repository
+	 * @param baseURI    base URI
+	 * @param context    context (can be null)
+	 * @param dataURL    url of the data
+	 * @param dataFile   file containing data
+	 * @throws RepositoryException
+	 * @throws IOException
+	 * @throws RDFParseException
+	 */
+	@Override
+	protected void addData(Repository repository, String baseURI, String context, URL dataURL, File dataFile)
+			throws RepositoryException, IOException, RDFParseException {
+		if (!(repository instanceof SailRepository)
+				|| !(((SailRepository) repository).getSail() instanceof NativeStore)) {
+			throw new IllegalArgumentException("Bulk loading is only supported by native store repositories");
+		}
+		NativeStore sail = (NativeStore) ((SailRepository) repository).getSail();
+
+		String fileName = dataURL == null ? dataFile.getName() : dataURL.getPath();
+		RDFFormat format = Rio.getParserFormatForFileName(fileName)
+				.orElseThrow(() -> new UnsupportedRDFormatException("No parser for " + fileName));
+		if (baseURI == null) {
+			baseURI = dataURL == null ? dataFile.toURI().toString() : dataURL.toExternalForm();
+		}
+		Resource[] contexts = getContexts(repository, context);
+		writeln("Bulk loading data...");
+
+		final long startTime = System.nanoTime();
+		long added;
+		try (NativeBulkLoader loader = sail.createBulkLoader();
+				InputStream in = dataURL == null ? new FileInputStream(dataFile) : dataURL.openStream()) {
+			RDFParser parser = Rio.createParser(format, repository.getValueFactory());
+			parser.setRDFHandler(new AbstractRDFHandler() {
+
+				@Override
+				public void handleStatement(Statement st) throws RDFHandlerException {
+					if (contexts.length == 0) {
+						loader.add(st);
+					} else {
+						loader.add(st.getSubject(), st.getPredicate(), st.getObject(), contexts);
+					}
+				}
+			});
+			parser.parse(in, baseURI);
+			added = loader.finish();
+		}
+		final long endTime = System.nanoTime();
+		writeln(added + " statements have been added to the repository (" + (endTime - startTime) / 1_000_000
+				+ " ms)");
+	}
+}
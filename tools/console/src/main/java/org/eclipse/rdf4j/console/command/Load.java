@@ -190,7 +190,7 @@ public class Load extends ConsoleCommand {
 	 * @throws IOException
 	 * @throws RDFParseException
 	 */
-	private void addData(Repository repository, String baseURI, String context, URL dataURL, File dataFile)
+	protected void addData(Repository repository, String baseURI, String context, URL dataURL, File dataFile)
 			throws RepositoryException, IOException, RDFParseException {
 		Resource[] contexts = getContexts(repository, context);
 		writeln("Loading data...");
@@ -214,7 +214,7 @@ public class Load extends ConsoleCommand {
 	 * @param context
 	 * @return array of size one, or null
 	 */
-	private Resource[] getContexts(Repository repository, String context) {
+	protected Resource[] getContexts(Repository repository, String context) {
 		Resource[] contexts = new Resource[0];
 		if (context != null) {
 			Resource contextURI;
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.console.command;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.rdf4j.console.ConsoleState;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.eclipse.rdf4j.sail.nativerdf.NativeStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BulkLoadTest extends AbstractCommandTest {
+
+	private SailRepository repository;
+
+	private ConsoleState state;
+
+	private BulkLoad cmd;
+
+	@BeforeEach
+	public void setUp() {
+		state = mock(ConsoleState.class);
+		cmd = new BulkLoad(mockConsoleIO, state, defaultSettings);
+	}
+
+	@AfterEach
+	public void shutDownRepository() {
+		if (repository != null) {
+			repository.shutDown();
+		}
+	}
+
+	@Test
+	public final void testBulkLoad() throws IOException {
+		repository = new SailRepository(new NativeStore(new File(locationFile, "native")));
+		when(state.getRepository()).thenReturn(repository);
+
+		File f = new File(locationFile, "alien.ttl");
+		copyFromResource("load/alien.ttl", f);
+
+		cmd.execute("bulkload", f.getAbsolutePath(), "into", "http://example.org/g");
+		verify(mockConsoleIO, never()).writeError(anyString());
+
+		try (RepositoryConnection conn = repository.getConnection()) {
+			assertThat(conn.size()).isGreaterThan(0);
+			assertThat(conn.size(conn.getValueFactory().createIRI("http://example.org/g"))).isEqualTo(conn.size());
+		}
+	}
+
+	@Test
+	public final void testBulkLoadNotNative() throws IOException {
+		repository = new SailRepository(new MemoryStore());
+		when(state.getRepository()).thenReturn(repository);
+
+		File f = new File(locationFile, "alien.ttl");
+		copyFromResource("load/alien.ttl", f);
+
+		cmd.execute("bulkload", f.getAbsolutePath());
+		verify(mockConsoleIO).writeError("Bulk loading is only supported by native store repositories");
+	}
+}
@@ -12,11 +12,13 @@ package org.eclipse.rdf4j.federated;
 
 import java.util.Optional;
 
+import org.eclipse.rdf4j.federated.cache.EndpointStatisticsCache;
 import org.eclipse.rdf4j.federated.cache.SourceSelectionCache;
 import org.eclipse.rdf4j.federated.cache.SourceSelectionMemoryCache;
 import org.eclipse.rdf4j.federated.evaluation.concurrent.ControlledWorkerScheduler;
 import org.eclipse.rdf4j.federated.evaluation.concurrent.TaskWrapper;
 import org.eclipse.rdf4j.federated.evaluation.iterator.ConsumingIteration;
+import org.eclipse.rdf4j.federated.evaluation.join.BoundJoinBlockSizeController;
 import org.eclipse.rdf4j.federated.monitoring.QueryLog;
 import org.eclipse.rdf4j.federated.monitoring.QueryPlanLog;
 import org.eclipse.rdf4j.query.Operation;
@@ -41,6 +43,14 @@ public class FedXConfig {
 
 	private int boundJoinBlockSize = 15;
 
+	private boolean enableAdaptiveBoundJoinBlockSize = false;
+
+	private int maxBoundJoinBlockSize = 100;
+
+	private long boundJoinTargetResponseTime = 1000;
+
+	private int maxConcurrentRequestsPerEndpoint = 0;
+
 	private int enforceMaxQueryTime = 30;
 
 	private boolean enableServiceAsBoundJoin = true;
@@ -57,6 +67,10 @@ public class FedXConfig {
 
 	private String sourceSelectionCacheSpec = null;
 
+	private boolean enableStatisticsCostModel = false;
+
+	private String endpointStatisticsCacheSpec = null;
+
 	private TaskWrapper taskWrapper = null;
 
 	private String prefixDeclarations = null;
@@ -151,6 +165,66 @@ public class FedXConfig {
 		return this;
 	}
 
+	/**
+	 * Enable the adaptive bound join block size. See {@link #isEnableAdaptiveBoundJoinBlockSize()}.
+	 *
+	 * <p>
+	 * Can be set after federation construction and initialize.
+	 * </p>
+	 *
+	 * @param flag
+	 * @return the current config
+	 */
+	public FedXConfig withEnableAdaptiveBoundJoinBlockSize(boolean flag) {
+		this.enableAdaptiveBoundJoinBlockSize = flag;
+		return this;
+	}
+
+	/**
+	 * Set the maximum bound join block size. See {@link #getMaxBoundJoinBlockSize()}.
+	 *
+	 * <p>
+	 * Can be set after federation construction and initialize.
+	 * </p>
+	 *
+	 * @param maxBoundJoinBlockSize
+	 * @return the current config
+	 */
+	public FedXConfig withMaxBoundJoinBlockSize(int maxBoundJoinBlockSize) {
+		this.maxBoundJoinBlockSize = maxBoundJoinBlockSize;
+		return this;
+	}
+
+	/**
+	 * Set the target response time of a bound join request. See {@link #getBoundJoinTargetResponseTime()}.
+	 *
+	 * <p>
+	 * Can be set after federation construction and initialize.
+	 * </p>
+	 *
+	 * @param responseTime the response time in milliseconds
+	 * @return the current config
+	 */
+	public FedXConfig withBoundJoinTargetResponseTime(long responseTime) {
+		this.boundJoinTargetResponseTime = responseTime;
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of concurrent requests per endpoint. See {@link #getMaxConcurrentRequestsPerEndpoint()}.
+	 *
+	 * <p>
+	 * Can only be set before federation initialization.
+	 * </p>
+	 *
+	 * @param maxConcurrentRequests the maximum number of requests, 0 for no limit
+	 * @return the current config
+	 */
+	public FedXConfig withMaxConcurrentRequestsPerEndpoint(int maxConcurrentRequests) {
+		this.maxConcurrentRequestsPerEndpoint = maxConcurrentRequests;
+		return this;
+	}
+
 	/**
 	 * Set the number of join worker threads. See {@link #getJoinWorkerThreads()}.
 	 *
@@ -251,6 +325,38 @@ public class FedXConfig {
 		return this;
 	}
 
+	/**
+	 * Enable the statistics based cost model. See {@link #isEnableStatisticsCostModel()}.
+	 *
+	 * <p>
+	 * Can be set after federation construction and initialize.
+	 * </p>
+	 *
+	 * @param flag
+	 * @return the current config
+	 */
+	public FedXConfig withEnableStatisticsCostModel(boolean flag) {
+		this.enableStatisticsCostModel = flag;
+		return this;
+	}
+
+	/**
+	 * The cache specification for the {@link EndpointStatisticsCache}. If not set explicitly, the
+	 * {@link EndpointStatisticsCache#DEFAULT_CACHE_SPEC} is used.
+	 *
+	 * <p>
+	 * Can only be set before federation initialization.
+	 * </p>
+	 *
+	 * @param cacheSpec the {@link CacheBuilderSpec} for the {@link EndpointStatisticsCache}
+	 * @return the current config
+	 * @see EndpointStatisticsCache
+	 */
+	public FedXConfig withEndpointStatisticsCacheSpec(String cacheSpec) {
+		this.endpointStatisticsCacheSpec = cacheSpec;
+		return this;
+	}
+
 	/**
 	 * Sets a {@link TaskWrapper} which may be used for wrapping any background {@link Runnable}s. If no such wrapper is
 	 * explicitly configured, the unmodified task is returned. See {@link TaskWrapper} for more information.
@@ -304,6 +410,54 @@ public class FedXConfig {
 		return boundJoinBlockSize;
 	}
 
+	/**
+	 * Flag to enable/disable the adaptive bound join block size. Default=false.
+	 * <p>
+	 * If enabled, the block size is tuned per endpoint from the observed response times and result sizes of the bound
+	 * join requests, starting from {@link #getBoundJoinBlockSize()}. Fast endpoints get larger blocks (up to
+	 * {@link #getMaxBoundJoinBlockSize()}), endpoints that respond slower than
+	 * {@link #getBoundJoinTargetResponseTime()} get smaller ones.
+	 * </p>
+	 *
+	 * @return whether the bound join block size is adapted per endpoint
+	 * @see BoundJoinBlockSizeController
+	 */
+	public boolean isEnableAdaptiveBoundJoinBlockSize() {
+		return enableAdaptiveBoundJoinBlockSize;
+	}
+
+	/**
+	 * The upper bound for the adaptive bound join block size. Default is 100.
+	 *
+	 * @return the maximum bound join block size
+	 * @see #isEnableAdaptiveBoundJoinBlockSize()
+	 */
+	public int getMaxBoundJoinBlockSize() {
+		return maxBoundJoinBlockSize;
+	}
+
+	/**
+	 * The response time in milliseconds that a single bound join request should not exceed. Used to adapt the bound
+	 * join block size. Default is 1000.
+	 *
+	 * @return the target response time in milliseconds
+	 * @see #isEnableAdaptiveBoundJoinBlockSize()
+	 */
+	public long getBoundJoinTargetResponseTime() {
+		return boundJoinTargetResponseTime;
+	}
+
+	/**
+	 * The maximum number of requests that the {@link ControlledWorkerScheduler}s send concurrently to a single
+	 * endpoint. Further tasks for this endpoint are queued until one of its requests has been answered, such that a
+	 * slow endpoint cannot occupy all worker threads. Default is 0, i.e. no limit.
+	 *
+	 * @return the maximum number of concurrent requests per endpoint, 0 for no limit
+	 */
+	public int getMaxConcurrentRequestsPerEndpoint() {
+		return maxConcurrentRequestsPerEndpoint;
+	}
+
 	/**
 	 * Returns a flag indicating whether vectored evaluation using the VALUES clause shall be applied for SERVICE
 	 * expressions.
@@ -404,6 +558,31 @@ public class FedXConfig {
 		return this.sourceSelectionCacheSpec;
 	}
 
+	/**
+	 * Flag to enable/disable the statistics based cost model for join ordering. Default=false.
+	 * <p>
+	 * If enabled, the join order additionally takes the number of triples of the relevant endpoints into account, and
+	 * small join arguments are evaluated with a hash join instead of a bound join. The statistics are taken from VoID
+	 * descriptions registered with the {@link EndpointStatisticsCache} or, if not available, gathered with COUNT
+	 * queries against the endpoints.
+	 * </p>
+	 *
+	 * @return whether the statistics based cost model is used
+	 */
+	public boolean isEnableStatisticsCostModel() {
+		return enableStatisticsCostModel;
+	}
+
+	/**
+	 * Returns the configured {@link CacheBuilderSpec} (if any) for the {@link EndpointStatisticsCache}. If not defined,
+	 * the {@link EndpointStatisticsCache#DEFAULT_CACHE_SPEC} is used.
+	 *
+	 * @return the {@link CacheBuilderSpec} or <code>null</code>
+	 */
+	public String getEndpointStatisticsCacheSpec() {
+		return endpointStatisticsCacheSpec;
+	}
+
 	/**
 	 * The debug mode for query plan. If enabled, the query execution plan is printed to stdout
 	 *
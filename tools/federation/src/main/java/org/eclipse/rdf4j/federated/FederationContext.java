@@ -11,9 +11,11 @@
 package org.eclipse.rdf4j.federated;
 
 import org.eclipse.rdf4j.federated.cache.SourceSelectionCache;
+import org.eclipse.rdf4j.federated.cache.EndpointStatisticsCache;
 import org.eclipse.rdf4j.federated.cache.SourceSelectionMemoryCache;
 import org.eclipse.rdf4j.federated.evaluation.DelegateFederatedServiceResolver;
 import org.eclipse.rdf4j.federated.evaluation.FederationEvalStrategy;
+import org.eclipse.rdf4j.federated.evaluation.join.BoundJoinBlockSizeController;
 import org.eclipse.rdf4j.federated.monitoring.Monitoring;
 import org.eclipse.rdf4j.query.Dataset;
 import org.eclipse.rdf4j.query.algebra.evaluation.TripleSource;
@@ -41,6 +43,10 @@ public class FederationContext {
 
 	private final SourceSelectionCache sourceSelectionCache;
 
+	private final EndpointStatisticsCache endpointStatisticsCache;
+
+	private final BoundJoinBlockSizeController boundJoinBlockSizeController;
+
 	public FederationContext(FederationManager manager, EndpointManager endpointManager, QueryManager queryManager,
 			DelegateFederatedServiceResolver federatedServiceResolver,
 			Monitoring monitoring, FedXConfig fedXConfig) {
@@ -52,6 +58,8 @@ public class FederationContext {
 		this.monitoring = monitoring;
 		this.fedXConfig = fedXConfig;
 		this.sourceSelectionCache = createSourceSelectionCache();
+		this.endpointStatisticsCache = new EndpointStatisticsCache(fedXConfig.getEndpointStatisticsCacheSpec());
+		this.boundJoinBlockSizeController = new BoundJoinBlockSizeController(fedXConfig, endpointManager, monitoring);
 	}
 
 	public FedX getFederation() {
@@ -86,6 +94,14 @@ public class FederationContext {
 		return this.sourceSelectionCache;
 	}
 
+	public EndpointStatisticsCache getEndpointStatisticsCache() {
+		return this.endpointStatisticsCache;
+	}
+
+	public BoundJoinBlockSizeController getBoundJoinBlockSizeController() {
+		return this.boundJoinBlockSizeController;
+	}
+
 	/**
 	 * Create a fresh {@link FederationEvalStrategy} using information from this federation context.
 	 */
@@ -121,22 +121,23 @@ public class FederationManager {
 		if (joinScheduler != null) {
 			joinScheduler.abort();
 		}
+		int maxConcurrentRequests = federationContext.getConfig().getMaxConcurrentRequestsPerEndpoint();
 		joinScheduler = new ControlledWorkerScheduler<>(federationContext.getConfig().getJoinWorkerThreads(),
-				"Join Scheduler");
+				"Join Scheduler", maxConcurrentRequests);
 		taskWrapper.ifPresent(joinScheduler::setTaskWrapper);
 
 		if (unionScheduler != null) {
 			unionScheduler.abort();
 		}
 		unionScheduler = new ControlledWorkerScheduler<>(federationContext.getConfig().getUnionWorkerThreads(),
-				"Union Scheduler");
+				"Union Scheduler", maxConcurrentRequests);
 		taskWrapper.ifPresent(unionScheduler::setTaskWrapper);
 
 		if (leftJoinScheduler != null) {
 			leftJoinScheduler.abort();
 		}
 		leftJoinScheduler = new ControlledWorkerScheduler<>(federationContext.getConfig().getLeftJoinWorkerThreads(),
-				"Left Join Scheduler");
+				"Left Join Scheduler", maxConcurrentRequests);
 		taskWrapper.ifPresent(leftJoinScheduler::setTaskWrapper);
 
 	}
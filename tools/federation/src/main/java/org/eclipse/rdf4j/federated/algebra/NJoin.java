@@ -13,6 +13,7 @@ package org.eclipse.rdf4j.federated.algebra;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
 
 import org.eclipse.rdf4j.federated.structures.QueryInfo;
 import org.eclipse.rdf4j.federated.util.QueryAlgebraUtil;
@@ -29,6 +30,9 @@ public class NJoin extends NTuple {
 
 	private static final long serialVersionUID = -8646701006458860154L;
 
+	// the join indices that are evaluated with a hash join instead of a bound join
+	private Set<Integer> hashJoins = Set.of();
+
 	/**
 	 * Construct an nary-tuple. Note that the parentNode of all arguments is set to this instance.
 	 *
@@ -62,4 +66,24 @@ public class NJoin extends NTuple {
 		joinVars.retainAll(QueryAlgebraUtil.getFreeVars(getArg(joinIndex)));
 		return joinVars;
 	}
+
+	/**
+	 * Mark the join with the given index to be evaluated as hash join, i.e. the join argument is evaluated once without
+	 * the bindings of the left side.
+	 *
+	 * @param joinIndex the join index, starting with 1
+	 */
+	public void setHashJoin(int joinIndex) {
+		Set<Integer> newHashJoins = new TreeSet<>(hashJoins);
+		newHashJoins.add(joinIndex);
+		hashJoins = Set.copyOf(newHashJoins);
+	}
+
+	/**
+	 * @param joinIndex the join index, starting with 1
+	 * @return whether the join with the given index is evaluated as hash join
+	 */
+	public boolean isHashJoin(int joinIndex) {
+		return hashJoins.contains(joinIndex);
+	}
 }
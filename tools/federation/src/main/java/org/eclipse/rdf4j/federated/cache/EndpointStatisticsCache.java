@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.federated.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.rdf4j.federated.endpoint.Endpoint;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.vocabulary.VOID;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.TupleQuery;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheBuilderSpec;
+
+/**
+ * Maintains statistics about the data of the federation members, i.e. the number of triples of an endpoint and the
+ * number of triples per predicate.
+ * <p>
+ * Statistics are taken from VoID descriptions that have been registered with
+ * {@link #addVoidDescription(Endpoint, Model)}. For all other endpoints the statistics are gathered lazily with COUNT
+ * queries and kept in an in memory Guava {@link Cache}. COUNT queries are aborted after a timeout, by default
+ * {@link #DEFAULT_PROBE_TIMEOUT} seconds, and the results of failed queries are not cached.
+ * </p>
+ *
+ * @see org.eclipse.rdf4j.federated.optimizer.StatisticsFedXCostModel
+ */
+public class EndpointStatisticsCache {
+
+	private static final Logger log = LoggerFactory.getLogger(EndpointStatisticsCache.class);
+
+	public static final String DEFAULT_CACHE_SPEC = "maximumSize=10000,expireAfterWrite=6h";
+
+	/**
+	 * The default maximum execution time of a COUNT query, in seconds.
+	 */
+	public static final int DEFAULT_PROBE_TIMEOUT = 5;
+
+	/**
+	 * Marker for statistics that are not available, e.g. because the COUNT query failed.
+	 */
+	public static final long UNKNOWN = -1;
+
+	private final Cache<Key, Long> cache;
+
+	private final int probeTimeout;
+
+	/**
+	 * Statistics from VoID descriptions per endpoint id, the triple count is stored with a <code>null</code> key.
+	 */
+	private final Map<String, Map<IRI, Long>> voidStatistics = new ConcurrentHashMap<>();
+
+	public EndpointStatisticsCache() {
+		this(DEFAULT_CACHE_SPEC);
+	}
+
+	/**
+	 *
+	 * @param cacheSpec a Guava compatible {@link CacheBuilderSpec}, if <code>null</code> the
+	 *                  {@link #DEFAULT_CACHE_SPEC} is used
+	 */
+	public EndpointStatisticsCache(String cacheSpec) {
+		this(cacheSpec, DEFAULT_PROBE_TIMEOUT);
+	}
+
+	/**
+	 *
+	 * @param cacheSpec    a Guava compatible {@link CacheBuilderSpec}, if <code>null</code> the
+	 *                     {@link #DEFAULT_CACHE_SPEC} is used
+	 * @param probeTimeout the maximum execution time of a COUNT query in seconds, 0 to disable
+	 */
+	public EndpointStatisticsCache(String cacheSpec, int probeTimeout) {
+		cacheSpec = cacheSpec == null ? DEFAULT_CACHE_SPEC : cacheSpec;
+		this.cache = CacheBuilder.from(CacheBuilderSpec.parse(cacheSpec)).build();
+		this.probeTimeout = probeTimeout;
+	}
+
+	/**
+	 * Register the VoID description of the given endpoint. The <code>void:triples</code> of the dataset and of its
+	 * <code>void:propertyPartition</code>s are used instead of querying the endpoint.
+	 *
+	 * @param endpoint
+	 * @param description a model containing a <code>void:Dataset</code>
+	 */
+	public void addVoidDescription(Endpoint endpoint, Model description) {
+		Map<IRI, Long> statistics = new HashMap<>();
+		for (Statement partition : description.filter(null, VOID.PROPERTY_PARTITION, null)) {
+			if (!(partition.getObject() instanceof Resource)) {
+				continue;
+			}
+			Resource partitionNode = (Resource) partition.getObject();
+			Optional<IRI> property = Models.objectIRI(description.filter(partitionNode, VOID.PROPERTY, null));
+			Optional<Literal> triples = Models.objectLiteral(description.filter(partitionNode, VOID.TRIPLES, null));
+			if (property.isPresent() && triples.isPresent()) {
+				statistics.merge(property.get(), triples.get().longValue(), Long::sum);
+			}
+		}
+
+		// the dataset is the subject of the property partitions, or any subject with void:triples otherwise
+		Optional<Resource> dataset = Models.subject(description.filter(null, VOID.PROPERTY_PARTITION, null));
+		Optional<Literal> triples = Models
+				.objectLiteral(description.filter(dataset.orElse(null), VOID.TRIPLES, null));
+		triples.ifPresent(t -> statistics.put(null, t.longValue()));
+
+		voidStatistics.put(endpoint.getId(), statistics);
+	}
+
+	/**
+	 * @param endpoint
+	 * @return the number of triples of the endpoint, or {@link #UNKNOWN}
+	 */
+	public long getTripleCount(Endpoint endpoint) {
+		return getCount(endpoint, null);
+	}
+
+	/**
+	 * @param endpoint
+	 * @param predicate
+	 * @return the number of triples with the given predicate in the endpoint, or {@link #UNKNOWN}
+	 */
+	public long getPredicateCount(Endpoint endpoint, IRI predicate) {
+		return getCount(endpoint, Objects.requireNonNull(predicate));
+	}
+
+	/**
+	 * Remove all statistics of the given endpoint, e.g. after its data has changed.
+	 *
+	 * @param endpoint
+	 */
+	public void invalidate(Endpoint endpoint) {
+		voidStatistics.remove(endpoint.getId());
+		cache.asMap().keySet().removeIf(key -> key.endpointId.equals(endpoint.getId()));
+	}
+
+	private long getCount(Endpoint endpoint, IRI predicate) {
+		Map<IRI, Long> statistics = voidStatistics.get(endpoint.getId());
+		if (statistics != null) {
+			Long count = statistics.get(predicate);
+			if (count != null) {
+				return count;
+			}
+			// a VoID description with property partitions lists all properties of the dataset
+			if (predicate != null && statistics.keySet().stream().anyMatch(Objects::nonNull)) {
+				return 0;
+			}
+		}
+
+		Key key = new Key(endpoint.getId(), predicate);
+		Long count = cache.getIfPresent(key);
+		if (count != null) {
+			return count;
+		}
+		long probedCount = probe(endpoint, predicate);
+		// failures are not cached, the endpoint may be available again for the next query
+		if (probedCount != UNKNOWN) {
+			cache.put(key, probedCount);
+		}
+		return probedCount;
+	}
+
+	/**
+	 * Determine the count with a query against the endpoint, which is aborted after the probe timeout.
+	 *
+	 * @return the count, or {@link #UNKNOWN} if the query failed or timed out
+	 */
+	protected long probe(Endpoint endpoint, IRI predicate) {
+		try (RepositoryConnection conn = endpoint.getConnection()) {
+			String pattern = predicate == null ? "?s ?p ?o" : "?s <" + predicate.stringValue() + "> ?o";
+			TupleQuery query = conn.prepareTupleQuery("SELECT (COUNT(*) AS ?count) WHERE { " + pattern + " }");
+			query.setMaxExecutionTime(probeTimeout);
+			try (TupleQueryResult result = query.evaluate()) {
+				if (result.hasNext()) {
+					BindingSet bindings = result.next();
+					if (bindings.getValue("count") instanceof Literal) {
+						return ((Literal) bindings.getValue("count")).longValue();
+					}
+				}
+			}
+		} catch (RuntimeException e) {
+			log.debug("Failed to count the triples of endpoint " + endpoint.getId() + ": " + e.getMessage());
+			log.trace("Details:", e);
+		}
+		return UNKNOWN;
+	}
+
+	private static class Key {
+
+		final String endpointId;
+
+		final IRI predicate;
+
+		Key(String endpointId, IRI predicate) {
+			this.endpointId = endpointId;
+			this.predicate = predicate;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(endpointId, predicate);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return endpointId.equals(other.endpointId) && Objects.equals(predicate, other.predicate);
+		}
+	}
+}
@@ -49,6 +49,7 @@ import org.eclipse.rdf4j.federated.evaluation.iterator.SingleBindingSetIteration
 import org.eclipse.rdf4j.federated.evaluation.join.ControlledWorkerBoundJoin;
 import org.eclipse.rdf4j.federated.evaluation.join.ControlledWorkerJoin;
 import org.eclipse.rdf4j.federated.evaluation.join.ControlledWorkerLeftJoin;
+import org.eclipse.rdf4j.federated.evaluation.join.HashJoin;
 import org.eclipse.rdf4j.federated.evaluation.join.SynchronousBoundJoin;
 import org.eclipse.rdf4j.federated.evaluation.join.SynchronousJoin;
 import org.eclipse.rdf4j.federated.evaluation.union.ControlledWorkerUnion;
@@ -62,12 +63,14 @@ import org.eclipse.rdf4j.federated.exception.FedXRuntimeException;
 import org.eclipse.rdf4j.federated.exception.IllegalQueryException;
 import org.eclipse.rdf4j.federated.optimizer.DefaultFedXCostModel;
 import org.eclipse.rdf4j.federated.optimizer.ExclusiveTupleExprOptimizer;
+import org.eclipse.rdf4j.federated.optimizer.FedXCostModel;
 import org.eclipse.rdf4j.federated.optimizer.FilterOptimizer;
 import org.eclipse.rdf4j.federated.optimizer.GenericInfoOptimizer;
 import org.eclipse.rdf4j.federated.optimizer.LimitOptimizer;
 import org.eclipse.rdf4j.federated.optimizer.ServiceOptimizer;
 import org.eclipse.rdf4j.federated.optimizer.SourceSelection;
 import org.eclipse.rdf4j.federated.optimizer.StatementGroupAndJoinOptimizer;
+import org.eclipse.rdf4j.federated.optimizer.StatisticsFedXCostModel;
 import org.eclipse.rdf4j.federated.optimizer.UnionOptimizer;
 import org.eclipse.rdf4j.federated.structures.FedXDataset;
 import org.eclipse.rdf4j.federated.structures.QueryInfo;
@@ -280,7 +283,12 @@ public abstract class FederationEvalStrategy extends StrictEvaluationStrategy {
 
 	protected void optimizeJoinOrder(TupleExpr query, QueryInfo queryInfo, GenericInfoOptimizer info) {
 		// optimize statement groups and join order
-		new StatementGroupAndJoinOptimizer(queryInfo, DefaultFedXCostModel.INSTANCE).optimize(query);
+		FedXCostModel costModel = DefaultFedXCostModel.INSTANCE;
+		if (federationContext.getConfig().isEnableStatisticsCostModel()) {
+			costModel = new StatisticsFedXCostModel(federationContext.getEndpointStatisticsCache(),
+					federationContext.getEndpointManager());
+		}
+		new StatementGroupAndJoinOptimizer(queryInfo, costModel).optimize(query);
 	}
 
 	/**
@@ -505,6 +513,14 @@ public abstract class FederationEvalStrategy extends StrictEvaluationStrategy {
 
 		QueryEvaluationStep resultProvider = precompile(join.getArg(0), context);
 
+		// the right arguments of hash joins are evaluated once, without the bindings of the left side
+		QueryEvaluationStep[] hashJoinArgs = new QueryEvaluationStep[join.getNumberOfArguments()];
+		for (int i = 1, n = join.getNumberOfArguments(); i < n; i++) {
+			if (join.isHashJoin(i)) {
+				hashJoinArgs[i] = precompile(join.getArg(i), context);
+			}
+		}
+
 		ControlledWorkerScheduler<BindingSet> joinScheduler = federationContext.getManager().getJoinScheduler();
 
 		return bindings -> {
@@ -513,8 +529,13 @@ public abstract class FederationEvalStrategy extends StrictEvaluationStrategy {
 			try {
 				for (int i = 1, n = join.getNumberOfArguments(); i < n; i++) {
 
-					result = executeJoin(joinScheduler, result, join.getArg(i), join.getJoinVariables(i), bindings,
-							join.getQueryInfo());
+					if (hashJoinArgs[i] != null) {
+						result = executeHashJoin(result, join.getArg(i), hashJoinArgs[i], join.getJoinVariables(i),
+								bindings, join.getQueryInfo());
+					} else {
+						result = executeJoin(joinScheduler, result, join.getArg(i), join.getJoinVariables(i),
+								bindings, join.getQueryInfo());
+					}
 				}
 				completed = true;
 			} finally {
@@ -670,6 +691,29 @@ public abstract class FederationEvalStrategy extends StrictEvaluationStrategy {
 			CloseableIteration<BindingSet, QueryEvaluationException> leftIter, TupleExpr rightArg,
 			Set<String> joinVariables, BindingSet bindings, QueryInfo queryInfo) throws QueryEvaluationException;
 
+	/**
+	 * Execute the join as {@link HashJoin}, i.e. the right argument is evaluated once and joined with the bindings of
+	 * the left side in memory. See {@link NJoin#isHashJoin(int)}.
+	 *
+	 * @param leftIter
+	 * @param rightArg
+	 * @param rightPrepared the prepared right argument
+	 * @param joinVariables
+	 * @param bindings
+	 * @param queryInfo
+	 * @return the result
+	 * @throws QueryEvaluationException
+	 */
+	protected CloseableIteration<BindingSet, QueryEvaluationException> executeHashJoin(
+			CloseableIteration<BindingSet, QueryEvaluationException> leftIter, TupleExpr rightArg,
+			QueryEvaluationStep rightPrepared, Set<String> joinVariables, BindingSet bindings, QueryInfo queryInfo)
+			throws QueryEvaluationException {
+
+		HashJoin join = new HashJoin(this, leftIter, rightArg, rightPrepared, joinVariables, bindings, queryInfo);
+		executor.execute(join);
+		return join;
+	}
+
 	public abstract CloseableIteration<BindingSet, QueryEvaluationException> evaluateExclusiveGroup(
 			ExclusiveGroup group, BindingSet bindings)
 			throws RepositoryException, MalformedQueryException, QueryEvaluationException;
@@ -10,9 +10,15 @@
  *******************************************************************************/
 package org.eclipse.rdf4j.federated.evaluation.concurrent;
 
+import java.util.ArrayDeque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -31,6 +37,12 @@ import org.slf4j.LoggerFactory;
  * ControlledWorkerScheduler is a task scheduler that uses a FIFO queue for managing its process. Each instance has a
  * pool with a fixed number of worker threads. Once notified a worker picks the next task from the queue and executes
  * it. The results is then returned to the controlling instance retrieved from the task.
+ * <p>
+ * Optionally, the number of tasks that are executed concurrently for the same endpoint (see
+ * {@link ParallelTask#getEndpointId()}) can be limited. Tasks exceeding this limit are held back in a queue per
+ * endpoint and are only handed to the worker threads once a running task of that endpoint has finished. Thus, a slow
+ * endpoint cannot occupy all worker threads and starve the requests to other endpoints.
+ * </p>
  *
  * @author Andreas Schwarte
  * @see ControlledWorkerUnion
@@ -47,6 +59,8 @@ public class ControlledWorkerScheduler<T> implements Scheduler<T>, TaskWrapperAw
 
 	private final int nWorkers;
 	private final String name;
+	private final int maxConcurrentTasksPerEndpoint;
+	private final Map<String, EndpointSlots> endpointSlots = new ConcurrentHashMap<>();
 	private TaskWrapper taskWrapper;
 
 	/**
@@ -66,8 +80,21 @@ public class ControlledWorkerScheduler<T> implements Scheduler<T>, TaskWrapperAw
 	 * @param name
 	 */
 	public ControlledWorkerScheduler(int nWorkers, String name) {
+		this(nWorkers, name, 0);
+	}
+
+	/**
+	 * Construct a new instance with the specified number of workers and the given name, which executes at most the
+	 * given number of tasks concurrently for a single endpoint.
+	 *
+	 * @param nWorkers
+	 * @param name
+	 * @param maxConcurrentTasksPerEndpoint the maximum number of concurrent tasks per endpoint, 0 for no limit
+	 */
+	public ControlledWorkerScheduler(int nWorkers, String name, int maxConcurrentTasksPerEndpoint) {
 		this.nWorkers = nWorkers;
 		this.name = name;
+		this.maxConcurrentTasksPerEndpoint = maxConcurrentTasksPerEndpoint;
 		this.executor = createExecutorService();
 	}
 
@@ -94,8 +121,40 @@ public class ControlledWorkerScheduler<T> implements Scheduler<T>, TaskWrapperAw
 			throw e;
 		}
 
-		Future<?> future = executor.submit(runnable);
+		String endpointId = maxConcurrentTasksPerEndpoint > 0 ? task.getEndpointId() : null;
+		if (endpointId == null) {
+			submit(task, runnable);
+			return;
+		}
+
+		EndpointSlots slots = endpointSlots.computeIfAbsent(endpointId, id -> new EndpointSlots());
+		// the slot is released once the task is done, also if it is cancelled before it was started
+		FutureTask<Void> releasingTask = new FutureTask<>(runnable, null) {
+			@Override
+			protected void done() {
+				release(endpointId);
+			}
+		};
+		synchronized (slots) {
+			if (slots.running >= maxConcurrentTasksPerEndpoint) {
+				slots.waiting.add(new WaitingTask(task, releasingTask));
+				return;
+			}
+			slots.running++;
+		}
+		submit(task, releasingTask);
+	}
+
+	private void submit(ParallelTask<T> task, Runnable runnable) {
+		register(task, executor.submit(runnable));
+	}
+
+	private void submit(ParallelTask<T> task, FutureTask<Void> futureTask) {
+		executor.execute(futureTask);
+		register(task, futureTask);
+	}
 
+	private void register(ParallelTask<T> task, Future<?> future) {
 		// register the future to the task
 		if (task instanceof ParallelTaskBase<?>) {
 			((ParallelTaskBase<?>) task).setScheduledFuture(future);
@@ -105,6 +164,36 @@ public class ControlledWorkerScheduler<T> implements Scheduler<T>, TaskWrapperAw
 
 	}
 
+	/**
+	 * Inform that a task of the given endpoint has finished, i.e. submit the next waiting task of this endpoint (if
+	 * any).
+	 */
+	private void release(String endpointId) {
+		EndpointSlots slots = endpointSlots.get(endpointId);
+		WaitingTask next;
+		synchronized (slots) {
+			next = slots.waiting.poll();
+			if (next == null) {
+				slots.running--;
+				return;
+			}
+		}
+		submit(next.task, next.futureTask);
+	}
+
+	/**
+	 * @return the number of tasks per endpoint id that are held back because of the per endpoint limit
+	 */
+	public Map<String, Integer> getNumberOfWaitingTasksPerEndpoint() {
+		Map<String, Integer> res = new HashMap<>();
+		endpointSlots.forEach((endpointId, slots) -> {
+			synchronized (slots) {
+				res.put(endpointId, slots.waiting.size());
+			}
+		});
+		return res;
+	}
+
 	/**
 	 * Schedule the given tasks and inform about finish using the same lock, i.e. all tasks are scheduled one after the
 	 * other.
@@ -262,6 +351,24 @@ public class ControlledWorkerScheduler<T> implements Scheduler<T>, TaskWrapperAw
 		}
 	}
 
+	/**
+	 * The running and waiting tasks of a single endpoint.
+	 */
+	private class EndpointSlots {
+		private int running;
+		private final Queue<WaitingTask> waiting = new ArrayDeque<>();
+	}
+
+	private class WaitingTask {
+		private final ParallelTask<T> task;
+		private final FutureTask<Void> futureTask;
+
+		private WaitingTask(ParallelTask<T> task, FutureTask<Void> futureTask) {
+			this.task = task;
+			this.futureTask = futureTask;
+		}
+	}
+
 	/**
 	 * Structure to maintain the status for a given control instance.
 	 *
@@ -40,6 +40,16 @@ public interface ParallelTask<T> {
 		return getControl().getQueryInfo();
 	}
 
+	/**
+	 * Returns the id of the endpoint that this task sends its request to. Used by the {@link ControlledWorkerScheduler}
+	 * to limit the number of concurrent requests per endpoint.
+	 *
+	 * @return the endpoint id, or <code>null</code> if the task does not address a single endpoint
+	 */
+	default String getEndpointId() {
+		return null;
+	}
+
 	/**
 	 * Optional implementation to cancel this task on a best effort basis
 	 */
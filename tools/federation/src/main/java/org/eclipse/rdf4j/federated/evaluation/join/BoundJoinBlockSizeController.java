@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.federated.evaluation.join;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import org.eclipse.rdf4j.common.iteration.CloseableIteration;
+import org.eclipse.rdf4j.common.iteration.IterationWrapper;
+import org.eclipse.rdf4j.federated.EndpointManager;
+import org.eclipse.rdf4j.federated.FedXConfig;
+import org.eclipse.rdf4j.federated.algebra.StatementTupleExpr;
+import org.eclipse.rdf4j.federated.endpoint.Endpoint;
+import org.eclipse.rdf4j.federated.monitoring.Monitoring;
+import org.eclipse.rdf4j.query.QueryEvaluationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maintains the bound join block size per endpoint if {@link FedXConfig#isEnableAdaptiveBoundJoinBlockSize()} is
+ * active.
+ * <p>
+ * Each endpoint starts with {@link FedXConfig#getBoundJoinBlockSize()}. The block size is doubled (up to
+ * {@link FedXConfig#getMaxBoundJoinBlockSize()}) if a full block was answered in less than half of the
+ * {@link FedXConfig#getBoundJoinTargetResponseTime()}, and it is halved if the response time of a block, scaled to the
+ * current block size, exceeds the target or if a block produced more than {@link #MAX_RESULTS_PER_REQUEST} results.
+ * </p>
+ * <p>
+ * Changes of the block size are reported to the {@link Monitoring} of the federation.
+ * </p>
+ *
+ * @see ControlledWorkerBoundJoin
+ */
+public class BoundJoinBlockSizeController {
+
+	private static final Logger log = LoggerFactory.getLogger(BoundJoinBlockSizeController.class);
+
+	/**
+	 * The number of results of a single bound join request above which the block size is reduced.
+	 */
+	public static final int MAX_RESULTS_PER_REQUEST = 10_000;
+
+	private final FedXConfig config;
+
+	private final EndpointManager endpointManager;
+
+	private final Monitoring monitoring;
+
+	private final Map<String, AtomicInteger> blockSizes = new ConcurrentHashMap<>();
+
+	public BoundJoinBlockSizeController(FedXConfig config, EndpointManager endpointManager, Monitoring monitoring) {
+		this.config = config;
+		this.endpointManager = endpointManager;
+		this.monitoring = monitoring;
+	}
+
+	/**
+	 * @param endpointId the id of the endpoint, may be <code>null</code> if the request is not sent to a single
+	 *                   endpoint
+	 * @return the block size to use for the next bound join request to the given endpoint
+	 */
+	public int getBlockSize(String endpointId) {
+		if (endpointId == null || !config.isEnableAdaptiveBoundJoinBlockSize()) {
+			return config.getBoundJoinBlockSize();
+		}
+		return blockSize(endpointId).get();
+	}
+
+	/**
+	 * Adapt the block size of the given endpoint to the time that it needed to answer a block of bindings.
+	 *
+	 * @param endpointId   the id of the endpoint, may be <code>null</code>
+	 * @param blockSize    the number of bindings of the request
+	 * @param responseTime the response time in milliseconds
+	 */
+	public void recordResponseTime(String endpointId, int blockSize, long responseTime) {
+		if (endpointId == null || blockSize <= 0 || !config.isEnableAdaptiveBoundJoinBlockSize()) {
+			return;
+		}
+		long target = config.getBoundJoinTargetResponseTime();
+		update(endpointId, current -> {
+			// assume that the response time grows linearly with the number of bindings
+			double projected = (double) responseTime * current / blockSize;
+			if (projected > target) {
+				return Math.max(1, current / 2);
+			}
+			// only grow on full blocks, the first blocks of a join and the last one are usually smaller
+			if (blockSize >= current && projected < target / 2.0) {
+				return Math.max(current, Math.min(config.getMaxBoundJoinBlockSize(), current * 2));
+			}
+			return current;
+		});
+	}
+
+	/**
+	 * Adapt the block size of the given endpoint to the number of results that a block of bindings produced.
+	 *
+	 * @param endpointId the id of the endpoint, may be <code>null</code>
+	 * @param blockSize  the number of bindings of the request
+	 * @param results    the number of results
+	 */
+	public void recordResultSize(String endpointId, int blockSize, long results) {
+		if (endpointId == null || results <= MAX_RESULTS_PER_REQUEST
+				|| !config.isEnableAdaptiveBoundJoinBlockSize()) {
+			return;
+		}
+		update(endpointId, current -> Math.max(1, Math.min(current, blockSize / 2)));
+	}
+
+	/**
+	 * Wrap the result of a bound join request such that its response time and result size are recorded for the given
+	 * endpoint.
+	 *
+	 * @param endpointId the id of the endpoint, may be <code>null</code>
+	 * @param blockSize  the number of bindings of the request
+	 * @param startTime  the start time of the request as obtained from {@link System#nanoTime()}
+	 * @param result     the result of the request
+	 * @return the result iteration
+	 */
+	public <T> CloseableIteration<T, QueryEvaluationException> monitor(String endpointId, int blockSize,
+			long startTime, CloseableIteration<T, QueryEvaluationException> result) {
+		if (endpointId == null || !config.isEnableAdaptiveBoundJoinBlockSize()) {
+			return result;
+		}
+		recordResponseTime(endpointId, blockSize, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+		return new IterationWrapper<>(result) {
+
+			private long results = 0;
+
+			@Override
+			public T next() throws QueryEvaluationException {
+				T next = super.next();
+				results++;
+				return next;
+			}
+
+			@Override
+			protected void handleClose() throws QueryEvaluationException {
+				try {
+					super.handleClose();
+				} finally {
+					recordResultSize(endpointId, blockSize, results);
+				}
+			}
+		};
+	}
+
+	/**
+	 * @return a snapshot of the current block sizes per endpoint id
+	 */
+	public Map<String, Integer> getBlockSizes() {
+		Map<String, Integer> res = new HashMap<>();
+		blockSizes.forEach((endpointId, blockSize) -> res.put(endpointId, blockSize.get()));
+		return res;
+	}
+
+	/**
+	 * Forget the adapted block sizes, i.e. start again from {@link FedXConfig#getBoundJoinBlockSize()}.
+	 */
+	public void reset() {
+		blockSizes.clear();
+	}
+
+	/**
+	 * @param expr
+	 * @return the id of the endpoint if the expression is evaluated at a single endpoint, <code>null</code> otherwise
+	 */
+	public static String getEndpointId(StatementTupleExpr expr) {
+		if (expr.getStatementSources().size() != 1) {
+			return null;
+		}
+		return expr.getStatementSources().get(0).getEndpointID();
+	}
+
+	private AtomicInteger blockSize(String endpointId) {
+		return blockSizes.computeIfAbsent(endpointId, id -> new AtomicInteger(config.getBoundJoinBlockSize()));
+	}
+
+	private void update(String endpointId, IntUnaryOperator function) {
+		AtomicInteger blockSize = blockSize(endpointId);
+		int previous, next;
+		do {
+			previous = blockSize.get();
+			next = function.applyAsInt(previous);
+		} while (!blockSize.compareAndSet(previous, next));
+
+		if (next != previous) {
+			if (log.isDebugEnabled()) {
+				log.debug("Bound join block size of endpoint " + endpointId + " changed from " + previous + " to "
+						+ next);
+			}
+			Endpoint endpoint = endpointManager.getEndpoint(endpointId);
+			if (endpoint != null) {
+				monitoring.monitorBoundJoinBlockSize(endpoint, next);
+			}
+		}
+	}
+}
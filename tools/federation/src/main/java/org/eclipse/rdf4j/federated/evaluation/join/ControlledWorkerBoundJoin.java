@@ -66,7 +66,11 @@ public class ControlledWorkerBoundJoin extends ControlledWorkerJoin {
 			return;
 		}
 
-		int nBindingsCfg = this.queryInfo.getFederationContext().getConfig().getBoundJoinBlockSize();
+		BoundJoinBlockSizeController blockSizeController = this.queryInfo.getFederationContext()
+				.getBoundJoinBlockSizeController();
+		String endpointId = rightArg instanceof StatementTupleExpr
+				? BoundJoinBlockSizeController.getEndpointId((StatementTupleExpr) rightArg)
+				: null;
 		int totalBindings = 0; // the total number of bindings
 		TupleExpr expr = rightArg;
 
@@ -106,18 +110,9 @@ public class ControlledWorkerBoundJoin extends ControlledWorkerJoin {
 				currentPhaser = new Phaser(currentPhaser);
 			}
 
-			/*
-			 * XXX idea:
-			 *
-			 * make nBindings dependent on the number of intermediate results of the left argument.
-			 *
-			 * If many intermediate results, increase the number of bindings. This will result in less remote SPARQL
-			 * requests.
-			 *
-			 */
-
+			// the block size is determined per block, such that it can adapt to the endpoint during the join
 			if (totalBindings > 10) {
-				nBindings = nBindingsCfg;
+				nBindings = blockSizeController.getBlockSize(endpointId);
 			} else {
 				nBindings = 3;
 			}
@@ -136,29 +136,31 @@ public class HashJoin extends JoinExecutorBase<BindingSet> {
 
 			for (BindingSet right : rightBlock) {
 
-				boolean match = false;
+				boolean match = true;
 				// check join variables: must be equal in both operands
 				for (String joinVariable : joinVariables) {
 					Value leftValue = left.getValue(joinVariable);
 					Value rightValue = right.getValue(joinVariable);
 
-					// join match
-					if (leftValue != null && leftValue.equals(rightValue)) {
-						match = true;
+					if (leftValue == null || !leftValue.equals(rightValue)) {
+						match = false;
 						break;
 					}
 				}
 
 				// check other free variables of right expression
-				// => must be available in bindings
+				// => must be compatible with the bindings of the left side
 				for (String freeVariable : freeVariablesRight) {
+					if (!match) {
+						break;
+					}
 					if (joinVariables.contains(freeVariable)) {
 						continue; // skip
 					}
 					Value leftValue = left.getValue(freeVariable);
 					Value rightValue = right.getValue(freeVariable);
-					if (leftValue != null && leftValue.equals(rightValue)) {
-						match = true;
+					if (leftValue != null && rightValue != null && !leftValue.equals(rightValue)) {
+						match = false;
 					}
 				}
 
@@ -44,7 +44,17 @@ public class ParallelBoundJoinTask extends ParallelTaskBase<BindingSet> {
 
 	@Override
 	protected CloseableIteration<BindingSet, QueryEvaluationException> performTaskInternal() throws Exception {
-		return strategy.evaluateBoundJoinStatementPattern(expr, bindings);
+		long start = System.nanoTime();
+		CloseableIteration<BindingSet, QueryEvaluationException> res = strategy.evaluateBoundJoinStatementPattern(expr,
+				bindings);
+		return getQueryInfo().getFederationContext()
+				.getBoundJoinBlockSizeController()
+				.monitor(getEndpointId(), bindings.size(), start, res);
+	}
+
+	@Override
+	public String getEndpointId() {
+		return BoundJoinBlockSizeController.getEndpointId(expr);
 	}
 
 	@Override
@@ -43,7 +43,16 @@ public class ParallelCheckJoinTask extends ParallelTaskBase<BindingSet> {
 
 	@Override
 	protected CloseableIteration<BindingSet, QueryEvaluationException> performTaskInternal() throws Exception {
-		return strategy.evaluateGroupedCheck(expr, bindings);
+		long start = System.nanoTime();
+		CloseableIteration<BindingSet, QueryEvaluationException> res = strategy.evaluateGroupedCheck(expr, bindings);
+		return getQueryInfo().getFederationContext()
+				.getBoundJoinBlockSizeController()
+				.monitor(getEndpointId(), bindings.size(), start, res);
+	}
+
+	@Override
+	public String getEndpointId() {
+		return BoundJoinBlockSizeController.getEndpointId(expr);
 	}
 
 	@Override
@@ -63,4 +63,9 @@ public class ParallelGetStatementsTask extends ParallelTaskBase<Statement> {
 		TripleSource tripleSource = endpoint.getTripleSource();
 		return tripleSource.getStatements(subj, pred, obj, queryInfo, contexts);
 	}
+
+	@Override
+	public String getEndpointId() {
+		return endpoint.getId();
+	}
 }
@@ -60,4 +60,9 @@ public class ParallelPreparedUnionTask extends ParallelTaskBase<BindingSet> {
 	public String toString() {
 		return this.getClass().getSimpleName() + " @" + endpoint.getId() + ": " + preparedQuery;
 	}
+
+	@Override
+	public String getEndpointId() {
+		return endpoint.getId();
+	}
 }
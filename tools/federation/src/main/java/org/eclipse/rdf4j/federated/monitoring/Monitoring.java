@@ -18,6 +18,16 @@ public interface Monitoring {
 
 	void monitorRemoteRequest(Endpoint e);
 
+	/**
+	 * Record the bound join block size that is currently used for the given endpoint.
+	 *
+	 * @param e         the endpoint
+	 * @param blockSize the block size
+	 * @see org.eclipse.rdf4j.federated.evaluation.join.BoundJoinBlockSizeController
+	 */
+	default void monitorBoundJoinBlockSize(Endpoint e, int blockSize) {
+	}
+
 	void resetMonitoringInformation();
 
 	void monitorQuery(QueryInfo query);
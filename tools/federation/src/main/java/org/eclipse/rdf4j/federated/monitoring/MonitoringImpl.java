@@ -25,7 +25,8 @@ import org.eclipse.rdf4j.query.algebra.TupleExpr;
 /**
  * Implementation supporting the following monitoring features:
  *
- * - monitor remote requests per endpoint - maintain a query backlog using {@link QueryLog}
+ * - monitor remote requests per endpoint - maintain a query backlog using {@link QueryLog} - monitor the adaptive bound
+ * join block size per endpoint
  *
  *
  * @author andreas_s
@@ -64,6 +65,11 @@ public class MonitoringImpl implements MonitoringService {
 		m.increaseRequests();
 	}
 
+	@Override
+	public void monitorBoundJoinBlockSize(Endpoint e, int blockSize) {
+		requestMap.computeIfAbsent(e, MonitoringInformation::new).boundJoinBlockSize = blockSize;
+	}
+
 	@Override
 	public MonitoringInformation getMonitoringInformation(Endpoint e) {
 		return requestMap.get(e);
@@ -82,6 +88,7 @@ public class MonitoringImpl implements MonitoringService {
 	public static class MonitoringInformation {
 		private final Endpoint e;
 		private int numberOfRequests = 0;
+		private volatile int boundJoinBlockSize = -1;
 
 		public MonitoringInformation(Endpoint e) {
 			this.e = e;
@@ -104,6 +111,13 @@ public class MonitoringImpl implements MonitoringService {
 		public int getNumberOfRequests() {
 			return numberOfRequests;
 		}
+
+		/**
+		 * @return the adapted bound join block size of the endpoint, or -1 if it has not been adapted
+		 */
+		public int getBoundJoinBlockSize() {
+			return boundJoinBlockSize;
+		}
 	}
 
 	@Override
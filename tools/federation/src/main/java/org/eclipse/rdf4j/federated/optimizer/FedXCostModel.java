@@ -30,4 +30,18 @@ public interface FedXCostModel {
 	 * @return the cost associated to the tupleExpr
 	 */
 	double estimateCost(TupleExpr tupleExpr, Set<String> joinVars);
+
+	/**
+	 * Return the estimated number of results of the given {@link TupleExpr} if it is evaluated without bindings.
+	 * <p>
+	 * The {@link StatementGroupAndJoinOptimizer} uses the estimate to decide whether a join argument is evaluated with
+	 * a hash join instead of a bound join.
+	 * </p>
+	 *
+	 * @param tupleExpr
+	 * @return the estimated number of results, or a negative value if no estimate is available
+	 */
+	default double estimateCardinality(TupleExpr tupleExpr) {
+		return -1;
+	}
 }
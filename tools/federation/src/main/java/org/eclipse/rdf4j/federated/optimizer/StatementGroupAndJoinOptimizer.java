@@ -23,6 +23,7 @@ import org.eclipse.rdf4j.federated.algebra.ExclusiveGroup;
 import org.eclipse.rdf4j.federated.algebra.ExclusiveStatement;
 import org.eclipse.rdf4j.federated.algebra.ExclusiveTupleExpr;
 import org.eclipse.rdf4j.federated.algebra.NJoin;
+import org.eclipse.rdf4j.federated.algebra.StatementTupleExpr;
 import org.eclipse.rdf4j.federated.exception.OptimizationException;
 import org.eclipse.rdf4j.federated.structures.QueryInfo;
 import org.eclipse.rdf4j.federated.util.QueryAlgebraUtil;
@@ -36,8 +37,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Optimizer with the following tasks:
  *
- * 1. Group {@link ExclusiveStatement} into {@link ExclusiveGroup} 2. Adjust the join order using
- * {@link DefaultFedXCostModel}
+ * 1. Group {@link ExclusiveStatement} into {@link ExclusiveGroup} 2. Adjust the join order using the
+ * {@link FedXCostModel} (by default {@link DefaultFedXCostModel}) 3. Choose hash joins for small join arguments if the
+ * cost model provides cardinality estimates
  *
  *
  * @author as
@@ -47,6 +49,12 @@ public class StatementGroupAndJoinOptimizer extends AbstractSimpleQueryModelVisi
 
 	private static final Logger log = LoggerFactory.getLogger(StatementGroupAndJoinOptimizer.class);
 
+	/**
+	 * The maximum estimated number of results of a join argument that is evaluated with a hash join. The results of the
+	 * join argument are kept in memory.
+	 */
+	protected static final double HASH_JOIN_CARDINALITY_LIMIT = 10_000;
+
 	protected final QueryInfo queryInfo;
 
 	private final FedXCostModel costModel;
@@ -102,9 +110,43 @@ public class StatementGroupAndJoinOptimizer extends AbstractSimpleQueryModelVisi
 
 		// exchange the node
 		NJoin newNode = new NJoin(args, queryInfo);
+		selectHashJoins(newNode);
 		node.replaceWith(newNode);
 	}
 
+	/**
+	 * Mark joins to be evaluated as hash join if the right argument is estimated to produce fewer results than the left
+	 * side and at most {@link #HASH_JOIN_CARDINALITY_LIMIT}. In this case a single request for the right argument is
+	 * cheaper than a bound join, which sends a request per block of left bindings.
+	 *
+	 * @param join
+	 */
+	protected void selectHashJoins(NJoin join) {
+
+		double leftCardinality = costModel.estimateCardinality(join.getArg(0));
+
+		for (int i = 1; i < join.getNumberOfArguments(); i++) {
+			TupleExpr rightArg = join.getArg(i);
+			double rightCardinality = costModel.estimateCardinality(rightArg);
+
+			if (leftCardinality >= 0 && rightCardinality >= 0 && rightCardinality < leftCardinality
+					&& rightCardinality <= HASH_JOIN_CARDINALITY_LIMIT
+					&& (rightArg instanceof StatementTupleExpr || rightArg instanceof ExclusiveGroup)
+					&& !join.getJoinVariables(i).isEmpty()) {
+				if (log.isTraceEnabled()) {
+					log.trace("Using hash join for " + rightArg.getClass().getSimpleName() + " with estimated "
+							+ rightCardinality + " results");
+				}
+				join.setHashJoin(i);
+			}
+
+			// estimate the size of the join result by its smallest argument
+			if (rightCardinality >= 0 && leftCardinality >= 0) {
+				leftCardinality = Math.min(leftCardinality, rightCardinality);
+			}
+		}
+	}
+
 	/**
 	 * Group {@link ExclusiveStatement}s having the same source into an {@link ExclusiveGroup}.
 	 *
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.federated.optimizer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.rdf4j.federated.EndpointManager;
+import org.eclipse.rdf4j.federated.algebra.ExclusiveGroup;
+import org.eclipse.rdf4j.federated.algebra.ExclusiveTupleExpr;
+import org.eclipse.rdf4j.federated.algebra.FedXStatementPattern;
+import org.eclipse.rdf4j.federated.algebra.NJoin;
+import org.eclipse.rdf4j.federated.algebra.NUnion;
+import org.eclipse.rdf4j.federated.algebra.StatementSource;
+import org.eclipse.rdf4j.federated.cache.EndpointStatisticsCache;
+import org.eclipse.rdf4j.federated.endpoint.Endpoint;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.query.algebra.TupleExpr;
+import org.eclipse.rdf4j.query.algebra.Var;
+
+/**
+ * A {@link FedXCostModel} which refines the estimates of the {@link DefaultFedXCostModel} with statistics about the
+ * relevant endpoints, i.e. the number of triples per predicate (or in total) as maintained by the
+ * {@link EndpointStatisticsCache}.
+ *
+ * <p>
+ * The heuristics of the {@link DefaultFedXCostModel} (e.g. exclusive groups before other statements) are retained, the
+ * logarithm of the estimated cardinality is added as additional cost. Thus, a statement that matches 100 times more
+ * triples than another one is ordered as if it had two more free variables.
+ * </p>
+ *
+ * @see org.eclipse.rdf4j.federated.FedXConfig#isEnableStatisticsCostModel()
+ */
+public class StatisticsFedXCostModel implements FedXCostModel {
+
+	/**
+	 * The assumed fraction of the triples of a predicate that match a bound subject or object.
+	 */
+	private static final double BOUND_SELECTIVITY = 0.01;
+
+	private final FedXCostModel delegate;
+
+	private final EndpointStatisticsCache statistics;
+
+	private final EndpointManager endpointManager;
+
+	public StatisticsFedXCostModel(EndpointStatisticsCache statistics, EndpointManager endpointManager) {
+		this(DefaultFedXCostModel.INSTANCE, statistics, endpointManager);
+	}
+
+	public StatisticsFedXCostModel(FedXCostModel delegate, EndpointStatisticsCache statistics,
+			EndpointManager endpointManager) {
+		this.delegate = delegate;
+		this.statistics = statistics;
+		this.endpointManager = endpointManager;
+	}
+
+	@Override
+	public double estimateCost(TupleExpr tupleExpr, Set<String> joinVars) {
+		double cost = delegate.estimateCost(tupleExpr, joinVars);
+
+		double cardinality = estimateCardinality(tupleExpr, joinVars);
+		if (cardinality < 0) {
+			return cost;
+		}
+		return cost + Math.log10(cardinality + 1);
+	}
+
+	@Override
+	public double estimateCardinality(TupleExpr tupleExpr) {
+		return estimateCardinality(tupleExpr, Collections.emptySet());
+	}
+
+	protected double estimateCardinality(TupleExpr tupleExpr, Set<String> joinVars) {
+
+		if (tupleExpr instanceof FedXStatementPattern) {
+			FedXStatementPattern stmt = (FedXStatementPattern) tupleExpr;
+			return estimateCardinality(stmt, stmt.getStatementSources(), joinVars);
+		}
+
+		if (tupleExpr instanceof ExclusiveGroup) {
+			// the most selective statement of the group determines its result size
+			double min = -1;
+			for (ExclusiveTupleExpr expr : ((ExclusiveGroup) tupleExpr).getExclusiveExpressions()) {
+				double cardinality = estimateCardinality(expr, joinVars);
+				if (cardinality < 0) {
+					return -1;
+				}
+				min = min < 0 ? cardinality : Math.min(min, cardinality);
+			}
+			return min;
+		}
+
+		if (tupleExpr instanceof NJoin) {
+			// the join order is already determined (depth first), the first argument drives the join
+			return estimateCardinality(((NJoin) tupleExpr).getArg(0), joinVars);
+		}
+
+		if (tupleExpr instanceof NUnion) {
+			double sum = 0;
+			for (TupleExpr arg : ((NUnion) tupleExpr).getArgs()) {
+				double cardinality = estimateCardinality(arg, joinVars);
+				if (cardinality < 0) {
+					return -1;
+				}
+				sum += cardinality;
+			}
+			return sum;
+		}
+
+		return -1;
+	}
+
+	private double estimateCardinality(FedXStatementPattern stmt, List<StatementSource> sources,
+			Set<String> joinVars) {
+
+		Var predicateVar = stmt.getPredicateVar();
+		IRI predicate = predicateVar.hasValue() && predicateVar.getValue() instanceof IRI
+				? (IRI) predicateVar.getValue()
+				: null;
+
+		double cardinality = 0;
+		for (StatementSource source : sources) {
+			Endpoint endpoint = endpointManager.getEndpoint(source.getEndpointID());
+			if (endpoint == null) {
+				return -1;
+			}
+			long count = predicate != null ? statistics.getPredicateCount(endpoint, predicate)
+					: statistics.getTripleCount(endpoint);
+			if (count < 0) {
+				return -1;
+			}
+			cardinality += count;
+		}
+
+		if (isBound(stmt.getSubjectVar(), joinVars)) {
+			cardinality *= BOUND_SELECTIVITY;
+		}
+		if (isBound(stmt.getObjectVar(), joinVars)) {
+			cardinality *= BOUND_SELECTIVITY;
+		}
+		return cardinality;
+	}
+
+	private static boolean isBound(Var var, Set<String> joinVars) {
+		return var.hasValue() || joinVars.contains(var.getName());
+	}
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.federated.evaluation.join;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.rdf4j.federated.SPARQLBaseTest;
+import org.eclipse.rdf4j.federated.endpoint.Endpoint;
+import org.eclipse.rdf4j.federated.monitoring.MonitoringService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BoundJoinBlockSizeControllerTest extends SPARQLBaseTest {
+
+	private static final List<String> MEDIUM_DATA = Arrays.asList("/tests/medium/data1.ttl",
+			"/tests/medium/data2.ttl", "/tests/medium/data3.ttl", "/tests/medium/data4.ttl");
+
+	@Override
+	protected void initFedXConfig() {
+		fedxRule.withConfiguration(c -> c.withEnableAdaptiveBoundJoinBlockSize(true)
+				.withBoundJoinBlockSize(2)
+				.withMaxBoundJoinBlockSize(8)
+				.withMaxConcurrentRequestsPerEndpoint(1)
+				.withEnableMonitoring(true));
+	}
+
+	@Test
+	public void testQueries() throws Exception {
+
+		prepareTest(MEDIUM_DATA);
+
+		for (int i = 1; i <= 12; i++) {
+			String query = String.format("/tests/medium/query%02d", i);
+			execute(query + ".rq", query + ".srx", false, true);
+		}
+
+		// the local endpoints respond fast, i.e. the block size is increased
+		BoundJoinBlockSizeController controller = federationContext().getBoundJoinBlockSizeController();
+		Assertions.assertTrue(controller.getBlockSizes().values().stream().anyMatch(blockSize -> blockSize > 2));
+		Assertions.assertTrue(controller.getBlockSizes().values().stream().allMatch(blockSize -> blockSize <= 8));
+	}
+
+	@Test
+	public void testSlowEndpoint() throws Exception {
+
+		prepareTest(MEDIUM_DATA);
+
+		Endpoint endpoint1 = federationContext().getEndpointManager().getEndpointByName("http://endpoint1");
+		BoundJoinBlockSizeController controller = federationContext().getBoundJoinBlockSizeController();
+		Assertions.assertEquals(2, controller.getBlockSize(endpoint1.getId()));
+
+		// full block answered fast
+		controller.recordResponseTime(endpoint1.getId(), 2, 10);
+		Assertions.assertEquals(4, controller.getBlockSize(endpoint1.getId()));
+
+		// small block does not increase the block size
+		controller.recordResponseTime(endpoint1.getId(), 1, 10);
+		Assertions.assertEquals(4, controller.getBlockSize(endpoint1.getId()));
+
+		// slow response
+		controller.recordResponseTime(endpoint1.getId(), 4, 2000);
+		Assertions.assertEquals(2, controller.getBlockSize(endpoint1.getId()));
+
+		// too many results
+		controller.recordResultSize(endpoint1.getId(), 2, BoundJoinBlockSizeController.MAX_RESULTS_PER_REQUEST + 1);
+		Assertions.assertEquals(1, controller.getBlockSize(endpoint1.getId()));
+
+		MonitoringService monitoring = (MonitoringService) federationContext().getMonitoringService();
+		Assertions.assertEquals(1, monitoring.getMonitoringInformation(endpoint1).getBoundJoinBlockSize());
+	}
+}
@@ -99,6 +99,53 @@ public class HashJoinTest {
 				joinResult.get(0));
 	}
 
+	@Test
+	public void testAllJoinVariablesMustMatch() throws Exception {
+
+		List<BindingSet> leftBlock = new ArrayList<>();
+		leftBlock.add(bindingSet(binding("x", irid("p1")), binding("y", irid("o1"))));
+		leftBlock.add(bindingSet(binding("x", irid("p1")), binding("y", irid("o2"))));
+		leftBlock.add(bindingSet(binding("x", irid("p2")), binding("y", irid("o1"))));
+
+		List<BindingSet> rightBlock = new ArrayList<>();
+		rightBlock.add(bindingSet(binding("x", irid("p1")), binding("y", irid("o1")), binding("z", l("something"))));
+		// only one of the join variables is bound
+		rightBlock.add(bindingSet(binding("x", irid("p2")), binding("z", l("other"))));
+
+		CloseableIteration<BindingSet, QueryEvaluationException> joinResultIter = HashJoin.join(leftBlock, rightBlock,
+				Sets.newHashSet("x", "y"),
+				Collections.emptyList());
+		List<BindingSet> joinResult = Iterations.asList(joinResultIter);
+
+		Assertions.assertEquals(1, joinResult.size());
+		Assertions.assertEquals(
+				bindingSet(binding("x", irid("p1")), binding("y", irid("o1")), binding("z", l("something"))),
+				joinResult.get(0));
+	}
+
+	@Test
+	public void testSharedVariablesMustBeCompatible() throws Exception {
+
+		List<BindingSet> leftBlock = new ArrayList<>();
+		leftBlock.add(bindingSet(binding("x", irid("p1")), binding("y", l("P1"))));
+		leftBlock.add(bindingSet(binding("x", irid("p1")), binding("y", l("P2"))));
+		leftBlock.add(bindingSet(binding("x", irid("p1"))));
+
+		List<BindingSet> rightBlock = new ArrayList<>();
+		rightBlock.add(bindingSet(binding("x", irid("p1")), binding("y", l("P1"))));
+
+		// y is a free variable of the right expression, but not a join variable
+		CloseableIteration<BindingSet, QueryEvaluationException> joinResultIter = HashJoin.join(leftBlock, rightBlock,
+				Sets.newHashSet("x"),
+				Lists.newArrayList("x", "y"));
+		List<BindingSet> joinResult = Iterations.asList(joinResultIter);
+
+		Assertions.assertEquals(Lists.newArrayList(
+				bindingSet(binding("x", irid("p1")), binding("y", l("P1"))),
+				bindingSet(binding("x", irid("p1")), binding("y", l("P1")))),
+				joinResult);
+	}
+
 	protected BindingSet bindingSet(Binding... bindings) {
 		MapBindingSet bs = new MapBindingSet();
 		for (Binding b : bindings) {
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2022 Eclipse RDF4J contributors.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ *
+ * SPDX-License-Identifier: BSD-3-Clause
+ *******************************************************************************/
+package org.eclipse.rdf4j.federated.optimizer;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.rdf4j.federated.SPARQLBaseTest;
+import org.eclipse.rdf4j.federated.cache.EndpointStatisticsCache;
+import org.eclipse.rdf4j.federated.endpoint.Endpoint;
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.vocabulary.FOAF;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.VOID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StatisticsFedXCostModelTest extends SPARQLBaseTest {
+
+	private static final List<String> MEDIUM_DATA = Arrays.asList("/tests/medium/data1.ttl",
+			"/tests/medium/data2.ttl", "/tests/medium/data3.ttl", "/tests/medium/data4.ttl");
+
+	@Override
+	protected void initFedXConfig() {
+		fedxRule.withConfiguration(c -> c.withEnableStatisticsCostModel(true));
+	}
+
+	@Test
+	public void testQueries() throws Exception {
+
+		prepareTest(MEDIUM_DATA);
+
+		for (int i = 1; i <= 12; i++) {
+			String query = String.format("/tests/medium/query%02d", i);
+			execute(query + ".rq", query + ".srx", false, true);
+		}
+	}
+
+	@Test
+	public void testHashJoins() throws Exception {
+
+		prepareTest(MEDIUM_DATA);
+
+		// pretend that ns3:responsible is very selective, such that it is evaluated with a hash join
+		EndpointStatisticsCache statistics = federationContext().getEndpointStatisticsCache();
+		for (Endpoint endpoint : federationContext().getEndpointManager().getAvailableEndpoints()) {
+			statistics.addVoidDescription(endpoint, voidDescription(1_000_000,
+					vf.createIRI("http://namespace3.org/responsible"), 1, RDF.TYPE, 100_000, FOAF.NAME, 100_000));
+		}
+
+		execute("/tests/medium/query03.rq", "/tests/medium/query03.srx", false, true);
+		execute("/tests/medium/query05.rq", "/tests/medium/query05.srx", false, true);
+		execute("/tests/medium/query09.rq", "/tests/medium/query09.srx", false, true);
+	}
+
+	@Test
+	public void testStatistics() throws Exception {
+
+		prepareTest(MEDIUM_DATA);
+
+		Endpoint endpoint1 = federationContext().getEndpointManager().getEndpointByName("http://endpoint1");
+		EndpointStatisticsCache statistics = new EndpointStatisticsCache();
+
+		// counts from the endpoint
+		Assertions.assertEquals(endpoint1.size(), statistics.getTripleCount(endpoint1));
+		Assertions.assertEquals(5, statistics.getPredicateCount(endpoint1, FOAF.NAME));
+		Assertions.assertEquals(0, statistics.getPredicateCount(endpoint1, FOAF.KNOWS));
+
+		// counts from the VoID description
+		statistics.addVoidDescription(endpoint1, voidDescription(1000, FOAF.NAME, 700));
+		Assertions.assertEquals(1000, statistics.getTripleCount(endpoint1));
+		Assertions.assertEquals(700, statistics.getPredicateCount(endpoint1, FOAF.NAME));
+		Assertions.assertEquals(0, statistics.getPredicateCount(endpoint1, FOAF.KNOWS));
+
+		statistics.invalidate(endpoint1);
+		Assertions.assertEquals(5, statistics.getPredicateCount(endpoint1, FOAF.NAME));
+	}
+
+	private Model voidDescription(long triples, Object... partitions) {
+		Model model = new LinkedHashModel();
+		IRI dataset = vf.createIRI("http://example.org/dataset");
+		model.add(dataset, RDF.TYPE, VOID.DATASET);
+		model.add(dataset, VOID.TRIPLES, vf.createLiteral(triples));
+		for (int i = 0; i < partitions.length; i += 2) {
+			BNode partition = vf.createBNode();
+			model.add(dataset, VOID.PROPERTY_PARTITION, partition);
+			model.add(partition, VOID.PROPERTY, (IRI) partitions[i]);
+			model.add(partition, VOID.TRIPLES, vf.createLiteral(((Number) partitions[i + 1]).longValue()));
+		}
+		return model;
+	}
+}